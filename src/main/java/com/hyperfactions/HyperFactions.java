@@ -17,18 +17,31 @@ import com.hyperfactions.integration.GravestoneIntegration;
 import com.hyperfactions.integration.HyperPermsIntegration;
 import com.hyperfactions.integration.PermissionManager;
 import com.hyperfactions.manager.*;
+import com.hyperfactions.migration.MigrationResult;
+import com.hyperfactions.migration.MigrationRunner;
+import com.hyperfactions.migration.MigrationType;
 import com.hyperfactions.protection.ProtectionChecker;
 import com.hyperfactions.protection.damage.DamageProtectionHandler;
 import com.hyperfactions.protection.zone.ZoneDamageProtection;
 import com.hyperfactions.protection.zone.ZoneInteractionProtection;
 import com.hyperfactions.storage.ChatHistoryStorage;
+import com.hyperfactions.storage.ClaimJournal;
 import com.hyperfactions.storage.FactionStorage;
 import com.hyperfactions.storage.PlayerStorage;
+import com.hyperfactions.storage.SegmentChatHistoryStorage;
+import com.hyperfactions.storage.StorageConverter;
 import com.hyperfactions.storage.ZoneStorage;
-import com.hyperfactions.storage.json.JsonChatHistoryStorage;
+import com.hyperfactions.storage.binary.BinaryFactionStorage;
+import com.hyperfactions.storage.binary.BinaryPlayerStorage;
+import com.hyperfactions.storage.binary.BinaryStorage;
+import com.hyperfactions.storage.binary.BinaryZoneStorage;
 import com.hyperfactions.storage.json.JsonFactionStorage;
 import com.hyperfactions.storage.json.JsonPlayerStorage;
 import com.hyperfactions.storage.json.JsonZoneStorage;
+import com.hyperfactions.storage.sql.SqlDatabase;
+import com.hyperfactions.storage.sql.SqlFactionStorage;
+import com.hyperfactions.storage.sql.SqlPlayerStorage;
+import com.hyperfactions.storage.sql.SqlZoneStorage;
 import com.hyperfactions.territory.TerritoryNotifier;
 import com.hyperfactions.update.UpdateChecker;
 import com.hyperfactions.update.UpdateNotificationListener;
@@ -41,9 +54,13 @@ import org.jetbrains.annotations.Nullable;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -65,6 +82,8 @@ public class HyperFactions {
     private PlayerStorage playerStorage;
     private ZoneStorage zoneStorage;
     private ChatHistoryStorage chatHistoryStorage;
+    @Nullable
+    private ClaimJournal claimJournal;
 
     // Managers
     private FactionManager factionManager;
@@ -78,6 +97,7 @@ public class HyperFactions {
     private JoinRequestManager joinRequestManager;
     private ChatManager chatManager;
     private ChatHistoryManager chatHistoryManager;
+    private OnlineRoster onlineRoster;
     private ConfirmationManager confirmationManager;
     private SpawnSuppressionManager spawnSuppressionManager;
     private AnnouncementManager announcementManager;
@@ -115,6 +135,12 @@ public class HyperFactions {
     private int inviteCleanupTaskId = -1;
     private int chatHistoryCleanupTaskId = -1;
 
+    // Auto-save state (cycles don't overlap; last cycle's write count kept for /f admin debug)
+    private final AtomicBoolean autoSaveInProgress = new AtomicBoolean(false);
+    private volatile int lastAutoSaveFactions = 0;
+    private volatile int lastAutoSavePlayers = 0;
+    private volatile long lastAutoSaveMillis = 0;
+
     // Admin bypass state (per-player toggle for protection bypass)
     private final Map<UUID, Boolean> adminBypassEnabled = new ConcurrentHashMap<>();
 
@@ -182,6 +208,7 @@ public class HyperFactions {
 
         // Initialize unified permission manager (new chain-based system)
         PermissionManager.get().init();
+        configurePermissionCache();
 
         // Preload Gson classes to avoid ClassNotFoundException on Timer threads
         // The Hytale PluginClassLoader doesn't properly propagate to Timer threads,
@@ -189,17 +216,41 @@ public class HyperFactions {
         preloadGsonClasses();
 
         // Initialize storage
-        factionStorage = new JsonFactionStorage(dataDir);
-        playerStorage = new JsonPlayerStorage(dataDir);
-        zoneStorage = new JsonZoneStorage(dataDir);
+        String backend = ConfigManager.get().getStorageBackend();
+        if (SqlDatabase.BACKEND.equals(backend) && !runDataMigrations()) {
+            Logger.severe("JSON to SQL migration failed, using JSON storage until it succeeds");
+            backend = "json";
+        }
+        boolean binaryExisted = BinaryStorage.exists(dataDir);
+        boolean sqlExisted = SqlDatabase.exists(dataDir);
+        if (BinaryStorage.BACKEND.equals(backend)) {
+            factionStorage = new BinaryFactionStorage(dataDir, ConfigManager.get().getSaveCoalesceMillis());
+            playerStorage = new BinaryPlayerStorage(dataDir, ConfigManager.get().getSaveCoalesceMillis());
+            zoneStorage = new BinaryZoneStorage(dataDir);
+        } else if (SqlDatabase.BACKEND.equals(backend)) {
+            SqlDatabase database = new SqlDatabase(dataDir);
+            factionStorage = new SqlFactionStorage(database);
+            playerStorage = new SqlPlayerStorage(database);
+            zoneStorage = new SqlZoneStorage(database);
+        } else {
+            factionStorage = new JsonFactionStorage(dataDir, ConfigManager.get().getSaveCoalesceMillis(),
+                ConfigManager.get().getStorageIoThreads(), ConfigManager.get().getStorageLoadThreads());
+            playerStorage = new JsonPlayerStorage(dataDir, ConfigManager.get().getStorageLoadThreads());
+            zoneStorage = new JsonZoneStorage(dataDir);
+        }
 
         factionStorage.init().join();
         playerStorage.init().join();
         zoneStorage.init().join();
+        convertStorageBackend(backend, binaryExisted, sqlExisted);
 
         // Initialize managers (order matters!)
         factionManager = new FactionManager(factionStorage);
+        onlineRoster = new OnlineRoster(factionManager);
         powerManager = new PowerManager(playerStorage, factionManager);
+        powerManager.configureLazyLoading(ConfigManager.get().isLazyOfflineLoading(),
+            ConfigManager.get().getOfflineCacheSize());
+        powerManager.configureRegen(ConfigManager.get().getRegenPerMinute(), ConfigManager.get().isRegenWhenOffline());
         claimManager = new ClaimManager(factionManager, powerManager);
         relationManager = new RelationManager(factionManager);
         combatTagManager = new CombatTagManager();
@@ -221,13 +272,26 @@ public class HyperFactions {
         backupManager = new BackupManager(dataDir, this);
         backupManager.init();
 
-        // Load data
-        factionManager.loadAll().join();
-        powerManager.loadAll().join();
-        zoneManager.loadAll().join();
+        // Load data (factions, players, and zones are independent, so load them together;
+        // lazy power loading needs the faction members first)
+        long loadStart = System.nanoTime();
+        CompletableFuture<Void> factionsLoaded = factionManager.loadAll();
+        CompletableFuture.allOf(
+            factionsLoaded,
+            powerManager.isLazyLoading() ? factionsLoaded.thenCompose(v -> powerManager.loadAll()) : powerManager.loadAll(),
+            zoneManager.loadAll()
+        ).join();
+        long indexStart = System.nanoTime();
 
         // Build claim index after loading factions
+        initClaimJournal();
         claimManager.buildIndex();
+        if (claimJournal == null && ClaimJournal.exists(dataDir)) {
+            retireClaimJournal();
+        }
+        long indexEnd = System.nanoTime();
+        Logger.info("Startup data load: load %dms, index build %dms",
+            TimeUnit.NANOSECONDS.toMillis(indexStart - loadStart), TimeUnit.NANOSECONDS.toMillis(indexEnd - indexStart));
 
         // Initialize protection checker (with plugin reference for admin bypass toggle)
         protectionChecker = new ProtectionChecker(
@@ -265,7 +329,7 @@ public class HyperFactions {
 
         // Initialize real-time GUI update system
         activePageTracker = new ActivePageTracker();
-        guiUpdateService = new GuiUpdateService(activePageTracker, factionManager);
+        guiUpdateService = new GuiUpdateService(activePageTracker, onlineRoster);
         guiManager.setActivePageTracker(activePageTracker);
 
         // Wire manager callbacks for GUI updates
@@ -274,7 +338,13 @@ public class HyperFactions {
         joinRequestManager.setOnRequestCreated(guiUpdateService::onRequestCreated);
         joinRequestManager.setOnRequestAccepted(guiUpdateService::onRequestAccepted);
         joinRequestManager.setOnRequestDeclined(guiUpdateService::onRequestDeclined);
-        relationManager.setOnRelationChanged(guiUpdateService::onRelationChanged);
+        relationManager.setOnRelationChanged((factionId, targetId) -> {
+            // Merged ally chat views depend on the alliance set
+            if (chatHistoryManager != null) {
+                chatHistoryManager.onRelationChanged(factionId, targetId);
+            }
+            guiUpdateService.onRelationChanged(factionId, targetId);
+        });
         relationManager.setOnAllyRequestReceived(guiUpdateService::onAllyRequestReceived);
         claimManager.setOnGuiChunkChangeCallback(guiUpdateService::onChunkClaimed);
 
@@ -296,12 +366,11 @@ public class HyperFactions {
         // for players who don't have one yet (upgrade from pre-history versions)
         migrateMembershipHistory();
 
-        // Initialize chat manager (uses deferred playerLookup)
-        chatManager = new ChatManager(factionManager, relationManager,
-            uuid -> playerLookup != null ? playerLookup.apply(uuid) : null);
+        // Initialize chat manager (delivers to online members via the roster)
+        chatManager = new ChatManager(factionManager, relationManager, onlineRoster);
 
         // Initialize chat history storage and manager
-        chatHistoryStorage = new JsonChatHistoryStorage(dataDir);
+        chatHistoryStorage = new SegmentChatHistoryStorage(dataDir);
         chatHistoryStorage.init().join();
         chatHistoryManager = new ChatHistoryManager(chatHistoryStorage);
 
@@ -332,6 +401,8 @@ public class HyperFactions {
             factionManager, claimManager, zoneManager, relationManager
         );
 
+        worldMapService.setDataDir(dataDir);
+
         // Initialize the world map refresh scheduler with optimized mode
         worldMapService.initializeScheduler(ConfigManager.get().worldMap());
 
@@ -363,10 +434,10 @@ public class HyperFactions {
         relationManager.setOnAllianceBroken((f1, f2) ->
             announcementManager.announceAllianceBroken(f1, f2));
 
-        // Wire up notification callback for overclaim alerts (uses deferred playerLookup)
+        // Wire up notification callback for overclaim alerts
         claimManager.setNotificationCallback((factionId, message, hexColor) -> {
-            Faction faction = factionManager.getFaction(factionId);
-            if (faction == null || playerLookup == null) return;
+            List<com.hypixel.hytale.server.core.universe.PlayerRef> members = onlineRoster.getOnlineMembers(factionId);
+            if (members.isEmpty()) return;
 
             ConfigManager cfg = ConfigManager.get();
             com.hypixel.hytale.server.core.Message formatted =
@@ -375,11 +446,8 @@ public class HyperFactions {
                     .insert(com.hypixel.hytale.server.core.Message.raw("] ").color(cfg.getPrefixBracketColor()))
                     .insert(com.hypixel.hytale.server.core.Message.raw(message).color(hexColor));
 
-            for (UUID memberUuid : faction.members().keySet()) {
-                com.hypixel.hytale.server.core.universe.PlayerRef member = playerLookup.apply(memberUuid);
-                if (member != null) {
-                    member.sendMessage(formatted);
-                }
+            for (com.hypixel.hytale.server.core.universe.PlayerRef member : members) {
+                member.sendMessage(formatted);
             }
         });
 
@@ -469,6 +537,11 @@ public class HyperFactions {
         // Save all data
         saveAllData();
 
+        // Compact and close the claim journal (after faction files are up to date)
+        if (claimJournal != null) {
+            claimJournal.shutdown();
+        }
+
         // Shutdown backup manager (creates shutdown backup if configured)
         if (backupManager != null) {
             backupManager.shutdown();
@@ -514,7 +587,10 @@ public class HyperFactions {
             worldMapService.shutdown();
         }
 
-        // Clear active page tracker
+        // Stop GUI refreshes and clear active page tracker
+        if (guiUpdateService != null) {
+            guiUpdateService.shutdown();
+        }
         if (activePageTracker != null) {
             activePageTracker.clear();
         }
@@ -570,12 +646,31 @@ public class HyperFactions {
         }
     }
 
+    /**
+     * Applies permission decision cache settings from config.
+     */
+    private void configurePermissionCache() {
+        ConfigManager config = ConfigManager.get();
+        PermissionManager.get().configureCache(
+            config.getPermissionCacheTtlSeconds(),
+            config.getPermissionCacheMaxPlayers(),
+            config.getPermissionCacheMaxNodesPerPlayer()
+        );
+    }
+
     /**
      * Reloads the configuration and reinitializes managers that depend on config values.
      */
     public void reloadConfig() {
         ConfigManager.get().reloadAll();
 
+        // Re-apply permission cache settings (also drops all cached decisions)
+        configurePermissionCache();
+
+        if (powerManager != null) {
+            powerManager.configureRegen(ConfigManager.get().getRegenPerMinute(), ConfigManager.get().isRegenWhenOffline());
+        }
+
         // Reinitialize world map scheduler in case refresh mode changed
         if (worldMapService != null) {
             worldMapService.initializeScheduler(ConfigManager.get().worldMap());
@@ -706,11 +801,14 @@ public class HyperFactions {
     }
 
     /**
-     * Performs a save of all data.
-     * Called periodically by auto-save and on shutdown.
+     * Saves all data and waits for the writes to finish.
+     * Called on shutdown.
+     * <p>
+     * Auto-save only writes the dirty sets; this writes every faction and every
+     * resident player, so an earlier immediate or auto-save that failed is not lost.
      */
     public void saveAllData() {
-        Logger.info("Auto-saving data...");
+        Logger.info("Saving data...");
         if (factionManager != null) {
             factionManager.saveAll().join();
         }
@@ -720,7 +818,178 @@ public class HyperFactions {
         if (zoneManager != null) {
             zoneManager.saveAll().join();
         }
-        Logger.info("Auto-save complete");
+        Logger.info("Save complete");
+    }
+
+    /**
+     * Runs pending data migrations (currently JSON to SQL on the first start with
+     * the SQL backend). Each migration backs up the JSON data first.
+     *
+     * @return false if a migration failed
+     */
+    private boolean runDataMigrations() {
+        List<MigrationResult> results = MigrationRunner.runPendingMigrations(dataDir, MigrationType.DATA);
+        for (MigrationResult result : results) {
+            if (!result.success()) {
+                Logger.severe("Data migration '%s' failed: %s", result.migrationId(), result.errorMessage());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Converts data when the storage backend was switched in config.
+     * <p>
+     * Binary selected and no snapshot yet: the JSON files are copied into new
+     * snapshots (the JSON files are left in place). Another backend selected and
+     * snapshots exist: the snapshots are copied into it and moved to {@code binary.old}.
+     * The same applies to the SQL database, which is moved to {@code hyperfactions.mv.db.old}.
+     * Switching to SQL from JSON is handled by the {@code data-json-to-sql} migration.
+     */
+    private void convertStorageBackend(@NotNull String backend, boolean binaryExisted, boolean sqlExisted) {
+        boolean binaryBackend = BinaryStorage.BACKEND.equals(backend);
+        boolean sqlBackend = SqlDatabase.BACKEND.equals(backend);
+        if (binaryBackend && !binaryExisted && !sqlExisted) {
+            Logger.info("Binary storage selected with no snapshots yet, converting JSON data");
+            JsonFactionStorage jsonFactions = new JsonFactionStorage(dataDir);
+            JsonPlayerStorage jsonPlayers = new JsonPlayerStorage(dataDir);
+            JsonZoneStorage jsonZones = new JsonZoneStorage(dataDir);
+            try {
+                jsonFactions.init().join();
+                jsonPlayers.init().join();
+                jsonZones.init().join();
+                StorageConverter.convert(jsonFactions, jsonPlayers, jsonZones, factionStorage, playerStorage, zoneStorage);
+            } finally {
+                jsonFactions.shutdown().join();
+                jsonPlayers.shutdown().join();
+                jsonZones.shutdown().join();
+            }
+        }
+        if (!binaryBackend && binaryExisted) {
+            Logger.info("%s storage selected but binary snapshots exist, converting them", backend);
+            BinaryFactionStorage binaryFactions = new BinaryFactionStorage(dataDir, 0);
+            BinaryPlayerStorage binaryPlayers = new BinaryPlayerStorage(dataDir, 0);
+            BinaryZoneStorage binaryZones = new BinaryZoneStorage(dataDir);
+            try {
+                binaryFactions.init().join();
+                binaryPlayers.init().join();
+                binaryZones.init().join();
+                StorageConverter.convert(binaryFactions, binaryPlayers, binaryZones, factionStorage, playerStorage, zoneStorage);
+            } finally {
+                binaryFactions.shutdown().join();
+                binaryPlayers.shutdown().join();
+                binaryZones.shutdown().join();
+            }
+            BinaryStorage.retire(dataDir);
+        }
+        if (!sqlBackend && sqlExisted) {
+            Logger.info("%s storage selected but an SQL database exists, converting it", backend);
+            SqlDatabase database = new SqlDatabase(dataDir);
+            SqlFactionStorage sqlFactions = new SqlFactionStorage(database);
+            SqlPlayerStorage sqlPlayers = new SqlPlayerStorage(database);
+            SqlZoneStorage sqlZones = new SqlZoneStorage(database);
+            sqlFactions.init().join();
+            sqlPlayers.init().join();
+            sqlZones.init().join();
+            StorageConverter.convert(sqlFactions, sqlPlayers, sqlZones, factionStorage, playerStorage, zoneStorage);
+            sqlFactions.shutdown().join();
+            sqlPlayers.shutdown().join();
+            sqlZones.shutdown().join();
+            SqlDatabase.retire(dataDir);
+        }
+    }
+
+    /**
+     * Creates the claim journal if enabled in config and attaches it to the claim manager.
+     * Must run before the first {@link ClaimManager#buildIndex()}.
+     */
+    private void initClaimJournal() {
+        if (ConfigManager.get().isClaimJournalEnabled()) {
+            claimJournal = new ClaimJournal(dataDir);
+            claimManager.setJournal(claimJournal);
+            Logger.info("Claim journal enabled");
+        }
+    }
+
+    /**
+     * Folds a leftover claim journal into the faction files after the journal was
+     * disabled, then deletes it. Claims recorded after the last auto-save of the
+     * previous run are kept, and a stale journal is never replayed later.
+     */
+    private void retireClaimJournal() {
+        Logger.info("Claim journal disabled, merging journaled claims into faction files");
+        ClaimJournal leftover = new ClaimJournal(dataDir);
+        claimManager.setJournal(leftover);
+        claimManager.buildIndex();
+        claimManager.setJournal(null);
+        factionManager.saveDirty().join();
+        leftover.shutdown();
+        ClaimJournal.discard(dataDir);
+    }
+
+    /**
+     * Runs one auto-save cycle without blocking the calling thread.
+     * Writes only dirty factions and players; skipped if the previous cycle is still writing.
+     */
+    private void autoSave() {
+        if (factionManager == null || powerManager == null) {
+            return;
+        }
+        if (!autoSaveInProgress.compareAndSet(false, true)) {
+            Logger.warn("Auto-save skipped: previous cycle still running");
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        claimManager.compactJournalIfNeeded(ConfigManager.get().getClaimJournalCompactEntries());
+        CompletableFuture<Integer> factions = factionManager.saveDirty();
+        CompletableFuture<Integer> players = powerManager.saveDirty();
+
+        factions.thenCombine(players, (factionsWritten, playersWritten) -> {
+            lastAutoSaveFactions = factionsWritten;
+            lastAutoSavePlayers = playersWritten;
+            lastAutoSaveMillis = System.currentTimeMillis() - start;
+            if (factionsWritten > 0 || playersWritten > 0) {
+                Logger.info("Auto-save complete: %d factions, %d players written (%dms)",
+                    factionsWritten, playersWritten, lastAutoSaveMillis);
+            } else {
+                Logger.debug("Auto-save: nothing to write");
+            }
+            return null;
+        }).whenComplete((v, ex) -> {
+            autoSaveInProgress.set(false);
+            if (ex != null) {
+                Logger.severe("Auto-save failed", ex);
+            }
+        });
+    }
+
+    /**
+     * Gets the number of factions written by the last auto-save cycle.
+     *
+     * @return the faction count
+     */
+    public int getLastAutoSaveFactions() {
+        return lastAutoSaveFactions;
+    }
+
+    /**
+     * Gets the number of players written by the last auto-save cycle.
+     *
+     * @return the player count
+     */
+    public int getLastAutoSavePlayers() {
+        return lastAutoSavePlayers;
+    }
+
+    /**
+     * Gets the duration of the last auto-save cycle.
+     *
+     * @return the duration in milliseconds
+     */
+    public long getLastAutoSaveMillis() {
+        return lastAutoSaveMillis;
     }
 
     /**
@@ -740,7 +1009,7 @@ public class HyperFactions {
         }
 
         int periodTicks = intervalMinutes * 60 * 20; // Convert minutes to ticks (20 ticks per second)
-        autoSaveTaskId = scheduleRepeatingTask(periodTicks, periodTicks, this::saveAllData);
+        autoSaveTaskId = scheduleRepeatingTask(periodTicks, periodTicks, this::autoSave);
 
         if (autoSaveTaskId > 0) {
             Logger.info("Auto-save scheduled every %d minutes", intervalMinutes);
@@ -817,6 +1086,11 @@ public class HyperFactions {
         return powerManager;
     }
 
+    @NotNull
+    public FactionStorage getFactionStorage() {
+        return factionStorage;
+    }
+
     @NotNull
     public PlayerStorage getPlayerStorage() {
         return playerStorage;
@@ -862,6 +1136,11 @@ public class HyperFactions {
         return chatHistoryManager;
     }
 
+    @NotNull
+    public OnlineRoster getOnlineRoster() {
+        return onlineRoster;
+    }
+
     public ConfirmationManager getConfirmationManager() {
         return confirmationManager;
     }
@@ -1043,6 +1322,9 @@ public class HyperFactions {
         // Clean up claims
         claimManager.unclaimAll(factionId);
 
+        // Drop compiled territory permissions
+        protectionChecker.invalidateCompiledPermissions(factionId);
+
         // Clean up invites
         inviteManager.clearFactionInvites(factionId);
 
@@ -2,6 +2,8 @@ package com.hyperfactions.backup;
 
 import com.hyperfactions.HyperFactions;
 import com.hyperfactions.config.ConfigManager;
+import com.hyperfactions.storage.sql.SqlDatabase;
+import com.hyperfactions.storage.sql.SqlFactionStorage;
 import com.hyperfactions.util.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -34,6 +36,9 @@ import java.util.zip.ZipOutputStream;
  * Backup contents:
  * - data/factions/ directory
  * - data/players/ directory
+ * - data/claims/ directory (claim journal, when enabled)
+ * - data/binary/ directory (binary snapshot backend, when enabled)
+ * - data/hyperfactions.mv.db (SQL backend, when enabled)
  * - data/zones.json
  * - config.json (core configuration)
  * - config/ directory (module configurations: backup.json, chat.json, debug.json, economy.json, faction-permissions.json)
@@ -274,6 +279,25 @@ public class BackupManager {
                         addDirectoryToZip(zos, playersDir, "players");
                     }
 
+                    // Add data/claims/ directory (claim journal)
+                    Path claimsDir = dataDir.resolve("claims");
+                    if (Files.exists(claimsDir)) {
+                        addDirectoryToZip(zos, claimsDir, "claims");
+                    }
+
+                    // Add data/binary/ directory (binary snapshot backend)
+                    Path binaryDir = dataDir.resolve("binary");
+                    if (Files.exists(binaryDir)) {
+                        addDirectoryToZip(zos, binaryDir, "binary");
+                    }
+
+                    // Add the SQL database (copied on its own thread so no write lands mid-copy)
+                    if (hyperFactions.getFactionStorage() instanceof SqlFactionStorage sqlStorage) {
+                        zos.putNextEntry(new ZipEntry(SqlDatabase.fileName()));
+                        sqlStorage.getDatabase().copyTo(zos).join();
+                        zos.closeEntry();
+                    }
+
                     // Add zones.json
                     Path zonesFile = dataDir.resolve("zones.json");
                     if (Files.exists(zonesFile)) {
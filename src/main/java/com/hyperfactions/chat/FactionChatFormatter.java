@@ -13,6 +13,9 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -30,6 +33,11 @@ import java.util.UUID;
  * - {suffix}: Permission plugin suffix
  * - {player}: Player username
  * - {message}: Chat message content
+ *
+ * A chat line is formatted once per recipient, so {@link #forMessage} resolves
+ * the sender's faction tag, prefix and suffix once per message and builds at most
+ * one {@link Message} per {@link RelationType}. The format string is parsed once
+ * and re-parsed only when the configured format changes.
  */
 public class FactionChatFormatter implements PlayerChatEvent.Formatter {
 
@@ -37,6 +45,9 @@ public class FactionChatFormatter implements PlayerChatEvent.Formatter {
     private final RelationManager relationManager;
     private final ConfigManager config;
 
+    @Nullable
+    private volatile Template template;
+
     /**
      * Creates a new FactionChatFormatter.
      *
@@ -61,29 +72,69 @@ public class FactionChatFormatter implements PlayerChatEvent.Formatter {
                 .param("username", target.getUsername())
                 .param("message", content);
         }
+        return forMessage(sender).format(target, content);
+    }
 
-        UUID senderUuid = sender.getUuid();
-        UUID targetUuid = target.getUuid();
-
-        // Get factions
-        Faction senderFaction = factionManager.getPlayerFaction(senderUuid);
-        Faction targetFaction = factionManager.getPlayerFaction(targetUuid);
+    /**
+     * Creates a formatter for one chat message from a sender.
+     * Use a new one per message: sender data is resolved when it is created.
+     *
+     * @param sender the message sender
+     * @return a formatter that reuses its result for recipients with the same relation
+     */
+    @NotNull
+    public PlayerChatEvent.Formatter forMessage(@NotNull PlayerRef sender) {
+        return new MessageFormatter(sender);
+    }
 
-        // Determine relation from TARGET's perspective (what color THEY see)
-        RelationType relation = determineRelation(senderFaction, targetFaction, senderUuid, targetUuid);
-        String relationColor = getRelationColor(relation);
+    /**
+     * Formats a single chat message for each recipient.
+     */
+    private final class MessageFormatter implements PlayerChatEvent.Formatter {
+
+        private final UUID senderUuid;
+        private final String senderName;
+        @Nullable
+        private final Faction senderFaction;
+        private final String factionTag;
+        private final String prefix;
+        private final String suffix;
+        private final Template template;
+
+        private final EnumMap<RelationType, Message> variants = new EnumMap<>(RelationType.class);
+        @Nullable
+        private String variantsContent;
+
+        MessageFormatter(@NotNull PlayerRef sender) {
+            this.senderUuid = sender.getUuid();
+            this.senderName = sender.getUsername();
+            this.senderFaction = factionManager.getPlayerFaction(senderUuid);
+            this.factionTag = buildFactionTag(senderFaction);
+
+            // Get permission plugin prefix/suffix with world context
+            String worldName = getWorldName(sender);
+            this.prefix = PermissionManager.get().getPrefix(senderUuid, worldName);
+            this.suffix = PermissionManager.get().getSuffix(senderUuid, worldName);
+
+            this.template = template();
+        }
 
-        // Get permission plugin prefix/suffix with world context
-        String worldName = getWorldName(sender);
-        String prefix = PermissionManager.get().getPrefix(senderUuid, worldName);
-        String suffix = PermissionManager.get().getSuffix(senderUuid, worldName);
+        @Override
+        @NotNull
+        public synchronized Message format(@NotNull PlayerRef target, @NotNull String content) {
+            UUID targetUuid = target.getUuid();
+            Faction targetFaction = factionManager.getPlayerFaction(targetUuid);
 
-        // Build faction tag with relation color
-        String factionTag = buildFactionTag(senderFaction, relationColor);
+            // Determine relation from TARGET's perspective (what color THEY see)
+            RelationType relation = determineRelation(senderFaction, targetFaction, senderUuid, targetUuid);
 
-        // Parse format string and build message
-        String format = config.getChatFormat();
-        return buildFormattedMessage(format, factionTag, prefix, sender.getUsername(), suffix, content, relationColor);
+            if (!content.equals(variantsContent)) {
+                variants.clear();
+                variantsContent = content;
+            }
+            return variants.computeIfAbsent(relation, r ->
+                    buildFormattedMessage(template, factionTag, prefix, senderName, suffix, content, getRelationColor(r)));
+        }
     }
 
     /**
@@ -134,7 +185,7 @@ public class FactionChatFormatter implements PlayerChatEvent.Formatter {
      * Builds the faction tag string based on config settings.
      */
     @NotNull
-    private String buildFactionTag(@Nullable Faction faction, @NotNull String color) {
+    private String buildFactionTag(@Nullable Faction faction) {
         if (faction == null) {
             // Player has no faction
             return config.getChatNoFactionTag();
@@ -167,89 +218,122 @@ public class FactionChatFormatter implements PlayerChatEvent.Formatter {
     }
 
     /**
-     * Builds the formatted message from the format string and components.
+     * Gets the compiled chat format, compiling it again if the config changed.
      */
     @NotNull
-    private Message buildFormattedMessage(@NotNull String format,
+    private Template template() {
+        String format = config.getChatFormat();
+        Template current = template;
+        if (current == null || !current.source().equals(format)) {
+            current = Template.compile(format);
+            template = current;
+        }
+        return current;
+    }
+
+    /**
+     * Builds the formatted message from the compiled format and components.
+     */
+    @NotNull
+    private Message buildFormattedMessage(@NotNull Template template,
                                            @NotNull String factionTag,
                                            @NotNull String prefix,
                                            @NotNull String playerName,
                                            @NotNull String suffix,
                                            @NotNull String messageContent,
                                            @NotNull String factionTagColor) {
-        // Split the format into segments and build Message with proper coloring
-        // Format example: "{faction_tag}{prefix}{player}{suffix}: {message}"
-
         Message result = Message.empty();
 
-        // Parse format string
-        int lastIndex = 0;
-        while (lastIndex < format.length()) {
-            int nextPlaceholder = format.indexOf('{', lastIndex);
-
-            if (nextPlaceholder == -1) {
-                // No more placeholders, append rest as literal text
-                if (lastIndex < format.length()) {
-                    String literal = format.substring(lastIndex);
-                    result = result.insert(Message.raw(literal).color("#AAAAAA"));
-                }
-                break;
+        for (Segment segment : template.segments()) {
+            if (segment.placeholder() == null) {
+                result = result.insert(Message.raw(segment.text()).color("#AAAAAA"));
+                continue;
             }
 
-            // Append literal text before placeholder
-            if (nextPlaceholder > lastIndex) {
-                String literal = format.substring(lastIndex, nextPlaceholder);
-                result = result.insert(Message.raw(literal).color("#AAAAAA"));
-            }
-
-            // Find end of placeholder
-            int endPlaceholder = format.indexOf('}', nextPlaceholder);
-            if (endPlaceholder == -1) {
-                // Malformed format, treat rest as literal
-                String literal = format.substring(nextPlaceholder);
-                result = result.insert(Message.raw(literal).color("#AAAAAA"));
-                break;
-            }
-
-            // Extract placeholder name
-            String placeholder = format.substring(nextPlaceholder + 1, endPlaceholder);
-
             // Replace placeholder with content
-            switch (placeholder) {
-                case "faction_tag":
+            switch (segment.placeholder()) {
+                case FACTION_TAG -> {
                     if (!factionTag.isEmpty()) {
                         result = result.insert(Message.raw(factionTag).color(factionTagColor));
                     }
-                    break;
-                case "prefix":
+                }
+                case PREFIX -> {
                     if (!prefix.isEmpty()) {
                         // Prefix may contain color codes, parse them
                         result = result.insert(parseColoredString(prefix));
                     }
-                    break;
-                case "suffix":
+                }
+                case SUFFIX -> {
                     if (!suffix.isEmpty()) {
                         result = result.insert(parseColoredString(suffix));
                     }
-                    break;
-                case "player":
-                    result = result.insert(Message.raw(playerName).color("#FFFF55"));
-                    break;
-                case "message":
-                    result = result.insert(Message.raw(messageContent).color("#FFFFFF"));
-                    break;
-                default:
-                    // Unknown placeholder, keep as-is
-                    result = result.insert(Message.raw("{" + placeholder + "}").color("#AAAAAA"));
-                    break;
+                }
+                case PLAYER -> result = result.insert(Message.raw(playerName).color("#FFFF55"));
+                case MESSAGE -> result = result.insert(Message.raw(messageContent).color("#FFFFFF"));
             }
-
-            lastIndex = endPlaceholder + 1;
         }
 
         return result;
     }
 
+    private enum Placeholder { FACTION_TAG, PREFIX, SUFFIX, PLAYER, MESSAGE }
+
+    /**
+     * A literal piece of the format (placeholder null) or a placeholder.
+     */
+    private record Segment(@Nullable Placeholder placeholder, @NotNull String text) {}
+
+    /**
+     * A chat format string split into literal text and placeholders.
+     */
+    private record Template(@NotNull String source, @NotNull List<Segment> segments) {
+
+        /**
+         * Splits a format such as "{faction_tag}{prefix}{player}{suffix}: {message}".
+         * Unknown placeholders and a trailing unclosed brace are kept as literal text.
+         */
+        @NotNull
+        static Template compile(@NotNull String format) {
+            List<Segment> segments = new ArrayList<>();
+            int lastIndex = 0;
+            while (lastIndex < format.length()) {
+                int nextPlaceholder = format.indexOf('{', lastIndex);
+                if (nextPlaceholder == -1) {
+                    // No more placeholders, keep rest as literal text
+                    segments.add(new Segment(null, format.substring(lastIndex)));
+                    break;
+                }
+
+                // Literal text before placeholder
+                if (nextPlaceholder > lastIndex) {
+                    segments.add(new Segment(null, format.substring(lastIndex, nextPlaceholder)));
+                }
+
+                // Find end of placeholder
+                int endPlaceholder = format.indexOf('}', nextPlaceholder);
+                if (endPlaceholder == -1) {
+                    // Malformed format, treat rest as literal
+                    segments.add(new Segment(null, format.substring(nextPlaceholder)));
+                    break;
+                }
+
+                String name = format.substring(nextPlaceholder + 1, endPlaceholder);
+                Placeholder placeholder = switch (name) {
+                    case "faction_tag" -> Placeholder.FACTION_TAG;
+                    case "prefix" -> Placeholder.PREFIX;
+                    case "suffix" -> Placeholder.SUFFIX;
+                    case "player" -> Placeholder.PLAYER;
+                    case "message" -> Placeholder.MESSAGE;
+                    default -> null; // Unknown placeholder, keep as-is
+                };
+                segments.add(new Segment(placeholder, placeholder == null ? "{" + name + "}" : ""));
+
+                lastIndex = endPlaceholder + 1;
+            }
+            return new Template(format, List.copyOf(segments));
+        }
+    }
+
     /**
      * Parses a string that may contain legacy color codes (&amp;a, &amp;b, etc.),
      * section symbol codes (§a, §b, etc.), or hex colors (&#RRGGBB) into a
@@ -101,8 +101,9 @@ public class PublicChatListener {
 
         try {
             // Replace the formatter with our faction-aware formatter
-            // This completely replaces any existing formatter
-            event.setFormatter(formatter);
+            // This completely replaces any existing formatter. A per-message formatter
+            // resolves the sender once and reuses the result per relation across targets.
+            event.setFormatter(formatter.forMessage(sender));
 
             Logger.debug("[PublicChat] Set faction formatter for message from %s", sender.getUsername());
         } finally {
@@ -12,6 +12,7 @@ import com.hyperfactions.config.ConfigManager;
 import com.hyperfactions.config.modules.GravestoneConfig;
 import com.hyperfactions.integration.GravestoneIntegration;
 import com.hyperfactions.integration.HyperPermsIntegration;
+import com.hyperfactions.integration.PermissionCache;
 import com.hyperfactions.integration.PermissionManager;
 import com.hyperfactions.integration.orbis.OrbisGuardIntegration;
 import com.hyperfactions.integration.orbis.OrbisMixinsIntegration;
@@ -28,11 +29,14 @@ import com.hyperfactions.importer.ElbaphFactionsImporter;
 import com.hyperfactions.importer.HyFactionsImporter;
 import com.hyperfactions.importer.ImportResult;
 import com.hyperfactions.manager.ConfirmationManager;
+import com.hyperfactions.manager.PowerManager;
 import com.hyperfactions.manager.ZoneManager;
+import com.hyperfactions.storage.json.JsonFactionStorage;
 import com.hyperfactions.platform.HyperFactionsPlugin;
 import com.hyperfactions.util.ChunkUtil;
 import com.hyperfactions.util.CommandHelp;
 import com.hyperfactions.util.HelpFormatter;
+import com.hyperfactions.worldmap.HyperFactionsWorldMap;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.math.vector.Vector3d;
@@ -49,6 +53,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Container subcommand: /f admin
@@ -1440,6 +1445,7 @@ public class AdminSubCommand extends AbstractAsyncCommand {
             case "toggle" -> handleDebugToggle(ctx, subArgs);
             case "status" -> handleDebugStatus(ctx);
             case "power" -> handleDebugPower(ctx, subArgs);
+            case "powercheck" -> handleDebugPowerCheck(ctx);
             case "claim" -> {
                 if (store == null) {
                     ctx.sendMessage(prefix().insert(msg("This debug command can only be used by a player.", COLOR_RED)));
@@ -1469,6 +1475,7 @@ public class AdminSubCommand extends AbstractAsyncCommand {
         commands.add(new CommandHelp("/f admin debug toggle <category> [on|off]", "Toggle debug logging"));
         commands.add(new CommandHelp("/f admin debug status", "Show debug status"));
         commands.add(new CommandHelp("/f admin debug power <player>", "Show power details"));
+        commands.add(new CommandHelp("/f admin debug powercheck", "Verify faction power totals"));
         commands.add(new CommandHelp("/f admin debug claim [x z]", "Show claim info"));
         commands.add(new CommandHelp("/f admin debug protection <player>", "Show protection info"));
         commands.add(new CommandHelp("/f admin debug combat <player>", "Show combat tag status"));
@@ -1577,6 +1584,35 @@ public class AdminSubCommand extends AbstractAsyncCommand {
         ctx.sendMessage(msg("  Factions: " + hyperFactions.getFactionManager().getAllFactions().size(), COLOR_WHITE));
         ctx.sendMessage(msg("  Zones: " + hyperFactions.getZoneManager().getAllZones().size(), COLOR_WHITE));
         ctx.sendMessage(msg("  Claims: " + hyperFactions.getClaimManager().getTotalClaimCount(), COLOR_WHITE));
+        ctx.sendMessage(msg("  Storage backend: " + ConfigManager.get().getStorageBackend(), COLOR_WHITE));
+        ctx.sendMessage(msg("  Pending save: " + hyperFactions.getFactionManager().getDirtyCount() + " factions, "
+                + hyperFactions.getPowerManager().getDirtyCount() + " players", COLOR_WHITE));
+        var powerManager = hyperFactions.getPowerManager();
+        ctx.sendMessage(msg("  Player power in memory: " + powerManager.getResidentCount()
+                + (powerManager.isLazyLoading() ? " (offline players load on demand)" : " (all loaded)"), COLOR_WHITE));
+        PowerManager.RegenStats regen = powerManager.getRegenStats();
+        ctx.sendMessage(msg("  Last regen tick: " + regen.regenerated() + " of " + regen.onlineTicked() + " online players in "
+                + TimeUnit.NANOSECONDS.toMicros(regen.tickNanos()) + "us, " + regen.offlineSettled() + " offline settles", COLOR_WHITE));
+        ctx.sendMessage(msg("  Last auto-save: " + hyperFactions.getLastAutoSaveFactions() + " factions, "
+                + hyperFactions.getLastAutoSavePlayers() + " players (" + hyperFactions.getLastAutoSaveMillis() + "ms)", COLOR_WHITE));
+        if (hyperFactions.getFactionStorage() instanceof JsonFactionStorage jsonStorage) {
+            var writeQueue = jsonStorage.getWriteQueue();
+            ctx.sendMessage(msg("  Faction writes: " + writeQueue.getWrittenCount() + " of "
+                    + writeQueue.getSubmittedCount() + " saves (" + writeQueue.getPendingCount() + " pending)", COLOR_WHITE));
+        }
+        var claimJournal = hyperFactions.getClaimManager().getJournal();
+        ctx.sendMessage(msg("  Claim journal: ", COLOR_WHITE).insert(claimJournal != null
+                ? msg("ON (" + claimJournal.getJournalEntries() + " entries since compaction)", COLOR_GREEN)
+                : msg("OFF", COLOR_RED)));
+
+        // Permission decision cache
+        PermissionCache permCache = PermissionManager.get().getCache();
+        ctx.sendMessage(msg("Permission Cache:", COLOR_GRAY));
+        ctx.sendMessage(msg("  enabled: ", COLOR_WHITE).insert(msg(permCache.isEnabled() ? "ON" : "OFF", permCache.isEnabled() ? COLOR_GREEN : COLOR_RED)));
+        ctx.sendMessage(msg(String.format("  Hits: %d, Misses: %d (%.1f%% hit rate)",
+                permCache.getHits(), permCache.getMisses(), permCache.getHitRate()), COLOR_WHITE));
+        ctx.sendMessage(msg("  Cached players: " + permCache.getCachedPlayers()
+                + ", Invalidations: " + permCache.getInvalidations(), COLOR_WHITE));
 
         // Debug logging status
         ctx.sendMessage(msg("Debug Logging:", COLOR_GRAY));
@@ -1601,6 +1637,25 @@ public class AdminSubCommand extends AbstractAsyncCommand {
         ctx.sendMessage(prefix().insert(msg("Debug power info not yet implemented.", COLOR_YELLOW)));
     }
 
+    private void handleDebugPowerCheck(CommandContext ctx) {
+        PowerManager.TotalsCheck check = hyperFactions.getPowerManager().verifyFactionTotals();
+
+        ctx.sendMessage(msg("=== Faction Power Totals ===", COLOR_CYAN).bold(true));
+        ctx.sendMessage(msg("Checked " + check.factionsChecked() + " factions", COLOR_WHITE));
+        if (check.isConsistent()) {
+            ctx.sendMessage(msg("All totals match member power.", COLOR_GREEN));
+            return;
+        }
+
+        ctx.sendMessage(msg(check.drifts().size() + " factions drifted (rebuilt):", COLOR_YELLOW));
+        for (PowerManager.TotalsDrift drift : check.drifts()) {
+            ctx.sendMessage(msg(String.format("  %s: power %.2f (tracked %.2f), max %.2f (tracked %.2f), members %d (tracked %d)",
+                    drift.factionName(), drift.expectedPower(), drift.trackedPower(),
+                    drift.expectedMaxPower(), drift.trackedMaxPower(),
+                    drift.expectedMembers(), drift.trackedMembers()), COLOR_WHITE));
+        }
+    }
+
     private void handleDebugClaim(CommandContext ctx, Store<EntityStore> store, Ref<EntityStore> ref, World world, String[] args) {
         TransformComponent transform = store.getComponent(ref, TransformComponent.getComponentType());
         if (transform == null) return;
@@ -1769,6 +1824,16 @@ public class AdminSubCommand extends AbstractAsyncCommand {
             .insert(msg(String.valueOf(scheduler.getChunksProcessed()), COLOR_WHITE)));
         ctx.sendMessage(msg("  Players Notified: ", COLOR_GRAY)
             .insert(msg(String.valueOf(scheduler.getPlayersNotified()), COLOR_WHITE)));
+        ctx.sendMessage(msg("  Updates Deferred: ", COLOR_GRAY)
+            .insert(msg(String.valueOf(scheduler.getNotificationsDeferred()), COLOR_WHITE)));
+        ctx.sendMessage(msg("  Batch Size: ", COLOR_GRAY)
+            .insert(msg(scheduler.getLastBatchSize() + " (" + scheduler.getBatchesWithBacklog() + " left a backlog)", COLOR_WHITE)));
+        ctx.sendMessage(msg("  Last Batch: ", COLOR_GRAY)
+            .insert(msg(String.format("%.1f ms", scheduler.getLastBatchNanos() / 1_000_000.0), COLOR_WHITE)));
+        ctx.sendMessage(msg("  Avg Tile Render: ", COLOR_GRAY)
+            .insert(msg(String.format("%.2f ms (%d tiles)",
+                HyperFactionsWorldMap.INSTANCE.getAverageRenderNanos() / 1_000_000.0,
+                HyperFactionsWorldMap.INSTANCE.getTilesRendered()), COLOR_WHITE)));
 
         var lastRefresh = scheduler.getLastRefreshTime();
         if (lastRefresh != null) {
@@ -4,7 +4,7 @@ import com.hyperfactions.HyperFactions;
 import com.hyperfactions.Permissions;
 import com.hyperfactions.command.FactionCommandContext;
 import com.hyperfactions.command.FactionSubCommand;
-import com.hyperfactions.data.Faction;
+import com.hyperfactions.manager.FactionLeaderboard;
 import com.hyperfactions.manager.PowerManager;
 import com.hyperfactions.platform.HyperFactionsPlugin;
 import com.hypixel.hytale.component.Ref;
@@ -16,15 +16,15 @@ import com.hypixel.hytale.server.core.universe.world.World;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collection;
-
 /**
- * Subcommand: /f list
- * Lists all factions.
+ * Subcommand: /f list [page]
+ * Lists all factions, ranked by power.
  * Aliases: browse
  */
 public class ListSubCommand extends FactionSubCommand {
 
+    private static final int FACTIONS_PER_PAGE = 10;
+
     public ListSubCommand(@NotNull HyperFactions hyperFactions, @NotNull HyperFactionsPlugin plugin) {
         super("list", "List all factions", hyperFactions, plugin);
         addAliases("browse");
@@ -56,19 +56,37 @@ public class ListSubCommand extends FactionSubCommand {
             }
         }
 
-        // Text mode: output to chat
-        Collection<Faction> factions = hyperFactions.getFactionManager().getAllFactions();
-        if (factions.isEmpty()) {
+        // Text mode: output one page of the power ranking to chat
+        FactionLeaderboard leaderboard = hyperFactions.getFactionManager().getLeaderboard();
+        int total = leaderboard.size();
+        if (total == 0) {
             ctx.sendMessage(prefix().insert(msg("There are no factions.", COLOR_GRAY)));
             return;
         }
 
-        ctx.sendMessage(msg("=== Factions (" + factions.size() + ") ===", COLOR_CYAN).bold(true));
-        for (Faction faction : factions) {
-            PowerManager.FactionPowerStats stats = hyperFactions.getPowerManager().getFactionPowerStats(faction.id());
+        int totalPages = Math.max(1, (total + FACTIONS_PER_PAGE - 1) / FACTIONS_PER_PAGE);
+        int page = 1;
+        if (fctx.hasArgs()) {
+            try {
+                page = Integer.parseInt(fctx.getArg(0));
+            } catch (NumberFormatException e) {
+                ctx.sendMessage(prefix().insert(msg("Usage: /f list [page]", COLOR_RED)));
+                return;
+            }
+        }
+        page = Math.max(1, Math.min(page, totalPages));
+
+        ctx.sendMessage(msg("=== Factions (" + total + ") - Page " + page + "/" + totalPages + " ===", COLOR_CYAN).bold(true));
+        int rank = (page - 1) * FACTIONS_PER_PAGE;
+        for (FactionLeaderboard.Entry entry : leaderboard.page(FactionLeaderboard.SortOrder.POWER, rank, FACTIONS_PER_PAGE)) {
+            rank++;
+            PowerManager.FactionPowerStats stats = hyperFactions.getPowerManager().getFactionPowerStats(entry.factionId());
             String raidable = stats.isRaidable() ? " [RAIDABLE]" : "";
-            ctx.sendMessage(msg(faction.name(), COLOR_YELLOW)
-                .insert(msg(" - " + faction.getMemberCount() + " members, " + String.format("%.0f", stats.currentPower()) + " power" + raidable, COLOR_GRAY)));
+            ctx.sendMessage(msg(rank + ". ", COLOR_GRAY).insert(msg(entry.name(), COLOR_YELLOW))
+                .insert(msg(" - " + entry.memberCount() + " members, " + String.format("%.0f", stats.currentPower()) + " power" + raidable, COLOR_GRAY)));
+        }
+        if (page < totalPages) {
+            ctx.sendMessage(msg("Use /f list " + (page + 1) + " for the next page.", COLOR_GRAY));
         }
     }
 }
@@ -4,6 +4,7 @@ import com.hyperfactions.HyperFactions;
 import com.hyperfactions.Permissions;
 import com.hyperfactions.command.FactionCommandContext;
 import com.hyperfactions.command.FactionSubCommand;
+import com.hyperfactions.manager.OwnerGrid;
 import com.hyperfactions.platform.HyperFactionsPlugin;
 import com.hyperfactions.util.ChunkUtil;
 import com.hypixel.hytale.component.Ref;
@@ -68,6 +69,8 @@ public class MapSubCommand extends FactionSubCommand {
 
         ctx.sendMessage(msg("=== Territory Map ===", COLOR_CYAN).bold(true));
 
+        OwnerGrid owners = hyperFactions.getClaimManager().getOwnersInRadius(
+            currentWorld.getName(), centerChunkX, centerChunkZ, 3);
         for (int dz = -3; dz <= 3; dz++) {
             StringBuilder row = new StringBuilder();
             for (int dx = -3; dx <= 3; dx++) {
@@ -75,7 +78,7 @@ public class MapSubCommand extends FactionSubCommand {
                 int chunkZ = centerChunkZ + dz;
                 boolean isCenter = (dx == 0 && dz == 0);
 
-                UUID owner = hyperFactions.getClaimManager().getClaimOwner(currentWorld.getName(), chunkX, chunkZ);
+                UUID owner = owners.get(chunkX, chunkZ);
                 boolean isOwned = playerFactionId != null && playerFactionId.equals(owner);
                 boolean isAlly = playerFactionId != null && owner != null &&
                     hyperFactions.getRelationManager().areAllies(playerFactionId, owner);
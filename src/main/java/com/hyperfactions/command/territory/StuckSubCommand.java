@@ -4,6 +4,7 @@ import com.hyperfactions.HyperFactions;
 import com.hyperfactions.Permissions;
 import com.hyperfactions.command.FactionSubCommand;
 import com.hyperfactions.config.ConfigManager;
+import com.hyperfactions.data.ChunkKey;
 import com.hyperfactions.data.Faction;
 import com.hyperfactions.manager.TeleportManager;
 import com.hyperfactions.platform.HyperFactionsPlugin;
@@ -79,15 +80,15 @@ public class StuckSubCommand extends FactionSubCommand {
         }
 
         // Find nearest safe chunk
-        int[] safeChunk = findNearestSafeChunk(currentWorld.getName(), chunkX, chunkZ, playerFaction);
+        ChunkKey safeChunk = findNearestSafeChunk(currentWorld.getName(), chunkX, chunkZ, playerFaction);
         if (safeChunk == null) {
             ctx.sendMessage(prefix().insert(msg("Could not find a safe location.", COLOR_RED)));
             return;
         }
 
         // Create teleport location (center of safe chunk)
-        double targetX = (safeChunk[0] << 4) + 8;
-        double targetZ = (safeChunk[1] << 4) + 8;
+        double targetX = (safeChunk.chunkX() << 4) + 8;
+        double targetZ = (safeChunk.chunkZ() << 4) + 8;
         double targetY = pos.getY();
 
         // Use extended warmup for stuck (30 seconds by default)
@@ -119,27 +120,12 @@ public class StuckSubCommand extends FactionSubCommand {
      * Finds the nearest safe chunk (wilderness, own claim, or ally claim).
      */
     @Nullable
-    private int[] findNearestSafeChunk(String world, int startX, int startZ, @Nullable Faction playerFaction) {
+    private ChunkKey findNearestSafeChunk(String world, int startX, int startZ, @Nullable Faction playerFaction) {
         int maxRadius = 10;
 
-        for (int radius = 1; radius <= maxRadius; radius++) {
-            for (int dx = -radius; dx <= radius; dx++) {
-                for (int dz = -radius; dz <= radius; dz++) {
-                    if (Math.abs(dx) != radius && Math.abs(dz) != radius) continue;
-
-                    int checkX = startX + dx;
-                    int checkZ = startZ + dz;
-                    UUID owner = hyperFactions.getClaimManager().getClaimOwner(world, checkX, checkZ);
-
-                    // Safe if: wilderness, own claim, or ally claim
-                    if (owner == null) return new int[]{checkX, checkZ};
-                    if (playerFaction != null) {
-                        if (owner.equals(playerFaction.id())) return new int[]{checkX, checkZ};
-                        if (playerFaction.isAlly(owner)) return new int[]{checkX, checkZ};
-                    }
-                }
-            }
-        }
-        return null;
+        // Safe if: wilderness, own claim, or ally claim
+        return hyperFactions.getClaimManager().findNearestChunk(world, startX, startZ, maxRadius, owner ->
+            owner == null
+                || (playerFaction != null && (owner.equals(playerFaction.id()) || playerFaction.isAlly(owner))));
     }
 }
@@ -333,6 +333,8 @@ public class ConfigManager {
     public double getKillReward() { return coreConfig.getKillReward(); }
     public double getRegenPerMinute() { return coreConfig.getRegenPerMinute(); }
     public boolean isRegenWhenOffline() { return coreConfig.isRegenWhenOffline(); }
+    public boolean isLazyOfflineLoading() { return coreConfig.isLazyOfflineLoading(); }
+    public int getOfflineCacheSize() { return coreConfig.getOfflineCacheSize(); }
 
     // Claims
     public int getMaxClaims() { return coreConfig.getMaxClaims(); }
@@ -389,6 +391,14 @@ public class ConfigManager {
     public boolean isAutoSaveEnabled() { return coreConfig.isAutoSaveEnabled(); }
     public int getAutoSaveIntervalMinutes() { return coreConfig.getAutoSaveIntervalMinutes(); }
 
+    // Storage
+    @NotNull public String getStorageBackend() { return coreConfig.getStorageBackend(); }
+    public int getSaveCoalesceMillis() { return coreConfig.getSaveCoalesceMillis(); }
+    public int getStorageIoThreads() { return coreConfig.getStorageIoThreads(); }
+    public int getStorageLoadThreads() { return coreConfig.getStorageLoadThreads(); }
+    public boolean isClaimJournalEnabled() { return coreConfig.isClaimJournalEnabled(); }
+    public int getClaimJournalCompactEntries() { return coreConfig.getClaimJournalCompactEntries(); }
+
     // Backup (from module)
     public boolean isBackupEnabled() { return backupConfig.isEnabled(); }
     public int getBackupHourlyRetention() { return backupConfig.getHourlyRetention(); }
@@ -474,6 +484,9 @@ public class ConfigManager {
     // Permissions
     public boolean isAdminRequiresOp() { return coreConfig.isAdminRequiresOp(); }
     public boolean isAllowWithoutPermissionMod() { return coreConfig.isAllowWithoutPermissionMod(); }
+    public int getPermissionCacheTtlSeconds() { return coreConfig.getPermissionCacheTtlSeconds(); }
+    public int getPermissionCacheMaxPlayers() { return coreConfig.getPermissionCacheMaxPlayers(); }
+    public int getPermissionCacheMaxNodesPerPlayer() { return coreConfig.getPermissionCacheMaxNodesPerPlayer(); }
 
     // Faction Permissions (from module)
     @NotNull public FactionPermissions getDefaultFactionPermissions() {
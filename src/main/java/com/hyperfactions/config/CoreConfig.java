@@ -34,6 +34,8 @@ public class CoreConfig extends ConfigFile {
     private double killReward = 0.0;
     private double regenPerMinute = 0.1;
     private boolean regenWhenOffline = false;
+    private boolean lazyOfflineLoading = false;
+    private int offlineCacheSize = 1000;
 
     // Claim settings
     private int maxClaims = 100;
@@ -85,6 +87,14 @@ public class CoreConfig extends ConfigFile {
     private boolean autoSaveEnabled = true;
     private int autoSaveIntervalMinutes = 5;
 
+    // Storage settings
+    private String storageBackend = "json";
+    private int saveCoalesceMillis = 500;
+    private int ioThreads = 2;
+    private int loadThreads = 0;
+    private boolean claimJournal = false;
+    private int claimJournalCompactEntries = 1000;
+
     // Message settings (v3 format: structured prefix)
     private String prefixText = "HyperFactions";
     private String prefixColor = "#55FFFF";
@@ -101,6 +111,9 @@ public class CoreConfig extends ConfigFile {
     // Permission settings
     private boolean adminRequiresOp = true;
     private boolean allowWithoutPermissionMod = false;
+    private int cacheTtlSeconds = 30;
+    private int cacheMaxPlayers = 1000;
+    private int cacheMaxNodesPerPlayer = 128;
 
     /**
      * Creates a new core config.
@@ -141,6 +154,8 @@ public class CoreConfig extends ConfigFile {
             killReward = getDouble(power, "killReward", killReward);
             regenPerMinute = getDouble(power, "regenPerMinute", regenPerMinute);
             regenWhenOffline = getBool(power, "regenWhenOffline", regenWhenOffline);
+            lazyOfflineLoading = getBool(power, "lazyOfflineLoading", lazyOfflineLoading);
+            offlineCacheSize = getInt(power, "offlineCacheSize", offlineCacheSize);
         }
 
         // Claim settings
@@ -224,6 +239,17 @@ public class CoreConfig extends ConfigFile {
             autoSaveIntervalMinutes = getInt(autoSave, "intervalMinutes", autoSaveIntervalMinutes);
         }
 
+        // Storage settings
+        if (hasSection(root, "storage")) {
+            JsonObject storage = root.getAsJsonObject("storage");
+            storageBackend = getString(storage, "backend", storageBackend);
+            saveCoalesceMillis = getInt(storage, "saveCoalesceMillis", saveCoalesceMillis);
+            ioThreads = getInt(storage, "ioThreads", ioThreads);
+            loadThreads = getInt(storage, "loadThreads", loadThreads);
+            claimJournal = getBool(storage, "claimJournal", claimJournal);
+            claimJournalCompactEntries = getInt(storage, "claimJournalCompactEntries", claimJournalCompactEntries);
+        }
+
         // Message settings (supports both v2 string format and v3 structured format)
         if (hasSection(root, "messages")) {
             JsonObject messages = root.getAsJsonObject("messages");
@@ -274,6 +300,9 @@ public class CoreConfig extends ConfigFile {
             JsonObject permissions = root.getAsJsonObject("permissions");
             adminRequiresOp = getBool(permissions, "adminRequiresOp", adminRequiresOp);
             allowWithoutPermissionMod = getBool(permissions, "allowWithoutPermissionMod", allowWithoutPermissionMod);
+            cacheTtlSeconds = getInt(permissions, "cacheTtlSeconds", cacheTtlSeconds);
+            cacheMaxPlayers = getInt(permissions, "cacheMaxPlayers", cacheMaxPlayers);
+            cacheMaxNodesPerPlayer = getInt(permissions, "cacheMaxNodesPerPlayer", cacheMaxNodesPerPlayer);
         }
     }
 
@@ -302,6 +331,8 @@ public class CoreConfig extends ConfigFile {
         power.addProperty("killReward", killReward);
         power.addProperty("regenPerMinute", regenPerMinute);
         power.addProperty("regenWhenOffline", regenWhenOffline);
+        power.addProperty("lazyOfflineLoading", lazyOfflineLoading);
+        power.addProperty("offlineCacheSize", offlineCacheSize);
         root.add("power", power);
 
         // Claim settings
@@ -371,6 +402,16 @@ public class CoreConfig extends ConfigFile {
         autoSave.addProperty("intervalMinutes", autoSaveIntervalMinutes);
         root.add("autoSave", autoSave);
 
+        // Storage settings
+        JsonObject storage = new JsonObject();
+        storage.addProperty("backend", storageBackend);
+        storage.addProperty("saveCoalesceMillis", saveCoalesceMillis);
+        storage.addProperty("ioThreads", ioThreads);
+        storage.addProperty("loadThreads", loadThreads);
+        storage.addProperty("claimJournal", claimJournal);
+        storage.addProperty("claimJournalCompactEntries", claimJournalCompactEntries);
+        root.add("storage", storage);
+
         // Message settings (v3 format: structured prefix)
         JsonObject messages = new JsonObject();
         JsonObject prefixObj = new JsonObject();
@@ -398,6 +439,9 @@ public class CoreConfig extends ConfigFile {
         JsonObject permissions = new JsonObject();
         permissions.addProperty("adminRequiresOp", adminRequiresOp);
         permissions.addProperty("allowWithoutPermissionMod", allowWithoutPermissionMod);
+        permissions.addProperty("cacheTtlSeconds", cacheTtlSeconds);
+        permissions.addProperty("cacheMaxPlayers", cacheMaxPlayers);
+        permissions.addProperty("cacheMaxNodesPerPlayer", cacheMaxNodesPerPlayer);
         root.add("permissions", permissions);
 
         return root;
@@ -422,6 +466,8 @@ public class CoreConfig extends ConfigFile {
     public double getKillReward() { return killReward; }
     public double getRegenPerMinute() { return regenPerMinute; }
     public boolean isRegenWhenOffline() { return regenWhenOffline; }
+    public boolean isLazyOfflineLoading() { return lazyOfflineLoading; }
+    public int getOfflineCacheSize() { return offlineCacheSize; }
 
     // Claims
     public int getMaxClaims() { return maxClaims; }
@@ -476,6 +522,14 @@ public class CoreConfig extends ConfigFile {
     public boolean isAutoSaveEnabled() { return autoSaveEnabled; }
     public int getAutoSaveIntervalMinutes() { return autoSaveIntervalMinutes; }
 
+    // Storage
+    @NotNull public String getStorageBackend() { return storageBackend; }
+    public int getSaveCoalesceMillis() { return saveCoalesceMillis; }
+    public int getStorageIoThreads() { return ioThreads; }
+    public int getStorageLoadThreads() { return loadThreads; }
+    public boolean isClaimJournalEnabled() { return claimJournal; }
+    public int getClaimJournalCompactEntries() { return claimJournalCompactEntries; }
+
     // Messages (v3 structured prefix)
     @NotNull public String getPrefixText() { return prefixText; }
     @NotNull public String getPrefixColor() { return prefixColor; }
@@ -492,6 +546,9 @@ public class CoreConfig extends ConfigFile {
     // Permissions
     public boolean isAdminRequiresOp() { return adminRequiresOp; }
     public boolean isAllowWithoutPermissionMod() { return allowWithoutPermissionMod; }
+    public int getPermissionCacheTtlSeconds() { return cacheTtlSeconds; }
+    public int getPermissionCacheMaxPlayers() { return cacheMaxPlayers; }
+    public int getPermissionCacheMaxNodesPerPlayer() { return cacheMaxNodesPerPlayer; }
 
     // === Utility Methods ===
 
@@ -551,6 +608,7 @@ public class CoreConfig extends ConfigFile {
         deathPenalty = validateMin(result, "power.deathPenalty", deathPenalty, 0.0, 1.0);
         killReward = validateMin(result, "power.killReward", killReward, 0.0, 0.0);
         regenPerMinute = validateMin(result, "power.regenPerMinute", regenPerMinute, 0.0, 0.1);
+        offlineCacheSize = validateMin(result, "power.offlineCacheSize", offlineCacheSize, 0, 1000);
 
         // Claim settings
         maxClaims = validateMin(result, "claims.maxClaims", maxClaims, 0, 100);
@@ -599,7 +657,20 @@ public class CoreConfig extends ConfigFile {
         autoSaveIntervalMinutes = validateMin(result, "autoSave.intervalMinutes",
                 autoSaveIntervalMinutes, 1, 5);
 
-        // Permission settings - no validation needed for boolean
+        // Storage settings
+        storageBackend = validateEnum(result, "storage.backend", storageBackend,
+                new String[]{"json", "binary", "sql"}, "json").toLowerCase();
+        saveCoalesceMillis = validateRange(result, "storage.saveCoalesceMillis", saveCoalesceMillis, 0, 60000, 500);
+        ioThreads = validateRange(result, "storage.ioThreads", ioThreads, 1, 16, 2);
+        loadThreads = validateRange(result, "storage.loadThreads", loadThreads, 0, 32, 0);
+        claimJournalCompactEntries = validateMin(result, "storage.claimJournalCompactEntries",
+                claimJournalCompactEntries, 1, 1000);
+
+        // Permission settings (cache TTL 0 disables the decision cache)
+        cacheTtlSeconds = validateMin(result, "permissions.cacheTtlSeconds", cacheTtlSeconds, 0, 30);
+        cacheMaxPlayers = validateMin(result, "permissions.cacheMaxPlayers", cacheMaxPlayers, 1, 1000);
+        cacheMaxNodesPerPlayer = validateMin(result, "permissions.cacheMaxNodesPerPlayer",
+                cacheMaxNodesPerPlayer, 1, 128);
 
         // Message settings - validate hex color
         validateHexColor(result, "messages.primaryColor", primaryColor);
@@ -9,6 +9,7 @@ import org.jetbrains.annotations.NotNull;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Configuration for faction territory permissions.
@@ -58,9 +59,15 @@ public class FactionPermissionsConfig extends ModuleConfig {
         {"neutral",  "neutralMobSpawning"}
     };
 
+    // Global revision source so a replaced config instance never reuses a revision
+    private static final AtomicLong REVISIONS = new AtomicLong();
+
     private Map<String, Boolean> defaults = new HashMap<>();
     private Map<String, Boolean> locks = new HashMap<>();
 
+    // Bumped every time defaults/locks are (re)loaded; used to invalidate compiled permission tables
+    private volatile long revision = REVISIONS.incrementAndGet();
+
     /**
      * Creates a new faction permissions config.
      *
@@ -87,6 +94,7 @@ public class FactionPermissionsConfig extends ModuleConfig {
         for (String flag : FactionPermissions.ALL_FLAGS) {
             locks.put(flag, false);
         }
+        revision = REVISIONS.incrementAndGet();
     }
 
     @Override
@@ -110,6 +118,7 @@ public class FactionPermissionsConfig extends ModuleConfig {
             JsonObject locksObj = root.getAsJsonObject("locks");
             loadSection(locksObj, locks);
         }
+        revision = REVISIONS.incrementAndGet();
     }
 
     /**
@@ -264,4 +273,15 @@ public class FactionPermissionsConfig extends ModuleConfig {
     public boolean isPermissionLocked(@NotNull String permissionName) {
         return locks.getOrDefault(permissionName, false);
     }
+
+    /**
+     * Gets the revision of the loaded defaults and locks.
+     * Changes every time the config is (re)loaded, so callers caching effective
+     * permissions can detect that server locks may have changed.
+     *
+     * @return the current revision
+     */
+    public long getRevision() {
+        return revision;
+    }
 }
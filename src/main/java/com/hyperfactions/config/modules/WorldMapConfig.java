@@ -85,6 +85,10 @@ public class WorldMapConfig extends ModuleConfig {
     // Debounced mode settings
     private int debouncedDelaySeconds = 5;
 
+    // Batch scheduling settings (proximity and incremental modes)
+    private int batchRenderBudgetMillis = 25;
+    private int playerNotifyIntervalMillis = 1000;
+
     // Fallback behavior
     private boolean autoFallbackOnError = true;
 
@@ -94,6 +98,13 @@ public class WorldMapConfig extends ModuleConfig {
     // Performance settings
     private int factionWideRefreshThreshold = 200;  // Above this, use full refresh instead of queuing
 
+    // Terrain cache settings
+    private int terrainCacheMaxTiles = 2048;
+    private int terrainCacheMaxAgeSeconds = 600;
+    private boolean terrainCachePersist = false;
+    private int terrainCacheDiskMaxMegabytes = 256;
+    private int terrainCacheDiskMaxAgeDays = 7;
+
     /**
      * Creates a new world map config.
      *
@@ -131,6 +142,10 @@ public class WorldMapConfig extends ModuleConfig {
         // Debounced defaults
         debouncedDelaySeconds = 5;
 
+        // Batch scheduling defaults
+        batchRenderBudgetMillis = 25;
+        playerNotifyIntervalMillis = 1000;
+
         // Fallback
         autoFallbackOnError = true;
 
@@ -139,6 +154,13 @@ public class WorldMapConfig extends ModuleConfig {
 
         // Performance settings
         factionWideRefreshThreshold = 200;
+
+        // Terrain cache defaults
+        terrainCacheMaxTiles = 2048;
+        terrainCacheMaxAgeSeconds = 600;
+        terrainCachePersist = false;
+        terrainCacheDiskMaxMegabytes = 256;
+        terrainCacheDiskMaxAgeDays = 7;
     }
 
     @Override
@@ -176,6 +198,23 @@ public class WorldMapConfig extends ModuleConfig {
             JsonObject debounced = root.getAsJsonObject("debounced");
             debouncedDelaySeconds = getInt(debounced, "delaySeconds", debouncedDelaySeconds);
         }
+
+        // Load batch scheduling settings
+        if (hasSection(root, "batching")) {
+            JsonObject batching = root.getAsJsonObject("batching");
+            batchRenderBudgetMillis = getInt(batching, "renderBudgetMillis", batchRenderBudgetMillis);
+            playerNotifyIntervalMillis = getInt(batching, "playerNotifyIntervalMillis", playerNotifyIntervalMillis);
+        }
+
+        // Load terrain cache settings
+        if (hasSection(root, "terrainCache")) {
+            JsonObject terrainCache = root.getAsJsonObject("terrainCache");
+            terrainCacheMaxTiles = getInt(terrainCache, "maxTiles", terrainCacheMaxTiles);
+            terrainCacheMaxAgeSeconds = getInt(terrainCache, "maxAgeSeconds", terrainCacheMaxAgeSeconds);
+            terrainCachePersist = getBool(terrainCache, "persist", terrainCachePersist);
+            terrainCacheDiskMaxMegabytes = getInt(terrainCache, "diskMaxMegabytes", terrainCacheDiskMaxMegabytes);
+            terrainCacheDiskMaxAgeDays = getInt(terrainCache, "diskMaxAgeDays", terrainCacheDiskMaxAgeDays);
+        }
     }
 
     @Override
@@ -184,7 +223,7 @@ public class WorldMapConfig extends ModuleConfig {
         root.addProperty("autoFallbackOnError", autoFallbackOnError);
         root.addProperty("showFactionTags", showFactionTags);
         root.addProperty("factionWideRefreshThreshold", factionWideRefreshThreshold);
-        root.addProperty("_thresholdNote", "If faction has more claims than threshold, use full refresh instead of queuing each chunk");
+        root.addProperty("_thresholdNote", "If faction has more claims than threshold, use full refresh instead of queuing each chunk (ignored while terrainCache is enabled)");
 
         // Proximity section
         JsonObject proximity = new JsonObject();
@@ -218,6 +257,27 @@ public class WorldMapConfig extends ModuleConfig {
         JsonObject manual = new JsonObject();
         manual.addProperty("_description", "No automatic refresh. Use /f admin map refresh to update manually.");
         root.add("manual", manual);
+
+        // Batch scheduling section
+        JsonObject batching = new JsonObject();
+        batching.addProperty("_description", "Proximity/incremental batches: chunks nearest to players and most recently changed go first");
+        batching.addProperty("_budgetNote", "Batch size adapts so the tiles of one batch take about renderBudgetMillis to render, up to maxChunksPerBatch");
+        batching.addProperty("renderBudgetMillis", batchRenderBudgetMillis);
+        batching.addProperty("playerNotifyIntervalMillis", playerNotifyIntervalMillis);
+        root.add("batching", batching);
+
+        // Terrain cache section
+        JsonObject terrainCache = new JsonObject();
+        terrainCache.addProperty("_description", "Caches sampled terrain so claim changes only re-draw the overlay. 0 maxTiles disables it.");
+        terrainCache.addProperty("_ageNote", "Tiles are re-sampled after maxAgeSeconds to pick up terrain changes not made by players (0 = never)");
+        terrainCache.addProperty("maxTiles", terrainCacheMaxTiles);
+        terrainCache.addProperty("maxAgeSeconds", terrainCacheMaxAgeSeconds);
+        terrainCache.addProperty("_persistNote", "Also keep terrain in data/worldmap-cache/ so it survives restarts, capped at diskMaxMegabytes");
+        terrainCache.addProperty("persist", terrainCachePersist);
+        terrainCache.addProperty("diskMaxMegabytes", terrainCacheDiskMaxMegabytes);
+        terrainCache.addProperty("_diskAgeNote", "Stored tiles are re-sampled after diskMaxAgeDays, counted from when they were sampled (0 = never)");
+        terrainCache.addProperty("diskMaxAgeDays", terrainCacheDiskMaxAgeDays);
+        root.add("terrainCache", terrainCache);
     }
 
     @Override
@@ -243,6 +303,22 @@ public class WorldMapConfig extends ModuleConfig {
         debouncedDelaySeconds = validateRange(result, "debounced.delaySeconds",
                 debouncedDelaySeconds, 1, 60, 5);
 
+        // Validate batch scheduling settings
+        batchRenderBudgetMillis = validateRange(result, "batching.renderBudgetMillis",
+                batchRenderBudgetMillis, 1, 1000, 25);
+        playerNotifyIntervalMillis = validateRange(result, "batching.playerNotifyIntervalMillis",
+                playerNotifyIntervalMillis, 0, 60000, 1000);
+
+        // Validate terrain cache settings
+        terrainCacheMaxTiles = validateRange(result, "terrainCache.maxTiles",
+                terrainCacheMaxTiles, 0, 65536, 2048);
+        terrainCacheMaxAgeSeconds = validateRange(result, "terrainCache.maxAgeSeconds",
+                terrainCacheMaxAgeSeconds, 0, 86400, 600);
+        terrainCacheDiskMaxMegabytes = validateRange(result, "terrainCache.diskMaxMegabytes",
+                terrainCacheDiskMaxMegabytes, 1, 8192, 256);
+        terrainCacheDiskMaxAgeDays = validateRange(result, "terrainCache.diskMaxAgeDays",
+                terrainCacheDiskMaxAgeDays, 0, 365, 7);
+
         return result;
     }
 
@@ -322,6 +398,27 @@ public class WorldMapConfig extends ModuleConfig {
         return debouncedDelaySeconds;
     }
 
+    /**
+     * Gets the time budget for one refresh batch. The scheduler sizes batches so
+     * their tiles take about this long to render, based on measured render time,
+     * and stops handing out chunks once processing a batch exceeds it.
+     *
+     * @return budget in milliseconds
+     */
+    public int getBatchRenderBudgetMillis() {
+        return batchRenderBudgetMillis;
+    }
+
+    /**
+     * Gets the minimum time between map update notifications to one player.
+     * Changes arriving sooner are held and sent together.
+     *
+     * @return interval in milliseconds (0 = no limit)
+     */
+    public int getPlayerNotifyIntervalMillis() {
+        return playerNotifyIntervalMillis;
+    }
+
     /**
      * Checks if auto-fallback on error is enabled.
      * When enabled, if reflection fails to access the image cache,
@@ -347,11 +444,59 @@ public class WorldMapConfig extends ModuleConfig {
     /**
      * Gets the threshold for faction-wide refresh operations.
      * If a faction has more claims than this threshold, a full refresh is used
-     * instead of queuing each chunk individually.
+     * instead of queuing each chunk individually. Not applied while the terrain
+     * cache is enabled, since those refreshes only re-composite the overlay.
      *
      * @return the threshold (default: 200)
      */
     public int getFactionWideRefreshThreshold() {
         return factionWideRefreshThreshold;
     }
+
+    /**
+     * Gets the maximum number of chunk terrain layers kept in memory.
+     * Each tile costs roughly 8 bytes per map pixel.
+     *
+     * @return max cached tiles (0 disables the terrain cache)
+     */
+    public int getTerrainCacheMaxTiles() {
+        return terrainCacheMaxTiles;
+    }
+
+    /**
+     * Gets how long a cached terrain layer is reused before the chunk is sampled again.
+     *
+     * @return max age in seconds (0 = until invalidated)
+     */
+    public int getTerrainCacheMaxAgeSeconds() {
+        return terrainCacheMaxAgeSeconds;
+    }
+
+    /**
+     * Checks if cached terrain is also written to disk and reused after a restart.
+     *
+     * @return true if the on-disk tile cache is enabled
+     */
+    public boolean isTerrainCachePersist() {
+        return terrainCachePersist;
+    }
+
+    /**
+     * Gets the size cap of the on-disk tile cache.
+     *
+     * @return max size in megabytes
+     */
+    public int getTerrainCacheDiskMaxMegabytes() {
+        return terrainCacheDiskMaxMegabytes;
+    }
+
+    /**
+     * Gets how long a tile in the on-disk cache is reused before the chunk is sampled again.
+     * Separate from the memory max age, since stored tiles have to outlive restarts.
+     *
+     * @return max age in days (0 = until invalidated)
+     */
+    public int getTerrainCacheDiskMaxAgeDays() {
+        return terrainCacheDiskMaxAgeDays;
+    }
 }
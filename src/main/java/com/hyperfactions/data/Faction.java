@@ -272,6 +272,16 @@ public record Faction(
         return new Faction(id, name, description, tag, color, createdAt, home, members, newClaims, relations, logs, open, permissions);
     }
 
+    /**
+     * Creates a copy with the claims replaced.
+     *
+     * @param newClaims the new claims
+     * @return a new Faction with the given claims
+     */
+    public Faction withClaims(@NotNull Set<FactionClaim> newClaims) {
+        return new Faction(id, name, description, tag, color, createdAt, home, members, newClaims, relations, logs, open, permissions);
+    }
+
     /**
      * Creates a copy with all claims removed.
      *
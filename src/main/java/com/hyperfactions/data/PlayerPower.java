@@ -41,7 +41,7 @@ public record PlayerPower(
      */
     public PlayerPower withPower(double newPower) {
         double clamped = Math.max(0, Math.min(maxPower, newPower));
-        return new PlayerPower(uuid, clamped, maxPower, lastDeath, lastRegen);
+        return new PlayerPower(uuid, clamped, maxPower, lastDeath, regenClockFor(clamped, maxPower));
     }
 
     /**
@@ -52,7 +52,7 @@ public record PlayerPower(
      */
     public PlayerPower withDeathPenalty(double penalty) {
         double newPower = Math.max(0, power - penalty);
-        return new PlayerPower(uuid, newPower, maxPower, System.currentTimeMillis(), lastRegen);
+        return new PlayerPower(uuid, newPower, maxPower, System.currentTimeMillis(), regenClockFor(newPower, maxPower));
     }
 
     /**
@@ -66,6 +66,33 @@ public record PlayerPower(
         return new PlayerPower(uuid, newPower, maxPower, lastDeath, System.currentTimeMillis());
     }
 
+    /**
+     * Creates a copy with the regeneration accrued since {@code lastRegen} (or
+     * {@code notBefore}, if later), counted in whole intervals up to {@code now}.
+     * {@code lastRegen} advances by the intervals counted, so partial intervals carry
+     * over to the next call, and jumps to {@code now} once max power is reached.
+     * Returns this instance when already at max or no full interval has passed.
+     *
+     * @param notBefore         time before which nothing accrues (epoch millis)
+     * @param now               the current time (epoch millis)
+     * @param amountPerInterval power regenerated per interval
+     * @param intervalMillis    the interval length in millis
+     * @return the power with accrued regen applied
+     */
+    public PlayerPower withAccruedRegen(long notBefore, long now, double amountPerInterval, long intervalMillis) {
+        if (isAtMax()) {
+            return this;
+        }
+        long from = Math.max(lastRegen, notBefore);
+        long intervals = (now - from) / intervalMillis;
+        if (intervals <= 0) {
+            return this;
+        }
+        double newPower = Math.min(maxPower, power + amountPerInterval * intervals);
+        long regenAt = newPower >= maxPower ? now : from + intervals * intervalMillis;
+        return new PlayerPower(uuid, Math.max(power, newPower), maxPower, lastDeath, regenAt);
+    }
+
     /**
      * Creates a copy with updated max power.
      *
@@ -74,7 +101,15 @@ public record PlayerPower(
      */
     public PlayerPower withMaxPower(double newMaxPower) {
         double newPower = Math.min(power, newMaxPower);
-        return new PlayerPower(uuid, newPower, newMaxPower, lastDeath, lastRegen);
+        return new PlayerPower(uuid, newPower, newMaxPower, lastDeath, regenClockFor(newPower, newMaxPower));
+    }
+
+    /**
+     * {@code lastRegen} is not advanced while at max, so a record that drops below
+     * max starts regenerating from now rather than from when it last reached max.
+     */
+    private long regenClockFor(double newPower, double newMaxPower) {
+        return isAtMax() && newPower < newMaxPower ? System.currentTimeMillis() : lastRegen;
     }
 
     /**
@@ -6,6 +6,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Tracks which GUI page each player currently has open.
@@ -23,15 +24,77 @@ public class ActivePageTracker {
      * @param pageId    The page identifier (e.g., "members", "invites", "map")
      * @param factionId The faction context (null for non-faction pages)
      * @param page      The page instance
+     * @param viewport  The chunks shown, for map pages (null if unknown or not a map)
      */
     public record ActivePageInfo(
             @NotNull String pageId,
             @Nullable UUID factionId,
-            @NotNull InteractiveCustomUIPage<?> page
+            @NotNull InteractiveCustomUIPage<?> page,
+            @Nullable MapViewport viewport
     ) {}
 
+    /**
+     * The world and chunk rectangle a map page is showing (bounds inclusive).
+     *
+     * @param world     The world the grid is drawn from
+     * @param minChunkX Westmost chunk X
+     * @param minChunkZ Northmost chunk Z
+     * @param maxChunkX Eastmost chunk X
+     * @param maxChunkZ Southmost chunk Z
+     */
+    public record MapViewport(
+            @NotNull String world,
+            int minChunkX,
+            int minChunkZ,
+            int maxChunkX,
+            int maxChunkZ
+    ) {
+
+        /**
+         * Creates a viewport for a grid centered on a chunk.
+         *
+         * @param world   The world name
+         * @param centerX Center chunk X
+         * @param centerZ Center chunk Z
+         * @param radiusX Columns on each side of the center
+         * @param radiusZ Rows on each side of the center
+         * @return the viewport
+         */
+        @NotNull
+        public static MapViewport around(@NotNull String world, int centerX, int centerZ, int radiusX, int radiusZ) {
+            return new MapViewport(world, centerX - radiusX, centerZ - radiusZ, centerX + radiusX, centerZ + radiusZ);
+        }
+
+        /**
+         * Checks if a chunk is visible in this viewport.
+         *
+         * @param worldName The chunk's world
+         * @param chunkX    The chunk X
+         * @param chunkZ    The chunk Z
+         * @return true if the chunk is shown
+         */
+        public boolean contains(@NotNull String worldName, int chunkX, int chunkZ) {
+            return chunkX >= minChunkX && chunkX <= maxChunkX
+                    && chunkZ >= minChunkZ && chunkZ <= maxChunkZ
+                    && world.equals(worldName);
+        }
+    }
+
     private final ConcurrentHashMap<UUID, ActivePageInfo> activePlayers = new ConcurrentHashMap<>();
 
+    // Called after a player's page is unregistered (page closed or player disconnected)
+    @Nullable
+    private volatile Consumer<UUID> onUnregister;
+
+    /**
+     * Sets a callback run after a player is unregistered, so per-viewer state can be dropped.
+     *
+     * @param callback receives the player's UUID, or null to remove it
+     */
+    public void setOnUnregister(@Nullable Consumer<UUID> callback) {
+        this.onUnregister = callback;
+    }
+
     /**
      * Registers a player's currently open page.
      * Overwrites any previous entry (player can only view one page at a time).
@@ -43,7 +106,23 @@ public class ActivePageTracker {
      */
     public void register(@NotNull UUID playerUuid, @NotNull String pageId,
                          @Nullable UUID factionId, @NotNull InteractiveCustomUIPage<?> page) {
-        activePlayers.put(playerUuid, new ActivePageInfo(pageId, factionId, page));
+        activePlayers.put(playerUuid, new ActivePageInfo(pageId, factionId, page, null));
+    }
+
+    /**
+     * Registers a player's currently open map page along with the chunks it shows,
+     * so chunk changes only refresh viewers who can see them.
+     *
+     * @param playerUuid The player's UUID
+     * @param pageId     The page identifier
+     * @param factionId  The faction context (null for non-faction pages)
+     * @param page       The page instance
+     * @param viewport   The world and chunk rectangle on screen
+     */
+    public void register(@NotNull UUID playerUuid, @NotNull String pageId,
+                         @Nullable UUID factionId, @NotNull InteractiveCustomUIPage<?> page,
+                         @NotNull MapViewport viewport) {
+        activePlayers.put(playerUuid, new ActivePageInfo(pageId, factionId, page, viewport));
     }
 
     /**
@@ -53,6 +132,10 @@ public class ActivePageTracker {
      */
     public void unregister(@NotNull UUID playerUuid) {
         activePlayers.remove(playerUuid);
+        Consumer<UUID> callback = onUnregister;
+        if (callback != null) {
+            callback.accept(playerUuid);
+        }
     }
 
     /**
@@ -102,6 +185,33 @@ public class ActivePageTracker {
         return result;
     }
 
+    /**
+     * Gets all players viewing a specific page whose map shows the given chunk.
+     * Pages registered without a viewport are always included.
+     *
+     * @param pageId    The page identifier to match
+     * @param worldName The chunk's world
+     * @param chunkX    The chunk X
+     * @param chunkZ    The chunk Z
+     * @return List of player UUIDs that can see the chunk
+     */
+    @NotNull
+    public List<UUID> getPlayersViewingChunk(@NotNull String pageId, @NotNull String worldName,
+                                             int chunkX, int chunkZ) {
+        List<UUID> result = new ArrayList<>();
+        for (Map.Entry<UUID, ActivePageInfo> entry : activePlayers.entrySet()) {
+            ActivePageInfo info = entry.getValue();
+            if (!info.pageId().equals(pageId)) {
+                continue;
+            }
+            MapViewport viewport = info.viewport();
+            if (viewport == null || viewport.contains(worldName, chunkX, chunkZ)) {
+                result.add(entry.getKey());
+            }
+        }
+        return result;
+    }
+
     /**
      * Clears all tracked pages. Used during shutdown.
      */
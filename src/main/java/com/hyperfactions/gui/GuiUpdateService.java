@@ -1,16 +1,21 @@
 package com.hyperfactions.gui;
 
-import com.hyperfactions.data.Faction;
 import com.hyperfactions.data.JoinRequest;
 import com.hyperfactions.data.PendingInvite;
-import com.hyperfactions.manager.FactionManager;
+import com.hyperfactions.manager.OnlineRoster;
 import com.hyperfactions.util.Logger;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.Universe;
 import com.hypixel.hytale.server.core.universe.world.World;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Bridges manager change events to real-time GUI updates.
@@ -20,12 +25,35 @@ import java.util.*;
  */
 public class GuiUpdateService {
 
+    /** Minimum time between two chunk-triggered refreshes of the same map viewer */
+    private static final long MAP_REFRESH_INTERVAL_MS = 500;
+
     private final ActivePageTracker tracker;
-    private final FactionManager factionManager;
+    private final OnlineRoster onlineRoster;
+
+    // Map refresh coalescing: last refresh per viewer, and viewers with a refresh already scheduled
+    private final ConcurrentHashMap<UUID, Long> lastMapRefresh = new ConcurrentHashMap<>();
+    private final Set<UUID> pendingMapRefresh = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService scheduler;
 
-    public GuiUpdateService(@NotNull ActivePageTracker tracker, @NotNull FactionManager factionManager) {
+    public GuiUpdateService(@NotNull ActivePageTracker tracker, @NotNull OnlineRoster onlineRoster) {
         this.tracker = tracker;
-        this.factionManager = factionManager;
+        this.onlineRoster = onlineRoster;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "GuiUpdate-Scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        tracker.setOnUnregister(this::onPageClosed);
+    }
+
+    /**
+     * Stops the map refresh scheduler. Pending coalesced refreshes are dropped.
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+        pendingMapRefresh.clear();
+        lastMapRefresh.clear();
     }
 
     // ============================================================
@@ -164,12 +192,30 @@ public class GuiUpdateService {
 
     /**
      * Called when a chunk is claimed, unclaimed, or overclaimed.
-     * Refreshes ALL players viewing any map page.
+     * Refreshes map viewers (faction map, new player map, admin zone map) whose
+     * visible grid contains the chunk, plus faction map viewers of the gaining or
+     * losing faction wherever they are looking, since the header shows claim count
+     * and power. Bursts are coalesced into at most one refresh per viewer per
+     * {@link #MAP_REFRESH_INTERVAL_MS}.
      */
-    public void onChunkClaimed(@NotNull String worldName, int chunkX, int chunkZ) {
-        // Refresh all map viewers (faction map, new player map, admin zone map)
-        refreshAllOnPage("map");
-        refreshAllOnPage("admin_zone_map");
+    public void onChunkClaimed(@NotNull String worldName, int chunkX, int chunkZ,
+                               @Nullable UUID gainingFactionId, @Nullable UUID losingFactionId) {
+        // Collected first so a viewer matching several ways is refreshed once
+        Set<UUID> viewers = new HashSet<>(tracker.getPlayersViewingChunk("map", worldName, chunkX, chunkZ));
+        viewers.addAll(tracker.getPlayersViewingChunk("admin_zone_map", worldName, chunkX, chunkZ));
+        addFactionMapViewers(viewers, gainingFactionId);
+        addFactionMapViewers(viewers, losingFactionId);
+        for (UUID playerUuid : viewers) {
+            requestMapRefresh(playerUuid);
+        }
+    }
+
+    /**
+     * Called when a player's page is unregistered (closed or disconnected).
+     * Drops their map refresh throttling state.
+     */
+    private void onPageClosed(@NotNull UUID playerUuid) {
+        lastMapRefresh.remove(playerUuid);
     }
 
     // ============================================================
@@ -219,30 +265,66 @@ public class GuiUpdateService {
     }
 
     /**
-     * Refreshes all players viewing a specific page for a specific faction.
+     * Refreshes a map viewer now, or once the refresh interval has passed if they
+     * were refreshed recently. Requests while a refresh is scheduled are merged into it.
      */
-    private void refreshFactionPage(@NotNull String pageId, @NotNull UUID factionId) {
-        // Get all members of the faction who might be viewing this page
-        Faction faction = factionManager.getFaction(factionId);
-        if (faction == null) return;
+    private void requestMapRefresh(@NotNull UUID playerUuid) {
+        if (!pendingMapRefresh.add(playerUuid)) {
+            return; // Already scheduled; the rebuild will include this change
+        }
+
+        Long last = lastMapRefresh.get(playerUuid);
+        long wait = last == null ? 0 : last + MAP_REFRESH_INTERVAL_MS - System.currentTimeMillis();
+        if (wait <= 0) {
+            runMapRefresh(playerUuid);
+            return;
+        }
+
+        try {
+            scheduler.schedule(() -> runMapRefresh(playerUuid), wait, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            pendingMapRefresh.remove(playerUuid); // Shutting down
+        }
+    }
+
+    private void runMapRefresh(@NotNull UUID playerUuid) {
+        pendingMapRefresh.remove(playerUuid);
+        if (tracker.get(playerUuid) == null) {
+            lastMapRefresh.remove(playerUuid);
+            return;
+        }
+        lastMapRefresh.put(playerUuid, System.currentTimeMillis());
+        dispatchRefresh(playerUuid);
+    }
 
-        for (UUID memberUuid : faction.members().keySet()) {
+    /**
+     * Adds the online members of a faction who have its faction map open.
+     */
+    private void addFactionMapViewers(@NotNull Set<UUID> viewers, @Nullable UUID factionId) {
+        if (factionId == null) {
+            return;
+        }
+        for (PlayerRef member : onlineRoster.getOnlineMembers(factionId)) {
+            UUID memberUuid = member.getUuid();
             ActivePageTracker.ActivePageInfo info = tracker.get(memberUuid);
-            if (info != null && info.pageId().equals(pageId)
-                    && factionId.equals(info.factionId())) {
-                dispatchRefresh(memberUuid);
+            if (info != null && info.pageId().equals("map") && factionId.equals(info.factionId())) {
+                viewers.add(memberUuid);
             }
         }
     }
 
     /**
-     * Refreshes ALL players viewing a specific page (any faction context).
-     * Used for global events like chunk changes that affect all map viewers.
+     * Refreshes all players viewing a specific page for a specific faction.
      */
-    private void refreshAllOnPage(@NotNull String pageId) {
-        List<UUID> viewers = tracker.getPlayersOnPage(pageId);
-        for (UUID playerUuid : viewers) {
-            dispatchRefresh(playerUuid);
+    private void refreshFactionPage(@NotNull String pageId, @NotNull UUID factionId) {
+        // Only online members of the faction can be viewing this page
+        for (PlayerRef member : onlineRoster.getOnlineMembers(factionId)) {
+            UUID memberUuid = member.getUuid();
+            ActivePageTracker.ActivePageInfo info = tracker.get(memberUuid);
+            if (info != null && info.pageId().equals(pageId)
+                    && factionId.equals(info.factionId())) {
+                dispatchRefresh(memberUuid);
+            }
         }
     }
 }
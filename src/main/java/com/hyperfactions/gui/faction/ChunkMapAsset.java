@@ -1,6 +1,7 @@
 package com.hyperfactions.gui.faction;
 
 import com.hyperfactions.util.Logger;
+import com.hyperfactions.util.PngEncoder;
 import com.hypixel.hytale.common.util.ArrayUtil;
 import com.hypixel.hytale.math.util.ChunkUtil;
 import com.hypixel.hytale.protocol.Packet;
@@ -17,10 +18,6 @@ import com.hypixel.hytale.server.core.universe.world.worldmap.provider.chunk.Chu
 import it.unimi.dsi.fastutil.longs.LongArraySet;
 import org.jetbrains.annotations.Nullable;
 
-import javax.imageio.ImageIO;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -30,6 +27,9 @@ import java.util.concurrent.CompletableFuture;
  * Uses ChunkWorldMap.INSTANCE for pure terrain rendering (no claim overlays baked in).
  * Claim colors are overlaid via semi-transparent UI elements in ChunkMapPage.
  * <p>
+ * Rendered chunks are kept in the shared {@link ChunkMapTileCache}, so only chunks
+ * missing from it are rendered, and the composite is encoded with {@link PngEncoder}.
+ * <p>
  * Based on SimpleClaims' ChunkInfoMapAsset pattern (MIT license).
  */
 public class ChunkMapAsset extends CommonAsset {
@@ -88,62 +88,90 @@ public class ChunkMapAsset extends CommonAsset {
         int minZ = centerZ - radius;
         int maxZ = centerZ + radius;
 
-        var chunks = new LongArraySet();
+        int gridWidth = maxX - minX + 1;
+        int gridHeight = maxZ - minZ + 1;
+        String worldName = world.getName();
+        ChunkMapTileCache cache = ChunkMapTileCache.INSTANCE;
+
+        // Reuse chunk images from earlier views; only chunks never seen (or since changed) are rendered,
+        // so re-centering by one chunk renders a single new row or column
+        int[][] tiles = new int[gridWidth * gridHeight][];
+        long[] versions = new long[gridWidth * gridHeight];
+        var missing = new LongArraySet();
         for (int x = minX; x <= maxX; x++) {
             for (int z = minZ; z <= maxZ; z++) {
-                chunks.add(ChunkUtil.indexChunk(x, z));
+                int[] tile = cache.get(worldName, x, z);
+                if (tile != null) {
+                    tiles[(z - minZ) * gridWidth + (x - minX)] = tile;
+                } else {
+                    // Taken before rendering so an edit landing mid-render keeps the stale image out
+                    versions[(z - minZ) * gridWidth + (x - minX)] = cache.version(worldName, x, z);
+                    missing.add(ChunkUtil.indexChunk(x, z));
+                }
             }
         }
 
-        return ChunkWorldMap.INSTANCE.generate(world, partSize, partSize, chunks).thenApply(map -> {
-            int gridWidth = maxX - minX + 1;
-            int gridHeight = maxZ - minZ + 1;
-            var image = new BufferedImage(
-                    partSize * gridWidth,
-                    partSize * gridHeight,
-                    BufferedImage.TYPE_INT_ARGB
-            );
-
-            for (int x = minX; x <= maxX; x++) {
-                for (int z = minZ; z <= maxZ; z++) {
-                    var index = ChunkUtil.indexChunk(x, z);
+        CompletableFuture<Void> rendered;
+        if (missing.isEmpty()) {
+            rendered = CompletableFuture.completedFuture(null);
+        } else {
+            rendered = ChunkWorldMap.INSTANCE.generate(world, partSize, partSize, missing).thenAccept(map -> {
+                for (long index : missing) {
                     var chunkImage = map.getChunks().get(index);
-                    if (chunkImage != null) {
-                        var pixels = chunkImage.data;
-                        var width = chunkImage.width;
-                        var height = chunkImage.height;
-
-                        if (pixels == null) continue;
-                        if (width != partSize || height != partSize) continue;
-
-                        int imageX = (x - minX) * partSize;
-                        int imageZ = (z - minZ) * partSize;
-
-                        for (var i = 0; i < pixels.length; i++) {
-                            // MapImage uses RGBA format (alpha in low byte)
-                            // BufferedImage TYPE_INT_ARGB uses ARGB format (alpha in high byte)
-                            var pixel = pixels[i];
-                            var argb = pixel << 24 | (pixel >> 8 & 0x00FFFFFF);
-
-                            var pixelX = i % width;
-                            var pixelY = i / width;
-                            image.setRGB(imageX + pixelX, imageZ + pixelY, argb);
-                        }
-                    }
+                    if (chunkImage == null || chunkImage.data == null) continue;
+                    if (chunkImage.width != partSize || chunkImage.height != partSize) continue;
+
+                    int x = ChunkUtil.xOfChunkIndex(index);
+                    int z = ChunkUtil.zOfChunkIndex(index);
+                    int i = (z - minZ) * gridWidth + (x - minX);
+                    int[] tile = toArgb(chunkImage.data);
+                    cache.put(worldName, x, z, tile, versions[i]);
+                    tiles[i] = tile;
+                }
+            });
+        }
+
+        return rendered.thenApply(ignored -> {
+            int imageWidth = partSize * gridWidth;
+            int imageHeight = partSize * gridHeight;
+            int[] pixels = new int[imageWidth * imageHeight];
+
+            for (int i = 0; i < tiles.length; i++) {
+                int[] tile = tiles[i];
+                if (tile == null) continue; // Not renderable yet, stays transparent
+
+                int imageX = (i % gridWidth) * partSize;
+                int imageZ = (i / gridWidth) * partSize;
+                for (int row = 0; row < partSize; row++) {
+                    System.arraycopy(tile, row * partSize, pixels, (imageZ + row) * imageWidth + imageX, partSize);
                 }
             }
 
             try {
-                var baos = new ByteArrayOutputStream();
-                ImageIO.write(image, "PNG", baos);
-                return new ChunkMapAsset(baos.toByteArray());
-            } catch (IOException e) {
+                return new ChunkMapAsset(PngEncoder.encode(pixels, imageWidth, imageHeight));
+            } catch (RuntimeException e) {
                 Logger.severe("Failed to encode terrain map PNG", e);
                 return null;
             }
         });
     }
 
+    /**
+     * Converts a chunk image from MapImage's RGBA format (alpha in the low byte)
+     * to ARGB (alpha in the high byte).
+     *
+     * @param rgba the MapImage pixels
+     * @return a new ARGB pixel array
+     */
+    private static int[] toArgb(int[] rgba) {
+        int[] argb = new int[rgba.length];
+        for (int i = 0; i < rgba.length; i++) {
+            int pixel = rgba[i];
+            argb[i] = pixel << 24 | (pixel >> 8 & 0x00FFFFFF);
+        }
+        return argb;
+    }
+
     /**
      * Sends a CommonAsset to a single player's client.
      * Splits the asset data into 2.5MB chunks and sends the appropriate packets.
@@ -0,0 +1,171 @@
+package com.hyperfactions.gui.faction;
+
+import com.hyperfactions.util.ChunkUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Shared LRU cache of rendered terrain chunks for the chunk map GUI.
+ *
+ * Every open {@link com.hyperfactions.gui.faction.page.ChunkMapPage} shows a
+ * 17x17 window of terrain; players in the same area, and the same player moving
+ * or reopening the page, see mostly the same chunks. Tiles are stored as ready
+ * ARGB pixels so {@link ChunkMapAsset} only asks the world map renderer for
+ * chunks it has not seen, and copies the rest straight into the composite.
+ *
+ * Entries expire after a short age since the map renderer is not told about
+ * terrain changes, and are dropped early when a player edits blocks in the chunk.
+ *
+ * Chunks are rendered asynchronously, so an edit can invalidate a chunk while its
+ * image is still being drawn. As in the world map's terrain cache, each chunk has a
+ * {@link #version} bumped by invalidation; it is captured before rendering and an
+ * image whose version moved on is not cached.
+ */
+public final class ChunkMapTileCache {
+
+    public static final ChunkMapTileCache INSTANCE = new ChunkMapTileCache();
+
+    /** 32x32 ARGB tiles are 4 KB each, so the bound is about 16 MB. */
+    private static final int MAX_TILES = 4096;
+    private static final long MAX_AGE_MILLIS = 2 * 60 * 1000L;
+    private static final int VERSION_STRIPES = 1024;
+
+    private record TileKey(String world, int chunkX, int chunkZ) {}
+
+    private record Tile(int[] pixels, long createdAt) {}
+
+    private final LinkedHashMap<TileKey, Tile> tiles = new LinkedHashMap<>(512, 0.75f, true);
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private ChunkMapTileCache() {
+        // Singleton - use INSTANCE
+    }
+
+    /**
+     * Gets a cached chunk image.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return ARGB pixels (do not modify), or null if absent or expired
+     */
+    int @Nullable [] get(@NotNull String world, int chunkX, int chunkZ) {
+        TileKey key = new TileKey(world, chunkX, chunkZ);
+        Tile tile;
+        synchronized (tiles) {
+            tile = tiles.get(key);
+            if (tile != null && System.currentTimeMillis() - tile.createdAt() > MAX_AGE_MILLIS) {
+                tiles.remove(key);
+                tile = null;
+            }
+        }
+        (tile != null ? hits : misses).incrementAndGet();
+        return tile != null ? tile.pixels() : null;
+    }
+
+    /**
+     * Gets a chunk's version, to capture before rendering it.
+     * Chunks share version stripes, so an unrelated invalidation may occasionally
+     * discard an image; that only costs a re-render.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return a value that changes whenever the chunk is invalidated
+     */
+    long version(@NotNull String world, int chunkX, int chunkZ) {
+        return versions.get(stripe(world, chunkX, chunkZ)) + globalVersion.get();
+    }
+
+    /**
+     * Caches a chunk image, evicting the least recently used past the bound.
+     * The image is dropped if the chunk was invalidated after {@code version} was taken.
+     *
+     * @param world   the world name
+     * @param chunkX  the chunk X
+     * @param chunkZ  the chunk Z
+     * @param pixels  ARGB pixels, not modified afterwards
+     * @param version the chunk's {@link #version} from before rendering
+     */
+    void put(@NotNull String world, int chunkX, int chunkZ, int @NotNull [] pixels, long version) {
+        synchronized (tiles) {
+            if (version(world, chunkX, chunkZ) != version) {
+                return;
+            }
+            tiles.put(new TileKey(world, chunkX, chunkZ), new Tile(pixels, System.currentTimeMillis()));
+            Iterator<Map.Entry<TileKey, Tile>> it = tiles.entrySet().iterator();
+            while (tiles.size() > MAX_TILES && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops a chunk's image so the next map view renders it again.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     */
+    public void invalidate(@NotNull String world, int chunkX, int chunkZ) {
+        synchronized (tiles) {
+            versions.incrementAndGet(stripe(world, chunkX, chunkZ));
+            tiles.remove(new TileKey(world, chunkX, chunkZ));
+        }
+    }
+
+    /**
+     * Drops all cached chunk images.
+     */
+    public void clear() {
+        synchronized (tiles) {
+            globalVersion.incrementAndGet();
+            tiles.clear();
+        }
+    }
+
+    /**
+     * Gets the number of cached chunk images.
+     *
+     * @return the tile count
+     */
+    public int size() {
+        synchronized (tiles) {
+            return tiles.size();
+        }
+    }
+
+    /**
+     * Gets the number of chunks served from the cache.
+     *
+     * @return cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of chunks that had to be rendered.
+     *
+     * @return cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private static int stripe(@NotNull String world, int chunkX, int chunkZ) {
+        int h = world.hashCode() * 31 + Long.hashCode(ChunkUtil.packChunkKey(chunkX, chunkZ));
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+}
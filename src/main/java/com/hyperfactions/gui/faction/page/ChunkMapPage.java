@@ -174,7 +174,10 @@ public class ChunkMapPage extends InteractiveCustomUIPage<ChunkMapData> implemen
         ActivePageTracker activeTracker = guiManager.getActivePageTracker();
         if (activeTracker != null) {
             UUID factionId = viewerFaction != null ? viewerFaction.id() : null;
-            activeTracker.register(playerRef.getUuid(), PAGE_ID, factionId, this);
+            int radiusX = terrainEnabled ? TERRAIN_GRID_RADIUS : GRID_RADIUS_X;
+            int radiusZ = terrainEnabled ? TERRAIN_GRID_RADIUS : GRID_RADIUS_Z;
+            activeTracker.register(playerRef.getUuid(), PAGE_ID, factionId, this,
+                    ActivePageTracker.MapViewport.around(worldName, playerChunkX, playerChunkZ, radiusX, radiusZ));
         }
     }
 
@@ -197,6 +200,10 @@ public class ChunkMapPage extends InteractiveCustomUIPage<ChunkMapData> implemen
             isOfficer = member != null && member.isOfficerOrHigher();
         }
 
+        // One bulk fetch of every owner in the grid
+        OwnerGrid owners = claimManager.getOwnersInRect(worldName,
+                centerX - GRID_RADIUS_X, centerZ - GRID_RADIUS_Z, centerX + GRID_RADIUS_X, centerZ + GRID_RADIUS_Z);
+
         // Build 9 rows (z-4 to z+4)
         for (int zOffset = -GRID_RADIUS_Z; zOffset <= GRID_RADIUS_Z; zOffset++) {
             int rowIndex = zOffset + GRID_RADIUS_Z; // 0-8
@@ -211,7 +218,7 @@ public class ChunkMapPage extends InteractiveCustomUIPage<ChunkMapData> implemen
                 int chunkX = centerX + xOffset;
 
                 // Get chunk info and color
-                ChunkInfo info = getChunkInfo(worldName, chunkX, chunkZ, viewerFactionId);
+                ChunkInfo info = getChunkInfo(worldName, chunkX, chunkZ, owners, viewerFactionId);
                 boolean isPlayerPos = (xOffset == 0 && zOffset == 0);
 
                 // Create cell with territory color (always show real chunk color)
@@ -279,6 +286,8 @@ public class ChunkMapPage extends InteractiveCustomUIPage<ChunkMapData> implemen
             isOfficer = member != null && member.isOfficerOrHigher();
         }
 
+        OwnerGrid owners = claimManager.getOwnersInRadius(worldName, centerX, centerZ, TERRAIN_GRID_RADIUS);
+
         // Build 17x17 grid using inline Groups (no borders, unlike TextButtons)
         for (int zOffset = -TERRAIN_GRID_RADIUS; zOffset <= TERRAIN_GRID_RADIUS; zOffset++) {
             int rowIndex = zOffset + TERRAIN_GRID_RADIUS;
@@ -291,7 +300,7 @@ public class ChunkMapPage extends InteractiveCustomUIPage<ChunkMapData> implemen
                 int colIndex = xOffset + TERRAIN_GRID_RADIUS;
                 int chunkX = centerX + xOffset;
 
-                ChunkInfo info = getChunkInfo(worldName, chunkX, chunkZ, viewerFactionId);
+                ChunkInfo info = getChunkInfo(worldName, chunkX, chunkZ, owners, viewerFactionId);
                 String alphaColor = getTerrainOverlayColor(info.type);
 
                 // Create cell as inline Group with baked-in overlay color.
@@ -383,7 +392,7 @@ public class ChunkMapPage extends InteractiveCustomUIPage<ChunkMapData> implemen
     /**
      * Gets information about a chunk's ownership and display color.
      */
-    private ChunkInfo getChunkInfo(String worldName, int chunkX, int chunkZ, UUID viewerFactionId) {
+    private ChunkInfo getChunkInfo(String worldName, int chunkX, int chunkZ, OwnerGrid owners, UUID viewerFactionId) {
         // Check for zone first
         Zone zone = zoneManager.getZone(worldName, chunkX, chunkZ);
         if (zone != null) {
@@ -396,7 +405,7 @@ public class ChunkMapPage extends InteractiveCustomUIPage<ChunkMapData> implemen
         }
 
         // Check claim ownership
-        UUID ownerId = claimManager.getClaimOwner(worldName, chunkX, chunkZ);
+        UUID ownerId = owners.get(chunkX, chunkZ);
         if (ownerId == null) {
             return new ChunkInfo(ChunkType.WILDERNESS, COLOR_WILDERNESS, null);
         }
@@ -5,6 +5,7 @@ import com.hyperfactions.gui.GuiManager;
 import com.hyperfactions.gui.nav.NavBarHelper;
 import com.hyperfactions.gui.nav.NewPlayerNavBarHelper;
 import com.hyperfactions.gui.faction.data.FactionPageData;
+import com.hyperfactions.manager.FactionLeaderboard;
 import com.hyperfactions.manager.FactionManager;
 import com.hyperfactions.manager.PowerManager;
 import com.hypixel.hytale.component.Ref;
@@ -88,10 +89,17 @@ public class FactionBrowserPage extends InteractiveCustomUIPage<FactionPageData>
     }
 
     private void buildFactionList(UICommandBuilder cmd, UIEventBuilder events, Faction viewerFaction) {
-        // Get all factions sorted and filtered
-        List<FactionEntry> entries = buildFactionEntryList();
+        // Read the current page from the ranked leaderboard
+        FactionLeaderboard.Slice slice = factionManager.getLeaderboard().query(
+                searchQuery, toSortOrder(sortMode), currentPage * FACTIONS_PER_PAGE, FACTIONS_PER_PAGE);
+        int totalPages = Math.max(1, (int) Math.ceil((double) slice.total() / FACTIONS_PER_PAGE));
+        if (currentPage > totalPages - 1) {
+            currentPage = totalPages - 1;
+            slice = factionManager.getLeaderboard().query(
+                    searchQuery, toSortOrder(sortMode), currentPage * FACTIONS_PER_PAGE, FACTIONS_PER_PAGE);
+        }
 
-        cmd.set("#FactionCount.Text", entries.size() + " factions");
+        cmd.set("#FactionCount.Text", slice.total() + " factions");
 
         // Sort dropdown
         cmd.set("#SortDropdown.Entries", List.of(
@@ -119,21 +127,18 @@ public class FactionBrowserPage extends InteractiveCustomUIPage<FactionPageData>
                 false
         );
 
-        // Calculate pagination
-        int totalPages = Math.max(1, (int) Math.ceil((double) entries.size() / FACTIONS_PER_PAGE));
-        currentPage = Math.min(currentPage, totalPages - 1);
-        int startIdx = currentPage * FACTIONS_PER_PAGE;
-
         // Clear FactionList, then create IndexCards container inside it
         cmd.clear("#FactionList");
         cmd.appendInline("#FactionList", "Group #IndexCards { LayoutMode: Top; }");
 
         // Build entries
         int i = 0;
-        for (int idx = startIdx; idx < Math.min(startIdx + FACTIONS_PER_PAGE, entries.size()); idx++) {
-            FactionEntry entry = entries.get(idx);
-            buildFactionEntry(cmd, events, i, entry, viewerFaction);
-            i++;
+        for (FactionLeaderboard.Entry ranked : slice.entries()) {
+            FactionEntry entry = toFactionEntry(ranked);
+            if (entry != null) {
+                buildFactionEntry(cmd, events, i, entry, viewerFaction);
+                i++;
+            }
         }
 
         // Pagination
@@ -160,45 +165,35 @@ public class FactionBrowserPage extends InteractiveCustomUIPage<FactionPageData>
         }
     }
 
-    private List<FactionEntry> buildFactionEntryList() {
-        List<FactionEntry> entries = new ArrayList<>();
-        String lowerQuery = searchQuery.toLowerCase();
-
-        for (Faction faction : factionManager.getAllFactions()) {
-            // Apply search filter
-            if (!searchQuery.isEmpty()) {
-                boolean matches = faction.name().toLowerCase().contains(lowerQuery);
-                if (!matches && faction.tag() != null) {
-                    matches = faction.tag().toLowerCase().contains(lowerQuery);
-                }
-                if (!matches) continue;
-            }
-
-            PowerManager.FactionPowerStats stats = powerManager.getFactionPowerStats(faction.id());
-            FactionMember leader = faction.getLeader();
-            entries.add(new FactionEntry(
-                    faction.id(),
-                    faction.name(),
-                    faction.color() != null ? faction.color() : "#00FFFF",
-                    faction.members().size(),
-                    stats.currentPower(),
-                    stats.maxPower(),
-                    faction.claims().size(),
-                    leader != null ? leader.username() : "None",
-                    faction.open(),
-                    faction.description(),
-                    faction.createdAt()
-            ));
-        }
+    private static FactionLeaderboard.SortOrder toSortOrder(SortMode mode) {
+        return switch (mode) {
+            case POWER -> FactionLeaderboard.SortOrder.POWER;
+            case NAME -> FactionLeaderboard.SortOrder.NAME;
+            case MEMBERS -> FactionLeaderboard.SortOrder.MEMBERS;
+        };
+    }
 
-        // Sort
-        switch (sortMode) {
-            case POWER -> entries.sort(Comparator.comparingDouble(FactionEntry::power).reversed());
-            case MEMBERS -> entries.sort(Comparator.comparingInt(FactionEntry::memberCount).reversed());
-            case NAME -> entries.sort(Comparator.comparing(FactionEntry::name, String.CASE_INSENSITIVE_ORDER));
+    private FactionEntry toFactionEntry(FactionLeaderboard.Entry ranked) {
+        Faction faction = factionManager.getFaction(ranked.factionId());
+        if (faction == null) {
+            return null;
         }
-
-        return entries;
+        // Only the visible rows read full stats (O(1) from the running totals)
+        PowerManager.FactionPowerStats stats = powerManager.getFactionPowerStats(faction.id());
+        FactionMember leader = faction.getLeader();
+        return new FactionEntry(
+                faction.id(),
+                faction.name(),
+                faction.color() != null ? faction.color() : "#00FFFF",
+                faction.members().size(),
+                stats.currentPower(),
+                stats.maxPower(),
+                faction.claims().size(),
+                leader != null ? leader.username() : "None",
+                faction.open(),
+                faction.description(),
+                faction.createdAt()
+        );
     }
 
     private void buildFactionEntry(UICommandBuilder cmd, UIEventBuilder events, int index,
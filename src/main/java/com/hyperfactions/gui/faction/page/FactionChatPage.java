@@ -58,6 +58,8 @@ public class FactionChatPage extends InteractiveCustomUIPage<FactionChatData> im
     private final Faction faction;
 
     private Tab activeTab = Tab.FACTION;
+    /** Ally history cursor of the last build, -1 before the ally tab is shown. */
+    private long allyCursor = -1;
 
     public FactionChatPage(@NotNull PlayerRef playerRef,
                            @NotNull FactionManager factionManager,
@@ -181,7 +183,10 @@ public class FactionChatPage extends InteractiveCustomUIPage<FactionChatData> im
     private List<ChatMessage> loadMessages() {
         try {
             if (activeTab == Tab.ALLY) {
-                return chatHistoryManager.getAlliedHistory(faction.id(), factionManager).join();
+                ChatHistoryManager.AlliedChatUpdate update =
+                        chatHistoryManager.getAlliedHistorySince(faction.id(), factionManager, -1).join();
+                allyCursor = update.cursor();
+                return update.messages();
             } else {
                 FactionChatHistory history = chatHistoryManager.getHistory(faction.id()).join();
                 // Filter to FACTION channel only
@@ -327,6 +332,18 @@ public class FactionChatPage extends InteractiveCustomUIPage<FactionChatData> im
 
     @Override
     public void refreshContent() {
+        // Pushes arrive for messages on either channel; skip the rebuild if the ally tab has nothing new
+        if (activeTab == Tab.ALLY && allyCursor >= 0) {
+            try {
+                ChatHistoryManager.AlliedChatUpdate update =
+                        chatHistoryManager.getAlliedHistorySince(faction.id(), factionManager, allyCursor).join();
+                if (!update.full() && update.messages().isEmpty()) {
+                    return;
+                }
+            } catch (Exception e) {
+                Logger.warn("[FactionChatPage] Failed to check for new ally messages: %s", e.getMessage());
+            }
+        }
         rebuild();
     }
 
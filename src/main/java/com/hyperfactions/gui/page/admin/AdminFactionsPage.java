@@ -4,6 +4,7 @@ import com.hyperfactions.data.*;
 import com.hyperfactions.gui.GuiManager;
 import com.hyperfactions.gui.admin.AdminNavBarHelper;
 import com.hyperfactions.gui.admin.data.AdminFactionsData;
+import com.hyperfactions.manager.FactionLeaderboard;
 import com.hyperfactions.manager.FactionManager;
 import com.hyperfactions.manager.PowerManager;
 import com.hypixel.hytale.component.Ref;
@@ -82,10 +83,11 @@ public class AdminFactionsPage extends InteractiveCustomUIPage<AdminFactionsData
     }
 
     private void buildFactionList(UICommandBuilder cmd, UIEventBuilder events) {
-        // Get all factions sorted
-        List<Faction> factions = getSortedFactions();
+        // Read the current page from the ranked leaderboard
+        List<Faction> factions = getFactionPage();
+        int totalFactions = factionManager.getLeaderboard().size();
 
-        cmd.set("#FactionCount.Text", factions.size() + " factions");
+        cmd.set("#FactionCount.Text", totalFactions + " factions");
 
         // Sort dropdown
         cmd.set("#SortDropdown.Entries", List.of(
@@ -102,10 +104,7 @@ public class AdminFactionsPage extends InteractiveCustomUIPage<AdminFactionsData
                 false
         );
 
-        // Calculate pagination
-        int totalPages = Math.max(1, (int) Math.ceil((double) factions.size() / FACTIONS_PER_PAGE));
-        currentPage = Math.min(currentPage, totalPages - 1);
-        int startIdx = currentPage * FACTIONS_PER_PAGE;
+        int totalPages = Math.max(1, (int) Math.ceil((double) totalFactions / FACTIONS_PER_PAGE));
 
         // Clear FactionList, then create IndexCards container inside it
         cmd.clear("#FactionList");
@@ -113,8 +112,7 @@ public class AdminFactionsPage extends InteractiveCustomUIPage<AdminFactionsData
 
         // Build entries
         int i = 0;
-        for (int idx = startIdx; idx < Math.min(startIdx + FACTIONS_PER_PAGE, factions.size()); idx++) {
-            Faction faction = factions.get(idx);
+        for (Faction faction : factions) {
             buildFactionEntry(cmd, events, i, faction);
             i++;
         }
@@ -258,20 +256,24 @@ public class AdminFactionsPage extends InteractiveCustomUIPage<AdminFactionsData
         }
     }
 
-    private List<Faction> getSortedFactions() {
-        List<Faction> factions = new ArrayList<>(factionManager.getAllFactions());
-
-        switch (sortMode) {
-            case POWER -> factions.sort((a, b) -> {
-                double powerA = powerManager.getFactionPowerStats(a.id()).currentPower();
-                double powerB = powerManager.getFactionPowerStats(b.id()).currentPower();
-                return Double.compare(powerB, powerA);
-            });
-            case NAME -> factions.sort(Comparator.comparing(Faction::name, String.CASE_INSENSITIVE_ORDER));
-            case MEMBERS -> factions.sort((a, b) ->
-                    Integer.compare(b.members().size(), a.members().size()));
-        }
+    private List<Faction> getFactionPage() {
+        FactionLeaderboard leaderboard = factionManager.getLeaderboard();
+        FactionLeaderboard.SortOrder order = switch (sortMode) {
+            case POWER -> FactionLeaderboard.SortOrder.POWER;
+            case NAME -> FactionLeaderboard.SortOrder.NAME;
+            case MEMBERS -> FactionLeaderboard.SortOrder.MEMBERS;
+        };
+
+        int totalPages = Math.max(1, (int) Math.ceil((double) leaderboard.size() / FACTIONS_PER_PAGE));
+        currentPage = Math.min(currentPage, totalPages - 1);
 
+        List<Faction> factions = new ArrayList<>(FACTIONS_PER_PAGE);
+        for (FactionLeaderboard.Entry entry : leaderboard.page(order, currentPage * FACTIONS_PER_PAGE, FACTIONS_PER_PAGE)) {
+            Faction faction = factionManager.getFaction(entry.factionId());
+            if (faction != null) {
+                factions.add(faction);
+            }
+        }
         return factions;
     }
 
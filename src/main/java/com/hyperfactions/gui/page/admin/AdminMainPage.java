@@ -4,6 +4,7 @@ import com.hyperfactions.data.*;
 import com.hyperfactions.gui.GuiManager;
 import com.hyperfactions.gui.admin.AdminNavBarHelper;
 import com.hyperfactions.gui.admin.data.AdminMainData;
+import com.hyperfactions.manager.FactionLeaderboard;
 import com.hyperfactions.manager.FactionManager;
 import com.hyperfactions.manager.PowerManager;
 import com.hypixel.hytale.component.Ref;
@@ -86,26 +87,27 @@ public class AdminMainPage extends InteractiveCustomUIPage<AdminMainData> {
                 false
         );
 
-        // Get all factions sorted by power
-        List<Faction> factions = new ArrayList<>(allFactions);
-        factions.sort((a, b) -> {
-            double powerA = powerManager.getFactionPowerStats(a.id()).currentPower();
-            double powerB = powerManager.getFactionPowerStats(b.id()).currentPower();
-            return Double.compare(powerB, powerA);
-        });
-
         // Calculate pagination
-        int totalPages = Math.max(1, (int) Math.ceil((double) factions.size() / FACTIONS_PER_PAGE));
+        int totalPages = Math.max(1, (int) Math.ceil((double) totalFactions / FACTIONS_PER_PAGE));
         currentPage = Math.min(currentPage, totalPages - 1);
         int startIdx = currentPage * FACTIONS_PER_PAGE;
 
+        // Read the page of factions ranked by power
+        List<Faction> factions = new ArrayList<>(FACTIONS_PER_PAGE);
+        for (FactionLeaderboard.Entry entry : factionManager.getLeaderboard()
+                .page(FactionLeaderboard.SortOrder.POWER, startIdx, FACTIONS_PER_PAGE)) {
+            Faction faction = factionManager.getFaction(entry.factionId());
+            if (faction != null) {
+                factions.add(faction);
+            }
+        }
+
         // Build faction entries
         for (int i = 0; i < FACTIONS_PER_PAGE; i++) {
             String entryId = "#FactionEntry" + i;
-            int factionIdx = startIdx + i;
 
-            if (factionIdx < factions.size()) {
-                Faction faction = factions.get(factionIdx);
+            if (i < factions.size()) {
+                Faction faction = factions.get(i);
                 PowerManager.FactionPowerStats stats = powerManager.getFactionPowerStats(faction.id());
 
                 cmd.append(entryId, "HyperFactions/admin/admin_faction_entry.ui");
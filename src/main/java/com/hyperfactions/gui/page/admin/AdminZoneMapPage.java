@@ -6,6 +6,7 @@ import com.hyperfactions.gui.GuiManager;
 import com.hyperfactions.gui.RefreshablePage;
 import com.hyperfactions.gui.admin.data.AdminZoneMapData;
 import com.hyperfactions.manager.ClaimManager;
+import com.hyperfactions.manager.OwnerGrid;
 import com.hyperfactions.manager.ZoneManager;
 import com.hyperfactions.util.ChunkUtil;
 import com.hyperfactions.util.Logger;
@@ -131,7 +132,9 @@ public class AdminZoneMapPage extends InteractiveCustomUIPage<AdminZoneMapData>
         // Register with active page tracker for real-time updates
         ActivePageTracker activeTracker = guiManager.getActivePageTracker();
         if (activeTracker != null) {
-            activeTracker.register(playerRef.getUuid(), "admin_zone_map", null, this);
+            // The grid is always drawn from the zone's world
+            activeTracker.register(playerRef.getUuid(), "admin_zone_map", null, this,
+                    ActivePageTracker.MapViewport.around(zone.world(), playerChunkX, playerChunkZ, GRID_RADIUS_X, GRID_RADIUS_Z));
         }
     }
 
@@ -146,6 +149,8 @@ public class AdminZoneMapPage extends InteractiveCustomUIPage<AdminZoneMapData>
     private void buildChunkGrid(UICommandBuilder cmd, UIEventBuilder events,
                                 Zone zone, int centerX, int centerZ) {
         String worldName = zone.world();
+        OwnerGrid owners = claimManager.getOwnersInRect(worldName,
+                centerX - GRID_RADIUS_X, centerZ - GRID_RADIUS_Z, centerX + GRID_RADIUS_X, centerZ + GRID_RADIUS_Z);
 
         for (int zOffset = -GRID_RADIUS_Z; zOffset <= GRID_RADIUS_Z; zOffset++) {
             int rowIndex = zOffset + GRID_RADIUS_Z;
@@ -159,7 +164,7 @@ public class AdminZoneMapPage extends InteractiveCustomUIPage<AdminZoneMapData>
                 int chunkX = centerX + xOffset;
 
                 // Get chunk info (always use territory color)
-                ChunkInfo info = getChunkInfo(zone, worldName, chunkX, chunkZ);
+                ChunkInfo info = getChunkInfo(zone, worldName, chunkX, chunkZ, owners);
                 boolean isPlayerPos = (xOffset == 0 && zOffset == 0);
 
                 // Create cell with territory color
@@ -244,7 +249,7 @@ public class AdminZoneMapPage extends InteractiveCustomUIPage<AdminZoneMapData>
     /**
      * Gets information about a chunk's state relative to this zone.
      */
-    private ChunkInfo getChunkInfo(Zone zone, String worldName, int chunkX, int chunkZ) {
+    private ChunkInfo getChunkInfo(Zone zone, String worldName, int chunkX, int chunkZ, OwnerGrid owners) {
         // Check if chunk belongs to current zone
         if (zone.containsChunk(chunkX, chunkZ)) {
             String color = zone.isSafeZone() ? COLOR_CURRENT_SAFE : COLOR_CURRENT_WAR;
@@ -259,7 +264,7 @@ public class AdminZoneMapPage extends InteractiveCustomUIPage<AdminZoneMapData>
         }
 
         // Check if chunk is claimed by a faction
-        UUID factionId = claimManager.getClaimOwner(worldName, chunkX, chunkZ);
+        UUID factionId = owners.get(chunkX, chunkZ);
         if (factionId != null) {
             return new ChunkInfo(ChunkType.FACTION, COLOR_FACTION);
         }
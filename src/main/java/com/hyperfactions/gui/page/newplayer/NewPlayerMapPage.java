@@ -115,7 +115,8 @@ public class NewPlayerMapPage extends InteractiveCustomUIPage<NewPlayerPageData>
         // Register with active page tracker for real-time updates
         ActivePageTracker activeTracker = guiManager.getActivePageTracker();
         if (activeTracker != null) {
-            activeTracker.register(playerRef.getUuid(), PAGE_ID, null, this);
+            activeTracker.register(playerRef.getUuid(), PAGE_ID, null, this,
+                    ActivePageTracker.MapViewport.around(worldName, playerChunkX, playerChunkZ, GRID_RADIUS_X, GRID_RADIUS_Z));
         }
     }
 
@@ -144,6 +145,9 @@ public class NewPlayerMapPage extends InteractiveCustomUIPage<NewPlayerPageData>
      * No click events are bound (read-only for new players).
      */
     private void buildChunkGrid(UICommandBuilder cmd, String worldName, int centerX, int centerZ) {
+        OwnerGrid owners = claimManager.getOwnersInRect(worldName,
+                centerX - GRID_RADIUS_X, centerZ - GRID_RADIUS_Z, centerX + GRID_RADIUS_X, centerZ + GRID_RADIUS_Z);
+
         // Build rows (same pattern as ChunkMapPage)
         for (int zOffset = -GRID_RADIUS_Z; zOffset <= GRID_RADIUS_Z; zOffset++) {
             int rowIndex = zOffset + GRID_RADIUS_Z;
@@ -159,7 +163,7 @@ public class NewPlayerMapPage extends InteractiveCustomUIPage<NewPlayerPageData>
 
                 // Get cell color (always use territory color)
                 boolean isPlayerPos = (xOffset == 0 && zOffset == 0);
-                String cellColor = getCellColor(worldName, chunkX, chunkZ);
+                String cellColor = getCellColor(worldName, chunkX, chunkZ, owners);
 
                 // Create cell with territory color
                 cmd.appendInline("#ChunkGrid[" + rowIndex + "]",
@@ -179,7 +183,7 @@ public class NewPlayerMapPage extends InteractiveCustomUIPage<NewPlayerPageData>
         }
     }
 
-    private String getCellColor(String worldName, int chunkX, int chunkZ) {
+    private String getCellColor(String worldName, int chunkX, int chunkZ, OwnerGrid owners) {
         // Check for admin zones first
         Zone zone = zoneManager.getZone(worldName, chunkX, chunkZ);
         if (zone != null) {
@@ -191,7 +195,7 @@ public class NewPlayerMapPage extends InteractiveCustomUIPage<NewPlayerPageData>
         }
 
         // Check for faction claims
-        UUID ownerId = claimManager.getClaimOwner(worldName, chunkX, chunkZ);
+        UUID ownerId = owners.get(chunkX, chunkZ);
         if (ownerId != null) {
             Faction faction = factionManager.getFaction(ownerId);
             if (faction != null && faction.color() != null) {
@@ -7,6 +7,7 @@ import org.jetbrains.annotations.Nullable;
 import java.lang.reflect.Method;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Permission provider for LuckPerms.
@@ -34,6 +35,10 @@ public class LuckPermsProvider implements PermissionProvider {
     private Method getSuffixMethod = null;
     private Method getPrimaryGroupMethod = null;
 
+    // Change listeners (decision cache invalidation)
+    private Consumer<UUID> userChangedListener = null;
+    private Runnable globalChangedListener = null;
+
     // Tristate enum values
     private Object tristateTrue = null;
     private Object tristateFalse = null;
@@ -98,6 +103,12 @@ public class LuckPermsProvider implements PermissionProvider {
             available = true;
             Logger.info("[PermissionManager] LuckPerms provider initialized");
 
+            subscribeChangeEvents();
+            if (globalChangedListener != null) {
+                // Decisions cached before LuckPerms became available used the fallback chain
+                globalChangedListener.run();
+            }
+
         } catch (ClassNotFoundException | NoClassDefFoundError e) {
             permanentFailure = true;
             Logger.debug("[LuckPermsProvider] LuckPerms not installed");
@@ -110,6 +121,79 @@ public class LuckPermsProvider implements PermissionProvider {
         }
     }
 
+    /**
+     * Sets the listeners notified when LuckPerms reports permission data changes.
+     * Must be called before {@link #init()}.
+     *
+     * @param userChanged   called with the UUID of a user whose data was recalculated
+     * @param globalChanged called when group data was recalculated (affects many users)
+     */
+    public void setChangeListeners(@Nullable Consumer<UUID> userChanged, @Nullable Runnable globalChanged) {
+        this.userChangedListener = userChanged;
+        this.globalChangedListener = globalChanged;
+    }
+
+    /**
+     * Subscribes to LuckPerms data recalculation events via reflection.
+     * Failure is non-fatal: cached decisions still expire by TTL.
+     */
+    private void subscribeChangeEvents() {
+        if (userChangedListener == null && globalChangedListener == null) {
+            return;
+        }
+        try {
+            Method getEventBusMethod = findMethod(luckPermsApi.getClass(), "getEventBus");
+            if (getEventBusMethod == null) {
+                Logger.debug("[LuckPermsProvider] EventBus not found, change events unavailable");
+                return;
+            }
+            Object eventBus = getEventBusMethod.invoke(luckPermsApi);
+            Method subscribeMethod = findMethod(eventBus.getClass(), "subscribe", Class.class, Consumer.class);
+            if (subscribeMethod == null) {
+                Logger.debug("[LuckPermsProvider] EventBus.subscribe not found, change events unavailable");
+                return;
+            }
+
+            if (userChangedListener != null) {
+                Class<?> userEvent = Class.forName("net.luckperms.api.event.user.UserDataRecalculateEvent");
+                Consumer<Object> handler = event -> {
+                    UUID uuid = extractUserUuid(event);
+                    if (uuid != null) {
+                        userChangedListener.accept(uuid);
+                    }
+                };
+                subscribeMethod.invoke(eventBus, userEvent, handler);
+            }
+
+            if (globalChangedListener != null) {
+                Class<?> groupEvent = Class.forName("net.luckperms.api.event.group.GroupDataRecalculateEvent");
+                Consumer<Object> handler = event -> globalChangedListener.run();
+                subscribeMethod.invoke(eventBus, groupEvent, handler);
+            }
+
+            Logger.debug("[LuckPermsProvider] Subscribed to data recalculation events");
+        } catch (Exception e) {
+            Logger.debug("[LuckPermsProvider] Could not subscribe to change events: %s", e.getMessage());
+        }
+    }
+
+    /**
+     * Extracts the user UUID from a UserDataRecalculateEvent.
+     */
+    @Nullable
+    private UUID extractUserUuid(@NotNull Object event) {
+        try {
+            Method getUser = findMethod(event.getClass(), "getUser");
+            Object user = getUser != null ? getUser.invoke(event) : null;
+            if (user == null) return null;
+            Method getUniqueId = findMethod(user.getClass(), "getUniqueId");
+            Object uuid = getUniqueId != null ? getUniqueId.invoke(user) : null;
+            return uuid instanceof UUID id ? id : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     /**
      * Ensures the provider is initialized. Called before every operation
      * to support lazy initialization when LuckPerms loads after HyperFactions.
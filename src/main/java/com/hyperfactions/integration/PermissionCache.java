@@ -0,0 +1,237 @@
+package com.hyperfactions.integration;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded per-player cache of resolved permission decisions (node -> boolean).
+ *
+ * Each player gets one entry holding the decisions resolved since the entry was
+ * created. The whole entry expires after the TTL, so a player's decisions are
+ * always refreshed together. Entries are also dropped explicitly on disconnect,
+ * config reload, and permission provider change events.
+ *
+ * Bounds: at most {@code maxPlayers} entries and {@code maxNodesPerPlayer}
+ * decisions per entry. When full, new decisions are simply not cached.
+ *
+ * A decision resolved while the player was invalidated may already be stale, so
+ * callers read {@link #generation} before resolving and pass it to {@link #put},
+ * which drops the decision if an invalidation happened in between. Generations
+ * are kept per stripe of players rather than per player, so the counters stay
+ * bounded; an invalidation can also drop a concurrent put for another player of
+ * the same stripe, which only costs a cache miss.
+ */
+public final class PermissionCache {
+
+    private static final int GENERATION_STRIPES = 256;
+
+    private final Map<UUID, PlayerEntry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final LongSupplier clock;
+
+    private volatile long ttlMillis;
+    private volatile int maxPlayers;
+    private volatile int maxNodesPerPlayer;
+
+    // Stats
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong invalidations = new AtomicLong(0);
+
+    /**
+     * Cached decisions for one player, valid until {@code expiresAt}.
+     */
+    private static final class PlayerEntry {
+        final long expiresAt;
+        final Map<String, Boolean> decisions = new ConcurrentHashMap<>();
+
+        PlayerEntry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Creates a cache using the system clock.
+     *
+     * @param ttlMillis         time-to-live of a player's entry (0 disables caching)
+     * @param maxPlayers        maximum number of cached players
+     * @param maxNodesPerPlayer maximum number of cached nodes per player
+     */
+    public PermissionCache(long ttlMillis, int maxPlayers, int maxNodesPerPlayer) {
+        this(ttlMillis, maxPlayers, maxNodesPerPlayer, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache with a custom clock (for tests).
+     */
+    PermissionCache(long ttlMillis, int maxPlayers, int maxNodesPerPlayer, @NotNull LongSupplier clock) {
+        this.clock = clock;
+        configure(ttlMillis, maxPlayers, maxNodesPerPlayer);
+    }
+
+    /**
+     * Updates the cache limits. Existing entries are dropped.
+     *
+     * @param ttlMillis         time-to-live of a player's entry (0 disables caching)
+     * @param maxPlayers        maximum number of cached players
+     * @param maxNodesPerPlayer maximum number of cached nodes per player
+     */
+    public void configure(long ttlMillis, int maxPlayers, int maxNodesPerPlayer) {
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.maxPlayers = Math.max(1, maxPlayers);
+        this.maxNodesPerPlayer = Math.max(1, maxNodesPerPlayer);
+        entries.clear();
+    }
+
+    /**
+     * @return true if caching is enabled (TTL above zero)
+     */
+    public boolean isEnabled() {
+        return ttlMillis > 0;
+    }
+
+    /**
+     * Gets a cached decision. Counts a hit or a miss.
+     *
+     * @param playerUuid the player's UUID
+     * @param permission the permission node
+     * @return the cached decision, or null if not cached or expired
+     */
+    @Nullable
+    public Boolean get(@NotNull UUID playerUuid, @NotNull String permission) {
+        PlayerEntry entry = entries.get(playerUuid);
+        if (entry != null) {
+            if (entry.expiresAt > clock.getAsLong()) {
+                Boolean decision = entry.decisions.get(permission);
+                if (decision != null) {
+                    hits.incrementAndGet();
+                    return decision;
+                }
+            } else {
+                entries.remove(playerUuid, entry);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Gets the player's invalidation generation, to read before resolving a decision.
+     *
+     * @param playerUuid the player's UUID
+     * @return a value that changes whenever the player's decisions are invalidated
+     */
+    public long generation(@NotNull UUID playerUuid) {
+        return generations.get(stripe(playerUuid)) + globalGeneration.get();
+    }
+
+    /**
+     * Stores a decision resolved now, with no invalidation to race against.
+     *
+     * @param playerUuid the player's UUID
+     * @param permission the permission node
+     * @param allowed    the resolved decision
+     */
+    public void put(@NotNull UUID playerUuid, @NotNull String permission, boolean allowed) {
+        put(playerUuid, permission, allowed, generation(playerUuid));
+    }
+
+    /**
+     * Stores a resolved decision, unless the player was invalidated since
+     * {@code generation} was read.
+     *
+     * @param playerUuid the player's UUID
+     * @param permission the permission node
+     * @param allowed    the resolved decision
+     * @param generation the player's {@link #generation} from before resolving
+     */
+    public void put(@NotNull UUID playerUuid, @NotNull String permission, boolean allowed, long generation) {
+        if (!isEnabled()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (!entries.containsKey(playerUuid) && entries.size() >= maxPlayers && !evictExpired(now)) {
+            return;
+        }
+        // Checked inside compute: invalidation bumps the generation before removing the
+        // entry, so a decision stored here is either seen as stale or removed afterwards
+        entries.compute(playerUuid, (k, current) -> {
+            if (generation(playerUuid) != generation) {
+                return current;
+            }
+            PlayerEntry entry = current != null && current.expiresAt > now ? current : new PlayerEntry(now + ttlMillis);
+            if (entry.decisions.size() < maxNodesPerPlayer || entry.decisions.containsKey(permission)) {
+                entry.decisions.put(permission, allowed ? Boolean.TRUE : Boolean.FALSE);
+            }
+            return entry;
+        });
+    }
+
+    /**
+     * Removes expired entries.
+     *
+     * @return true if at least one entry was removed
+     */
+    private boolean evictExpired(long now) {
+        boolean removed = false;
+        Iterator<PlayerEntry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (it.next().expiresAt <= now) {
+                it.remove();
+                removed = true;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Drops all cached decisions for a player.
+     *
+     * @param playerUuid the player's UUID
+     */
+    public void invalidate(@NotNull UUID playerUuid) {
+        generations.incrementAndGet(stripe(playerUuid));
+        if (entries.remove(playerUuid) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Drops all cached decisions.
+     */
+    public void invalidateAll() {
+        globalGeneration.incrementAndGet();
+        entries.clear();
+        invalidations.incrementAndGet();
+    }
+
+    private static int stripe(@NotNull UUID playerUuid) {
+        int h = playerUuid.hashCode();
+        return (h ^ (h >>> 16)) & (GENERATION_STRIPES - 1);
+    }
+
+    // === Stats ===
+
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getInvalidations() { return invalidations.get(); }
+    public int getCachedPlayers() { return entries.size(); }
+
+    /**
+     * @return hit rate as a percentage (0-100), or 0 if no lookups yet
+     */
+    public double getHitRate() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (h * 100.0) / total;
+    }
+}
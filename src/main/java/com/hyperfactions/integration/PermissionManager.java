@@ -19,12 +19,25 @@ import java.util.function.Function;
  * Fallback behavior when no provider can answer:
  * - Admin permissions (hyperfactions.admin.*): Require OP
  * - Normal permissions: Allow by default (configurable)
+ *
+ * Resolved decisions are cached per player (see {@link PermissionCache}) and
+ * invalidated on disconnect, config reload, and provider change events.
+ * VaultUnlocked, HyperPerms, the native provider and the OP fallback have no
+ * change events, so grants, revocations and OP changes made through them are
+ * seen once the player's cached decisions expire (at most one TTL).
  */
 public class PermissionManager {
 
+    // Cache defaults, used until configureCache() is called with config values
+    private static final int DEFAULT_CACHE_TTL_SECONDS = 30;
+    private static final int DEFAULT_CACHE_MAX_PLAYERS = 1000;
+    private static final int DEFAULT_CACHE_MAX_NODES = 128;
+
     private static final PermissionManager INSTANCE = new PermissionManager();
 
     private final List<PermissionProvider> providers = new ArrayList<>();
+    private final PermissionCache cache = new PermissionCache(
+        DEFAULT_CACHE_TTL_SECONDS * 1000L, DEFAULT_CACHE_MAX_PLAYERS, DEFAULT_CACHE_MAX_NODES);
     private Function<UUID, PlayerRef> playerLookup;
     private boolean initialized = false;
 
@@ -69,6 +82,7 @@ public class PermissionManager {
 
         // LuckPerms third (supports lazy init for timing issues)
         LuckPermsProvider luckPermsProvider = new LuckPermsProvider();
+        luckPermsProvider.setChangeListeners(this::invalidate, this::invalidateAll);
         luckPermsProvider.init();
         providers.add(luckPermsProvider);
 
@@ -80,6 +94,7 @@ public class PermissionManager {
         }
 
         initialized = true;
+        cache.invalidateAll();
 
         if (providers.isEmpty()) {
             Logger.info("[PermissionManager] No permission providers found - using fallback mode");
@@ -98,8 +113,73 @@ public class PermissionManager {
         this.playerLookup = lookup;
     }
 
+    /**
+     * Applies cache settings from config. Drops all cached decisions.
+     *
+     * @param ttlSeconds        decision TTL in seconds (0 disables the cache)
+     * @param maxPlayers        maximum number of cached players
+     * @param maxNodesPerPlayer maximum number of cached nodes per player
+     */
+    public void configureCache(int ttlSeconds, int maxPlayers, int maxNodesPerPlayer) {
+        cache.configure(ttlSeconds * 1000L, maxPlayers, maxNodesPerPlayer);
+        Logger.debug("[PermissionManager] Decision cache: ttl=%ds, maxPlayers=%d, maxNodes=%d",
+            ttlSeconds, maxPlayers, maxNodesPerPlayer);
+    }
+
+    /**
+     * Drops cached permission decisions for a player.
+     * Called on disconnect and when a provider reports the player's data changed.
+     *
+     * @param playerUuid the player's UUID
+     */
+    public void invalidate(@NotNull UUID playerUuid) {
+        cache.invalidate(playerUuid);
+    }
+
+    /**
+     * Drops all cached permission decisions.
+     * Called on config reload and when a provider reports a global change (e.g. group edit).
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Gets the permission decision cache (for stats display).
+     *
+     * @return the cache
+     */
+    @NotNull
+    public PermissionCache getCache() {
+        return cache;
+    }
+
     /**
      * Checks if a player has a permission.
+     * Answers from the per-player decision cache when possible.
+     *
+     * @param playerUuid the player's UUID
+     * @param permission the permission to check
+     * @return true if the player has the permission
+     * @see #resolvePermission(UUID, String)
+     */
+    public boolean hasPermission(@NotNull UUID playerUuid, @NotNull String permission) {
+        if (!cache.isEnabled()) {
+            return resolvePermission(playerUuid, permission);
+        }
+        Boolean cached = cache.get(playerUuid, permission);
+        if (cached != null) {
+            return cached;
+        }
+        // Read before resolving, so an invalidation during the resolve discards the result
+        long generation = cache.generation(playerUuid);
+        boolean result = resolvePermission(playerUuid, permission);
+        cache.put(playerUuid, permission, result, generation);
+        return result;
+    }
+
+    /**
+     * Resolves a permission against the providers, bypassing the cache.
      *
      * Chain behavior:
      * 1. Try each provider in order for the specific permission
@@ -117,7 +197,7 @@ public class PermissionManager {
      * @param permission the permission to check
      * @return true if the player has the permission
      */
-    public boolean hasPermission(@NotNull UUID playerUuid, @NotNull String permission) {
+    private boolean resolvePermission(@NotNull UUID playerUuid, @NotNull String permission) {
         boolean isUserLevel = isUserLevelPermission(permission);
 
         // Try each provider in order for the specific permission
@@ -395,6 +475,10 @@ public class PermissionManager {
         }
         sb.append("Allow Without Permission Mod: ").append(ConfigManager.get().isAllowWithoutPermissionMod()).append("\n");
         sb.append("Admin Requires OP: always (OP group)\n");
+        sb.append("Decision Cache: ").append(cache.isEnabled() ? "enabled" : "disabled")
+                .append(String.format(" (hits: %d, misses: %d, hit rate: %.1f%%, players: %d)",
+                    cache.getHits(), cache.getMisses(), cache.getHitRate(), cache.getCachedPlayers()))
+                .append("\n");
         return sb.toString();
     }
 }
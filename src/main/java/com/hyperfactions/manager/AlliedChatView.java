@@ -0,0 +1,224 @@
+package com.hyperfactions.manager;
+
+import com.hyperfactions.data.ChatMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Merged ally-channel history of a faction and its allies.
+ *
+ * Each source {@link ChatRingBuffer} is already in time order, so the view is
+ * built with a k-way merge that stops after {@code limit} messages instead of
+ * concatenating and sorting every buffer. Afterwards only messages recorded since
+ * the last merge are read from each source (by sequence number) and merged into
+ * the cached list, so a read with no new messages costs one sequence check per source.
+ *
+ * Messages merged in after the build get a cursor value, which lets GUI refreshes
+ * fetch just what they have not shown yet with {@link #since}. The set of sources is
+ * fixed; {@link ChatHistoryManager} drops the view when an alliance forms or breaks.
+ *
+ * All methods are synchronized.
+ */
+final class AlliedChatView {
+
+    /** Shared so a cursor from a dropped view is never valid for its replacement. */
+    private static final AtomicLong CURSORS = new AtomicLong();
+
+    private record Appended(long cursor, ChatMessage message) {}
+
+    private final List<UUID> factionIds;
+    private final List<ChatRingBuffer> sources;
+    private final long[] sourceSequences;
+    private final int limit;
+
+    /** Merged ALLY messages, newest first, at most {@link #limit}. */
+    private List<ChatMessage> merged = List.of();
+    /** Messages merged in since the build, oldest first, at most {@link #limit}. */
+    private final ArrayDeque<Appended> appended = new ArrayDeque<>();
+    private long cursor;
+    /** Cursor of the newest message trimmed from {@link #appended}; older cursors can't be served. */
+    private long trimmedCursor;
+
+    /**
+     * Creates a view and merges the current contents of the sources.
+     * The sources must have finished loading.
+     *
+     * @param factionIds the faction and its allies
+     * @param sources    their buffers, in the same order
+     * @param limit      maximum number of merged messages kept
+     */
+    AlliedChatView(@NotNull List<UUID> factionIds, @NotNull List<ChatRingBuffer> sources, int limit) {
+        this.factionIds = List.copyOf(factionIds);
+        this.sources = List.copyOf(sources);
+        this.sourceSequences = new long[sources.size()];
+        this.limit = Math.max(1, limit);
+        this.cursor = CURSORS.incrementAndGet();
+        this.trimmedCursor = cursor;
+
+        List<List<ChatMessage>> newestFirst = new ArrayList<>(sources.size());
+        for (int i = 0; i < this.sources.size(); i++) {
+            ChatRingBuffer source = this.sources.get(i);
+            synchronized (source) {
+                newestFirst.add(source.snapshot().messages());
+                sourceSequences[i] = source.sequence();
+            }
+        }
+        merged = mergeNewestFirst(newestFirst, this.limit);
+    }
+
+    /**
+     * Checks if a faction's buffer is one of the sources.
+     *
+     * @param factionId the faction ID
+     * @return true if the view merges that faction's messages
+     */
+    boolean includes(@NotNull UUID factionId) {
+        return factionIds.contains(factionId);
+    }
+
+    /**
+     * Gets the merged history.
+     *
+     * @return ALLY channel messages, newest first
+     */
+    @NotNull
+    synchronized List<ChatMessage> messages() {
+        catchUp();
+        return merged;
+    }
+
+    /**
+     * Gets the cursor for the current state, for a later {@link #since} or {@link #update} call.
+     *
+     * @return the cursor
+     */
+    synchronized long cursor() {
+        catchUp();
+        return cursor;
+    }
+
+    /**
+     * Gets messages merged in after a cursor.
+     *
+     * @param since a value from {@link #cursor}, possibly from an older view
+     * @return the new messages newest first, or null if the cursor is not from this
+     *         view or too far behind, in which case the caller needs {@link #messages}
+     */
+    @Nullable
+    synchronized List<ChatMessage> since(long since) {
+        catchUp();
+        if (since < trimmedCursor || since > cursor) {
+            return null;
+        }
+        List<ChatMessage> result = new ArrayList<>();
+        Iterator<Appended> it = appended.descendingIterator();
+        while (it.hasNext()) {
+            Appended entry = it.next();
+            if (entry.cursor() <= since) {
+                break;
+            }
+            result.add(entry.message());
+        }
+        return result;
+    }
+
+    /**
+     * Gets the messages merged in after a cursor together with the new cursor,
+     * falling back to the full history if the cursor can't be served.
+     *
+     * @param since a value from an earlier update
+     * @return the update
+     */
+    @NotNull
+    synchronized ChatHistoryManager.AlliedChatUpdate update(long since) {
+        List<ChatMessage> delta = since(since);
+        return delta != null
+                ? new ChatHistoryManager.AlliedChatUpdate(delta, cursor, false)
+                : new ChatHistoryManager.AlliedChatUpdate(merged, cursor, true);
+    }
+
+    // Merges messages recorded in the sources since the last call
+    private void catchUp() {
+        List<List<ChatMessage>> fresh = null;
+        for (int i = 0; i < sources.size(); i++) {
+            ChatRingBuffer source = sources.get(i);
+            List<ChatMessage> added;
+            synchronized (source) {
+                long sequence = source.sequence();
+                if (sequence == sourceSequences[i]) {
+                    continue;
+                }
+                added = source.messagesSince(sourceSequences[i]);
+                sourceSequences[i] = sequence;
+            }
+            // Sources list new messages oldest first; the merge wants newest first
+            List<ChatMessage> ally = new ArrayList<>(added.size());
+            for (int j = added.size() - 1; j >= 0; j--) {
+                if (added.get(j).channel() == ChatMessage.Channel.ALLY) {
+                    ally.add(added.get(j));
+                }
+            }
+            if (!ally.isEmpty()) {
+                if (fresh == null) {
+                    fresh = new ArrayList<>();
+                }
+                fresh.add(ally);
+            }
+        }
+        if (fresh == null) {
+            return;
+        }
+
+        List<ChatMessage> freshNewestFirst = mergeNewestFirst(fresh, limit);
+        for (int i = freshNewestFirst.size() - 1; i >= 0; i--) {
+            appended.addLast(new Appended(CURSORS.incrementAndGet(), freshNewestFirst.get(i)));
+            if (appended.size() > limit) {
+                trimmedCursor = appended.removeFirst().cursor();
+            }
+        }
+        cursor = appended.getLast().cursor();
+        merged = mergeNewestFirst(List.of(freshNewestFirst, merged), limit);
+    }
+
+    /**
+     * Lazily merges newest-first lists, keeping only ALLY messages, and stops after
+     * {@code limit} results. Each step costs O(log k) for k lists.
+     */
+    @NotNull
+    static List<ChatMessage> mergeNewestFirst(@NotNull List<List<ChatMessage>> lists, int limit) {
+        record Head(List<ChatMessage> list, int index) {
+            ChatMessage message() {
+                return list.get(index);
+            }
+        }
+
+        PriorityQueue<Head> heads = new PriorityQueue<>(Math.max(1, lists.size()),
+                (a, b) -> Long.compare(b.message().timestamp(), a.message().timestamp()));
+        for (List<ChatMessage> list : lists) {
+            if (!list.isEmpty()) {
+                heads.add(new Head(list, 0));
+            }
+        }
+
+        List<ChatMessage> result = new ArrayList<>(Math.min(limit, 64));
+        while (result.size() < limit && !heads.isEmpty()) {
+            Head head = heads.poll();
+            ChatMessage msg = head.message();
+            if (msg.channel() == ChatMessage.Channel.ALLY) {
+                result.add(msg);
+            }
+            if (head.index() + 1 < head.list().size()) {
+                heads.add(new Head(head.list(), head.index() + 1));
+            }
+        }
+        return List.copyOf(result);
+    }
+}
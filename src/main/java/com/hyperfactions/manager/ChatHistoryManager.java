@@ -10,24 +10,32 @@ import com.hyperfactions.util.Logger;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Manages in-memory chat history cache with debounced persistence.
  * <p>
- * Histories are loaded on demand and evicted when no online members remain.
- * Saves are debounced (5s delay) to batch rapid messages into single writes.
+ * Each cached faction keeps a fixed-capacity {@link ChatRingBuffer}, so recording
+ * a message is constant time. Histories are loaded on demand and evicted when no
+ * online members remain. Saves are debounced (5s delay) and append only the
+ * messages recorded since the previous save.
+ * <p>
+ * Merged ally histories are kept as {@link AlliedChatView}s over the same buffers,
+ * dropped when the faction's alliances change or one of the buffers is evicted.
  */
 public class ChatHistoryManager {
 
     private static final long DEBOUNCE_DELAY_MS = 5_000;
 
     private final ChatHistoryStorage storage;
-    private final ConcurrentHashMap<UUID, FactionChatHistory> cache = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, ChatRingBuffer> cache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<UUID, ScheduledFuture<?>> pendingSaves = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, AlliedChatView> alliedViews = new ConcurrentHashMap<>();
+    /** Bumped on every view invalidation so a view built concurrently is not cached. */
+    private final AtomicLong alliedViewGeneration = new AtomicLong();
     private final ScheduledExecutorService scheduler;
 
     public ChatHistoryManager(@NotNull ChatHistoryStorage storage) {
@@ -51,12 +59,12 @@ public class ChatHistoryManager {
             return;
         }
 
+        ChatRingBuffer buffer = bufferFor(factionId);
         int maxMessages = ConfigManager.get().getChatHistoryMaxMessages();
-
-        cache.compute(factionId, (id, existing) -> {
-            FactionChatHistory history = existing != null ? existing : FactionChatHistory.empty(id);
-            return history.withMessage(msg, maxMessages);
-        });
+        if (buffer.capacity() != maxMessages) {
+            buffer.resize(maxMessages);
+        }
+        buffer.add(msg);
 
         scheduleDebouncedSave(factionId);
     }
@@ -70,15 +78,8 @@ public class ChatHistoryManager {
      */
     @NotNull
     public CompletableFuture<FactionChatHistory> getHistory(@NotNull UUID factionId) {
-        FactionChatHistory cached = cache.get(factionId);
-        if (cached != null) {
-            return CompletableFuture.completedFuture(cached);
-        }
-
-        return storage.loadHistory(factionId).thenApply(history -> {
-            cache.putIfAbsent(factionId, history);
-            return cache.get(factionId);
-        });
+        ChatRingBuffer buffer = bufferFor(factionId);
+        return buffer.loaded().thenApply(v -> buffer.snapshot());
     }
 
     /**
@@ -92,44 +93,48 @@ public class ChatHistoryManager {
     public CompletableFuture<List<ChatMessage>> getAlliedHistory(
             @NotNull UUID factionId,
             @NotNull FactionManager factionManager) {
+        return alliedView(factionId, factionManager)
+                .thenApply(view -> view != null ? view.messages() : List.of());
+    }
 
-        Faction faction = factionManager.getFaction(factionId);
-        if (faction == null) {
-            return CompletableFuture.completedFuture(List.of());
-        }
-
-        // Collect all allied faction IDs + sender's own faction
-        List<UUID> factionIds = new ArrayList<>();
-        factionIds.add(factionId);
+    /**
+     * Gets the merged ally chat messages recorded after a cursor, for refreshing
+     * an open chat view without rebuilding it from the full history.
+     *
+     * @param factionId      the faction requesting ally history
+     * @param factionManager for looking up allied factions
+     * @param cursor         the cursor from a previous update, or -1 for the full history
+     * @return the new messages, or the full history if the cursor can't be served
+     */
+    @NotNull
+    public CompletableFuture<AlliedChatUpdate> getAlliedHistorySince(
+            @NotNull UUID factionId,
+            @NotNull FactionManager factionManager,
+            long cursor) {
+        return alliedView(factionId, factionManager).thenApply(view ->
+                view != null ? view.update(cursor) : new AlliedChatUpdate(List.of(), -1, true));
+    }
 
-        for (var entry : faction.relations().entrySet()) {
-            FactionRelation rel = entry.getValue();
-            if (rel != null && rel.isAlly()) {
-                factionIds.add(entry.getKey());
-            }
-        }
+    /**
+     * Result of {@link #getAlliedHistorySince}.
+     *
+     * @param messages messages, newest first
+     * @param cursor   cursor to pass to the next call
+     * @param full     true if messages is the full history rather than only new messages
+     */
+    public record AlliedChatUpdate(@NotNull List<ChatMessage> messages, long cursor, boolean full) {}
 
-        // Load all histories in parallel
-        List<CompletableFuture<FactionChatHistory>> futures = factionIds.stream()
-                .map(this::getHistory)
-                .toList();
-
-        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
-                .thenApply(v -> {
-                    List<ChatMessage> merged = new ArrayList<>();
-                    for (var future : futures) {
-                        FactionChatHistory history = future.join();
-                        // Only include ALLY channel messages for the merged view
-                        for (ChatMessage msg : history.messages()) {
-                            if (msg.channel() == ChatMessage.Channel.ALLY) {
-                                merged.add(msg);
-                            }
-                        }
-                    }
-                    // Sort newest first
-                    merged.sort(Comparator.comparingLong(ChatMessage::timestamp).reversed());
-                    return merged;
-                });
+    /**
+     * Drops the merged ally views of two factions whose relation changed.
+     * Other factions' views are unaffected, since their ally sets did not change.
+     *
+     * @param factionId       the faction whose relation changed
+     * @param targetFactionId the other faction
+     */
+    public void onRelationChanged(@NotNull UUID factionId, @NotNull UUID targetFactionId) {
+        alliedViewGeneration.incrementAndGet();
+        alliedViews.remove(factionId);
+        alliedViews.remove(targetFactionId);
     }
 
     /**
@@ -144,10 +149,9 @@ public class ChatHistoryManager {
         }
 
         if (!cache.containsKey(factionId)) {
-            storage.loadHistory(factionId).thenAccept(history -> {
-                cache.putIfAbsent(factionId, history);
-                Logger.debug("Pre-warmed chat history for faction %s (%d messages)", factionId, history.size());
-            });
+            ChatRingBuffer buffer = bufferFor(factionId);
+            buffer.loaded().thenRun(() ->
+                    Logger.debug("Pre-warmed chat history for faction %s (%d messages)", factionId, buffer.size()));
         }
     }
 
@@ -161,6 +165,7 @@ public class ChatHistoryManager {
         // Flush any pending save first
         flushPendingSave(factionId);
         cache.remove(factionId);
+        invalidateAlliedViews(factionId);
     }
 
     /**
@@ -174,12 +179,13 @@ public class ChatHistoryManager {
         int retentionDays = ConfigManager.get().getChatHistoryRetentionDays();
         long cutoff = System.currentTimeMillis() - (retentionDays * 24L * 60 * 60 * 1000);
 
-        // Prune cached histories
+        // Prune cached histories; pruning rewrites the stored history, which also compacts it
         for (var entry : cache.entrySet()) {
-            FactionChatHistory pruned = entry.getValue().pruneOlderThan(cutoff);
-            if (pruned != entry.getValue()) {
-                cache.put(entry.getKey(), pruned);
-                scheduleDebouncedSave(entry.getKey());
+            ChatRingBuffer buffer = entry.getValue();
+            if (buffer.loaded().isDone() && buffer.pruneOlderThan(cutoff) > 0) {
+                cancelPendingSave(entry.getKey());
+                storage.saveHistory(buffer.snapshotAndMarkPersisted());
+                invalidateAlliedViews(entry.getKey());
             }
         }
 
@@ -213,6 +219,7 @@ public class ChatHistoryManager {
     public void deleteHistory(@NotNull UUID factionId) {
         cancelPendingSave(factionId);
         cache.remove(factionId);
+        invalidateAlliedViews(factionId);
         storage.deleteHistory(factionId);
         Logger.debug("Deleted chat history for faction %s", factionId);
     }
@@ -242,18 +249,127 @@ public class ChatHistoryManager {
 
     // === Private helpers ===
 
+    /**
+     * Gets the cached buffer for a faction, creating it and starting the load
+     * from storage if needed. Messages can be recorded before the load finishes;
+     * stored messages are merged in below them.
+     */
+    @NotNull
+    private ChatRingBuffer bufferFor(@NotNull UUID factionId) {
+        ChatRingBuffer existing = cache.get(factionId);
+        if (existing != null) {
+            return existing;
+        }
+        ChatRingBuffer created = new ChatRingBuffer(factionId, ConfigManager.get().getChatHistoryMaxMessages());
+        ChatRingBuffer buffer = cache.putIfAbsent(factionId, created);
+        if (buffer != null) {
+            return buffer;
+        }
+        storage.loadHistory(factionId).whenComplete((history, error) -> {
+            if (error != null) {
+                Logger.severe("Failed to load chat history for %s: %s", factionId, error.getMessage());
+                created.addOlder(List.of());
+            } else {
+                created.addOlder(history.messages());
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Gets the cached merged ally view for a faction, building it once the
+     * faction's and its allies' buffers have loaded.
+     *
+     * @return a future with the view, or with null if the faction does not exist
+     */
+    @NotNull
+    private CompletableFuture<AlliedChatView> alliedView(@NotNull UUID factionId,
+                                                         @NotNull FactionManager factionManager) {
+        AlliedChatView existing = alliedViews.get(factionId);
+        if (existing != null) {
+            return CompletableFuture.completedFuture(existing);
+        }
+
+        // Taken before reading the relations: an alliance change landing between the two
+        // reads would otherwise leave a view built from the old relations cached
+        long generation = alliedViewGeneration.get();
+
+        Faction faction = factionManager.getFaction(factionId);
+        if (faction == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        // Collect all allied faction IDs + the faction itself
+        List<UUID> factionIds = new ArrayList<>();
+        factionIds.add(factionId);
+        for (var entry : faction.relations().entrySet()) {
+            FactionRelation rel = entry.getValue();
+            if (rel != null && rel.isAlly()) {
+                factionIds.add(entry.getKey());
+            }
+        }
+
+        List<ChatRingBuffer> buffers = factionIds.stream().map(this::bufferFor).toList();
+        CompletableFuture<?>[] loads = buffers.stream().map(ChatRingBuffer::loaded).toArray(CompletableFuture[]::new);
+
+        return CompletableFuture.allOf(loads).thenApply(v -> {
+            AlliedChatView view = new AlliedChatView(factionIds, buffers,
+                    ConfigManager.get().getChatHistoryMaxMessages());
+            // Only cache if no alliance or buffer changed while loading
+            if (alliedViewGeneration.get() == generation) {
+                AlliedChatView raced = alliedViews.putIfAbsent(factionId, view);
+                return raced != null ? raced : view;
+            }
+            return view;
+        });
+    }
+
+    /**
+     * Drops every merged ally view that reads a faction's buffer.
+     */
+    private void invalidateAlliedViews(@NotNull UUID factionId) {
+        alliedViewGeneration.incrementAndGet();
+        alliedViews.values().removeIf(view -> view.includes(factionId));
+    }
+
     private void scheduleDebouncedSave(@NotNull UUID factionId) {
-        cancelPendingSave(factionId);
+        if (pendingSaves.containsKey(factionId)) {
+            return; // The scheduled save will pick up this message too
+        }
 
         ScheduledFuture<?> future = scheduler.schedule(() -> {
             pendingSaves.remove(factionId);
-            FactionChatHistory history = cache.get(factionId);
-            if (history != null) {
-                storage.saveHistory(history);
-            }
+            appendUnpersisted(factionId);
         }, DEBOUNCE_DELAY_MS, TimeUnit.MILLISECONDS);
 
-        pendingSaves.put(factionId, future);
+        if (pendingSaves.putIfAbsent(factionId, future) != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Appends the messages recorded since the last save to storage. If the write
+     * fails, the messages are handed back to the buffer for the next save.
+     *
+     * @return a future that completes when the append is written
+     */
+    @NotNull
+    private CompletableFuture<Void> appendUnpersisted(@NotNull UUID factionId) {
+        ChatRingBuffer buffer = cache.get(factionId);
+        if (buffer == null || !buffer.hasUnpersisted()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long cursor;
+        List<ChatMessage> batch;
+        synchronized (buffer) {
+            cursor = buffer.persistedSequence();
+            batch = buffer.takeUnpersisted();
+        }
+        return storage.appendMessages(factionId, batch, buffer.capacity()).whenComplete((v, ex) -> {
+            if (ex != null) {
+                buffer.requeueUnpersisted(cursor); // Retried by the next save or flush
+            }
+        });
     }
 
     private void cancelPendingSave(@NotNull UUID factionId) {
@@ -268,10 +384,9 @@ public class ChatHistoryManager {
         if (existing != null) {
             existing.cancel(false);
         }
-        FactionChatHistory history = cache.get(factionId);
-        if (history != null) {
+        if (cache.containsKey(factionId)) {
             try {
-                storage.saveHistory(history).join();
+                appendUnpersisted(factionId).join();
             } catch (Exception e) {
                 Logger.severe("Failed to flush chat history for %s: %s", factionId, e.getMessage());
             }
@@ -19,7 +19,6 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.function.Function;
 
 /**
  * Manages chat channels for faction and ally chat.
@@ -75,7 +74,7 @@ public class ChatManager {
 
     private final FactionManager factionManager;
     private final RelationManager relationManager;
-    private final Function<UUID, PlayerRef> playerLookup;
+    private final OnlineRoster onlineRoster;
     private @Nullable ChatHistoryManager chatHistoryManager;
     private @Nullable GuiUpdateService guiUpdateService;
     private final List<ChatMessageListener> messageListeners = new CopyOnWriteArrayList<>();
@@ -85,14 +84,14 @@ public class ChatManager {
      *
      * @param factionManager  the faction manager
      * @param relationManager the relation manager
-     * @param playerLookup    function to look up online PlayerRef by UUID
+     * @param onlineRoster    index of online players by faction, for message delivery
      */
     public ChatManager(@NotNull FactionManager factionManager,
                        @NotNull RelationManager relationManager,
-                       @NotNull Function<UUID, PlayerRef> playerLookup) {
+                       @NotNull OnlineRoster onlineRoster) {
         this.factionManager = factionManager;
         this.relationManager = relationManager;
-        this.playerLookup = playerLookup;
+        this.onlineRoster = onlineRoster;
     }
 
     /**
@@ -378,11 +377,8 @@ public class ChatManager {
                 .insert(Message.raw(message).color(msgColor));
 
         // Send to all online faction members
-        for (UUID memberUuid : faction.members().keySet()) {
-            PlayerRef member = playerLookup.apply(memberUuid);
-            if (member != null) {
-                member.sendMessage(formatted);
-            }
+        for (PlayerRef member : onlineRoster.getOnlineMembers(faction.id())) {
+            member.sendMessage(formatted);
         }
 
         // Record in history
@@ -423,28 +419,9 @@ public class ChatManager {
                 .insert(Message.raw(": ").color("#AAAAAA"))
                 .insert(Message.raw(message).color(msgColor));
 
-        // Send to sender's faction members
-        for (UUID memberUuid : faction.members().keySet()) {
-            PlayerRef member = playerLookup.apply(memberUuid);
-            if (member != null) {
-                member.sendMessage(formatted);
-            }
-        }
-
-        // Send to all ally faction members
-        for (UUID allyFactionId : faction.relations().keySet()) {
-            FactionRelation relation = faction.relations().get(allyFactionId);
-            if (relation != null && relation.isAlly()) {
-                Faction allyFaction = factionManager.getFaction(allyFactionId);
-                if (allyFaction != null) {
-                    for (UUID allyMemberUuid : allyFaction.members().keySet()) {
-                        PlayerRef allyMember = playerLookup.apply(allyMemberUuid);
-                        if (allyMember != null) {
-                            allyMember.sendMessage(formatted);
-                        }
-                    }
-                }
-            }
+        // Send to online members of the sender's faction and all ally factions
+        for (PlayerRef recipient : onlineRoster.getOnlineMembersAndAllies(faction.id())) {
+            recipient.sendMessage(formatted);
         }
 
         // Record in sender's faction history only (ally tab merges at read time)
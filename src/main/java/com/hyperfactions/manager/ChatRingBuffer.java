@@ -0,0 +1,237 @@
+package com.hyperfactions.manager;
+
+import com.hyperfactions.data.ChatMessage;
+import com.hyperfactions.data.FactionChatHistory;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fixed-capacity ring buffer holding one faction's recent chat messages.
+ *
+ * Recording a message writes one array slot, overwriting the oldest message
+ * once the buffer is full. Every recorded message gets a sequence number so
+ * {@link ChatHistoryManager} can persist only what was added since the last
+ * save. Messages loaded from storage are slotted in below the recorded ones
+ * with {@link #addOlder}, which lets recording start before the load finishes.
+ *
+ * All methods are synchronized; {@link #snapshot} is cached until the next change.
+ */
+final class ChatRingBuffer {
+
+    private final UUID factionId;
+    private final CompletableFuture<Void> loaded = new CompletableFuture<>();
+
+    private ChatMessage[] slots;
+    private int head; // index of the oldest message
+    private int size;
+
+    /** Messages recorded with {@link #add}; the newest has this sequence number. */
+    private long sequence;
+    /** Sequence number up to which messages have been handed out for persisting. */
+    private long persistedSequence;
+
+    @Nullable
+    private FactionChatHistory snapshot;
+
+    ChatRingBuffer(@NotNull UUID factionId, int capacity) {
+        this.factionId = factionId;
+        this.slots = new ChatMessage[Math.max(1, capacity)];
+    }
+
+    /**
+     * Future completed once stored history has been merged in.
+     *
+     * @return the load future
+     */
+    @NotNull
+    CompletableFuture<Void> loaded() {
+        return loaded;
+    }
+
+    /**
+     * Merges messages loaded from storage below the recorded ones and marks the
+     * buffer as loaded. Messages that do not fit are dropped, oldest first.
+     *
+     * @param newestFirst stored messages, newest first
+     */
+    synchronized void addOlder(@NotNull List<ChatMessage> newestFirst) {
+        int capacity = slots.length;
+        for (int i = 0; i < newestFirst.size() && size < capacity; i++) {
+            head = (head - 1 + capacity) % capacity;
+            slots[head] = newestFirst.get(i);
+            size++;
+        }
+        snapshot = null;
+        loaded.complete(null);
+    }
+
+    /**
+     * Records a new message, overwriting the oldest if the buffer is full.
+     *
+     * @param msg the message
+     */
+    synchronized void add(@NotNull ChatMessage msg) {
+        int capacity = slots.length;
+        if (size == capacity) {
+            slots[head] = msg;
+            head = (head + 1) % capacity;
+        } else {
+            slots[(head + size) % capacity] = msg;
+            size++;
+        }
+        sequence++;
+        snapshot = null;
+    }
+
+    /**
+     * Changes the capacity, keeping the newest messages.
+     *
+     * @param capacity the new capacity
+     */
+    synchronized void resize(int capacity) {
+        capacity = Math.max(1, capacity);
+        if (capacity == slots.length) {
+            return;
+        }
+        int keep = Math.min(size, capacity);
+        ChatMessage[] resized = new ChatMessage[capacity];
+        for (int i = 0; i < keep; i++) {
+            resized[i] = slots[(head + size - keep + i) % slots.length];
+        }
+        slots = resized;
+        head = 0;
+        size = keep;
+        snapshot = null;
+    }
+
+    /**
+     * Removes messages older than the cutoff.
+     *
+     * @param cutoffMillis epoch millis; older messages are removed
+     * @return number of messages removed
+     */
+    synchronized int pruneOlderThan(long cutoffMillis) {
+        int removed = 0;
+        while (size > 0 && slots[head].timestamp() < cutoffMillis) {
+            slots[head] = null;
+            head = (head + 1) % slots.length;
+            size--;
+            removed++;
+        }
+        if (removed > 0) {
+            snapshot = null;
+        }
+        return removed;
+    }
+
+    /**
+     * Returns recorded messages not yet handed out for persisting, and marks them handed out.
+     * Messages overwritten before being persisted are skipped.
+     *
+     * @return new messages, oldest first (empty if none)
+     */
+    @NotNull
+    synchronized List<ChatMessage> takeUnpersisted() {
+        List<ChatMessage> result = messagesSince(persistedSequence);
+        persistedSequence = sequence;
+        return result;
+    }
+
+    /**
+     * Gets the sequence number up to which messages have been handed out for
+     * persisting, to hand them back with {@link #requeueUnpersisted} if the save fails.
+     *
+     * @return the persisted cursor
+     */
+    synchronized long persistedSequence() {
+        return persistedSequence;
+    }
+
+    /**
+     * Hands messages from a failed save back, so the next save writes them again.
+     *
+     * @param cursor the {@link #persistedSequence} taken before the failed save
+     */
+    synchronized void requeueUnpersisted(long cursor) {
+        persistedSequence = Math.min(persistedSequence, cursor);
+    }
+
+    /**
+     * Checks if recorded messages are waiting to be persisted.
+     *
+     * @return true if {@link #takeUnpersisted} would return messages
+     */
+    synchronized boolean hasUnpersisted() {
+        return sequence > persistedSequence;
+    }
+
+    /**
+     * Gets the current history for a full rewrite and marks everything in it as
+     * persisted, in one step so a message recorded meanwhile is neither skipped
+     * nor written twice.
+     *
+     * @return the current history, newest first
+     */
+    @NotNull
+    synchronized FactionChatHistory snapshotAndMarkPersisted() {
+        persistedSequence = sequence;
+        return snapshot();
+    }
+
+    /**
+     * Gets the sequence number of the newest recorded message, usable as a cursor
+     * for {@link #messagesSince}.
+     *
+     * @return the current sequence number
+     */
+    synchronized long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Gets the recorded messages newer than a cursor that are still in the buffer.
+     *
+     * @param cursor a value previously returned by {@link #sequence}
+     * @return messages recorded after the cursor, oldest first
+     */
+    @NotNull
+    synchronized List<ChatMessage> messagesSince(long cursor) {
+        // Recorded messages always occupy the newest slots
+        int count = (int) Math.min(Math.max(0, sequence - cursor), size);
+        List<ChatMessage> result = new ArrayList<>(count);
+        for (int i = size - count; i < size; i++) {
+            result.add(slots[(head + i) % slots.length]);
+        }
+        return result;
+    }
+
+    /**
+     * Gets an immutable view of the buffer, newest first.
+     *
+     * @return the current history
+     */
+    @NotNull
+    synchronized FactionChatHistory snapshot() {
+        if (snapshot == null) {
+            List<ChatMessage> newestFirst = new ArrayList<>(size);
+            for (int i = size - 1; i >= 0; i--) {
+                newestFirst.add(slots[(head + i) % slots.length]);
+            }
+            snapshot = new FactionChatHistory(factionId, newestFirst);
+        }
+        return snapshot;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,483 @@
+package com.hyperfactions.manager;
+
+import com.hyperfactions.util.ChunkUtil;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+
+/**
+ * Primitive chunk -> faction index used on the protection hot path.
+ *
+ * World names are interned to small integer IDs. Each world keeps its claims in
+ * 16x16-chunk region tiles held in an open-addressing {@link Long2ObjectOpenHashMap}
+ * keyed by the packed tile coordinates ({@link ChunkUtil#packChunkKey(int, int)} of
+ * the chunk coordinates shifted right by {@value #TILE_SHIFT}), so a lookup
+ * performs no allocation. Area queries ({@link #query}, {@link #findNearest},
+ * {@link #hasAdjacent}) fetch each overlapping tile once instead of hashing every chunk.
+ *
+ * Hytale ticks each world on its own thread, so every world is guarded by its
+ * own {@link StampedLock}: reads from different worlds never contend, and
+ * writes (claims are rare compared to block events) only block readers of the
+ * same world.
+ */
+public final class ClaimIndex {
+
+    /** Returned by {@link #lookupWorldId(String)} when a world has never been indexed. */
+    public static final int UNKNOWN_WORLD = -1;
+
+    /** Returned by {@link #findNearest} when no chunk in range matches. */
+    public static final long NOT_FOUND = Long.MIN_VALUE;
+
+    /** Largest number of chunks a single {@link #query} may cover. */
+    public static final int MAX_QUERY_AREA = 1 << 20;
+
+    // Tiles are 16x16 chunks
+    private static final int TILE_SHIFT = 4;
+    private static final int TILE_SIZE = 1 << TILE_SHIFT;
+    private static final int TILE_MASK = TILE_SIZE - 1;
+
+    // World name -> per-world index (the interning table)
+    private final Map<String, WorldIndex> worldsByName = new ConcurrentHashMap<>();
+
+    // World ID -> per-world index, grown copy-on-write when a new world is interned
+    private volatile WorldIndex[] worldsById = new WorldIndex[0];
+
+    /**
+     * Per-world map of packed tile coordinates to region tiles.
+     */
+    private static final class WorldIndex {
+        final int id;
+        final String name;
+        final StampedLock lock = new StampedLock();
+        final Long2ObjectOpenHashMap<Tile> tiles = new Long2ObjectOpenHashMap<>();
+        int size;
+
+        WorldIndex(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    /**
+     * A 16x16-chunk region: owners indexed by {@code (localZ << 4) | localX}.
+     */
+    private static final class Tile {
+        final UUID[] owners = new UUID[TILE_SIZE * TILE_SIZE];
+        int count;
+    }
+
+    private static long tileKey(int chunkX, int chunkZ) {
+        return ChunkUtil.packChunkKey(chunkX >> TILE_SHIFT, chunkZ >> TILE_SHIFT);
+    }
+
+    private static int slot(int chunkX, int chunkZ) {
+        return ((chunkZ & TILE_MASK) << TILE_SHIFT) | (chunkX & TILE_MASK);
+    }
+
+    // === World interning ===
+
+    /**
+     * Gets the interned ID of a world, assigning a new one if needed.
+     *
+     * @param world the world name
+     * @return the world ID
+     */
+    public int worldId(@NotNull String world) {
+        return worldFor(world).id;
+    }
+
+    /**
+     * Gets the interned ID of a world without assigning one.
+     *
+     * @param world the world name
+     * @return the world ID, or {@link #UNKNOWN_WORLD} if the world has no claims indexed yet
+     */
+    public int lookupWorldId(@NotNull String world) {
+        WorldIndex index = worldsByName.get(world);
+        return index != null ? index.id : UNKNOWN_WORLD;
+    }
+
+    /**
+     * Gets the world name for an interned ID.
+     *
+     * @param worldId the world ID
+     * @return the world name, or null if unknown
+     */
+    @Nullable
+    public String worldName(int worldId) {
+        WorldIndex[] worlds = worldsById;
+        return worldId >= 0 && worldId < worlds.length ? worlds[worldId].name : null;
+    }
+
+    @NotNull
+    private WorldIndex worldFor(@NotNull String world) {
+        WorldIndex index = worldsByName.get(world);
+        if (index != null) {
+            return index;
+        }
+        synchronized (this) {
+            index = worldsByName.get(world);
+            if (index == null) {
+                WorldIndex[] current = worldsById;
+                index = new WorldIndex(current.length, world);
+                WorldIndex[] grown = Arrays.copyOf(current, current.length + 1);
+                grown[index.id] = index;
+                worldsById = grown;
+                worldsByName.put(world, index);
+            }
+            return index;
+        }
+    }
+
+    // === Queries ===
+
+    /**
+     * Gets the owner of a chunk. Allocation-free.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return the owning faction ID, or null if unclaimed
+     */
+    @Nullable
+    public UUID get(@NotNull String world, int chunkX, int chunkZ) {
+        WorldIndex index = worldsByName.get(world);
+        return index != null ? read(index, chunkX, chunkZ) : null;
+    }
+
+    /**
+     * Gets the owner of a chunk by interned world ID. Allocation-free.
+     *
+     * @param worldId the world ID from {@link #worldId(String)}
+     * @param chunkX  the chunk X
+     * @param chunkZ  the chunk Z
+     * @return the owning faction ID, or null if unclaimed
+     */
+    @Nullable
+    public UUID get(int worldId, int chunkX, int chunkZ) {
+        WorldIndex[] worlds = worldsById;
+        if (worldId < 0 || worldId >= worlds.length) {
+            return null;
+        }
+        return read(worlds[worldId], chunkX, chunkZ);
+    }
+
+    @Nullable
+    private static UUID read(@NotNull WorldIndex index, int chunkX, int chunkZ) {
+        long stamp = index.lock.readLock();
+        try {
+            Tile tile = index.tiles.get(tileKey(chunkX, chunkZ));
+            return tile != null ? tile.owners[slot(chunkX, chunkZ)] : null;
+        } finally {
+            index.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Checks if a chunk is claimed.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return true if claimed
+     */
+    public boolean contains(@NotNull String world, int chunkX, int chunkZ) {
+        return get(world, chunkX, chunkZ) != null;
+    }
+
+    /**
+     * Gets the total number of indexed chunks across all worlds.
+     *
+     * @return the claim count
+     */
+    public int size() {
+        int total = 0;
+        for (WorldIndex index : worldsById) {
+            long stamp = index.lock.readLock();
+            try {
+                total += index.size;
+            } finally {
+                index.lock.unlockRead(stamp);
+            }
+        }
+        return total;
+    }
+
+    // === Area queries ===
+
+    /**
+     * Gets the owners of every chunk in a rectangle as a packed grid. Each region
+     * tile overlapping the rectangle is fetched once, under one read lock.
+     *
+     * @param world  the world name
+     * @param minX   the smallest chunk X
+     * @param minZ   the smallest chunk Z
+     * @param width  the number of chunks along X
+     * @param height the number of chunks along Z
+     * @return the owner grid
+     * @throws IllegalArgumentException if the rectangle is empty or larger than {@value #MAX_QUERY_AREA} chunks
+     */
+    @NotNull
+    public OwnerGrid query(@NotNull String world, int minX, int minZ, int width, int height) {
+        if (width <= 0 || height <= 0 || (long) width * height > MAX_QUERY_AREA) {
+            throw new IllegalArgumentException("Invalid query size " + width + "x" + height);
+        }
+        int[] cells = new int[width * height];
+        List<UUID> palette = new ArrayList<>();
+        WorldIndex index = worldsByName.get(world);
+        if (index == null) {
+            return new OwnerGrid(minX, minZ, width, height, cells, palette);
+        }
+
+        Map<UUID, Integer> paletteIndex = new HashMap<>();
+        int maxX = minX + width - 1;
+        int maxZ = minZ + height - 1;
+        long stamp = index.lock.readLock();
+        try {
+            for (int tileZ = minZ >> TILE_SHIFT; tileZ <= maxZ >> TILE_SHIFT; tileZ++) {
+                for (int tileX = minX >> TILE_SHIFT; tileX <= maxX >> TILE_SHIFT; tileX++) {
+                    Tile tile = index.tiles.get(ChunkUtil.packChunkKey(tileX, tileZ));
+                    if (tile == null) {
+                        continue;
+                    }
+                    int fromX = Math.max(minX, tileX << TILE_SHIFT);
+                    int toX = Math.min(maxX, (tileX << TILE_SHIFT) + TILE_MASK);
+                    int fromZ = Math.max(minZ, tileZ << TILE_SHIFT);
+                    int toZ = Math.min(maxZ, (tileZ << TILE_SHIFT) + TILE_MASK);
+                    for (int z = fromZ; z <= toZ; z++) {
+                        for (int x = fromX; x <= toX; x++) {
+                            UUID owner = tile.owners[slot(x, z)];
+                            if (owner != null) {
+                                Integer id = paletteIndex.get(owner);
+                                if (id == null) {
+                                    palette.add(owner);
+                                    id = palette.size();
+                                    paletteIndex.put(owner, id);
+                                }
+                                cells[(z - minZ) * width + (x - minX)] = id;
+                            }
+                        }
+                    }
+                }
+            }
+        } finally {
+            index.lock.unlockRead(stamp);
+        }
+        return new OwnerGrid(minX, minZ, width, height, cells, palette);
+    }
+
+    /**
+     * Finds the nearest chunk whose owner is accepted, searching square rings of
+     * growing radius around a center (the center itself is not checked). Within a
+     * ring, chunks are visited by increasing X, then Z.
+     *
+     * @param world     the world name
+     * @param centerX   the center chunk X
+     * @param centerZ   the center chunk Z
+     * @param maxRadius the largest ring radius to search
+     * @param accept    tests a chunk's owner (null for unclaimed)
+     * @return the packed chunk key ({@link ChunkUtil#packChunkKey}), or {@link #NOT_FOUND}
+     */
+    public long findNearest(@NotNull String world, int centerX, int centerZ, int maxRadius,
+                            @NotNull Predicate<UUID> accept) {
+        if (maxRadius < 1) {
+            return NOT_FOUND;
+        }
+        OwnerGrid grid = query(world, centerX - maxRadius, centerZ - maxRadius, maxRadius * 2 + 1, maxRadius * 2 + 1);
+        for (int radius = 1; radius <= maxRadius; radius++) {
+            for (int dx = -radius; dx <= radius; dx++) {
+                // Full column on the ring's left and right edges, otherwise just the top and bottom
+                int step = (dx == -radius || dx == radius) ? 1 : radius * 2;
+                for (int dz = -radius; dz <= radius; dz += step) {
+                    int x = centerX + dx;
+                    int z = centerZ + dz;
+                    if (accept.test(grid.get(x, z))) {
+                        return ChunkUtil.packChunkKey(x, z);
+                    }
+                }
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Checks if any of the four chunks sharing an edge with a chunk is owned by a
+     * faction, under one read lock and usually one tile fetch.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @param owner  the faction ID
+     * @return true if a neighbouring chunk is owned by the faction
+     */
+    public boolean hasAdjacent(@NotNull String world, int chunkX, int chunkZ, @NotNull UUID owner) {
+        WorldIndex index = worldsByName.get(world);
+        if (index == null) {
+            return false;
+        }
+        long stamp = index.lock.readLock();
+        try {
+            long centerKey = tileKey(chunkX, chunkZ);
+            Tile center = index.tiles.get(centerKey);
+            return ownedIn(index, center, centerKey, chunkX, chunkZ - 1, owner)
+                || ownedIn(index, center, centerKey, chunkX, chunkZ + 1, owner)
+                || ownedIn(index, center, centerKey, chunkX + 1, chunkZ, owner)
+                || ownedIn(index, center, centerKey, chunkX - 1, chunkZ, owner);
+        } finally {
+            index.lock.unlockRead(stamp);
+        }
+    }
+
+    /** Checks one chunk, reusing the already fetched tile when it holds the chunk. Caller holds the lock. */
+    private static boolean ownedIn(@NotNull WorldIndex index, @Nullable Tile known, long knownKey,
+                                   int chunkX, int chunkZ, @NotNull UUID owner) {
+        long key = tileKey(chunkX, chunkZ);
+        Tile tile = key == knownKey ? known : index.tiles.get(key);
+        return tile != null && owner.equals(tile.owners[slot(chunkX, chunkZ)]);
+    }
+
+    // === Mutations ===
+
+    /**
+     * Sets the owner of a chunk.
+     *
+     * @param world   the world name
+     * @param chunkX  the chunk X
+     * @param chunkZ  the chunk Z
+     * @param owner   the owning faction ID
+     * @return the previous owner, or null if the chunk was unclaimed
+     */
+    @Nullable
+    public UUID put(@NotNull String world, int chunkX, int chunkZ, @NotNull UUID owner) {
+        WorldIndex index = worldFor(world);
+        long stamp = index.lock.writeLock();
+        try {
+            long key = tileKey(chunkX, chunkZ);
+            Tile tile = index.tiles.get(key);
+            if (tile == null) {
+                tile = new Tile();
+                index.tiles.put(key, tile);
+            }
+            int slot = slot(chunkX, chunkZ);
+            UUID previous = tile.owners[slot];
+            tile.owners[slot] = owner;
+            if (previous == null) {
+                tile.count++;
+                index.size++;
+            }
+            return previous;
+        } finally {
+            index.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes the owner of a chunk.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return the previous owner, or null if the chunk was unclaimed
+     */
+    @Nullable
+    public UUID remove(@NotNull String world, int chunkX, int chunkZ) {
+        WorldIndex index = worldsByName.get(world);
+        if (index == null) {
+            return null;
+        }
+        long stamp = index.lock.writeLock();
+        try {
+            long key = tileKey(chunkX, chunkZ);
+            Tile tile = index.tiles.get(key);
+            if (tile == null) {
+                return null;
+            }
+            int slot = slot(chunkX, chunkZ);
+            UUID previous = tile.owners[slot];
+            if (previous != null) {
+                tile.owners[slot] = null;
+                index.size--;
+                if (--tile.count == 0) {
+                    index.tiles.remove(key);
+                }
+            }
+            return previous;
+        } finally {
+            index.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes every chunk owned by a faction, in all worlds.
+     *
+     * @param owner the faction ID
+     * @return the number of chunks removed
+     */
+    public int removeOwner(@NotNull UUID owner) {
+        int removed = 0;
+        for (WorldIndex index : worldsById) {
+            long stamp = index.lock.writeLock();
+            try {
+                var tiles = index.tiles.values().iterator();
+                while (tiles.hasNext()) {
+                    Tile tile = tiles.next();
+                    for (int slot = 0; slot < tile.owners.length; slot++) {
+                        if (owner.equals(tile.owners[slot])) {
+                            tile.owners[slot] = null;
+                            tile.count--;
+                            index.size--;
+                            removed++;
+                        }
+                    }
+                    if (tile.count == 0) {
+                        tiles.remove();
+                    }
+                }
+            } finally {
+                index.lock.unlockWrite(stamp);
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Removes all entries. Interned world IDs are kept so cached IDs stay valid.
+     */
+    public void clear() {
+        for (WorldIndex index : worldsById) {
+            long stamp = index.lock.writeLock();
+            try {
+                index.tiles.clear();
+                index.tiles.trim();
+                index.size = 0;
+            } finally {
+                index.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Gets the names of all interned worlds.
+     *
+     * @return world names in ID order
+     */
+    @NotNull
+    public List<String> getWorldNames() {
+        WorldIndex[] worlds = worldsById;
+        List<String> names = new ArrayList<>(worlds.length);
+        for (WorldIndex index : worlds) {
+            names.add(index.name);
+        }
+        return names;
+    }
+}
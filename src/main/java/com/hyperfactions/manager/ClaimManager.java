@@ -9,6 +9,7 @@ import com.hyperfactions.data.FactionLog;
 import com.hyperfactions.data.FactionMember;
 import com.hyperfactions.integration.PermissionManager;
 import com.hyperfactions.integration.orbis.OrbisGuardIntegration;
+import com.hyperfactions.storage.ClaimJournal;
 import com.hyperfactions.util.ChunkUtil;
 import com.hyperfactions.util.Logger;
 import org.jetbrains.annotations.NotNull;
@@ -30,12 +31,19 @@ public class ClaimManager {
     @Nullable
     private ZoneManager zoneManager;
 
-    // Index: ChunkKey -> faction ID for fast lookups
-    private final Map<ChunkKey, UUID> claimIndex = new ConcurrentHashMap<>();
+    // Index: (world, packed chunk) -> faction ID for allocation-free lookups
+    private final ClaimIndex claimIndex = new ClaimIndex();
 
     // Reverse index: faction ID -> Set<ChunkKey> for O(1) getFactionClaims()
     private final Map<UUID, Set<ChunkKey>> factionClaimsIndex = new ConcurrentHashMap<>();
 
+    // Append-only claim journal (null when claims are persisted with faction files)
+    @Nullable
+    private ClaimJournal journal;
+
+    // Whether the journal has been replayed into the index (first buildIndex only)
+    private boolean journalLoaded = false;
+
     // Callback for when claims change (used to refresh world map)
     @Nullable
     private Runnable onClaimChangeCallback;
@@ -46,7 +54,7 @@ public class ClaimManager {
 
     // GUI-specific chunk change callback for real-time GUI map refresh
     @Nullable
-    private ChunkChangeCallback onGuiChunkChangeCallback;
+    private GuiChunkChangeCallback onGuiChunkChangeCallback;
 
     // Callback for notifying faction members (used for overclaim alerts)
     @Nullable
@@ -73,6 +81,16 @@ public class ClaimManager {
         void onChunkChange(String worldName, int chunkX, int chunkZ);
     }
 
+    /**
+     * Functional interface for GUI chunk change notifications.
+     * Also names the factions whose claim count changed, whose map headers show it.
+     */
+    @FunctionalInterface
+    public interface GuiChunkChangeCallback {
+        void onChunkChange(String worldName, int chunkX, int chunkZ,
+                           @Nullable UUID gainingFactionId, @Nullable UUID losingFactionId);
+    }
+
     public ClaimManager(@NotNull FactionManager factionManager, @NotNull PowerManager powerManager) {
         this.factionManager = factionManager;
         this.powerManager = powerManager;
@@ -88,6 +106,52 @@ public class ClaimManager {
         this.zoneManager = zoneManager;
     }
 
+    /**
+     * Sets the claim journal. When set, claim changes are appended to the journal
+     * and faction files are only rewritten at the next auto-save.
+     * Must be called before {@link #buildIndex()}.
+     *
+     * @param journal the claim journal, or null to persist claims with faction files
+     */
+    public void setJournal(@Nullable ClaimJournal journal) {
+        this.journal = journal;
+        this.journalLoaded = false;
+    }
+
+    /**
+     * Gets the claim journal.
+     *
+     * @return the claim journal, or null if not enabled
+     */
+    @Nullable
+    public ClaimJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Compacts the claim journal if it has grown past the threshold.
+     *
+     * @param threshold journal entries that trigger compaction
+     */
+    public void compactJournalIfNeeded(int threshold) {
+        if (journal != null && journal.getJournalEntries() >= threshold) {
+            journal.compact();
+        }
+    }
+
+    /**
+     * Persists a faction whose claims changed. With the journal enabled the
+     * change has been queued to the journal's I/O thread, which writes it on its
+     * next flush, usually within milliseconds, so the faction file waits for auto-save.
+     */
+    private void saveClaimChange(@NotNull Faction faction) {
+        if (journal != null) {
+            factionManager.updateFactionDeferred(faction);
+        } else {
+            factionManager.updateFaction(faction);
+        }
+    }
+
     /**
      * Sets a callback for notifying faction members.
      * Used to alert defenders when territory is overclaimed.
@@ -151,13 +215,13 @@ public class ClaimManager {
      *
      * @param callback the callback to run on chunk changes
      */
-    public void setOnGuiChunkChangeCallback(@Nullable ChunkChangeCallback callback) {
+    public void setOnGuiChunkChangeCallback(@Nullable GuiChunkChangeCallback callback) {
         this.onGuiChunkChangeCallback = callback;
     }
 
     /**
      * Notifies that claims have changed (triggers world map refresh).
-     * @deprecated Use {@link #notifyChunkChange(String, int, int)} for chunk-specific updates
+     * @deprecated Use {@link #notifyChunkChange(String, int, int, UUID, UUID)} for chunk-specific updates
      */
     @Deprecated
     private void notifyClaimChange() {
@@ -178,8 +242,11 @@ public class ClaimManager {
      * @param worldName the world name
      * @param chunkX chunk X coordinate
      * @param chunkZ chunk Z coordinate
+     * @param gainingFactionId the faction that now owns the chunk, if any
+     * @param losingFactionId the faction that owned it before, if any
      */
-    private void notifyChunkChange(@NotNull String worldName, int chunkX, int chunkZ) {
+    private void notifyChunkChange(@NotNull String worldName, int chunkX, int chunkZ,
+                                   @Nullable UUID gainingFactionId, @Nullable UUID losingFactionId) {
         Logger.debugClaim("Chunk change notification: world=%s, chunk=(%d,%d)", worldName, chunkX, chunkZ);
 
         // Try chunk-specific callback first (preferred for performance)
@@ -202,7 +269,7 @@ public class ClaimManager {
         // GUI map refresh callback (separate from world map)
         if (onGuiChunkChangeCallback != null) {
             try {
-                onGuiChunkChangeCallback.onChunkChange(worldName, chunkX, chunkZ);
+                onGuiChunkChangeCallback.onChunkChange(worldName, chunkX, chunkZ, gainingFactionId, losingFactionId);
             } catch (Exception e) {
                 Logger.warn("Error in GUI chunk change callback: %s", e.getMessage());
             }
@@ -212,16 +279,30 @@ public class ClaimManager {
     /**
      * Builds the claim index from all factions.
      * Call after FactionManager.loadAll()
+     *
+     * With the claim journal enabled, the first call rebuilds the index from the
+     * journal snapshot and replay instead (faction files may lag behind it until
+     * the next auto-save). Later calls, e.g. after an import, rebuild from the
+     * faction records and rewrite the journal snapshot to match.
      */
     public void buildIndex() {
         claimIndex.clear();
         factionClaimsIndex.clear();
 
+        if (journal != null && !journalLoaded) {
+            journalLoaded = true;
+            Map<UUID, Set<FactionClaim>> journaled = journal.load();
+            if (journaled != null) {
+                buildIndexFromJournal(journaled);
+                return;
+            }
+        }
+
         for (Faction faction : factionManager.getAllFactions()) {
             Set<ChunkKey> factionClaims = ConcurrentHashMap.newKeySet();
             for (FactionClaim claim : faction.claims()) {
                 ChunkKey key = claim.toChunkKey();
-                claimIndex.put(key, faction.id());
+                claimIndex.put(key.world(), key.chunkX(), key.chunkZ(), faction.id());
                 factionClaims.add(key);
             }
             if (!factionClaims.isEmpty()) {
@@ -230,6 +311,53 @@ public class ClaimManager {
         }
 
         Logger.info("Built claim index with %d claims for %d factions", claimIndex.size(), factionClaimsIndex.size());
+
+        if (journal != null) {
+            // Seed (or re-seed after an import) the journal from the faction records
+            List<ClaimJournal.Entry> entries = new ArrayList<>(claimIndex.size());
+            for (Faction faction : factionManager.getAllFactions()) {
+                for (FactionClaim claim : faction.claims()) {
+                    entries.add(new ClaimJournal.Entry(faction.id(), claim));
+                }
+            }
+            journal.replaceAll(entries);
+        }
+    }
+
+    /**
+     * Builds the index from journaled claims and brings faction records in line
+     * with them. Claims of factions that no longer exist are dropped.
+     */
+    private void buildIndexFromJournal(@NotNull Map<UUID, Set<FactionClaim>> journaled) {
+        int orphaned = 0;
+        for (Map.Entry<UUID, Set<FactionClaim>> entry : journaled.entrySet()) {
+            UUID factionId = entry.getKey();
+            if (factionManager.getFaction(factionId) == null) {
+                for (FactionClaim claim : entry.getValue()) {
+                    journal.recordUnclaim(claim.world(), claim.chunkX(), claim.chunkZ());
+                }
+                orphaned += entry.getValue().size();
+                continue;
+            }
+            Set<ChunkKey> factionClaims = ConcurrentHashMap.newKeySet();
+            for (FactionClaim claim : entry.getValue()) {
+                claimIndex.put(claim.world(), claim.chunkX(), claim.chunkZ(), factionId);
+                factionClaims.add(claim.toChunkKey());
+            }
+            factionClaimsIndex.put(factionId, factionClaims);
+        }
+
+        int reconciled = 0;
+        for (Faction faction : factionManager.getAllFactions()) {
+            Set<FactionClaim> claims = journaled.getOrDefault(faction.id(), Set.of());
+            if (!claims.equals(faction.claims())) {
+                factionManager.updateFactionDeferred(faction.withClaims(new HashSet<>(claims)));
+                reconciled++;
+            }
+        }
+
+        Logger.info("Built claim index from journal with %d claims for %d factions (%d factions reconciled, %d orphaned claims dropped)",
+            claimIndex.size(), factionClaimsIndex.size(), reconciled, orphaned);
     }
 
     /**
@@ -270,7 +398,7 @@ public class ClaimManager {
      */
     @Nullable
     public UUID getClaimOwner(@NotNull String world, int chunkX, int chunkZ) {
-        return claimIndex.get(new ChunkKey(world, chunkX, chunkZ));
+        return claimIndex.get(world, chunkX, chunkZ);
     }
 
     /**
@@ -283,7 +411,7 @@ public class ClaimManager {
      */
     @Nullable
     public UUID getClaimOwnerAt(@NotNull String world, double x, double z) {
-        return claimIndex.get(ChunkKey.fromWorldCoords(world, x, z));
+        return claimIndex.get(world, ChunkUtil.toChunkCoord(x), ChunkUtil.toChunkCoord(z));
     }
 
     /**
@@ -295,7 +423,7 @@ public class ClaimManager {
      * @return true if claimed
      */
     public boolean isClaimed(@NotNull String world, int chunkX, int chunkZ) {
-        return claimIndex.containsKey(new ChunkKey(world, chunkX, chunkZ));
+        return claimIndex.contains(world, chunkX, chunkZ);
     }
 
     /**
@@ -308,11 +436,72 @@ public class ClaimManager {
      * @return true if at least one adjacent chunk is owned by the faction
      */
     public boolean hasAdjacentClaim(@NotNull String world, int chunkX, int chunkZ, @NotNull UUID factionId) {
-        ChunkKey key = new ChunkKey(world, chunkX, chunkZ);
-        return factionId.equals(claimIndex.get(key.north())) ||
-               factionId.equals(claimIndex.get(key.south())) ||
-               factionId.equals(claimIndex.get(key.east())) ||
-               factionId.equals(claimIndex.get(key.west()));
+        return claimIndex.hasAdjacent(world, chunkX, chunkZ, factionId);
+    }
+
+    // === Spatial Queries ===
+
+    /**
+     * Gets the owners of every chunk in a rectangle (bounds inclusive).
+     *
+     * @param world the world name
+     * @param minX  the smallest chunk X
+     * @param minZ  the smallest chunk Z
+     * @param maxX  the largest chunk X
+     * @param maxZ  the largest chunk Z
+     * @return the owner grid
+     */
+    @NotNull
+    public OwnerGrid getOwnersInRect(@NotNull String world, int minX, int minZ, int maxX, int maxZ) {
+        return claimIndex.query(world, minX, minZ, maxX - minX + 1, maxZ - minZ + 1);
+    }
+
+    /**
+     * Gets the owners of every chunk within a square radius of a center chunk.
+     * Callers that want a circle skip cells where {@code dx*dx + dz*dz > radius*radius}.
+     *
+     * @param world   the world name
+     * @param centerX the center chunk X
+     * @param centerZ the center chunk Z
+     * @param radius  the radius in chunks
+     * @return the owner grid
+     */
+    @NotNull
+    public OwnerGrid getOwnersInRadius(@NotNull String world, int centerX, int centerZ, int radius) {
+        return getOwnersInRect(world, centerX - radius, centerZ - radius, centerX + radius, centerZ + radius);
+    }
+
+    /**
+     * Finds the nearest chunk whose owner passes a test, searching rings of
+     * growing radius around (but not including) a center chunk.
+     *
+     * @param world     the world name
+     * @param centerX   the center chunk X
+     * @param centerZ   the center chunk Z
+     * @param maxRadius the largest ring radius to search
+     * @param accept    tests a chunk's owner (null for wilderness)
+     * @return the chunk, or null if none in range
+     */
+    @Nullable
+    public ChunkKey findNearestChunk(@NotNull String world, int centerX, int centerZ, int maxRadius,
+                                     @NotNull java.util.function.Predicate<UUID> accept) {
+        long packed = claimIndex.findNearest(world, centerX, centerZ, maxRadius, accept);
+        return packed == ClaimIndex.NOT_FOUND ? null
+            : new ChunkKey(world, ChunkUtil.unpackChunkX(packed), ChunkUtil.unpackChunkZ(packed));
+    }
+
+    /**
+     * Finds the nearest unclaimed chunk around (but not including) a center chunk.
+     *
+     * @param world     the world name
+     * @param centerX   the center chunk X
+     * @param centerZ   the center chunk Z
+     * @param maxRadius the largest ring radius to search
+     * @return the chunk, or null if every chunk in range is claimed
+     */
+    @Nullable
+    public ChunkKey findNearestUnclaimed(@NotNull String world, int centerX, int centerZ, int maxRadius) {
+        return findNearestChunk(world, centerX, centerZ, maxRadius, Objects::isNull);
     }
 
     /**
@@ -373,7 +562,7 @@ public class ClaimManager {
         ChunkKey key = new ChunkKey(world, chunkX, chunkZ);
 
         // Check if already claimed
-        UUID existingOwner = claimIndex.get(key);
+        UUID existingOwner = claimIndex.get(world, chunkX, chunkZ);
         if (existingOwner != null) {
             if (existingOwner.equals(faction.id())) {
                 return ClaimResult.ALREADY_CLAIMED_SELF;
@@ -403,13 +592,16 @@ public class ClaimManager {
                 String.format("Claimed chunk at %d, %d in %s", chunkX, chunkZ, world), playerUuid));
 
         // Update indices and faction
-        claimIndex.put(key, faction.id());
+        claimIndex.put(world, chunkX, chunkZ, faction.id());
         factionClaimsIndex.computeIfAbsent(faction.id(), k -> ConcurrentHashMap.newKeySet()).add(key);
-        factionManager.updateFaction(updated);
+        if (journal != null) {
+            journal.recordClaim(faction.id(), claim);
+        }
+        saveClaimChange(updated);
 
         Logger.debugClaim("Claim success: chunk=%s, faction=%s, player=%s, claimCount=%d/%d",
             key, faction.name(), playerUuid, updated.getClaimCount(), maxClaims);
-        notifyChunkChange(world, chunkX, chunkZ);
+        notifyChunkChange(world, chunkX, chunkZ, faction.id(), null);
         return ClaimResult.SUCCESS;
     }
 
@@ -439,7 +631,7 @@ public class ClaimManager {
         }
 
         ChunkKey key = new ChunkKey(world, chunkX, chunkZ);
-        UUID owner = claimIndex.get(key);
+        UUID owner = claimIndex.get(world, chunkX, chunkZ);
 
         if (owner == null) {
             return ClaimResult.CHUNK_NOT_CLAIMED;
@@ -471,7 +663,7 @@ public class ClaimManager {
             .withLog(FactionLog.create(FactionLog.LogType.UNCLAIM,
                 String.format("Unclaimed chunk at %d, %d in %s", chunkX, chunkZ, world), playerUuid));
 
-        claimIndex.remove(key);
+        claimIndex.remove(world, chunkX, chunkZ);
         Set<ChunkKey> factionClaims = factionClaimsIndex.get(faction.id());
         if (factionClaims != null) {
             factionClaims.remove(key);
@@ -479,11 +671,14 @@ public class ClaimManager {
                 factionClaimsIndex.remove(faction.id());
             }
         }
-        factionManager.updateFaction(updated);
+        if (journal != null) {
+            journal.recordUnclaim(world, chunkX, chunkZ);
+        }
+        saveClaimChange(updated);
 
         Logger.debugClaim("Unclaim success: chunk=%s, faction=%s, player=%s",
             key, faction.name(), playerUuid);
-        notifyChunkChange(world, chunkX, chunkZ);
+        notifyChunkChange(world, chunkX, chunkZ, null, faction.id());
         return ClaimResult.SUCCESS;
     }
 
@@ -513,7 +708,7 @@ public class ClaimManager {
         }
 
         ChunkKey key = new ChunkKey(world, chunkX, chunkZ);
-        UUID defenderId = claimIndex.get(key);
+        UUID defenderId = claimIndex.get(world, chunkX, chunkZ);
 
         if (defenderId == null) {
             return ClaimResult.CHUNK_NOT_CLAIMED;
@@ -570,12 +765,15 @@ public class ClaimManager {
         }
 
         // Update indices - add to attacker
-        claimIndex.put(key, attackerFaction.id());
+        claimIndex.put(world, chunkX, chunkZ, attackerFaction.id());
         factionClaimsIndex.computeIfAbsent(attackerFaction.id(), k -> ConcurrentHashMap.newKeySet()).add(key);
 
-        // Update factions
-        factionManager.updateFaction(updatedDefender);
-        factionManager.updateFaction(updatedAttacker);
+        // Update factions (one journal entry covers the ownership change)
+        if (journal != null) {
+            journal.recordClaim(attackerFaction.id(), claim);
+        }
+        saveClaimChange(updatedDefender);
+        saveClaimChange(updatedAttacker);
 
         Logger.debugClaim("Overclaim success: chunk=%s, attacker=%s, defender=%s, defenderClaims=%d/%d",
             key, attackerFaction.name(), defenderFaction.name(), defenderFaction.getClaimCount() - 1, defenderMaxClaims);
@@ -590,7 +788,7 @@ public class ClaimManager {
             try { onOverclaimCallback.accept(attackerFaction.name(), defenderFaction.name()); } catch (Exception e) { Logger.warn("Error in overclaim callback: %s", e.getMessage()); }
         }
 
-        notifyChunkChange(world, chunkX, chunkZ);
+        notifyChunkChange(world, chunkX, chunkZ, attackerFaction.id(), defenderId);
         return ClaimResult.SUCCESS;
     }
 
@@ -604,16 +802,21 @@ public class ClaimManager {
         Faction faction = factionManager.getFaction(factionId);
 
         // Remove from main index
-        claimIndex.entrySet().removeIf(entry -> entry.getValue().equals(factionId));
+        claimIndex.removeOwner(factionId);
         // Remove from reverse index
-        factionClaimsIndex.remove(factionId);
+        Set<ChunkKey> removed = factionClaimsIndex.remove(factionId);
+        if (journal != null && removed != null) {
+            for (ChunkKey key : removed) {
+                journal.recordUnclaim(key.world(), key.chunkX(), key.chunkZ());
+            }
+        }
 
         // Update the Faction record to clear claims (if faction still exists)
         if (faction != null && faction.getClaimCount() > 0) {
             Faction updated = faction.withoutAllClaims()
                 .withLog(FactionLog.create(FactionLog.LogType.UNCLAIM,
                     "All territory unclaimed", null));
-            factionManager.updateFaction(updated);
+            saveClaimChange(updated);
             Logger.debugClaim("Unclaim all: faction=%s, claims removed=%d", faction.name(), faction.getClaimCount());
         }
 
@@ -693,9 +896,12 @@ public class ClaimManager {
                 String.format("Claimed chunk at %d, %d in %s", chunkX, chunkZ, world), playerUuid));
 
         // Update both indices
-        claimIndex.put(key, faction.id());
+        claimIndex.put(world, chunkX, chunkZ, faction.id());
         factionClaimsIndex.computeIfAbsent(faction.id(), k -> ConcurrentHashMap.newKeySet()).add(key);
-        factionManager.updateFaction(updated);
+        if (journal != null) {
+            journal.recordClaim(faction.id(), claim);
+        }
+        saveClaimChange(updated);
 
         return ClaimResult.SUCCESS;
     }
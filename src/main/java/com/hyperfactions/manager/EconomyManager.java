@@ -15,13 +15,17 @@ import java.util.concurrent.CompletableFuture;
 
 /**
  * Manages faction treasury and economy operations.
+ *
+ * Balances and history live in a {@link TreasuryLedger}, which locks per faction
+ * (striped) and stores balances as fixed-point longs, so concurrent transactions
+ * from the async API methods can't lose updates.
  */
 public class EconomyManager implements EconomyAPI {
 
     private final FactionManager factionManager;
 
-    // Cache for economy data (stored on Faction record)
-    private final Map<UUID, FactionEconomy> economyCache = new HashMap<>();
+    // Balances and transaction history per faction
+    private final TreasuryLedger ledger = new TreasuryLedger(FactionEconomy.MAX_HISTORY);
 
     // Currency formatting
     private final NumberFormat currencyFormat;
@@ -37,9 +41,7 @@ public class EconomyManager implements EconomyAPI {
      * @param factionId the faction ID
      */
     public void initializeFaction(@NotNull UUID factionId) {
-        if (!economyCache.containsKey(factionId)) {
-            economyCache.put(factionId, FactionEconomy.empty());
-        }
+        ledger.open(factionId);
     }
 
     /**
@@ -48,18 +50,22 @@ public class EconomyManager implements EconomyAPI {
      * @param factionId the faction ID
      */
     public void removeFaction(@NotNull UUID factionId) {
-        economyCache.remove(factionId);
+        ledger.close(factionId);
     }
 
     /**
-     * Gets the economy data for a faction.
+     * Gets a snapshot of the economy data for a faction.
      *
      * @param factionId the faction ID
      * @return the economy data, or null if faction not found
      */
     @Nullable
     public FactionEconomy getEconomy(@NotNull UUID factionId) {
-        return economyCache.get(factionId);
+        if (!ledger.contains(factionId)) {
+            return null;
+        }
+        return new FactionEconomy(TreasuryLedger.toCurrency(ledger.balance(factionId)),
+            ledger.recent(factionId, FactionEconomy.MAX_HISTORY));
     }
 
     /**
@@ -69,24 +75,22 @@ public class EconomyManager implements EconomyAPI {
     public void loadAll() {
         for (Faction faction : factionManager.getAllFactions()) {
             // Initialize with empty economy if not present
-            economyCache.put(faction.id(), FactionEconomy.empty());
+            ledger.open(faction.id());
         }
-        Logger.info("Loaded economy data for %d factions", economyCache.size());
+        Logger.info("Loaded economy data for %d factions", ledger.size());
     }
 
     // === EconomyAPI Implementation ===
 
     @Override
     public double getFactionBalance(@NotNull UUID factionId) {
-        FactionEconomy economy = economyCache.get(factionId);
-        return economy != null ? economy.balance() : 0.0;
+        return TreasuryLedger.toCurrency(ledger.balance(factionId));
     }
 
     @Override
     public boolean hasFunds(@NotNull UUID factionId, double amount) {
         if (amount <= 0) return true;
-        FactionEconomy economy = economyCache.get(factionId);
-        return economy != null && economy.hasFunds(amount);
+        return ledger.contains(factionId) && ledger.balance(factionId) >= TreasuryLedger.toUnits(amount);
     }
 
     @Override
@@ -98,7 +102,8 @@ public class EconomyManager implements EconomyAPI {
         @NotNull String description
     ) {
         return CompletableFuture.supplyAsync(() -> {
-            if (amount <= 0) {
+            long units = TreasuryLedger.toUnits(amount);
+            if (!TreasuryLedger.isValidAmount(units)) {
                 return TransactionResult.INVALID_AMOUNT;
             }
 
@@ -107,24 +112,22 @@ public class EconomyManager implements EconomyAPI {
                 return TransactionResult.FACTION_NOT_FOUND;
             }
 
-            FactionEconomy economy = economyCache.get(factionId);
-            if (economy == null) {
-                economy = FactionEconomy.empty();
-            }
-
-            double newBalance = economy.balance() + amount;
-            Transaction transaction = new Transaction(
+            long balanceAfter = ledger.credit(factionId, units, balance -> new Transaction(
                 factionId,
                 actorId,
                 TransactionType.DEPOSIT,
-                amount,
-                newBalance,
+                TreasuryLedger.toCurrency(units),
+                TreasuryLedger.toCurrency(balance),
                 System.currentTimeMillis(),
                 description
-            );
-
-            FactionEconomy updated = economy.withBalanceAndTransaction(newBalance, transaction);
-            economyCache.put(factionId, updated);
+            ));
+            if (balanceAfter == TreasuryLedger.CLOSED) {
+                return TransactionResult.FACTION_NOT_FOUND; // Disbanded since the lookup above
+            }
+            if (balanceAfter == TreasuryLedger.DECLINED) {
+                return TransactionResult.INVALID_AMOUNT; // Balance would pass the ceiling
+            }
+            double newBalance = TreasuryLedger.toCurrency(balanceAfter);
 
             // Log to faction
             String logMessage = String.format("Deposit: %s (+%s)", 
@@ -150,7 +153,8 @@ public class EconomyManager implements EconomyAPI {
         @NotNull String description
     ) {
         return CompletableFuture.supplyAsync(() -> {
-            if (amount <= 0) {
+            long units = TreasuryLedger.toUnits(amount);
+            if (!TreasuryLedger.isValidAmount(units)) {
                 return TransactionResult.INVALID_AMOUNT;
             }
 
@@ -168,24 +172,20 @@ public class EconomyManager implements EconomyAPI {
                 return TransactionResult.NO_PERMISSION;
             }
 
-            FactionEconomy economy = economyCache.get(factionId);
-            if (economy == null || !economy.hasFunds(amount)) {
-                return TransactionResult.INSUFFICIENT_FUNDS;
-            }
-
-            double newBalance = economy.balance() - amount;
-            Transaction transaction = new Transaction(
+            // Check and debit under the faction's lock so two withdrawals can't both pass
+            long balanceAfter = ledger.debit(factionId, units, balance -> new Transaction(
                 factionId,
                 actorId,
                 TransactionType.WITHDRAW,
-                amount,
-                newBalance,
+                TreasuryLedger.toCurrency(units),
+                TreasuryLedger.toCurrency(balance),
                 System.currentTimeMillis(),
                 description
-            );
-
-            FactionEconomy updated = economy.withBalanceAndTransaction(newBalance, transaction);
-            economyCache.put(factionId, updated);
+            ));
+            if (balanceAfter == TreasuryLedger.DECLINED) {
+                return TransactionResult.INSUFFICIENT_FUNDS;
+            }
+            double newBalance = TreasuryLedger.toCurrency(balanceAfter);
 
             // Log to faction
             String logMessage = String.format("Withdrawal: %s (-%s)", 
@@ -212,7 +212,8 @@ public class EconomyManager implements EconomyAPI {
         @NotNull String description
     ) {
         return CompletableFuture.supplyAsync(() -> {
-            if (amount <= 0) {
+            long units = TreasuryLedger.toUnits(amount);
+            if (!TreasuryLedger.isValidAmount(units)) {
                 return TransactionResult.INVALID_AMOUNT;
             }
 
@@ -223,44 +224,30 @@ public class EconomyManager implements EconomyAPI {
                 return TransactionResult.FACTION_NOT_FOUND;
             }
 
-            FactionEconomy fromEconomy = economyCache.get(fromFactionId);
-            if (fromEconomy == null || !fromEconomy.hasFunds(amount)) {
-                return TransactionResult.INSUFFICIENT_FUNDS;
-            }
-
-            FactionEconomy toEconomy = economyCache.get(toFactionId);
-            if (toEconomy == null) {
-                toEconomy = FactionEconomy.empty();
+            // Both balances change under both factions' locks, or neither does
+            TransactionResult result = ledger.transfer(fromFactionId, toFactionId, units,
+                fromBalance -> new Transaction(
+                    fromFactionId,
+                    actorId,
+                    TransactionType.TRANSFER_OUT,
+                    TreasuryLedger.toCurrency(units),
+                    TreasuryLedger.toCurrency(fromBalance),
+                    System.currentTimeMillis(),
+                    "Transfer to " + toFaction.name() + ": " + description
+                ),
+                toBalance -> new Transaction(
+                    toFactionId,
+                    actorId,
+                    TransactionType.TRANSFER_IN,
+                    TreasuryLedger.toCurrency(units),
+                    TreasuryLedger.toCurrency(toBalance),
+                    System.currentTimeMillis(),
+                    "Transfer from " + fromFaction.name() + ": " + description
+                ));
+            if (result != TransactionResult.SUCCESS) {
+                return result;
             }
 
-            // Perform transfer
-            double fromNewBalance = fromEconomy.balance() - amount;
-            double toNewBalance = toEconomy.balance() + amount;
-
-            Transaction fromTransaction = new Transaction(
-                fromFactionId,
-                actorId,
-                TransactionType.TRANSFER_OUT,
-                amount,
-                fromNewBalance,
-                System.currentTimeMillis(),
-                "Transfer to " + toFaction.name() + ": " + description
-            );
-
-            Transaction toTransaction = new Transaction(
-                toFactionId,
-                actorId,
-                TransactionType.TRANSFER_IN,
-                amount,
-                toNewBalance,
-                System.currentTimeMillis(),
-                "Transfer from " + fromFaction.name() + ": " + description
-            );
-
-            // Update both economies
-            economyCache.put(fromFactionId, fromEconomy.withBalanceAndTransaction(fromNewBalance, fromTransaction));
-            economyCache.put(toFactionId, toEconomy.withBalanceAndTransaction(toNewBalance, toTransaction));
-
             Logger.debug("Transfer from %s to %s: %s", 
                 fromFaction.name(), toFaction.name(), formatCurrency(amount));
 
@@ -271,11 +258,7 @@ public class EconomyManager implements EconomyAPI {
     @Override
     @NotNull
     public List<Transaction> getTransactionHistory(@NotNull UUID factionId, int limit) {
-        FactionEconomy economy = economyCache.get(factionId);
-        if (economy == null) {
-            return Collections.emptyList();
-        }
-        return economy.getRecentTransactions(limit);
+        return ledger.recent(factionId, limit);
     }
 
     @Override
@@ -318,7 +301,8 @@ public class EconomyManager implements EconomyAPI {
         @NotNull TransactionType type,
         @NotNull String description
     ) {
-        if (amount <= 0) {
+        long units = TreasuryLedger.toUnits(amount);
+        if (!TreasuryLedger.isValidAmount(units)) {
             return TransactionResult.INVALID_AMOUNT;
         }
 
@@ -327,21 +311,19 @@ public class EconomyManager implements EconomyAPI {
             return TransactionResult.FACTION_NOT_FOUND;
         }
 
-        FactionEconomy economy = economyCache.getOrDefault(factionId, FactionEconomy.empty());
-        double newBalance = economy.balance() + amount;
-
-        Transaction transaction = new Transaction(
+        long balanceAfter = ledger.credit(factionId, units, balance -> new Transaction(
             factionId,
             null, // System
             type,
-            amount,
-            newBalance,
+            TreasuryLedger.toCurrency(units),
+            TreasuryLedger.toCurrency(balance),
             System.currentTimeMillis(),
             description
-        );
-
-        economyCache.put(factionId, economy.withBalanceAndTransaction(newBalance, transaction));
-        return TransactionResult.SUCCESS;
+        ));
+        if (balanceAfter == TreasuryLedger.CLOSED) {
+            return TransactionResult.FACTION_NOT_FOUND;
+        }
+        return balanceAfter == TreasuryLedger.DECLINED ? TransactionResult.INVALID_AMOUNT : TransactionResult.SUCCESS;
     }
 
     /**
@@ -360,27 +342,20 @@ public class EconomyManager implements EconomyAPI {
         @NotNull TransactionType type,
         @NotNull String description
     ) {
-        if (amount <= 0) {
+        long units = TreasuryLedger.toUnits(amount);
+        if (!TreasuryLedger.isValidAmount(units)) {
             return TransactionResult.INVALID_AMOUNT;
         }
 
-        FactionEconomy economy = economyCache.get(factionId);
-        if (economy == null || !economy.hasFunds(amount)) {
-            return TransactionResult.INSUFFICIENT_FUNDS;
-        }
-
-        double newBalance = economy.balance() - amount;
-        Transaction transaction = new Transaction(
+        long balanceAfter = ledger.debit(factionId, units, balance -> new Transaction(
             factionId,
             null, // System
             type,
-            amount,
-            newBalance,
+            TreasuryLedger.toCurrency(units),
+            TreasuryLedger.toCurrency(balance),
             System.currentTimeMillis(),
             description
-        );
-
-        economyCache.put(factionId, economy.withBalanceAndTransaction(newBalance, transaction));
-        return TransactionResult.SUCCESS;
+        ));
+        return balanceAfter == TreasuryLedger.DECLINED ? TransactionResult.INSUFFICIENT_FUNDS : TransactionResult.SUCCESS;
     }
 }
@@ -0,0 +1,397 @@
+package com.hyperfactions.manager;
+
+import com.hyperfactions.data.Faction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Ranked index of every faction, kept sorted by power, member count, claim count
+ * and name for the faction browser pages and {@code /f list}.
+ *
+ * Each sort order is an array of immutable {@link Entry} snapshots. A change to a
+ * faction removes its old snapshot and inserts the new one by binary search, so a
+ * ranked page is read in O(log n + page) instead of sorting every faction per view.
+ * Name and tag prefix searches are binary-search ranges over the name and tag orders.
+ *
+ * {@link FactionManager} pushes faction changes and {@link PowerManager} pushes
+ * changes to faction power totals. Ties in every order are broken by name, then ID,
+ * so the ranking is stable between views.
+ */
+public final class FactionLeaderboard {
+
+    /**
+     * Orders the leaderboard can be read in.
+     */
+    public enum SortOrder {
+        /** Current power, highest first. */
+        POWER,
+        /** Member count, largest first. */
+        MEMBERS,
+        /** Claim count, largest first. */
+        CLAIMS,
+        /** Name, A to Z (case-insensitive). */
+        NAME
+    }
+
+    /**
+     * A faction's ranking data at the time of its last change.
+     */
+    public record Entry(
+        @NotNull UUID factionId,
+        @NotNull String name,
+        @Nullable String tag,
+        int memberCount,
+        int claimCount,
+        double power,
+        double maxPower
+    ) {}
+
+    /**
+     * One page of a leaderboard read.
+     *
+     * @param entries the entries on the page, in rank order
+     * @param total   the number of factions in the whole result (all factions, or all search matches)
+     */
+    public record Slice(@NotNull List<Entry> entries, int total) {}
+
+    /** An entry with its precomputed sort keys. */
+    private record Ranked(@NotNull Entry entry, @NotNull String nameKey, @Nullable String tagKey) {
+
+        static Ranked of(@NotNull Entry entry) {
+            String tag = entry.tag();
+            return new Ranked(entry, entry.name().toLowerCase(Locale.ROOT),
+                tag != null && !tag.isEmpty() ? tag.toLowerCase(Locale.ROOT) : null);
+        }
+    }
+
+    private static final Comparator<Ranked> BY_NAME = Comparator.comparing(Ranked::nameKey)
+        .thenComparing(r -> r.entry().factionId());
+
+    private static final Comparator<Ranked> BY_TAG = Comparator.comparing(Ranked::tagKey)
+        .thenComparing(r -> r.entry().factionId());
+
+    private static final Map<SortOrder, Comparator<Ranked>> COMPARATORS = new EnumMap<>(Map.of(
+        SortOrder.POWER, Comparator.comparingDouble((Ranked r) -> r.entry().power()).reversed().thenComparing(BY_NAME),
+        SortOrder.MEMBERS, Comparator.comparingInt((Ranked r) -> r.entry().memberCount()).reversed().thenComparing(BY_NAME),
+        SortOrder.CLAIMS, Comparator.comparingInt((Ranked r) -> r.entry().claimCount()).reversed().thenComparing(BY_NAME),
+        SortOrder.NAME, BY_NAME
+    ));
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Ranked> byId = new HashMap<>();
+    private final Map<SortOrder, ArrayList<Ranked>> orders = new EnumMap<>(SortOrder.class);
+    // Only factions with a tag
+    private final ArrayList<Ranked> byTag = new ArrayList<>();
+
+    // Brings pushed data up to date before a read (PowerManager rebuilds its totals lazily)
+    @Nullable
+    private volatile Runnable beforeRead;
+
+    FactionLeaderboard() {
+        for (SortOrder order : SortOrder.values()) {
+            orders.put(order, new ArrayList<>());
+        }
+    }
+
+    /**
+     * Sets a hook run before every read, outside the leaderboard's lock.
+     */
+    void setBeforeRead(@Nullable Runnable hook) {
+        this.beforeRead = hook;
+    }
+
+    // === Updates ===
+
+    /**
+     * Adds or re-ranks a faction after it changed. Keeps the faction's last pushed power.
+     *
+     * @param faction the faction's current state
+     */
+    void update(@NotNull Faction faction) {
+        lock.writeLock().lock();
+        try {
+            Ranked previous = byId.get(faction.id());
+            double power = previous != null ? previous.entry().power() : 0;
+            double maxPower = previous != null ? previous.entry().maxPower() : 0;
+            replace(previous, Ranked.of(entryFor(faction, power, maxPower)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Re-ranks a faction after its power totals changed. Ignored for factions not
+     * in the leaderboard.
+     *
+     * @param factionId the faction ID
+     * @param power     the faction's total power
+     * @param maxPower  the faction's total max power
+     */
+    void updatePower(@NotNull UUID factionId, double power, double maxPower) {
+        lock.writeLock().lock();
+        try {
+            Ranked previous = byId.get(factionId);
+            if (previous == null
+                    || (previous.entry().power() == power && previous.entry().maxPower() == maxPower)) {
+                return;
+            }
+            Entry e = previous.entry();
+            replace(previous, new Ranked(new Entry(e.factionId(), e.name(), e.tag(),
+                e.memberCount(), e.claimCount(), power, maxPower), previous.nameKey(), previous.tagKey()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a faction.
+     *
+     * @param factionId the faction ID
+     */
+    void remove(@NotNull UUID factionId) {
+        lock.writeLock().lock();
+        try {
+            replace(byId.get(factionId), null);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole leaderboard after factions were reloaded. Power is carried
+     * over for factions that were already present.
+     *
+     * @param factions every faction
+     */
+    void reload(@NotNull Collection<Faction> factions) {
+        lock.writeLock().lock();
+        try {
+            Map<UUID, Ranked> previous = new HashMap<>(byId);
+            byId.clear();
+            for (Faction faction : factions) {
+                Ranked old = previous.get(faction.id());
+                byId.put(faction.id(), Ranked.of(entryFor(faction,
+                    old != null ? old.entry().power() : 0,
+                    old != null ? old.entry().maxPower() : 0)));
+            }
+            resort();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces every faction's power at once, after power totals were rebuilt.
+     *
+     * @param power    total power by faction ID
+     * @param maxPower total max power by faction ID
+     */
+    void reloadPowers(@NotNull ToDoubleFunction<UUID> power, @NotNull ToDoubleFunction<UUID> maxPower) {
+        lock.writeLock().lock();
+        try {
+            byId.replaceAll((id, r) -> {
+                Entry e = r.entry();
+                return new Ranked(new Entry(id, e.name(), e.tag(), e.memberCount(), e.claimCount(),
+                    power.applyAsDouble(id), maxPower.applyAsDouble(id)), r.nameKey(), r.tagKey());
+            });
+            resort();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Swaps one ranked entry for another in every order. Caller holds the write lock. */
+    private void replace(@Nullable Ranked previous, @Nullable Ranked next) {
+        if (previous != null) {
+            for (Map.Entry<SortOrder, ArrayList<Ranked>> order : orders.entrySet()) {
+                removeSorted(order.getValue(), previous, COMPARATORS.get(order.getKey()));
+            }
+            if (previous.tagKey() != null) {
+                removeSorted(byTag, previous, BY_TAG);
+            }
+            byId.remove(previous.entry().factionId());
+        }
+        if (next != null) {
+            for (Map.Entry<SortOrder, ArrayList<Ranked>> order : orders.entrySet()) {
+                insertSorted(order.getValue(), next, COMPARATORS.get(order.getKey()));
+            }
+            if (next.tagKey() != null) {
+                insertSorted(byTag, next, BY_TAG);
+            }
+            byId.put(next.entry().factionId(), next);
+        }
+    }
+
+    /** Rebuilds every order from {@link #byId}. Caller holds the write lock. */
+    private void resort() {
+        for (Map.Entry<SortOrder, ArrayList<Ranked>> order : orders.entrySet()) {
+            ArrayList<Ranked> list = order.getValue();
+            list.clear();
+            list.addAll(byId.values());
+            list.sort(COMPARATORS.get(order.getKey()));
+        }
+        byTag.clear();
+        for (Ranked r : byId.values()) {
+            if (r.tagKey() != null) {
+                byTag.add(r);
+            }
+        }
+        byTag.sort(BY_TAG);
+    }
+
+    private static void insertSorted(@NotNull ArrayList<Ranked> list, @NotNull Ranked r,
+                                     @NotNull Comparator<Ranked> comparator) {
+        int index = Collections.binarySearch(list, r, comparator);
+        list.add(index < 0 ? -index - 1 : index, r);
+    }
+
+    private static void removeSorted(@NotNull ArrayList<Ranked> list, @NotNull Ranked r,
+                                     @NotNull Comparator<Ranked> comparator) {
+        int index = Collections.binarySearch(list, r, comparator);
+        if (index >= 0) {
+            list.remove(index);
+        }
+    }
+
+    @NotNull
+    private static Entry entryFor(@NotNull Faction faction, double power, double maxPower) {
+        return new Entry(faction.id(), faction.name(), faction.tag(),
+            faction.members().size(), faction.getClaimCount(), power, maxPower);
+    }
+
+    // === Reads ===
+
+    /**
+     * Gets the number of ranked factions.
+     *
+     * @return the faction count
+     */
+    public int size() {
+        runBeforeRead();
+        lock.readLock().lock();
+        try {
+            return byId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a faction's current entry.
+     *
+     * @param factionId the faction ID
+     * @return the entry, or null if the faction is not ranked
+     */
+    @Nullable
+    public Entry get(@NotNull UUID factionId) {
+        runBeforeRead();
+        lock.readLock().lock();
+        try {
+            Ranked r = byId.get(factionId);
+            return r != null ? r.entry() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a page of the full ranking.
+     *
+     * @param order  the sort order
+     * @param offset the index of the first entry
+     * @param limit  the maximum number of entries
+     * @return the entries, in rank order
+     */
+    @NotNull
+    public List<Entry> page(@NotNull SortOrder order, int offset, int limit) {
+        return query(null, order, offset, limit).entries();
+    }
+
+    /**
+     * Gets a page of the ranking, optionally limited to factions whose name or tag
+     * starts with a search string (case-insensitive).
+     *
+     * @param search the name or tag prefix, or null/empty for every faction
+     * @param order  the sort order
+     * @param offset the index of the first entry
+     * @param limit  the maximum number of entries
+     * @return the page and the size of the whole result
+     */
+    @NotNull
+    public Slice query(@Nullable String search, @NotNull SortOrder order, int offset, int limit) {
+        runBeforeRead();
+        lock.readLock().lock();
+        try {
+            List<Ranked> ranked;
+            if (search == null || search.isEmpty()) {
+                ranked = orders.get(order);
+            } else {
+                ranked = searchLocked(search.toLowerCase(Locale.ROOT), order);
+            }
+            int from = Math.max(0, Math.min(offset, ranked.size()));
+            int to = Math.min(ranked.size(), from + Math.max(0, limit));
+            List<Entry> entries = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                entries.add(ranked.get(i).entry());
+            }
+            return new Slice(entries, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Collects name and tag prefix matches, ranked by the order. Caller holds the read lock. */
+    @NotNull
+    private List<Ranked> searchLocked(@NotNull String prefix, @NotNull SortOrder order) {
+        Map<UUID, Ranked> matches = new LinkedHashMap<>();
+        collectPrefix(orders.get(SortOrder.NAME), prefix, Ranked::nameKey, matches);
+        collectPrefix(byTag, prefix, Ranked::tagKey, matches);
+        List<Ranked> ranked = new ArrayList<>(matches.values());
+        ranked.sort(COMPARATORS.get(order));
+        return ranked;
+    }
+
+    private static void collectPrefix(@NotNull List<Ranked> sorted, @NotNull String prefix,
+                                      @NotNull Function<Ranked, String> key, @NotNull Map<UUID, Ranked> into) {
+        // Lower bound: first key >= prefix
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (key.apply(sorted.get(mid)).compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        for (int i = low; i < sorted.size(); i++) {
+            Ranked r = sorted.get(i);
+            if (!key.apply(r).startsWith(prefix)) {
+                break;
+            }
+            into.putIfAbsent(r.entry().factionId(), r);
+        }
+    }
+
+    private void runBeforeRead() {
+        Runnable hook = beforeRead;
+        if (hook != null) {
+            hook.run();
+        }
+    }
+}
@@ -16,7 +16,6 @@ import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
 
 /**
  * Manages faction data, membership, and operations.
@@ -34,6 +33,12 @@ public class FactionManager {
     // Index: name (lowercase) -> faction ID
     private final Map<String, UUID> nameToFaction = new ConcurrentHashMap<>();
 
+    // Factions changed in memory without an immediate save (flushed by auto-save)
+    private final Set<UUID> dirtyFactions = ConcurrentHashMap.newKeySet();
+
+    // Ranked index for browser pages and /f list, kept in step with the factions map
+    private final FactionLeaderboard leaderboard = new FactionLeaderboard();
+
     // Announcement callbacks
     @Nullable
     private BiConsumer<String, String> onFactionCreated;
@@ -42,6 +47,12 @@ public class FactionManager {
     @Nullable
     private java.util.function.Consumer<String> onFactionDisbanded;
 
+    // Membership index callbacks (used by PowerManager to maintain faction power totals)
+    @Nullable
+    private java.util.function.Consumer<UUID> onMembershipChanged;
+    @Nullable
+    private Runnable onMembershipReloaded;
+
     /**
      * Functional interface for callbacks with three parameters.
      */
@@ -79,6 +90,22 @@ public class FactionManager {
         this.onFactionDisbanded = callback;
     }
 
+    /**
+     * Sets a callback for when a player joins, leaves, or moves between factions
+     * (any change to the player -> faction index).
+     * Param: playerUuid
+     */
+    public void setOnMembershipChanged(@Nullable java.util.function.Consumer<UUID> callback) {
+        this.onMembershipChanged = callback;
+    }
+
+    /**
+     * Sets a callback for when the whole player -> faction index is replaced by {@link #loadAll()}.
+     */
+    public void setOnMembershipReloaded(@Nullable Runnable callback) {
+        this.onMembershipReloaded = callback;
+    }
+
     /**
      * Loads all factions from storage.
      *
@@ -128,6 +155,12 @@ public class FactionManager {
             nameToFaction.clear();
             nameToFaction.putAll(newNameToFaction);
 
+            leaderboard.reload(newFactions.values());
+
+            if (onMembershipReloaded != null) {
+                onMembershipReloaded.run();
+            }
+
             Logger.info("Loaded %d factions with %d members indexed",
                 factions.size(), playerToFaction.size());
         }).exceptionally(ex -> {
@@ -138,15 +171,71 @@ public class FactionManager {
 
     /**
      * Saves all factions to storage.
+     * Prefer {@link #saveDirty()} for periodic saves.
      *
      * @return a future that completes when saving is done
      */
     public CompletableFuture<Void> saveAll() {
-        List<CompletableFuture<Void>> futures = factions.values().stream()
-            .map(storage::saveFaction)
-            .collect(Collectors.toList());
+        List<UUID> wasDirty = List.copyOf(dirtyFactions);
+        dirtyFactions.removeAll(wasDirty);
+        return storage.saveFactions(List.copyOf(factions.values())).whenComplete((v, ex) -> {
+            if (ex != null) {
+                dirtyFactions.addAll(wasDirty); // Retried by the next flush
+            }
+        });
+    }
 
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    /**
+     * Saves only factions marked dirty since the last flush.
+     * Each faction is unmarked before its current state is read, so a change made
+     * while the write is in flight marks it again for the next flush. If the write
+     * fails, the whole batch is marked again.
+     *
+     * @return a future containing the number of factions written
+     */
+    public CompletableFuture<Integer> saveDirty() {
+        if (dirtyFactions.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        List<Faction> batch = new ArrayList<>();
+        Iterator<UUID> it = dirtyFactions.iterator();
+        while (it.hasNext()) {
+            UUID factionId = it.next();
+            it.remove();
+            Faction faction = factions.get(factionId);
+            if (faction != null) { // Disbanded since it was marked
+                batch.add(faction);
+            }
+        }
+
+        int written = batch.size();
+        return storage.saveFactions(batch).whenComplete((v, ex) -> {
+            if (ex != null) {
+                for (Faction faction : batch) {
+                    dirtyFactions.add(faction.id()); // Retried by the next flush
+                }
+            }
+        }).thenApply(v -> written);
+    }
+
+    /**
+     * Marks a faction as changed in memory so the next auto-save writes it.
+     * Use for frequent, low-value updates that don't warrant an immediate save.
+     *
+     * @param factionId the faction ID
+     */
+    public void markDirty(@NotNull UUID factionId) {
+        dirtyFactions.add(factionId);
+    }
+
+    /**
+     * Gets the number of factions waiting for the next auto-save.
+     *
+     * @return the dirty faction count
+     */
+    public int getDirtyCount() {
+        return dirtyFactions.size();
     }
 
     /**
@@ -172,10 +261,10 @@ public class FactionManager {
 
                 if (memoryFaction == null) {
                     // New faction from disk - add it
-                    factions.put(diskFaction.id(), diskFaction);
+                    storeFaction(diskFaction);
                     nameToFaction.put(diskFaction.name().toLowerCase(), diskFaction.id());
                     for (UUID memberUuid : diskFaction.members().keySet()) {
-                        playerToFaction.put(memberUuid, diskFaction.id());
+                        indexMember(memberUuid, diskFaction.id());
                     }
                     factionsUpdated++;
                     membersAdded += diskFaction.members().size();
@@ -190,7 +279,7 @@ public class FactionManager {
                         if (memoryMember == null) {
                             // Member exists on disk but not in memory - add them
                             mergedMembers.put(diskMember.uuid(), diskMember);
-                            playerToFaction.put(diskMember.uuid(), diskFaction.id());
+                            indexMember(diskMember.uuid(), diskFaction.id());
                             membersAdded++;
                             changed = true;
                         } else if (diskMember.lastOnline() > memoryMember.lastOnline()) {
@@ -218,7 +307,8 @@ public class FactionManager {
                             memoryFaction.open(),
                             memoryFaction.permissions()
                         );
-                        factions.put(updated.id(), updated);
+                        storeFaction(updated);
+                        markDirty(updated.id());
                         factionsUpdated++;
                     }
                 }
@@ -342,6 +432,16 @@ public class FactionManager {
         return Collections.unmodifiableCollection(factions.values());
     }
 
+    /**
+     * Gets the ranked faction index used by browser pages and {@code /f list}.
+     *
+     * @return the leaderboard
+     */
+    @NotNull
+    public FactionLeaderboard getLeaderboard() {
+        return leaderboard;
+    }
+
     /**
      * Gets faction count.
      *
@@ -410,9 +510,9 @@ public class FactionManager {
         faction = faction.withTag(generatedTag);
 
         // Update caches
-        factions.put(faction.id(), faction);
+        storeFaction(faction);
         nameToFaction.put(name.toLowerCase(), faction.id());
-        playerToFaction.put(leaderUuid, faction.id());
+        indexMember(leaderUuid, faction.id());
 
         // Save async
         storage.saveFaction(faction);
@@ -503,10 +603,10 @@ public class FactionManager {
         }
 
         // Remove from caches
-        factions.remove(factionId);
+        dropFaction(factionId);
         nameToFaction.remove(faction.name().toLowerCase());
         for (UUID memberUuid : faction.members().keySet()) {
-            playerToFaction.remove(memberUuid);
+            unindexMember(memberUuid);
         }
 
         // Delete from storage
@@ -552,8 +652,8 @@ public class FactionManager {
             .withLog(FactionLog.create(FactionLog.LogType.MEMBER_JOIN, playerName + " joined the faction", playerUuid));
 
         // Update caches
-        factions.put(factionId, updated);
-        playerToFaction.put(playerUuid, factionId);
+        storeFaction(updated);
+        indexMember(playerUuid, factionId);
 
         // Save async
         storage.saveFaction(updated);
@@ -605,8 +705,8 @@ public class FactionManager {
                     .withLog(FactionLog.create(FactionLog.LogType.LEADER_TRANSFER,
                             target.username() + " left, " + promoted.username() + " is now leader", playerUuid));
 
-            factions.put(factionId, updated);
-            playerToFaction.remove(playerUuid);
+            storeFaction(updated);
+            unindexMember(playerUuid);
             storage.saveFaction(updated);
 
             // Publish member leave event
@@ -638,8 +738,8 @@ public class FactionManager {
             .withLog(FactionLog.create(logType, message, actorUuid));
 
         // Update caches
-        factions.put(factionId, updated);
-        playerToFaction.remove(playerUuid);
+        storeFaction(updated);
+        unindexMember(playerUuid);
 
         // Save async
         storage.saveFaction(updated);
@@ -669,10 +769,10 @@ public class FactionManager {
         UUID disbandedBy = faction.getLeader() != null ? faction.getLeader().uuid() : null;
 
         // Remove from caches
-        factions.remove(factionId);
+        dropFaction(factionId);
         nameToFaction.remove(faction.name().toLowerCase());
         for (UUID memberUuid : faction.members().keySet()) {
-            playerToFaction.remove(memberUuid);
+            unindexMember(memberUuid);
         }
 
         // Delete from storage
@@ -739,7 +839,7 @@ public class FactionManager {
             .withLog(FactionLog.create(FactionLog.LogType.MEMBER_PROMOTE,
                 target.username() + " promoted to " + newRole.getDisplayName(), actorUuid));
 
-        factions.put(factionId, updated);
+        storeFaction(updated);
         storage.saveFaction(updated);
 
         // Publish promote event
@@ -789,7 +889,7 @@ public class FactionManager {
             .withLog(FactionLog.create(FactionLog.LogType.MEMBER_DEMOTE,
                 target.username() + " demoted to Member", actorUuid));
 
-        factions.put(factionId, updated);
+        storeFaction(updated);
         storage.saveFaction(updated);
 
         // Publish demote event
@@ -837,7 +937,7 @@ public class FactionManager {
             .withLog(FactionLog.create(FactionLog.LogType.LEADER_TRANSFER,
                 "Leadership transferred to " + target.username(), actorUuid));
 
-        factions.put(factionId, updated);
+        storeFaction(updated);
         storage.saveFaction(updated);
 
         Logger.info("Faction '%s' leadership transferred to %s", faction.name(), target.username());
@@ -885,7 +985,7 @@ public class FactionManager {
             .withLog(FactionLog.create(FactionLog.LogType.MEMBER_PROMOTE,
                 "[Admin] " + target.username() + " role set to " + newRole.getDisplayName(), null));
 
-        factions.put(factionId, updated);
+        storeFaction(updated);
         storage.saveFaction(updated);
 
         Logger.info("[Admin] Set %s role to %s in faction '%s'",
@@ -922,8 +1022,8 @@ public class FactionManager {
             .withLog(FactionLog.create(FactionLog.LogType.MEMBER_KICK,
                 "[Admin] " + target.username() + " was kicked", null));
 
-        factions.put(factionId, updated);
-        playerToFaction.remove(playerUuid);
+        storeFaction(updated);
+        unindexMember(playerUuid);
         storage.saveFaction(updated);
 
         // Publish kick event (so membership history is recorded)
@@ -961,7 +1061,7 @@ public class FactionManager {
             .withLog(FactionLog.create(FactionLog.LogType.HOME_SET,
                 home != null ? "Home set" : "Home cleared", actorUuid));
 
-        factions.put(factionId, updated);
+        storeFaction(updated);
         storage.saveFaction(updated);
 
         return FactionResult.SUCCESS;
@@ -977,10 +1077,21 @@ public class FactionManager {
      * @param faction the updated faction
      */
     public void updateFaction(@NotNull Faction faction) {
-        factions.put(faction.id(), faction);
+        storeFaction(faction);
         storage.saveFaction(faction);
     }
 
+    /**
+     * Updates a faction in the cache and defers the save to the next auto-save.
+     * Used for claim changes, which the claim journal records on its own I/O thread.
+     *
+     * @param faction the updated faction
+     */
+    public void updateFactionDeferred(@NotNull Faction faction) {
+        storeFaction(faction);
+        markDirty(faction.id());
+    }
+
     /**
      * Updates a faction and synchronizes player indices for member changes.
      * This method compares old and new member lists and updates playerToFaction accordingly.
@@ -994,26 +1105,61 @@ public class FactionManager {
             // Find removed members and remove from index
             for (UUID memberUuid : oldFaction.members().keySet()) {
                 if (!faction.members().containsKey(memberUuid)) {
-                    playerToFaction.remove(memberUuid);
+                    unindexMember(memberUuid);
                 }
             }
             // Find added members and add to index
             for (UUID memberUuid : faction.members().keySet()) {
                 if (!oldFaction.members().containsKey(memberUuid)) {
-                    playerToFaction.put(memberUuid, faction.id());
+                    indexMember(memberUuid, faction.id());
                 }
             }
         } else {
             // New faction - add all members to index
             for (UUID memberUuid : faction.members().keySet()) {
-                playerToFaction.put(memberUuid, faction.id());
+                indexMember(memberUuid, faction.id());
             }
         }
 
-        factions.put(faction.id(), faction);
+        storeFaction(faction);
         storage.saveFaction(faction);
     }
 
+    /**
+     * Stores a faction in the factions map and re-ranks it on the leaderboard.
+     */
+    private void storeFaction(@NotNull Faction faction) {
+        factions.put(faction.id(), faction);
+        leaderboard.update(faction);
+    }
+
+    /**
+     * Removes a faction from the factions map and the leaderboard.
+     */
+    private void dropFaction(@NotNull UUID factionId) {
+        factions.remove(factionId);
+        leaderboard.remove(factionId);
+    }
+
+    /**
+     * Points a player at a faction in the index and notifies the membership callback.
+     */
+    private void indexMember(@NotNull UUID playerUuid, @NotNull UUID factionId) {
+        UUID previous = playerToFaction.put(playerUuid, factionId);
+        if (!factionId.equals(previous) && onMembershipChanged != null) {
+            onMembershipChanged.accept(playerUuid);
+        }
+    }
+
+    /**
+     * Removes a player from the index and notifies the membership callback.
+     */
+    private void unindexMember(@NotNull UUID playerUuid) {
+        if (playerToFaction.remove(playerUuid) != null && onMembershipChanged != null) {
+            onMembershipChanged.accept(playerUuid);
+        }
+    }
+
     /**
      * Removes a player from the player-to-faction index.
      * Used during import when manually handling member removals.
@@ -1021,7 +1167,7 @@ public class FactionManager {
      * @param playerUuid the player UUID to remove from the index
      */
     public void removePlayerFromIndex(@NotNull UUID playerUuid) {
-        playerToFaction.remove(playerUuid);
+        unindexMember(playerUuid);
     }
 
     /**
@@ -1051,17 +1197,17 @@ public class FactionManager {
             }
             // Remove old members from index
             for (UUID memberUuid : existing.members().keySet()) {
-                playerToFaction.remove(memberUuid);
+                unindexMember(memberUuid);
             }
         }
 
         // Add new faction to caches
-        factions.put(faction.id(), faction);
+        storeFaction(faction);
         nameToFaction.put(faction.name().toLowerCase(), faction.id());
 
         // Add new members to index
         for (UUID memberUuid : faction.members().keySet()) {
-            playerToFaction.put(memberUuid, faction.id());
+            indexMember(memberUuid, faction.id());
         }
 
         // Save to storage
@@ -1089,7 +1235,8 @@ public class FactionManager {
         FactionMember updated = member.withLastOnline(System.currentTimeMillis());
         Faction updatedFaction = faction.withMember(updated);
 
-        factions.put(factionId, updatedFaction);
-        // Don't save immediately for last online updates - batch save later
+        storeFaction(updatedFaction);
+        // Don't save immediately for last online updates - flushed by auto-save
+        markDirty(factionId);
     }
 }
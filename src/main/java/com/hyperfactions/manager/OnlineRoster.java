@@ -0,0 +1,183 @@
+package com.hyperfactions.manager;
+
+import com.hyperfactions.data.Faction;
+import com.hyperfactions.data.FactionRelation;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of online players by faction.
+ *
+ * Faction and ally chat, overclaim alerts and GUI page refreshes all send to
+ * the online members of a faction. Walking {@code faction.members()} and looking
+ * up each UUID touches every offline member too, so this keeps the online
+ * {@link PlayerRef}s per faction, plus the combined faction-and-allies recipient
+ * list used by ally chat.
+ *
+ * Players are added and removed on connect and disconnect. Each faction entry
+ * remembers the {@link Faction} record it was built from; faction records are
+ * immutable, so a membership change from any path (join, leave, kick, disband,
+ * import, reload) shows up as a new record and the entry is rebuilt on next use.
+ * Ally entries are rebuilt when the faction record or any ally's entry changes,
+ * which also covers alliances forming or breaking.
+ */
+public class OnlineRoster {
+
+    private record FactionRoster(@NotNull Faction faction, @NotNull List<PlayerRef> members) {}
+
+    private record AllyRoster(@NotNull FactionRoster own, @NotNull List<FactionRoster> allies,
+                              @NotNull List<PlayerRef> recipients) {}
+
+    private final FactionManager factionManager;
+
+    private final Map<UUID, PlayerRef> online = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, FactionRoster> rosters = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<UUID, AllyRoster> allyRosters = new ConcurrentHashMap<>();
+
+    public OnlineRoster(@NotNull FactionManager factionManager) {
+        this.factionManager = factionManager;
+    }
+
+    /**
+     * Adds a player who connected.
+     *
+     * @param player the player
+     */
+    public void playerOnline(@NotNull PlayerRef player) {
+        online.put(player.getUuid(), player);
+        invalidatePlayerFaction(player.getUuid());
+    }
+
+    /**
+     * Removes a player who disconnected.
+     *
+     * @param playerUuid the player's UUID
+     */
+    public void playerOffline(@NotNull UUID playerUuid) {
+        if (online.remove(playerUuid) != null) {
+            invalidatePlayerFaction(playerUuid);
+        }
+    }
+
+    /**
+     * Looks up an online player.
+     *
+     * @param playerUuid the player's UUID
+     * @return the player, or null if offline
+     */
+    @Nullable
+    public PlayerRef getPlayer(@NotNull UUID playerUuid) {
+        return online.get(playerUuid);
+    }
+
+    /**
+     * Gets a faction's online members.
+     *
+     * @param factionId the faction ID
+     * @return online members (unmodifiable, empty if none or the faction does not exist)
+     */
+    @NotNull
+    public List<PlayerRef> getOnlineMembers(@NotNull UUID factionId) {
+        FactionRoster roster = roster(factionId);
+        return roster != null ? roster.members() : List.of();
+    }
+
+    /**
+     * Gets the online members of a faction and of all its allies, for ally chat.
+     *
+     * @param factionId the faction ID
+     * @return online recipients (unmodifiable, empty if the faction does not exist)
+     */
+    @NotNull
+    public List<PlayerRef> getOnlineMembersAndAllies(@NotNull UUID factionId) {
+        FactionRoster own = roster(factionId);
+        if (own == null) {
+            allyRosters.remove(factionId);
+            return List.of();
+        }
+        AllyRoster allyRoster = allyRosters.compute(factionId,
+                (id, current) -> current != null && isCurrent(current, own) ? current : buildAllyRoster(own));
+        return allyRoster.recipients();
+    }
+
+    /**
+     * Gets the number of online players.
+     *
+     * @return the online player count
+     */
+    public int getOnlineCount() {
+        return online.size();
+    }
+
+    // === Private helpers ===
+
+    /**
+     * Gets the current roster for a faction, rebuilding it if the faction record changed.
+     */
+    @Nullable
+    private FactionRoster roster(@NotNull UUID factionId) {
+        Faction faction = factionManager.getFaction(factionId);
+        if (faction == null) {
+            rosters.remove(factionId);
+            return null;
+        }
+        // Built inside compute so a connect or disconnect can't slip between the build and the put
+        return rosters.compute(factionId,
+                (id, current) -> current != null && current.faction() == faction ? current : buildRoster(faction));
+    }
+
+    @NotNull
+    private FactionRoster buildRoster(@NotNull Faction faction) {
+        List<PlayerRef> members = new ArrayList<>();
+        for (UUID memberUuid : faction.members().keySet()) {
+            PlayerRef player = online.get(memberUuid);
+            if (player != null) {
+                members.add(player);
+            }
+        }
+        return new FactionRoster(faction, List.copyOf(members));
+    }
+
+    private boolean isCurrent(@NotNull AllyRoster allyRoster, @NotNull FactionRoster own) {
+        if (allyRoster.own() != own) {
+            return false; // Own members or relations changed
+        }
+        for (FactionRoster ally : allyRoster.allies()) {
+            if (roster(ally.faction().id()) != ally) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @NotNull
+    private AllyRoster buildAllyRoster(@NotNull FactionRoster own) {
+        List<FactionRoster> allies = new ArrayList<>();
+        List<PlayerRef> recipients = new ArrayList<>(own.members());
+        for (Map.Entry<UUID, FactionRelation> entry : own.faction().relations().entrySet()) {
+            FactionRelation relation = entry.getValue();
+            if (relation != null && relation.isAlly()) {
+                FactionRoster ally = roster(entry.getKey());
+                if (ally != null) {
+                    allies.add(ally);
+                    recipients.addAll(ally.members());
+                }
+            }
+        }
+        return new AllyRoster(own, List.copyOf(allies), List.copyOf(recipients));
+    }
+
+    private void invalidatePlayerFaction(@NotNull UUID playerUuid) {
+        UUID factionId = factionManager.getPlayerFactionId(playerUuid);
+        if (factionId != null) {
+            rosters.remove(factionId);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.hyperfactions.manager;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Snapshot of chunk owners over a rectangle, returned by the spatial claim queries.
+ *
+ * Owners are packed as palette indices: each cell holds 0 for unclaimed or
+ * {@code i} for {@code owners().get(i - 1)}, so comparing two cells (e.g. for
+ * borders) is an int comparison. Coordinates are absolute chunk coordinates;
+ * chunks outside the rectangle read as unclaimed.
+ */
+public final class OwnerGrid {
+
+    private final int minX;
+    private final int minZ;
+    private final int width;
+    private final int height;
+    private final int[] cells;
+    private final List<UUID> palette;
+
+    OwnerGrid(int minX, int minZ, int width, int height, int @NotNull [] cells, @NotNull List<UUID> palette) {
+        this.minX = minX;
+        this.minZ = minZ;
+        this.width = width;
+        this.height = height;
+        this.cells = cells;
+        this.palette = Collections.unmodifiableList(palette);
+    }
+
+    public int minX() {
+        return minX;
+    }
+
+    public int minZ() {
+        return minZ;
+    }
+
+    public int width() {
+        return width;
+    }
+
+    public int height() {
+        return height;
+    }
+
+    /**
+     * Checks if a chunk is inside the grid's rectangle.
+     *
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return true if covered by the grid
+     */
+    public boolean contains(int chunkX, int chunkZ) {
+        int dx = chunkX - minX;
+        int dz = chunkZ - minZ;
+        return dx >= 0 && dx < width && dz >= 0 && dz < height;
+    }
+
+    /**
+     * Gets the palette index of a chunk's owner.
+     *
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return 0 if unclaimed or outside the grid, otherwise the 1-based index into {@link #owners()}
+     */
+    public int ownerIndex(int chunkX, int chunkZ) {
+        return contains(chunkX, chunkZ) ? cells[(chunkZ - minZ) * width + (chunkX - minX)] : 0;
+    }
+
+    /**
+     * Gets the owner of a chunk.
+     *
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return the owning faction ID, or null if unclaimed or outside the grid
+     */
+    @Nullable
+    public UUID get(int chunkX, int chunkZ) {
+        int index = ownerIndex(chunkX, chunkZ);
+        return index != 0 ? palette.get(index - 1) : null;
+    }
+
+    /**
+     * Checks if a chunk is claimed.
+     *
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return true if claimed
+     */
+    public boolean isClaimed(int chunkX, int chunkZ) {
+        return ownerIndex(chunkX, chunkZ) != 0;
+    }
+
+    /**
+     * Gets the distinct owners in the grid, in palette order.
+     *
+     * @return the owner palette
+     */
+    @NotNull
+    public List<UUID> owners() {
+        return palette;
+    }
+}
@@ -6,17 +6,25 @@ import com.hyperfactions.data.PlayerPower;
 import com.hyperfactions.storage.PlayerStorage;
 import com.hyperfactions.util.Logger;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
 
 /**
  * Manages player power for faction mechanics.
  */
 public class PowerManager {
 
+    /** Largest difference between running and recomputed totals not reported as drift. */
+    private static final double DRIFT_TOLERANCE = 1e-6;
+
+    /** Regen interval; {@code power.regenPerMinute} is granted once per interval. */
+    private static final long REGEN_INTERVAL_MS = 60_000L;
+
     private final PlayerStorage storage;
     private final FactionManager factionManager;
 
@@ -26,13 +34,118 @@ public class PowerManager {
     // Track online players for regen
     private final Set<UUID> onlinePlayers = ConcurrentHashMap.newKeySet();
 
+    // Players whose power changed in memory without an immediate save (flushed by auto-save)
+    private final Set<UUID> dirtyPlayers = ConcurrentHashMap.newKeySet();
+
+    // Lazy mode: only online players and faction members stay resident; other
+    // players are loaded on demand and tracked here in access order for eviction
+    private volatile boolean lazyLoading = false;
+    private volatile int offlineCacheSize = 1000;
+    private final LinkedHashMap<UUID, Boolean> offlineLru = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, CompletableFuture<PlayerPower>> pendingLoads = new ConcurrentHashMap<>();
+
+    // Running faction totals: faction ID -> summed member power, updated on every
+    // power or membership change so faction power reads don't walk the members
+    private final Map<UUID, FactionTotals> factionTotals = new ConcurrentHashMap<>();
+
+    // What each faction member currently adds to their faction's totals (guarded by itself)
+    private final Map<UUID, Contribution> contributions = new HashMap<>();
+
+    // False until the totals are built, and again after a full reload
+    private volatile boolean totalsValid = false;
+
+    // Offline regen is settled on read; factions settle their offline members at most once per interval
+    private volatile double regenPerMinute = 0;
+    private volatile boolean regenWhenOffline = false;
+    private volatile long offlineRegenStart = 0;
+    private final Map<UUID, Long> factionRegenSettledAt = new ConcurrentHashMap<>();
+
+    // Regen metrics
+    private volatile RegenStats lastRegenTick = new RegenStats(0, 0, 0, 0);
+    private final LongAdder offlineRegenSettled = new LongAdder();
+
+    private record Contribution(@NotNull UUID factionId, double power, double maxPower) {}
+
+    private record FactionTotals(double power, double maxPower, int members) {}
+
     public PowerManager(@NotNull PlayerStorage storage, @NotNull FactionManager factionManager) {
         this.storage = storage;
         this.factionManager = factionManager;
+        factionManager.setOnMembershipChanged(this::refreshContribution);
+        factionManager.setOnMembershipReloaded(this::invalidateTotals);
+        factionManager.getLeaderboard().setBeforeRead(this::ensureTotals);
     }
 
     /**
-     * Loads all player power data from storage.
+     * Configures lazy loading of offline player power. Applied by the next
+     * {@link #loadAll()}; call before the initial load.
+     *
+     * With lazy loading, {@link #loadAll()} only loads faction members and online
+     * players. Other players are loaded on demand and at most {@code offlineCacheSize}
+     * of them are kept, evicting the least recently used first. Players with unsaved
+     * changes are never evicted.
+     *
+     * @param enabled          true to load offline players on demand
+     * @param offlineCacheSize max resident players that are offline and not in a faction
+     */
+    public void configureLazyLoading(boolean enabled, int offlineCacheSize) {
+        this.lazyLoading = enabled;
+        this.offlineCacheSize = Math.max(0, offlineCacheSize);
+        if (!enabled) {
+            synchronized (offlineLru) {
+                offlineLru.clear();
+            }
+        }
+    }
+
+    /**
+     * Sets the regen rate and whether offline players regenerate. Offline regen is
+     * settled from each record's {@code lastRegen} when it is read. Also refreshed
+     * from the config on every {@link #tickPowerRegen()}.
+     *
+     * @param regenPerMinute power regenerated per minute
+     * @param whenOffline    true if offline players regenerate too
+     */
+    public void configureRegen(double regenPerMinute, boolean whenOffline) {
+        this.regenPerMinute = regenPerMinute;
+        if (whenOffline && !regenWhenOffline) {
+            // Time before startup (downtime) or before offline regen was enabled doesn't accrue
+            offlineRegenStart = System.currentTimeMillis();
+        }
+        this.regenWhenOffline = whenOffline;
+    }
+
+    /**
+     * Sets the time from which offline regen accrues.
+     * Used for testing.
+     *
+     * @param epochMillis the start time
+     */
+    void setOfflineRegenStart(long epochMillis) {
+        this.offlineRegenStart = epochMillis;
+    }
+
+    /**
+     * Checks if offline player power is loaded on demand.
+     *
+     * @return true if lazy loading is enabled
+     */
+    public boolean isLazyLoading() {
+        return lazyLoading;
+    }
+
+    /**
+     * Gets the number of player power records held in memory.
+     *
+     * @return the resident player count
+     */
+    public int getResidentCount() {
+        return powerCache.size();
+    }
+
+    /**
+     * Loads player power data from storage: every record, or with lazy loading
+     * only faction members and online players (factions must be loaded first).
      *
      * SAFETY: This method will NOT clear existing data if loading fails or returns
      * suspiciously empty results when data was expected.
@@ -41,8 +154,20 @@ public class PowerManager {
      */
     public CompletableFuture<Void> loadAll() {
         final int previousCount = powerCache.size();
+        final boolean lazy = lazyLoading;
+
+        CompletableFuture<Collection<PlayerPower>> load;
+        if (lazy) {
+            Set<UUID> resident = new HashSet<>(onlinePlayers);
+            for (Faction faction : factionManager.getAllFactions()) {
+                resident.addAll(faction.members().keySet());
+            }
+            load = storage.loadPlayerPowers(resident);
+        } else {
+            load = storage.loadAllPlayerPower();
+        }
 
-        return storage.loadAllPlayerPower().thenAccept(loaded -> {
+        return load.thenAccept(loaded -> {
             // SAFETY CHECK: If we had data before but loading returned nothing,
             // this is likely a load failure - DO NOT clear existing data
             if (previousCount > 0 && loaded.isEmpty()) {
@@ -61,8 +186,17 @@ public class PowerManager {
             // Atomic swap
             powerCache.clear();
             powerCache.putAll(newCache);
+            synchronized (offlineLru) {
+                offlineLru.clear();
+            }
+            invalidateTotals();
 
-            Logger.info("Loaded %d player power records", powerCache.size());
+            if (lazy) {
+                Logger.info("Loaded %d player power records (faction members and online players; others load on demand)",
+                    powerCache.size());
+            } else {
+                Logger.info("Loaded %d player power records", powerCache.size());
+            }
         }).exceptionally(ex -> {
             Logger.severe("CRITICAL: Exception during player power loading - keeping existing data", (Throwable) ex);
             return null;
@@ -71,31 +205,105 @@ public class PowerManager {
 
     /**
      * Saves all player power data to storage.
+     * Prefer {@link #saveDirty()} for periodic saves.
      *
      * @return a future that completes when saving is done
      */
     public CompletableFuture<Void> saveAll() {
-        List<CompletableFuture<Void>> futures = powerCache.values().stream()
-            .map(storage::savePlayerPower)
-            .collect(Collectors.toList());
+        List<UUID> wasDirty = List.copyOf(dirtyPlayers);
+        dirtyPlayers.removeAll(wasDirty);
+        return storage.savePlayerPowers(List.copyOf(powerCache.values())).whenComplete((v, ex) -> {
+            if (ex != null) {
+                dirtyPlayers.addAll(wasDirty); // Retried by the next flush
+            }
+        });
+    }
+
+    /**
+     * Saves only players whose power changed since the last flush (regen, new records).
+     * Each player is unmarked before their current power is read, so a change made
+     * while the write is in flight marks them again for the next flush. If the write
+     * fails, the whole batch is marked again, which also keeps it from being evicted.
+     *
+     * @return a future containing the number of players written
+     */
+    public CompletableFuture<Integer> saveDirty() {
+        if (dirtyPlayers.isEmpty()) {
+            return CompletableFuture.completedFuture(0);
+        }
+
+        List<PlayerPower> batch = new ArrayList<>();
+        Iterator<UUID> it = dirtyPlayers.iterator();
+        while (it.hasNext()) {
+            UUID playerUuid = it.next();
+            it.remove();
+            PlayerPower power = powerCache.get(playerUuid);
+            if (power != null) {
+                batch.add(power);
+            }
+        }
+
+        int written = batch.size();
+        return storage.savePlayerPowers(batch).whenComplete((v, ex) -> {
+            if (ex != null) {
+                for (PlayerPower power : batch) {
+                    dirtyPlayers.add(power.uuid()); // Retried by the next flush
+                }
+            }
+        }).thenApply(v -> {
+            trimOffline();
+            return written;
+        });
+    }
 
-        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    /**
+     * Gets the number of players waiting for the next auto-save.
+     *
+     * @return the dirty player count
+     */
+    public int getDirtyCount() {
+        return dirtyPlayers.size();
     }
 
     // === Player Operations ===
 
     /**
      * Gets or creates power data for a player.
+     * Never waits on storage: with lazy loading, a player who is not resident gets
+     * the default record while their stored one loads in the background. Online
+     * players and faction members are always resident.
      *
      * @param playerUuid the player's UUID
      * @return the player power data
      */
     @NotNull
     public PlayerPower getPlayerPower(@NotNull UUID playerUuid) {
-        return powerCache.computeIfAbsent(playerUuid, uuid -> {
+        PlayerPower cached = powerCache.get(playerUuid);
+        if (cached != null) {
+            touch(playerUuid);
+            return settleOfflineRegen(playerUuid, cached, false);
+        }
+
+        if (lazyLoading) {
+            // Not resident: never wait on storage here, since callers include storage
+            // continuations. Start loading the stored record and answer with the defaults
+            // until it lands; callers that need the stored value should use loadPlayer().
+            PlayerPower loaded = loadedNow(loadPlayer(playerUuid));
+            if (loaded != null) {
+                return loaded;
+            }
+            ConfigManager config = ConfigManager.get();
+            return PlayerPower.create(playerUuid, config.getStartingPower(), config.getMaxPlayerPower());
+        }
+
+        PlayerPower power = powerCache.computeIfAbsent(playerUuid, uuid -> {
             ConfigManager config = ConfigManager.get();
+            dirtyPlayers.add(uuid); // New record, persist on next auto-save
             return PlayerPower.create(uuid, config.getStartingPower(), config.getMaxPlayerPower());
         });
+        touch(playerUuid);
+        refreshContribution(playerUuid);
+        return power;
     }
 
     /**
@@ -108,17 +316,41 @@ public class PowerManager {
         // Check cache first
         PlayerPower cached = powerCache.get(playerUuid);
         if (cached != null) {
-            return CompletableFuture.completedFuture(cached);
+            touch(playerUuid);
+            return CompletableFuture.completedFuture(settleOfflineRegen(playerUuid, cached, false));
+        }
+
+        // One storage read per player, however many callers miss while it is in flight
+        CompletableFuture<PlayerPower> pending = pendingLoads.get(playerUuid);
+        if (pending != null) {
+            return pending;
+        }
+        CompletableFuture<PlayerPower> load = new CompletableFuture<>();
+        pending = pendingLoads.putIfAbsent(playerUuid, load);
+        if (pending != null) {
+            return pending;
         }
 
-        return storage.loadPlayerPower(playerUuid).thenApply(opt -> {
+        storage.loadPlayerPower(playerUuid).thenApply(opt -> {
             PlayerPower power = opt.orElseGet(() -> {
                 ConfigManager config = ConfigManager.get();
+                dirtyPlayers.add(playerUuid); // New record, persist on next auto-save
                 return PlayerPower.create(playerUuid, config.getStartingPower(), config.getMaxPlayerPower());
             });
-            powerCache.put(playerUuid, power);
-            return power;
+            // A change made while the load was in flight wins over the stored record
+            PlayerPower existing = powerCache.putIfAbsent(playerUuid, power);
+            touch(playerUuid);
+            refreshContribution(playerUuid);
+            return settleOfflineRegen(playerUuid, existing != null ? existing : power, true);
+        }).whenComplete((power, ex) -> {
+            pendingLoads.remove(playerUuid, load);
+            if (ex != null) {
+                load.completeExceptionally(ex);
+            } else {
+                load.complete(power);
+            }
         });
+        return load;
     }
 
     /**
@@ -127,6 +359,10 @@ public class PowerManager {
      * @param playerUuid the player's UUID
      */
     public void playerOnline(@NotNull UUID playerUuid) {
+        PlayerPower cached = powerCache.get(playerUuid);
+        if (cached != null) {
+            settleOfflineRegen(playerUuid, cached, false); // Credit time spent offline
+        }
         onlinePlayers.add(playerUuid);
         loadPlayer(playerUuid); // Ensure loaded
     }
@@ -139,11 +375,78 @@ public class PowerManager {
     public void playerOffline(@NotNull UUID playerUuid) {
         onlinePlayers.remove(playerUuid);
 
-        // Save their power data
+        // Save their power data (covers any pending regen, so unmark first)
+        dirtyPlayers.remove(playerUuid);
         PlayerPower power = powerCache.get(playerUuid);
         if (power != null) {
+            // Offline regen counts from now, not from the last online tick (stale while at
+            // max), even if offline regen is only enabled later
+            power = power.withRegen(0);
+            putPower(playerUuid, power);
             storage.savePlayerPower(power);
         }
+        touch(playerUuid);
+    }
+
+    // === Lazy Loading ===
+
+    /**
+     * Records an access for LRU eviction. Online players and faction members are
+     * pinned and never tracked; others are evicted once over the size bound.
+     */
+    private void touch(@NotNull UUID playerUuid) {
+        if (!lazyLoading) {
+            return;
+        }
+        synchronized (offlineLru) {
+            if (isPinned(playerUuid)) {
+                offlineLru.remove(playerUuid);
+                return;
+            }
+            offlineLru.put(playerUuid, Boolean.TRUE);
+            evictExcess();
+        }
+    }
+
+    /**
+     * Picks up players that became unpinned without being accessed (left their faction
+     * while offline, faction disbanded) and evicts down to the size bound.
+     * Runs after each auto-save flush, when dirty players have just been written.
+     */
+    private void trimOffline() {
+        if (!lazyLoading) {
+            return;
+        }
+        synchronized (offlineLru) {
+            for (UUID playerUuid : powerCache.keySet()) {
+                if (!offlineLru.containsKey(playerUuid) && !isPinned(playerUuid)) {
+                    offlineLru.put(playerUuid, Boolean.TRUE);
+                }
+            }
+            evictExcess();
+        }
+    }
+
+    /** Evicts least recently used offline players over the bound. Caller holds offlineLru. */
+    private void evictExcess() {
+        Iterator<UUID> it = offlineLru.keySet().iterator();
+        int excess = offlineLru.size() - offlineCacheSize;
+        while (excess > 0 && it.hasNext()) {
+            UUID playerUuid = it.next();
+            if (isPinned(playerUuid)) {
+                it.remove();
+                excess--;
+            } else if (!dirtyPlayers.contains(playerUuid)) {
+                // Unsaved changes stay until the next flush
+                it.remove();
+                powerCache.remove(playerUuid);
+                excess--;
+            }
+        }
+    }
+
+    private boolean isPinned(@NotNull UUID playerUuid) {
+        return onlinePlayers.contains(playerUuid) || factionManager.isInFaction(playerUuid);
     }
 
     /**
@@ -153,16 +456,8 @@ public class PowerManager {
      * @return the new power level
      */
     public double applyDeathPenalty(@NotNull UUID playerUuid) {
-        PlayerPower power = getPlayerPower(playerUuid);
         double penalty = ConfigManager.get().getDeathPenalty();
-
-        PlayerPower updated = power.withDeathPenalty(penalty);
-        powerCache.put(playerUuid, updated);
-        storage.savePlayerPower(updated);
-
-        Logger.debugPower("Death penalty: player=%s, before=%.2f, after=%.2f, penalty=%.2f, max=%.2f",
-            playerUuid, power.power(), updated.power(), penalty, power.maxPower());
-        return updated.power();
+        return applyChange(playerUuid, "Death penalty", penalty, power -> power.withDeathPenalty(penalty));
     }
 
     /**
@@ -174,15 +469,8 @@ public class PowerManager {
      * @return the new power level
      */
     public double applyCombatLogoutPenalty(@NotNull UUID playerUuid, double penalty) {
-        PlayerPower power = getPlayerPower(playerUuid);
         // Reuse withDeathPenalty - combat logout is treated as a "virtual death"
-        PlayerPower updated = power.withDeathPenalty(penalty);
-        powerCache.put(playerUuid, updated);
-        storage.savePlayerPower(updated);
-
-        Logger.debugPower("Combat logout penalty: player=%s, before=%.2f, after=%.2f, penalty=%.2f",
-            playerUuid, power.power(), updated.power(), penalty);
-        return updated.power();
+        return applyChange(playerUuid, "Combat logout penalty", penalty, power -> power.withDeathPenalty(penalty));
     }
 
     /**
@@ -193,14 +481,7 @@ public class PowerManager {
      * @return the new power level
      */
     public double applyKillReward(@NotNull UUID playerUuid, double reward) {
-        PlayerPower power = getPlayerPower(playerUuid);
-        PlayerPower updated = power.withRegen(reward);
-        powerCache.put(playerUuid, updated);
-        storage.savePlayerPower(updated);
-
-        Logger.debugPower("Kill reward: player=%s, before=%.2f, after=%.2f, reward=%.2f",
-            playerUuid, power.power(), updated.power(), reward);
-        return updated.power();
+        return applyChange(playerUuid, "Kill reward", reward, power -> power.withRegen(reward));
     }
 
     /**
@@ -211,56 +492,433 @@ public class PowerManager {
      * @return the new power level
      */
     public double applyNeutralKillPenalty(@NotNull UUID playerUuid, double penalty) {
-        PlayerPower power = getPlayerPower(playerUuid);
-        PlayerPower updated = power.withDeathPenalty(penalty);
-        powerCache.put(playerUuid, updated);
-        storage.savePlayerPower(updated);
+        return applyChange(playerUuid, "Neutral kill penalty", penalty, power -> power.withDeathPenalty(penalty));
+    }
+
+    /**
+     * Applies a change to a player's power and saves it immediately.
+     *
+     * With lazy loading, a player who is not resident yet (e.g. just connected) has
+     * the change applied to their stored record once it loads, so a record derived
+     * from the default is never stored. The returned value is then only a preview
+     * computed from the defaults.
+     *
+     * @return the new power level
+     */
+    private double applyChange(@NotNull UUID playerUuid, @NotNull String action, double amount,
+                               @NotNull UnaryOperator<PlayerPower> change) {
+        PlayerPower power = lazyLoading ? loadedNow(loadPlayer(playerUuid)) : getPlayerPower(playerUuid);
+        if (power == null) {
+            loadPlayer(playerUuid).thenAccept(stored -> {
+                // Applied to whatever is resident now, in case another change landed first
+                PlayerPower[] before = new PlayerPower[1];
+                PlayerPower updated = powerCache.compute(playerUuid, (uuid, current) -> {
+                    before[0] = current != null ? current : stored;
+                    return change.apply(before[0]);
+                });
+                refreshContribution(playerUuid);
+                storage.savePlayerPower(updated);
+                logChange(action, playerUuid, before[0], updated, amount);
+            }).exceptionally(ex -> {
+                Logger.warn("%s for %s dropped: their power failed to load: %s", action, playerUuid, ex.getMessage());
+                return null;
+            });
+            ConfigManager config = ConfigManager.get();
+            return change.apply(PlayerPower.create(playerUuid, config.getStartingPower(), config.getMaxPlayerPower())).power();
+        }
 
-        Logger.debugPower("Neutral kill penalty: player=%s, before=%.2f, after=%.2f, penalty=%.2f",
-            playerUuid, power.power(), updated.power(), penalty);
+        PlayerPower updated = change.apply(power);
+        putPower(playerUuid, updated);
+        storage.savePlayerPower(updated);
+        logChange(action, playerUuid, power, updated, amount);
         return updated.power();
     }
 
+    private static void logChange(@NotNull String action, @NotNull UUID playerUuid, @NotNull PlayerPower before,
+                                  @NotNull PlayerPower after, double amount) {
+        Logger.debugPower("%s: player=%s, before=%.2f, after=%.2f, amount=%.2f, max=%.2f",
+            action, playerUuid, before.power(), after.power(), amount, before.maxPower());
+    }
+
+    /** Gets a load's result if it has already completed successfully, without waiting. */
+    @Nullable
+    private static PlayerPower loadedNow(@NotNull CompletableFuture<PlayerPower> load) {
+        return load.isDone() && !load.isCompletedExceptionally() ? load.join() : null;
+    }
+
     /**
      * Regenerates power for a player.
      *
      * @param playerUuid the player's UUID
      * @param amount     the amount to regenerate
+     * @return true if the player's power changed
      */
-    public void regeneratePower(@NotNull UUID playerUuid, double amount) {
+    public boolean regeneratePower(@NotNull UUID playerUuid, double amount) {
         PlayerPower power = powerCache.get(playerUuid);
         if (power == null || power.isAtMax()) {
-            return;
+            return false;
         }
 
         PlayerPower updated = power.withRegen(amount);
-        powerCache.put(playerUuid, updated);
+        putPower(playerUuid, updated);
 
-        Logger.debugPower("Regen: player=%s, before=%.2f, after=%.2f, amount=%.2f, max=%.2f",
-            playerUuid, power.power(), updated.power(), amount, power.maxPower());
-        // Don't save immediately - batch save periodically
+        if (Logger.isDebugEnabled(Logger.DebugCategory.POWER)) {
+            Logger.debugPower("Regen: player=%s, before=%.2f, after=%.2f, amount=%.2f, max=%.2f",
+                playerUuid, power.power(), updated.power(), amount, power.maxPower());
+        }
+        // Don't save immediately - flushed by auto-save
+        dirtyPlayers.add(playerUuid);
+        return true;
     }
 
     /**
      * Called periodically to regenerate power for online players.
+     * Walks the online set directly; players at max power are skipped without
+     * allocating. Offline players are not ticked: with {@code regenWhenOffline},
+     * their regen is settled from {@code lastRegen} when their power is next read.
      */
     public void tickPowerRegen() {
         ConfigManager config = ConfigManager.get();
         double regenAmount = config.getRegenPerMinute();
-
+        configureRegen(regenAmount, config.isRegenWhenOffline());
         if (regenAmount <= 0) {
             return;
         }
 
-        Set<UUID> playersToRegen = config.isRegenWhenOffline()
-            ? new HashSet<>(powerCache.keySet())
-            : new HashSet<>(onlinePlayers);
+        long start = System.nanoTime();
+        int online = 0;
+        int regenerated = 0;
+        for (UUID playerUuid : onlinePlayers) {
+            online++;
+            if (regeneratePower(playerUuid, regenAmount)) {
+                regenerated++;
+            }
+        }
+        lastRegenTick = new RegenStats(System.nanoTime() - start, online, regenerated, offlineRegenSettled.sum());
+    }
+
+    /**
+     * Gets the cost of the last regen tick.
+     *
+     * @return the last tick's stats
+     */
+    @NotNull
+    public RegenStats getRegenStats() {
+        return new RegenStats(lastRegenTick.tickNanos(), lastRegenTick.onlineTicked(),
+            lastRegenTick.regenerated(), offlineRegenSettled.sum());
+    }
+
+    /**
+     * Regen tick metrics.
+     *
+     * @param tickNanos       duration of the last tick
+     * @param onlineTicked    online players visited by the last tick
+     * @param regenerated     players whose power changed in the last tick
+     * @param offlineSettled  offline players brought up to date on read since startup
+     */
+    public record RegenStats(long tickNanos, int onlineTicked, int regenerated, long offlineSettled) {}
+
+    /**
+     * Applies regen an offline player accrued since their {@code lastRegen}, when
+     * {@code regenWhenOffline} is on. Nothing accrues before startup or before offline
+     * regen was enabled. Allocates only for players below max once a full interval has passed.
+     *
+     * @param playerUuid  the player's UUID
+     * @param power       the player's current record
+     * @param fromStorage true if the record was just loaded, so it is settled even if
+     *                    the player has already been marked online
+     * @return the up-to-date record
+     */
+    @NotNull
+    private PlayerPower settleOfflineRegen(@NotNull UUID playerUuid, @NotNull PlayerPower power, boolean fromStorage) {
+        double regenAmount = regenPerMinute;
+        if (regenAmount <= 0 || !regenWhenOffline
+                || (!fromStorage && onlinePlayers.contains(playerUuid))) {
+            return power;
+        }
+
+        PlayerPower settled = power.withAccruedRegen(offlineRegenStart, System.currentTimeMillis(),
+            regenAmount, REGEN_INTERVAL_MS);
+        if (settled == power) {
+            return power;
+        }
+        if (!powerCache.replace(playerUuid, power, settled)) {
+            // Changed concurrently; the newer record wins and settles on its next read
+            PlayerPower current = powerCache.get(playerUuid);
+            return current != null ? current : settled;
+        }
+        refreshContribution(playerUuid);
+        dirtyPlayers.add(playerUuid);
+        offlineRegenSettled.increment();
+        return settled;
+    }
+
+    /**
+     * Settles offline regen for a faction's offline members, at most once per
+     * regen interval, so the faction's totals include it.
+     */
+    private void settleFactionRegen(@NotNull UUID factionId) {
+        if (!regenWhenOffline || regenPerMinute <= 0) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Long settledAt = factionRegenSettledAt.get(factionId);
+        if (settledAt != null && now - settledAt < REGEN_INTERVAL_MS) {
+            return;
+        }
+        factionRegenSettledAt.put(factionId, now);
+
+        Faction faction = factionManager.getFaction(factionId);
+        if (faction == null) {
+            factionRegenSettledAt.remove(factionId);
+            return;
+        }
+        for (UUID memberUuid : faction.members().keySet()) {
+            if (!onlinePlayers.contains(memberUuid)) {
+                getPlayerPower(memberUuid);
+            }
+        }
+    }
+
+    /**
+     * Stores a changed power record and updates the owning faction's totals.
+     */
+    private void putPower(@NotNull UUID playerUuid, @NotNull PlayerPower power) {
+        powerCache.put(playerUuid, power);
+        refreshContribution(playerUuid);
+    }
+
+    // === Faction Totals ===
+
+    /**
+     * Brings a player's share of their faction's totals in line with their current
+     * power record and faction. Idempotent, so it is safe to call after any power
+     * or membership change, in any order.
+     *
+     * @param playerUuid the player's UUID
+     */
+    private void refreshContribution(@NotNull UUID playerUuid) {
+        synchronized (contributions) {
+            if (!totalsValid) {
+                return; // Picked up by the next rebuild
+            }
+            UUID factionId = factionManager.getPlayerFactionId(playerUuid);
+            PlayerPower power = powerCache.get(playerUuid);
+            if (factionId == null || power != null) {
+                Contribution next = factionId != null
+                    ? new Contribution(factionId, power.power(), power.maxPower())
+                    : null;
+                Contribution previous = next != null
+                    ? contributions.put(playerUuid, next)
+                    : contributions.remove(playerUuid);
+                if (!Objects.equals(previous, next)) {
+                    if (previous != null) {
+                        addToTotals(previous.factionId(), -previous.power(), -previous.maxPower(), -1);
+                    }
+                    if (next != null) {
+                        addToTotals(next.factionId(), next.power(), next.maxPower(), 1);
+                    }
+                }
+                return;
+            }
+        }
+        // A member without a power record: create or load it, which refreshes again
+        getPlayerPower(playerUuid);
+    }
+
+    /**
+     * Applies a change to a faction's totals and pushes the new totals to the
+     * leaderboard (a rebuild pushes them all at the end instead). Caller holds contributions.
+     */
+    private void addToTotals(@NotNull UUID factionId, double power, double maxPower, int members) {
+        FactionTotals current = factionTotals.get(factionId);
+        int memberCount = (current != null ? current.members() : 0) + members;
+        if (memberCount <= 0) {
+            // Last member gone; dropping the entry also discards rounding error
+            factionTotals.remove(factionId);
+            if (totalsValid) {
+                factionManager.getLeaderboard().updatePower(factionId, 0, 0);
+            }
+            return;
+        }
+        FactionTotals next = current == null
+            ? new FactionTotals(power, maxPower, memberCount)
+            : new FactionTotals(current.power() + power, current.maxPower() + maxPower, memberCount);
+        factionTotals.put(factionId, next);
+        if (totalsValid) {
+            factionManager.getLeaderboard().updatePower(factionId, next.power(), next.maxPower());
+        }
+    }
+
+    /**
+     * Marks the totals for a full rebuild on the next read, after factions or
+     * player power were reloaded wholesale.
+     */
+    private void invalidateTotals() {
+        synchronized (contributions) {
+            totalsValid = false;
+        }
+    }
+
+    /**
+     * Rebuilds the totals if they were invalidated.
+     */
+    private void ensureTotals() {
+        if (!totalsValid) {
+            rebuildTotals();
+        }
+    }
+
+    @Nullable
+    private FactionTotals getTotals(@NotNull UUID factionId) {
+        ensureTotals();
+        settleFactionRegen(factionId);
+        return factionTotals.get(factionId);
+    }
+
+    /**
+     * Rebuilds every faction's totals from its member list. Members without a
+     * power record get one, as summing on demand always did.
+     *
+     * Member powers are read before taking the lock, which only guards the sums.
+     * Records that change or finish loading meanwhile are refreshed afterwards.
+     */
+    private void rebuildTotals() {
+        if (totalsValid) {
+            return;
+        }
+        List<Faction> factions = new ArrayList<>(factionManager.getAllFactions());
+        Map<UUID, PlayerPower> memberPowers = new HashMap<>();
+        for (Faction faction : factions) {
+            for (UUID memberUuid : faction.members().keySet()) {
+                PlayerPower power = powerCache.get(memberUuid);
+                if (power == null) {
+                    getPlayerPower(memberUuid); // Creates it, or starts loading it in lazy mode
+                    power = powerCache.get(memberUuid);
+                }
+                if (power != null) {
+                    memberPowers.put(memberUuid, power);
+                }
+            }
+        }
+
+        synchronized (contributions) {
+            if (totalsValid) {
+                return;
+            }
+            contributions.clear();
+            factionTotals.clear();
+            for (Faction faction : factions) {
+                for (UUID memberUuid : faction.members().keySet()) {
+                    PlayerPower power = memberPowers.get(memberUuid);
+                    if (power == null) {
+                        continue; // Still loading; counted when the load lands
+                    }
+                    Contribution contribution = new Contribution(faction.id(), power.power(), power.maxPower());
+                    contributions.put(memberUuid, contribution);
+                    addToTotals(faction.id(), contribution.power(), contribution.maxPower(), 1);
+                }
+            }
+            factionManager.getLeaderboard().reloadPowers(
+                id -> {
+                    FactionTotals totals = factionTotals.get(id);
+                    return totals != null ? totals.power() : 0;
+                },
+                id -> {
+                    FactionTotals totals = factionTotals.get(id);
+                    return totals != null ? totals.maxPower() : 0;
+                });
+            totalsValid = true;
+        }
+
+        // Records that changed after the snapshot skipped their refresh while the totals were invalid
+        for (Map.Entry<UUID, PlayerPower> entry : memberPowers.entrySet()) {
+            if (powerCache.get(entry.getKey()) != entry.getValue()) {
+                refreshContribution(entry.getKey());
+            }
+        }
+        for (Faction faction : factions) {
+            for (UUID memberUuid : faction.members().keySet()) {
+                if (!memberPowers.containsKey(memberUuid) && powerCache.containsKey(memberUuid)) {
+                    refreshContribution(memberUuid);
+                }
+            }
+        }
+    }
+
+    /**
+     * Recomputes every faction's totals from its members and compares them with the
+     * running totals. Any drift is logged and repaired by rebuilding.
+     *
+     * @return the check result
+     */
+    @NotNull
+    public TotalsCheck verifyFactionTotals() {
+        ensureTotals();
+
+        List<TotalsDrift> drifts = new ArrayList<>();
+        int checked = 0;
+        synchronized (contributions) {
+            for (Faction faction : factionManager.getAllFactions()) {
+                double power = 0;
+                double maxPower = 0;
+                for (UUID memberUuid : faction.members().keySet()) {
+                    PlayerPower member = powerCache.get(memberUuid);
+                    if (member != null) {
+                        power += member.power();
+                        maxPower += member.maxPower();
+                    }
+                }
+                FactionTotals totals = factionTotals.get(faction.id());
+                double trackedPower = totals != null ? totals.power() : 0;
+                double trackedMax = totals != null ? totals.maxPower() : 0;
+                int trackedMembers = totals != null ? totals.members() : 0;
+                if (Math.abs(trackedPower - power) > DRIFT_TOLERANCE
+                        || Math.abs(trackedMax - maxPower) > DRIFT_TOLERANCE
+                        || trackedMembers != faction.members().size()) {
+                    drifts.add(new TotalsDrift(faction.id(), faction.name(), power, trackedPower,
+                        maxPower, trackedMax, faction.members().size(), trackedMembers));
+                }
+                checked++;
+            }
+            for (TotalsDrift drift : drifts) {
+                Logger.warn("Faction power totals drifted for %s: power %.4f (tracked %.4f), max %.4f (tracked %.4f), members %d (tracked %d)",
+                    drift.factionName(), drift.expectedPower(), drift.trackedPower(),
+                    drift.expectedMaxPower(), drift.trackedMaxPower(), drift.expectedMembers(), drift.trackedMembers());
+            }
+            if (!drifts.isEmpty()) {
+                totalsValid = false;
+            }
+        }
+        if (!drifts.isEmpty()) {
+            rebuildTotals();
+        }
+        return new TotalsCheck(checked, drifts);
+    }
 
-        for (UUID playerUuid : playersToRegen) {
-            regeneratePower(playerUuid, regenAmount);
+    /**
+     * Result of {@link #verifyFactionTotals()}.
+     */
+    public record TotalsCheck(int factionsChecked, @NotNull List<TotalsDrift> drifts) {
+        public boolean isConsistent() {
+            return drifts.isEmpty();
         }
     }
 
+    /**
+     * A faction whose running totals disagreed with its members' power.
+     */
+    public record TotalsDrift(
+        @NotNull UUID factionId,
+        @NotNull String factionName,
+        double expectedPower,
+        double trackedPower,
+        double expectedMaxPower,
+        double trackedMaxPower,
+        int expectedMembers,
+        int trackedMembers
+    ) {}
+
     // === Faction Power ===
 
     /**
@@ -270,16 +928,8 @@ public class PowerManager {
      * @return the total power
      */
     public double getFactionPower(@NotNull UUID factionId) {
-        Faction faction = factionManager.getFaction(factionId);
-        if (faction == null) {
-            return 0;
-        }
-
-        double total = 0;
-        for (UUID memberUuid : faction.members().keySet()) {
-            total += getPlayerPower(memberUuid).power();
-        }
-        return total;
+        FactionTotals totals = getTotals(factionId);
+        return totals != null ? totals.power() : 0;
     }
 
     /**
@@ -289,16 +939,8 @@ public class PowerManager {
      * @return the maximum power
      */
     public double getFactionMaxPower(@NotNull UUID factionId) {
-        Faction faction = factionManager.getFaction(factionId);
-        if (faction == null) {
-            return 0;
-        }
-
-        double total = 0;
-        for (UUID memberUuid : faction.members().keySet()) {
-            total += getPlayerPower(memberUuid).maxPower();
-        }
-        return total;
+        FactionTotals totals = getTotals(factionId);
+        return totals != null ? totals.maxPower() : 0;
     }
 
     /**
@@ -336,10 +978,11 @@ public class PowerManager {
      */
     @NotNull
     public FactionPowerStats getFactionPowerStats(@NotNull UUID factionId) {
-        double current = getFactionPower(factionId);
-        double max = getFactionMaxPower(factionId);
+        FactionTotals totals = getTotals(factionId);
+        double current = totals != null ? totals.power() : 0;
+        double max = totals != null ? totals.maxPower() : 0;
         int claims = 0;
-        int claimCapacity = getFactionClaimCapacity(factionId);
+        int claimCapacity = ConfigManager.get().calculateMaxClaims(current);
 
         Faction faction = factionManager.getFaction(factionId);
         if (faction != null) {
@@ -0,0 +1,294 @@
+package com.hyperfactions.manager;
+
+import com.hyperfactions.api.EconomyAPI;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+
+/**
+ * Thread-safe faction balances and transaction history for {@link EconomyManager}.
+ *
+ * Balances are fixed-point longs in {@link #UNITS_PER_CURRENCY} units per currency
+ * unit, so repeated deposits and withdrawals don't drift the way doubles do.
+ * Each faction's balance and history are guarded by one of {@link #STRIPES}
+ * lock objects picked by faction ID, so transactions on different factions
+ * rarely contend while those on the same faction are serialized. Transfers lock
+ * both stripes in index order, which keeps two opposite transfers from deadlocking.
+ *
+ * History is a fixed-size ring per faction, so recording a transaction writes one slot.
+ *
+ * Closing an account leaves a marker so a deposit or transfer that raced the
+ * faction's removal cannot open a fresh account for it afterwards.
+ */
+final class TreasuryLedger {
+
+    /** Fixed-point scale: balances are stored in hundredths of a currency unit. */
+    static final long UNITS_PER_CURRENCY = 100;
+
+    /** Number of lock stripes (a power of two). */
+    static final int STRIPES = 64;
+
+    /**
+     * Largest balance, and so largest single amount, in units (10 trillion currency).
+     * Doubles still resolve every unit up to here, and no sum of two valid values overflows.
+     */
+    static final long MAX_UNITS = 1_000_000_000_000_000L;
+
+    /**
+     * Returned by {@link #credit} when the balance would pass {@link #MAX_UNITS},
+     * and by {@link #debit} when the faction is unknown or short of funds.
+     */
+    static final long DECLINED = -1;
+
+    /** Returned by {@link #credit} when the faction's account has been closed. */
+    static final long CLOSED = -2;
+
+    private final Object[] locks = new Object[STRIPES];
+    private final ConcurrentHashMap<UUID, Account> accounts = new ConcurrentHashMap<>();
+    private final Set<UUID> closed = ConcurrentHashMap.newKeySet();
+    private final int historySize;
+
+    /**
+     * One faction's treasury. Fields are written only while holding the faction's stripe.
+     */
+    private static final class Account {
+        private volatile long balance;
+        private final EconomyAPI.Transaction[] history;
+        private int head; // index of the newest transaction
+        private int size;
+
+        Account(int historySize) {
+            this.history = new EconomyAPI.Transaction[historySize];
+        }
+
+        void record(@NotNull EconomyAPI.Transaction transaction) {
+            head = (head + 1) % history.length;
+            history[head] = transaction;
+            size = Math.min(size + 1, history.length);
+        }
+    }
+
+    TreasuryLedger(int historySize) {
+        this.historySize = Math.max(1, historySize);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Converts a currency amount to fixed-point units, rounding to the nearest unit.
+     *
+     * @param amount the amount in currency
+     * @return the amount in units
+     */
+    static long toUnits(double amount) {
+        return Math.round(amount * UNITS_PER_CURRENCY);
+    }
+
+    /**
+     * Checks if a converted amount can be credited, debited or transferred.
+     * Huge amounts saturate in {@link #toUnits} and are rejected here.
+     *
+     * @param units the amount in units
+     * @return true if positive and at most {@link #MAX_UNITS}
+     */
+    static boolean isValidAmount(long units) {
+        return units > 0 && units <= MAX_UNITS;
+    }
+
+    /**
+     * Converts fixed-point units to a currency amount.
+     *
+     * @param units the amount in units
+     * @return the amount in currency
+     */
+    static double toCurrency(long units) {
+        return (double) units / UNITS_PER_CURRENCY;
+    }
+
+    /**
+     * Opens an empty account for a faction if it has none, reopening a closed one.
+     *
+     * @param factionId the faction ID
+     */
+    void open(@NotNull UUID factionId) {
+        synchronized (lockFor(factionId)) {
+            closed.remove(factionId);
+            account(factionId);
+        }
+    }
+
+    /**
+     * Removes a faction's account. Later credits and incoming transfers are refused
+     * until it is opened again.
+     *
+     * @param factionId the faction ID
+     */
+    void close(@NotNull UUID factionId) {
+        synchronized (lockFor(factionId)) {
+            closed.add(factionId);
+            accounts.remove(factionId);
+        }
+    }
+
+    boolean contains(@NotNull UUID factionId) {
+        return accounts.containsKey(factionId);
+    }
+
+    int size() {
+        return accounts.size();
+    }
+
+    /**
+     * Gets a faction's balance without locking.
+     *
+     * @param factionId the faction ID
+     * @return the balance in units, or 0 if the faction has no account
+     */
+    long balance(@NotNull UUID factionId) {
+        Account account = accounts.get(factionId);
+        return account != null ? account.balance : 0;
+    }
+
+    /**
+     * Adds to a faction's balance, opening the account if needed.
+     *
+     * @param factionId   the faction ID
+     * @param units       the amount in units, see {@link #isValidAmount}
+     * @param transaction builds the history entry from the new balance
+     * @return the new balance in units, {@link #DECLINED} if it would pass {@link #MAX_UNITS},
+     *         or {@link #CLOSED} if the account was closed
+     */
+    long credit(@NotNull UUID factionId, long units,
+                @NotNull LongFunction<EconomyAPI.Transaction> transaction) {
+        synchronized (lockFor(factionId)) {
+            Account account = account(factionId);
+            if (account == null) {
+                return CLOSED;
+            }
+            if (units > MAX_UNITS - account.balance) {
+                return DECLINED;
+            }
+            long balance = account.balance + units;
+            account.balance = balance;
+            account.record(transaction.apply(balance));
+            return balance;
+        }
+    }
+
+    /**
+     * Takes from a faction's balance if it holds enough.
+     *
+     * @param factionId   the faction ID
+     * @param units       the amount in units, see {@link #isValidAmount}
+     * @param transaction builds the history entry from the new balance
+     * @return the new balance in units, or {@link #DECLINED}
+     */
+    long debit(@NotNull UUID factionId, long units,
+               @NotNull LongFunction<EconomyAPI.Transaction> transaction) {
+        synchronized (lockFor(factionId)) {
+            Account account = accounts.get(factionId);
+            if (account == null || account.balance < units) {
+                return DECLINED;
+            }
+            long balance = account.balance - units;
+            account.balance = balance;
+            account.record(transaction.apply(balance));
+            return balance;
+        }
+    }
+
+    /**
+     * Moves funds between two factions atomically: either both balances change or neither.
+     *
+     * @param fromFactionId the paying faction
+     * @param toFactionId   the receiving faction (its account is opened if needed)
+     * @param units         the amount in units, see {@link #isValidAmount}
+     * @param outgoing      builds the payer's history entry from its new balance
+     * @param incoming      builds the receiver's history entry from its new balance
+     * @return {@code SUCCESS}, {@code INSUFFICIENT_FUNDS} if the payer is unknown or short,
+     *         {@code FACTION_NOT_FOUND} if the receiver's account was closed,
+     *         or {@code INVALID_AMOUNT} if the receiver's balance would pass {@link #MAX_UNITS}
+     */
+    @NotNull
+    EconomyAPI.TransactionResult transfer(@NotNull UUID fromFactionId, @NotNull UUID toFactionId, long units,
+                     @NotNull LongFunction<EconomyAPI.Transaction> outgoing,
+                     @NotNull LongFunction<EconomyAPI.Transaction> incoming) {
+        int fromStripe = stripe(fromFactionId);
+        int toStripe = stripe(toFactionId);
+        // Always lock the lower stripe first; a shared stripe is locked once (monitors are reentrant)
+        Object first = locks[Math.min(fromStripe, toStripe)];
+        Object second = locks[Math.max(fromStripe, toStripe)];
+        synchronized (first) {
+            synchronized (second) {
+                Account from = accounts.get(fromFactionId);
+                if (from == null || from.balance < units) {
+                    return EconomyAPI.TransactionResult.INSUFFICIENT_FUNDS;
+                }
+                Account to = account(toFactionId);
+                if (to == null) {
+                    return EconomyAPI.TransactionResult.FACTION_NOT_FOUND;
+                }
+                if (to != from && units > MAX_UNITS - to.balance) {
+                    return EconomyAPI.TransactionResult.INVALID_AMOUNT; // Checked before changing either balance
+                }
+                from.balance -= units;
+                from.record(outgoing.apply(from.balance));
+                to.balance += units; // Re-read, so a transfer to the same faction nets out
+                to.record(incoming.apply(to.balance));
+                return EconomyAPI.TransactionResult.SUCCESS;
+            }
+        }
+    }
+
+    /**
+     * Gets a faction's most recent transactions.
+     *
+     * @param factionId the faction ID
+     * @param limit     maximum number of transactions
+     * @return transactions, most recent first (empty if none)
+     */
+    @NotNull
+    List<EconomyAPI.Transaction> recent(@NotNull UUID factionId, int limit) {
+        synchronized (lockFor(factionId)) {
+            Account account = accounts.get(factionId);
+            if (account == null || limit <= 0) {
+                return List.of();
+            }
+            int count = Math.min(limit, account.size);
+            List<EconomyAPI.Transaction> result = new ArrayList<>(count);
+            int capacity = account.history.length;
+            for (int i = 0; i < count; i++) {
+                result.add(account.history[(account.head - i + capacity) % capacity]);
+            }
+            return result;
+        }
+    }
+
+    // === Private helpers ===
+
+    // Caller holds the faction's stripe, so this cannot race close()
+    @Nullable
+    private Account account(@NotNull UUID factionId) {
+        if (closed.contains(factionId)) {
+            return null;
+        }
+        return accounts.computeIfAbsent(factionId, id -> new Account(historySize));
+    }
+
+    @NotNull
+    private Object lockFor(@NotNull UUID factionId) {
+        return locks[stripe(factionId)];
+    }
+
+    private static int stripe(@NotNull UUID factionId) {
+        int h = factionId.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -654,6 +654,7 @@ public class ZoneManager {
 
         int claimed = 0;
         Set<ChunkKey> newChunks = new HashSet<>(zone.chunks());
+        OwnerGrid owners = claimManager.getOwnersInRadius(world, centerX, centerZ, radius);
 
         for (int dx = -radius; dx <= radius; dx++) {
             for (int dz = -radius; dz <= radius; dz++) {
@@ -664,13 +665,13 @@ public class ZoneManager {
 
                 int chunkX = centerX + dx;
                 int chunkZ = centerZ + dz;
-                ChunkKey key = new ChunkKey(world, chunkX, chunkZ);
 
-                // Skip if already claimed by zone or faction
-                if (zoneIndex.containsKey(key)) {
+                // Skip if already claimed by faction or zone
+                if (owners.isClaimed(chunkX, chunkZ)) {
                     continue;
                 }
-                if (claimManager.getClaimOwner(world, chunkX, chunkZ) != null) {
+                ChunkKey key = new ChunkKey(world, chunkX, chunkZ);
+                if (zoneIndex.containsKey(key)) {
                     continue;
                 }
 
@@ -4,6 +4,7 @@ import com.hyperfactions.migration.migrations.config.ConfigV1ToV2Migration;
 import com.hyperfactions.migration.migrations.config.ConfigV2ToV3Migration;
 import com.hyperfactions.migration.migrations.config.ConfigV3ToV4Migration;
 import com.hyperfactions.migration.migrations.config.ConfigV4ToV5Migration;
+import com.hyperfactions.migration.migrations.storage.JsonToSqlMigration;
 import org.jetbrains.annotations.NotNull;
 
 import java.nio.file.Path;
@@ -49,6 +50,9 @@ public class MigrationRegistry {
         register(new ConfigV2ToV3Migration());
         register(new ConfigV3ToV4Migration());
         register(new ConfigV4ToV5Migration());
+
+        // Data migrations
+        register(new JsonToSqlMigration());
     }
 
     /**
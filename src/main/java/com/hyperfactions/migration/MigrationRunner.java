@@ -250,8 +250,11 @@ public class MigrationRunner {
                     }
                 }
                 case SCHEMA -> {
-                    // For schema migrations, include any database-related files
-                    Logger.warn("[Migration] Schema migration backup not fully implemented");
+                    // Backup the SQL database file
+                    Path databaseFile = dataDir.resolve("hyperfactions.mv.db");
+                    if (Files.exists(databaseFile)) {
+                        addFileToZip(zos, databaseFile, "hyperfactions.mv.db");
+                    }
                 }
             }
         }
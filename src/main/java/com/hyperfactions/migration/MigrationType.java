@@ -15,7 +15,7 @@ public enum MigrationType {
     DATA,
 
     /**
-     * Database schema migrations (for future SQL support).
+     * Database schema migrations (SQL storage backend).
      */
     SCHEMA
 }
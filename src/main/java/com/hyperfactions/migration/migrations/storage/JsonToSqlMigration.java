@@ -0,0 +1,175 @@
+package com.hyperfactions.migration.migrations.storage;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.hyperfactions.migration.Migration;
+import com.hyperfactions.migration.MigrationOptions;
+import com.hyperfactions.migration.MigrationResult;
+import com.hyperfactions.migration.MigrationType;
+import com.hyperfactions.storage.StorageConverter;
+import com.hyperfactions.storage.binary.BinaryStorage;
+import com.hyperfactions.storage.json.JsonFactionStorage;
+import com.hyperfactions.storage.json.JsonPlayerStorage;
+import com.hyperfactions.storage.json.JsonZoneStorage;
+import com.hyperfactions.storage.sql.SqlDatabase;
+import com.hyperfactions.storage.sql.SqlFactionStorage;
+import com.hyperfactions.storage.sql.SqlPlayerStorage;
+import com.hyperfactions.storage.sql.SqlZoneStorage;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Migrates faction, player, and zone data from the JSON file layout into the
+ * embedded SQL database.
+ *
+ * This migration:
+ * - Runs when {@code storage.backend} is {@code "sql"} and no database exists yet
+ * - Copies factions/, players/, and zones.json into the normalized tables
+ * - Leaves the JSON files in place (they are also in the migration backup)
+ * - Deletes the partially written database on failure
+ */
+public class JsonToSqlMigration implements Migration {
+
+    @Override
+    @NotNull
+    public String id() {
+        return "data-json-to-sql";
+    }
+
+    @Override
+    @NotNull
+    public MigrationType type() {
+        return MigrationType.DATA;
+    }
+
+    @Override
+    public int fromVersion() {
+        return 0;
+    }
+
+    @Override
+    public int toVersion() {
+        return SqlDatabase.SCHEMA_VERSION;
+    }
+
+    @Override
+    @NotNull
+    public String description() {
+        return "Copy JSON faction, player, and zone data into the SQL database";
+    }
+
+    @Override
+    public boolean isApplicable(@NotNull Path dataDir) {
+        // Binary snapshots, when present, are newer than the JSON files and are
+        // converted into the database at startup instead
+        if (SqlDatabase.exists(dataDir) || BinaryStorage.exists(dataDir)) {
+            return false;
+        }
+        Path configFile = dataDir.resolve("config.json");
+        if (!Files.exists(configFile)) {
+            return false;
+        }
+
+        try {
+            JsonObject root = JsonParser.parseString(Files.readString(configFile)).getAsJsonObject();
+            if (!root.has("storage") || !root.get("storage").isJsonObject()) {
+                return false;
+            }
+            JsonElement backend = root.getAsJsonObject("storage").get("backend");
+            if (backend == null || !SqlDatabase.BACKEND.equalsIgnoreCase(backend.getAsString())) {
+                return false;
+            }
+        } catch (Exception e) {
+            Logger.warn("[Migration] Failed to check storage backend: %s", e.getMessage());
+            return false;
+        }
+
+        return Files.isDirectory(dataDir.resolve("factions"))
+            || Files.isDirectory(dataDir.resolve("players"))
+            || Files.exists(dataDir.resolve("zones.json"));
+    }
+
+    @Override
+    @NotNull
+    public MigrationResult execute(@NotNull Path dataDir, @NotNull MigrationOptions options) {
+        Instant startTime = Instant.now();
+        List<String> filesCreated = new ArrayList<>();
+        List<String> warnings = new ArrayList<>();
+
+        JsonFactionStorage jsonFactions = new JsonFactionStorage(dataDir);
+        JsonPlayerStorage jsonPlayers = new JsonPlayerStorage(dataDir);
+        JsonZoneStorage jsonZones = new JsonZoneStorage(dataDir);
+        SqlDatabase database = new SqlDatabase(dataDir);
+        SqlFactionStorage sqlFactions = new SqlFactionStorage(database);
+        SqlPlayerStorage sqlPlayers = new SqlPlayerStorage(database);
+        SqlZoneStorage sqlZones = new SqlZoneStorage(database);
+
+        try {
+            options.reportProgress("Reading JSON data", 1, 3);
+            jsonFactions.init().join();
+            jsonPlayers.init().join();
+            jsonZones.init().join();
+
+            options.reportProgress("Creating database", 2, 3);
+            sqlFactions.init().join();
+            sqlPlayers.init().join();
+            sqlZones.init().join();
+
+            StorageConverter.Result copied = StorageConverter.convert(
+                jsonFactions, jsonPlayers, jsonZones, sqlFactions, sqlPlayers, sqlZones);
+            if (copied.factions() == 0 && copied.players() == 0 && copied.zones() == 0) {
+                warnings.add("No JSON data found to copy");
+            }
+
+            sqlFactions.shutdown().join();
+            sqlPlayers.shutdown().join();
+            sqlZones.shutdown().join();
+            jsonFactions.shutdown().join();
+            filesCreated.add("hyperfactions.mv.db");
+
+            options.reportProgress("Migration complete", 3, 3);
+
+            Duration duration = Duration.between(startTime, Instant.now());
+            Logger.info("[Migration] JSON to SQL migration copied %d factions, %d players, %d zones in %dms",
+                copied.factions(), copied.players(), copied.zones(), duration.toMillis());
+
+            return MigrationResult.success(
+                id(),
+                fromVersion(),
+                toVersion(),
+                options.backupPath(),
+                filesCreated,
+                List.of(),
+                warnings,
+                duration
+            );
+
+        } catch (Exception e) {
+            Duration duration = Duration.between(startTime, Instant.now());
+            Logger.severe("[Migration] JSON to SQL migration failed: %s", e.getMessage());
+            sqlFactions.shutdown().exceptionally(t -> null).join();
+            sqlPlayers.shutdown().exceptionally(t -> null).join();
+            sqlZones.shutdown().exceptionally(t -> null).join();
+            jsonFactions.shutdown().join();
+            // A half-filled database would be treated as migrated on the next start
+            SqlDatabase.delete(dataDir);
+            return MigrationResult.failure(
+                id(),
+                fromVersion(),
+                toVersion(),
+                options.backupPath(),
+                String.valueOf(e.getMessage()),
+                false,
+                duration
+            );
+        }
+    }
+}
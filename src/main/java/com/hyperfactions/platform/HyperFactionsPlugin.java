@@ -22,6 +22,8 @@ import com.hyperfactions.protection.ecs.HarvestPickupProtectionSystem;
 import com.hyperfactions.territory.TerritoryTickingSystem;
 import com.hyperfactions.util.Logger;
 import com.hyperfactions.worldmap.HyperFactionsWorldMapProvider;
+import com.hyperfactions.worldmap.WorldMapRefreshScheduler;
+import com.hyperfactions.integration.PermissionManager;
 import com.hyperfactions.integration.PermissionRegistrar;
 import com.hyperfactions.integration.orbis.OrbisMixinsIntegration;
 import com.hyperfactions.integration.orbis.OrbisGuardIntegration;
@@ -768,6 +770,7 @@ public class HyperFactionsPlugin extends JavaPlugin {
 
         // Track the player
         trackedPlayers.put(uuid, playerRef);
+        hyperFactions.getOnlineRoster().playerOnline(playerRef);
 
         // Cache username, track first join and last online
         hyperFactions.getPlayerStorage().loadPlayerData(uuid).thenAccept(opt -> {
@@ -838,6 +841,9 @@ public class HyperFactionsPlugin extends JavaPlugin {
         // Mark player offline
         hyperFactions.getPowerManager().playerOffline(uuid);
 
+        // Drop cached permission decisions
+        PermissionManager.get().invalidate(uuid);
+
         // Update last online timestamp
         hyperFactions.getPlayerStorage().loadPlayerData(uuid).thenAccept(opt -> {
             if (opt.isPresent()) {
@@ -853,20 +859,25 @@ public class HyperFactionsPlugin extends JavaPlugin {
         // Reset chat channel
         hyperFactions.getChatManager().resetChannel(uuid);
 
+        // Remove from the online roster (faction chat, alerts and GUI refreshes)
+        hyperFactions.getOnlineRoster().playerOffline(uuid);
+
         // Evict chat history cache if no online faction members remain
-        com.hyperfactions.data.Faction dcFaction = hyperFactions.getFactionManager().getPlayerFaction(uuid);
-        if (dcFaction != null && hyperFactions.getChatHistoryManager() != null) {
-            boolean anyOnline = dcFaction.members().keySet().stream()
-                    .filter(id -> !id.equals(uuid))
-                    .anyMatch(id -> trackedPlayers.containsKey(id));
-            if (!anyOnline) {
-                hyperFactions.getChatHistoryManager().evictCache(dcFaction.id());
-            }
+        UUID dcFactionId = hyperFactions.getFactionManager().getPlayerFactionId(uuid);
+        if (dcFactionId != null && hyperFactions.getChatHistoryManager() != null
+                && hyperFactions.getOnlineRoster().getOnlineMembers(dcFactionId).isEmpty()) {
+            hyperFactions.getChatHistoryManager().evictCache(dcFactionId);
         }
 
         // Clean up territory tracking
         hyperFactions.getTerritoryNotifier().onPlayerDisconnect(uuid);
 
+        // Drop world map update throttling state
+        WorldMapRefreshScheduler refreshScheduler = hyperFactions.getWorldMapService().getRefreshScheduler();
+        if (refreshScheduler != null) {
+            refreshScheduler.onPlayerDisconnect(uuid);
+        }
+
         // Unregister from active page tracker (GUI real-time updates)
         if (hyperFactions.getActivePageTracker() != null) {
             hyperFactions.getActivePageTracker().unregister(uuid);
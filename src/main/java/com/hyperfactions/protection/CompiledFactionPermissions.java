@@ -0,0 +1,140 @@
+package com.hyperfactions.protection;
+
+import com.hyperfactions.data.FactionPermissions;
+import com.hyperfactions.protection.ProtectionChecker.InteractionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Immutable, precompiled decision table for a faction's effective territory permissions.
+ * <p>
+ * Built once from the effective {@link FactionPermissions} (server locks already applied)
+ * and packed into a single {@code long}, one bit per (level, {@link InteractionType}) pair,
+ * so a protection check is a shift and a mask with no allocation or string building.
+ * Parent-child flag logic (e.g. {@code allyInteract} gating {@code allyDoorUse}) is
+ * resolved at compile time.
+ * <p>
+ * Each table remembers the faction permissions instance and config revision it was
+ * compiled from, so {@link ProtectionChecker} can tell when it is stale.
+ */
+public final class CompiledFactionPermissions {
+
+    public static final int LEVEL_OUTSIDER = 0;
+    public static final int LEVEL_ALLY = 1;
+    public static final int LEVEL_MEMBER = 2;
+    public static final int LEVEL_OFFICER = 3;
+
+    private static final InteractionType[] TYPES = InteractionType.values();
+    private static final int TYPE_COUNT = TYPES.length;
+
+    // Level index -> FactionPermissions level name
+    private static final String[] LEVEL_NAMES = {
+        FactionPermissions.LEVEL_OUTSIDER,
+        FactionPermissions.LEVEL_ALLY,
+        FactionPermissions.LEVEL_MEMBER,
+        FactionPermissions.LEVEL_OFFICER
+    };
+
+    private final long interactionBits;
+    private final boolean pvpEnabled;
+    private final boolean mobSpawning;
+
+    // Staleness keys: the raw faction permissions (identity) and config revision compiled from
+    @Nullable
+    private final FactionPermissions source;
+    private final long configRevision;
+
+    private CompiledFactionPermissions(long interactionBits, boolean pvpEnabled, boolean mobSpawning,
+                                       @Nullable FactionPermissions source, long configRevision) {
+        this.interactionBits = interactionBits;
+        this.pvpEnabled = pvpEnabled;
+        this.mobSpawning = mobSpawning;
+        this.source = source;
+        this.configRevision = configRevision;
+    }
+
+    /**
+     * Compiles an effective permission set into a decision table.
+     *
+     * @param effective      the effective permissions (server locks applied)
+     * @param source         the faction's raw permissions this was derived from (may be null for defaults)
+     * @param configRevision the faction permissions config revision used
+     * @return the compiled table
+     */
+    @NotNull
+    public static CompiledFactionPermissions compile(@NotNull FactionPermissions effective,
+                                                     @Nullable FactionPermissions source,
+                                                     long configRevision) {
+        long bits = 0L;
+        for (int level = 0; level < LEVEL_NAMES.length; level++) {
+            for (InteractionType type : TYPES) {
+                if (evaluate(effective, LEVEL_NAMES[level], type)) {
+                    bits |= 1L << bitIndex(level, type);
+                }
+            }
+        }
+        return new CompiledFactionPermissions(bits,
+            effective.pvpEnabled(),
+            effective.get(FactionPermissions.MOB_SPAWNING),
+            source, configRevision);
+    }
+
+    /**
+     * Evaluates one (level, type) pair against the flag map.
+     * This is the single definition of how interaction types map onto permission flags.
+     */
+    private static boolean evaluate(@NotNull FactionPermissions perms, @NotNull String level,
+                                    @NotNull InteractionType type) {
+        return switch (type) {
+            case BUILD -> perms.get(level + FactionPermissions.SUFFIX_BREAK)
+                || perms.get(level + FactionPermissions.SUFFIX_PLACE);
+            case INTERACT, USE -> perms.get(level + FactionPermissions.SUFFIX_INTERACT);
+            case DOOR -> perms.get(level + FactionPermissions.SUFFIX_DOOR_USE);
+            case CONTAINER -> perms.get(level + FactionPermissions.SUFFIX_CONTAINER_USE);
+            case BENCH -> perms.get(level + FactionPermissions.SUFFIX_BENCH_USE);
+            case PROCESSING -> perms.get(level + FactionPermissions.SUFFIX_PROCESSING_USE);
+            case SEAT -> perms.get(level + FactionPermissions.SUFFIX_SEAT_USE);
+            case DAMAGE -> !FactionPermissions.LEVEL_OUTSIDER.equals(level); // outsiders can't damage
+        };
+    }
+
+    private static int bitIndex(int level, @NotNull InteractionType type) {
+        return level * TYPE_COUNT + type.ordinal();
+    }
+
+    /**
+     * Checks whether a level may perform an interaction.
+     *
+     * @param level one of the {@code LEVEL_*} constants
+     * @param type  the interaction type
+     * @return true if allowed
+     */
+    public boolean allows(int level, @NotNull InteractionType type) {
+        return (interactionBits & (1L << bitIndex(level, type))) != 0;
+    }
+
+    /**
+     * @return true if PvP is enabled in this faction's territory
+     */
+    public boolean pvpEnabled() {
+        return pvpEnabled;
+    }
+
+    /**
+     * @return true if mob spawning (parent flag) is allowed in this faction's territory
+     */
+    public boolean mobSpawning() {
+        return mobSpawning;
+    }
+
+    /**
+     * Checks whether this table was compiled from the given inputs.
+     *
+     * @param rawPermissions the faction's current raw permissions (identity compared)
+     * @param configRevision the current faction permissions config revision
+     * @return true if still valid
+     */
+    public boolean isCurrent(@Nullable FactionPermissions rawPermissions, long configRevision) {
+        return source == rawPermissions && this.configRevision == configRevision;
+    }
+}
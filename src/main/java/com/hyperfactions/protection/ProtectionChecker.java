@@ -2,6 +2,7 @@ package com.hyperfactions.protection;
 
 import com.hyperfactions.HyperFactions;
 import com.hyperfactions.config.ConfigManager;
+import com.hyperfactions.config.modules.FactionPermissionsConfig;
 import com.hyperfactions.data.Faction;
 import com.hyperfactions.data.FactionMember;
 import com.hyperfactions.data.FactionPermissions;
@@ -17,7 +18,9 @@ import com.hyperfactions.util.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 /**
@@ -33,6 +36,9 @@ public class ProtectionChecker {
     private final CombatTagManager combatTagManager;
     private GravestoneIntegration gravestoneIntegration;
 
+    // Compiled effective permissions per faction, rebuilt when the faction's permissions or server locks change
+    private final Map<UUID, CompiledFactionPermissions> compiledPermissions = new ConcurrentHashMap<>();
+
     public ProtectionChecker(
         @NotNull FactionManager factionManager,
         @NotNull ClaimManager claimManager,
@@ -214,14 +220,9 @@ public class ProtectionChecker {
         // 4. Get player's faction
         UUID playerFactionId = factionManager.getPlayerFactionId(playerUuid);
 
-        // 5. Get faction and its effective permissions
+        // 5. Get faction and its compiled effective permissions
         Faction ownerFaction = factionManager.getFaction(claimOwner);
-        FactionPermissions perms = null;
-        if (ownerFaction != null) {
-            perms = ConfigManager.get().getEffectiveFactionPermissions(
-                ownerFaction.getEffectivePermissions()
-            );
-        }
+        CompiledFactionPermissions perms = ownerFaction != null ? getCompiledPermissions(ownerFaction) : null;
 
         // 6. Check if same faction (member or officer)
         if (playerFactionId != null && playerFactionId.equals(claimOwner)) {
@@ -231,13 +232,13 @@ public class ProtectionChecker {
                 factionMember.role().getLevel() >= FactionRole.OFFICER.getLevel();
 
             if (isOfficerOrLeader) {
-                if (perms != null && !checkPermission(perms, "officer", type)) {
+                if (perms != null && !perms.allows(CompiledFactionPermissions.LEVEL_OFFICER, type)) {
                     Logger.debugProtection("Interaction denied: player=%s, chunk=%s/%d/%d, type=%s, result=OFFICER_NO_PERM, claimOwner=%s",
                         playerUuid, world, chunkX, chunkZ, type, claimOwner);
                     return ProtectionResult.DENIED_NO_PERMISSION;
                 }
             } else {
-                if (perms != null && !checkMemberPermission(perms, type)) {
+                if (perms != null && !perms.allows(CompiledFactionPermissions.LEVEL_MEMBER, type)) {
                     Logger.debugProtection("Interaction denied: player=%s, chunk=%s/%d/%d, type=%s, result=MEMBER_NO_PERM, claimOwner=%s",
                         playerUuid, world, chunkX, chunkZ, type, claimOwner);
                     return ProtectionResult.DENIED_NO_PERMISSION;
@@ -251,7 +252,7 @@ public class ProtectionChecker {
             RelationType relation = relationManager.getRelation(playerFactionId, claimOwner);
             if (relation == RelationType.ALLY) {
                 // Check ally permissions
-                if (perms != null && checkAllyPermission(perms, type)) {
+                if (perms != null && perms.allows(CompiledFactionPermissions.LEVEL_ALLY, type)) {
                     return ProtectionResult.ALLOWED_ALLY_CLAIM;
                 }
                 // Ally but no permission for this type
@@ -262,7 +263,7 @@ public class ProtectionChecker {
         }
 
         // 8. Check outsider permissions (neutral, enemy, or no faction)
-        if (perms != null && checkOutsiderPermission(perms, type)) {
+        if (perms != null && perms.allows(CompiledFactionPermissions.LEVEL_OUTSIDER, type)) {
             return ProtectionResult.ALLOWED;
         }
 
@@ -282,37 +283,39 @@ public class ProtectionChecker {
     }
 
     /**
-     * Unified permission check for any level and interaction type.
-     * Uses parent-child logic built into FactionPermissions.get().
+     * Gets the compiled effective permissions for a faction.
+     * The table is rebuilt only when the faction's permissions object or the
+     * server lock configuration has changed since it was compiled.
      *
-     * @param perms the faction permissions
-     * @param level the level (outsider, ally, member, officer)
-     * @param type  the interaction type
-     * @return true if allowed
+     * @param faction the faction
+     * @return the compiled permissions
      */
-    private boolean checkPermission(FactionPermissions perms, String level, InteractionType type) {
-        return switch (type) {
-            case BUILD -> perms.get(level + "Break") || perms.get(level + "Place");
-            case INTERACT, USE -> perms.get(level + "Interact");
-            case DOOR -> perms.get(level + "DoorUse");
-            case CONTAINER -> perms.get(level + "ContainerUse");
-            case BENCH -> perms.get(level + "BenchUse");
-            case PROCESSING -> perms.get(level + "ProcessingUse");
-            case SEAT -> perms.get(level + "SeatUse");
-            case DAMAGE -> !"outsider".equals(level); // outsiders can't damage
-        };
-    }
-
-    private boolean checkOutsiderPermission(FactionPermissions perms, InteractionType type) {
-        return checkPermission(perms, "outsider", type);
-    }
+    @NotNull
+    public CompiledFactionPermissions getCompiledPermissions(@NotNull Faction faction) {
+        FactionPermissionsConfig config = ConfigManager.get().factionPermissions();
+        long revision = config.getRevision();
+        FactionPermissions raw = faction.permissions();
+
+        CompiledFactionPermissions compiled = compiledPermissions.get(faction.id());
+        if (compiled != null && compiled.isCurrent(raw, revision)) {
+            return compiled;
+        }
 
-    private boolean checkAllyPermission(FactionPermissions perms, InteractionType type) {
-        return checkPermission(perms, "ally", type);
+        FactionPermissions effective = config.getEffectiveFactionPermissions(faction.getEffectivePermissions());
+        compiled = CompiledFactionPermissions.compile(effective, raw, revision);
+        compiledPermissions.put(faction.id(), compiled);
+        Logger.debugProtection("Compiled territory permissions for faction=%s (config revision %d)",
+            faction.name(), revision);
+        return compiled;
     }
 
-    private boolean checkMemberPermission(FactionPermissions perms, InteractionType type) {
-        return checkPermission(perms, "member", type);
+    /**
+     * Drops the compiled permissions for a faction (e.g. after disband).
+     *
+     * @param factionId the faction ID
+     */
+    public void invalidateCompiledPermissions(@NotNull UUID factionId) {
+        compiledPermissions.remove(factionId);
     }
 
     // === PvP Protection ===
@@ -396,10 +399,7 @@ public class ProtectionChecker {
         if (claimOwner != null) {
             Faction ownerFaction = factionManager.getFaction(claimOwner);
             if (ownerFaction != null) {
-                FactionPermissions perms = config.getEffectiveFactionPermissions(
-                    ownerFaction.getEffectivePermissions()
-                );
-                if (!perms.pvpEnabled()) {
+                if (!getCompiledPermissions(ownerFaction).pvpEnabled()) {
                     Logger.debugProtection("PvP denied: attacker=%s, defender=%s, chunk=%s/%d/%d, result=TERRITORY_NO_PVP, claimOwner=%s",
                         attackerUuid, defenderUuid, world, chunkX, chunkZ, claimOwner);
                     return PvPResult.DENIED_TERRITORY_NO_PVP;
@@ -824,10 +824,7 @@ public class ProtectionChecker {
         if (claimOwner != null) {
             Faction ownerFaction = factionManager.getFaction(claimOwner);
             if (ownerFaction != null) {
-                FactionPermissions perms = ConfigManager.get().getEffectiveFactionPermissions(
-                    ownerFaction.getEffectivePermissions()
-                );
-                if (!perms.get(FactionPermissions.MOB_SPAWNING)) {
+                if (!getCompiledPermissions(ownerFaction).mobSpawning()) {
                     Logger.debugSpawning("[Protection] Spawn BLOCKED in faction claim at chunk (%d,%d) (mobSpawning=false)",
                         chunkX, chunkZ);
                     return true;
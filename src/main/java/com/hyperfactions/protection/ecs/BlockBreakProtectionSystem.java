@@ -79,6 +79,8 @@ public class BlockBreakProtectionSystem extends EntityEventSystem<EntityStore, B
                         ProtectionChecker.InteractionType.BUILD
                     )
                 )).color("#FF5555"));
+            } else if (hyperFactions.getWorldMapService() != null) {
+                hyperFactions.getWorldMapService().markTerrainChanged(worldName, pos.getX(), pos.getZ());
             }
         } catch (Exception e) {
             Logger.severe("Error processing block break event", e);
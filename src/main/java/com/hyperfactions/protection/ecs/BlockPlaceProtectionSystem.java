@@ -65,6 +65,8 @@ public class BlockPlaceProtectionSystem extends EntityEventSystem<EntityStore, P
                         ProtectionChecker.InteractionType.BUILD
                     )
                 )).color("#FF5555"));
+            } else if (hyperFactions.getWorldMapService() != null) {
+                hyperFactions.getWorldMapService().markTerrainChanged(worldName, pos.getX(), pos.getZ());
             }
         } catch (Exception e) {
             Logger.severe("Error processing block place event", e);
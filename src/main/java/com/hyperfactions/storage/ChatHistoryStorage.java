@@ -1,5 +1,6 @@
 package com.hyperfactions.storage;
 
+import com.hyperfactions.data.ChatMessage;
 import com.hyperfactions.data.FactionChatHistory;
 import org.jetbrains.annotations.NotNull;
 
@@ -42,6 +43,32 @@ public interface ChatHistoryStorage {
      */
     CompletableFuture<Void> saveHistory(@NotNull FactionChatHistory history);
 
+    /**
+     * Appends new messages to a faction's stored history.
+     * <p>
+     * The default implementation loads the history, adds the messages and saves
+     * it again; append-capable backends write only the new messages.
+     *
+     * @param factionId   the faction's UUID
+     * @param oldestFirst the new messages, oldest first
+     * @param maxMessages maximum messages the stored history needs to keep
+     * @return a future that completes when the messages are written
+     */
+    default CompletableFuture<Void> appendMessages(@NotNull UUID factionId,
+                                                   @NotNull List<ChatMessage> oldestFirst,
+                                                   int maxMessages) {
+        if (oldestFirst.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return loadHistory(factionId).thenCompose(history -> {
+            FactionChatHistory updated = history;
+            for (ChatMessage msg : oldestFirst) {
+                updated = updated.withMessage(msg, maxMessages);
+            }
+            return saveHistory(updated);
+        });
+    }
+
     /**
      * Deletes chat history for a faction.
      *
@@ -0,0 +1,429 @@
+package com.hyperfactions.storage;
+
+import com.hyperfactions.data.FactionClaim;
+import com.hyperfactions.util.ChunkUtil;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Append-only claim journal with periodic compaction into per-world snapshots.
+ *
+ * Layout under {@code data/claims/}:
+ * <pre>
+ * {world}.snapshot   one line per claim: factionId, chunkX, chunkZ, claimedAt, claimedBy
+ * {world}.journal    one line per change since the snapshot:
+ *                      + factionId chunkX chunkZ claimedAt claimedBy   (claim / overclaim)
+ *                      - chunkX chunkZ                                  (unclaim)
+ * </pre>
+ * Fields are tab-separated; world names are URL-encoded in file names.
+ *
+ * A claim or unclaim appends one line instead of rewriting the faction file.
+ * {@link #compact()} folds each world's journal into a fresh snapshot (written
+ * with {@link StorageUtils#writeAtomic}) and truncates the journal.
+ *
+ * All file I/O runs on a single dedicated thread, which also owns the mirrored
+ * claim state used for snapshots, so appends and compactions never interleave.
+ */
+public final class ClaimJournal {
+
+    private static final String SNAPSHOT_EXT = ".snapshot";
+    private static final String JOURNAL_EXT = ".journal";
+
+    private final Path claimsDir;
+    private final ExecutorService io;
+
+    // World name -> journal state (only touched on the I/O thread after load)
+    private final Map<String, WorldJournal> worlds = new HashMap<>();
+
+    // Journal lines written since the last compaction, across all worlds
+    private final AtomicInteger journalEntries = new AtomicInteger(0);
+
+    private volatile boolean shutdown = false;
+
+    /**
+     * A claim together with its owning faction.
+     */
+    public record Entry(@NotNull UUID factionId, @NotNull FactionClaim claim) {}
+
+    /**
+     * Per-world mirrored state and open journal writer.
+     */
+    private static final class WorldJournal {
+        final String world;
+        final Path snapshotFile;
+        final Path journalFile;
+        final Map<Long, Entry> state = new HashMap<>();
+        @Nullable BufferedWriter writer;
+
+        WorldJournal(String world, Path claimsDir) {
+            this.world = world;
+            String fileName = URLEncoder.encode(world, StandardCharsets.UTF_8);
+            this.snapshotFile = claimsDir.resolve(fileName + SNAPSHOT_EXT);
+            this.journalFile = claimsDir.resolve(fileName + JOURNAL_EXT);
+        }
+    }
+
+    /**
+     * Creates a claim journal.
+     *
+     * @param dataDir the plugin data directory
+     */
+    public ClaimJournal(@NotNull Path dataDir) {
+        this.claimsDir = claimsDir(dataDir);
+        this.io = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "HyperFactions-ClaimJournal");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @NotNull
+    private static Path claimsDir(@NotNull Path dataDir) {
+        return dataDir.resolve("claims");
+    }
+
+    /**
+     * Checks whether journal files exist in a data directory.
+     *
+     * @param dataDir the plugin data directory
+     * @return true if a claims directory with snapshot or journal files exists
+     */
+    public static boolean exists(@NotNull Path dataDir) {
+        Path dir = claimsDir(dataDir);
+        if (!Files.isDirectory(dir)) {
+            return false;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.{snapshot,journal}")) {
+            return stream.iterator().hasNext();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes all journal files. Used when journal mode is turned off, since the
+     * faction files are authoritative again and a stale journal must not be
+     * replayed if the mode is re-enabled later.
+     *
+     * @param dataDir the plugin data directory
+     */
+    public static void discard(@NotNull Path dataDir) {
+        Path dir = claimsDir(dataDir);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.{snapshot,journal}")) {
+            for (Path file : stream) {
+                StorageUtils.deleteWithBackup(file);
+            }
+        } catch (IOException e) {
+            Logger.warn("[ClaimJournal] Failed to discard journal files: %s", e.getMessage());
+        }
+    }
+
+    // === Loading ===
+
+    /**
+     * Loads all snapshots and replays their journals. Call once at startup,
+     * before any changes are recorded.
+     *
+     * @return claims grouped by faction, or null if no journal data exists yet
+     */
+    @Nullable
+    public Map<UUID, Set<FactionClaim>> load() {
+        try {
+            Files.createDirectories(claimsDir);
+        } catch (IOException e) {
+            Logger.severe("[ClaimJournal] Failed to create claims directory", e);
+            return null;
+        }
+
+        Set<String> fileNames = new HashSet<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(claimsDir, "*.{snapshot,journal}")) {
+            for (Path file : stream) {
+                String name = file.getFileName().toString();
+                fileNames.add(name.substring(0, name.lastIndexOf('.')));
+            }
+        } catch (IOException e) {
+            Logger.severe("[ClaimJournal] Failed to list claims directory", e);
+            return null;
+        }
+
+        if (fileNames.isEmpty()) {
+            return null;
+        }
+
+        int replayed = 0;
+        for (String fileName : fileNames) {
+            String world = URLDecoder.decode(fileName, StandardCharsets.UTF_8);
+            WorldJournal wj = worldFor(world);
+            readSnapshot(wj);
+            replayed += replayJournal(wj);
+        }
+        journalEntries.set(replayed);
+
+        Map<UUID, Set<FactionClaim>> byFaction = new HashMap<>();
+        int total = 0;
+        for (WorldJournal wj : worlds.values()) {
+            for (Entry entry : wj.state.values()) {
+                byFaction.computeIfAbsent(entry.factionId(), k -> new HashSet<>()).add(entry.claim());
+                total++;
+            }
+        }
+        Logger.info("[ClaimJournal] Loaded %d claims in %d worlds (%d journal entries replayed)",
+            total, worlds.size(), replayed);
+        return byFaction;
+    }
+
+    private void readSnapshot(@NotNull WorldJournal wj) {
+        if (!Files.exists(wj.snapshotFile) && StorageUtils.hasBackup(wj.snapshotFile)) {
+            Logger.warn("[ClaimJournal] Snapshot for %s missing, recovering from backup", wj.world);
+            StorageUtils.recoverFromBackup(wj.snapshotFile);
+        }
+        if (!Files.exists(wj.snapshotFile)) {
+            return;
+        }
+        try {
+            for (String line : Files.readAllLines(wj.snapshotFile, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                String[] f = line.split("\t");
+                try {
+                    applyClaim(wj, f, 0);
+                } catch (RuntimeException e) {
+                    Logger.warn("[ClaimJournal] Skipping bad snapshot line in %s: %s", wj.world, line);
+                }
+            }
+        } catch (IOException e) {
+            Logger.severe("[ClaimJournal] Failed to read snapshot for %s", e, wj.world);
+        }
+    }
+
+    private int replayJournal(@NotNull WorldJournal wj) {
+        if (!Files.exists(wj.journalFile)) {
+            return 0;
+        }
+        int count = 0;
+        try {
+            for (String line : Files.readAllLines(wj.journalFile, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) continue;
+                String[] f = line.split("\t");
+                try {
+                    if ("+".equals(f[0])) {
+                        applyClaim(wj, f, 1);
+                    } else if ("-".equals(f[0])) {
+                        wj.state.remove(ChunkUtil.packChunkKey(Integer.parseInt(f[1]), Integer.parseInt(f[2])));
+                    } else {
+                        throw new IllegalArgumentException("unknown op");
+                    }
+                    count++;
+                } catch (RuntimeException e) {
+                    // A torn last line after a crash is expected; anything before it is intact
+                    Logger.warn("[ClaimJournal] Skipping bad journal line in %s: %s", wj.world, line);
+                }
+            }
+        } catch (IOException e) {
+            Logger.severe("[ClaimJournal] Failed to read journal for %s", e, wj.world);
+        }
+        return count;
+    }
+
+    private static void applyClaim(@NotNull WorldJournal wj, @NotNull String[] f, int offset) {
+        UUID factionId = UUID.fromString(f[offset]);
+        int chunkX = Integer.parseInt(f[offset + 1]);
+        int chunkZ = Integer.parseInt(f[offset + 2]);
+        long claimedAt = Long.parseLong(f[offset + 3]);
+        UUID claimedBy = UUID.fromString(f[offset + 4]);
+        FactionClaim claim = new FactionClaim(wj.world, chunkX, chunkZ, claimedAt, claimedBy);
+        wj.state.put(ChunkUtil.packChunkKey(chunkX, chunkZ), new Entry(factionId, claim));
+    }
+
+    @NotNull
+    private WorldJournal worldFor(@NotNull String world) {
+        return worlds.computeIfAbsent(world, w -> new WorldJournal(w, claimsDir));
+    }
+
+    // === Recording ===
+
+    /**
+     * Appends a claim (or ownership change) to the world's journal.
+     *
+     * @param factionId the owning faction
+     * @param claim     the claim
+     */
+    public void recordClaim(@NotNull UUID factionId, @NotNull FactionClaim claim) {
+        submit(() -> {
+            WorldJournal wj = worldFor(claim.world());
+            wj.state.put(ChunkUtil.packChunkKey(claim.chunkX(), claim.chunkZ()), new Entry(factionId, claim));
+            append(wj, "+\t" + factionId + "\t" + claim.chunkX() + "\t" + claim.chunkZ()
+                + "\t" + claim.claimedAt() + "\t" + claim.claimedBy());
+        });
+    }
+
+    /**
+     * Appends an unclaim to the world's journal.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     */
+    public void recordUnclaim(@NotNull String world, int chunkX, int chunkZ) {
+        submit(() -> {
+            WorldJournal wj = worldFor(world);
+            if (wj.state.remove(ChunkUtil.packChunkKey(chunkX, chunkZ)) != null) {
+                append(wj, "-\t" + chunkX + "\t" + chunkZ);
+            }
+        });
+    }
+
+    private void append(@NotNull WorldJournal wj, @NotNull String line) {
+        try {
+            if (wj.writer == null) {
+                wj.writer = Files.newBufferedWriter(wj.journalFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            wj.writer.write(line);
+            wj.writer.newLine();
+            wj.writer.flush();
+            journalEntries.incrementAndGet();
+            StorageHealth.get().recordSuccess(wj.journalFile.toString());
+        } catch (IOException e) {
+            StorageHealth.get().recordFailure(wj.journalFile.toString(), e.getMessage());
+            Logger.severe("[ClaimJournal] Failed to append to journal for %s", e, wj.world);
+        }
+    }
+
+    private void submit(@NotNull Runnable task) {
+        if (shutdown) {
+            Logger.warn("[ClaimJournal] Change recorded after shutdown, ignoring");
+            return;
+        }
+        io.execute(task);
+    }
+
+    // === Compaction ===
+
+    /**
+     * Gets the number of journal lines written or replayed since the last compaction.
+     *
+     * @return the journal entry count
+     */
+    public int getJournalEntries() {
+        return journalEntries.get();
+    }
+
+    /**
+     * Folds every world's journal into a fresh snapshot and truncates the journals.
+     *
+     * @return a future that completes when compaction is done
+     */
+    @NotNull
+    public CompletableFuture<Void> compact() {
+        return CompletableFuture.runAsync(this::compactNow, io);
+    }
+
+    /**
+     * Replaces the entire journal state (e.g. after an import rebuilt claims from
+     * faction records) and writes it out as fresh snapshots.
+     *
+     * @param entries every current claim
+     * @return a future that completes when the snapshots are written
+     */
+    @NotNull
+    public CompletableFuture<Void> replaceAll(@NotNull Collection<Entry> entries) {
+        List<Entry> copy = List.copyOf(entries);
+        return CompletableFuture.runAsync(() -> {
+            for (WorldJournal wj : worlds.values()) {
+                wj.state.clear();
+            }
+            for (Entry entry : copy) {
+                FactionClaim claim = entry.claim();
+                worldFor(claim.world()).state.put(ChunkUtil.packChunkKey(claim.chunkX(), claim.chunkZ()), entry);
+            }
+            compactNow();
+        }, io);
+    }
+
+    private void compactNow() {
+        int compacted = 0;
+        for (WorldJournal wj : worlds.values()) {
+            StringBuilder sb = new StringBuilder(wj.state.size() * 96);
+            for (Entry entry : wj.state.values()) {
+                FactionClaim claim = entry.claim();
+                sb.append(entry.factionId()).append('\t')
+                  .append(claim.chunkX()).append('\t')
+                  .append(claim.chunkZ()).append('\t')
+                  .append(claim.claimedAt()).append('\t')
+                  .append(claim.claimedBy()).append('\n');
+            }
+
+            StorageUtils.WriteResult result = StorageUtils.writeAtomic(wj.snapshotFile, sb.toString());
+            if (result instanceof StorageUtils.WriteResult.Failure failure) {
+                // Keep the journal: snapshot + journal is still a complete record
+                StorageHealth.get().recordFailure(wj.snapshotFile.toString(), failure.error());
+                Logger.severe("[ClaimJournal] Failed to write snapshot for %s: %s", wj.world, failure.error());
+                continue;
+            }
+            StorageHealth.get().recordSuccess(wj.snapshotFile.toString());
+
+            try {
+                if (wj.writer != null) {
+                    wj.writer.close();
+                    wj.writer = null;
+                }
+                Files.deleteIfExists(wj.journalFile);
+            } catch (IOException e) {
+                Logger.severe("[ClaimJournal] Failed to truncate journal for %s", e, wj.world);
+            }
+            compacted++;
+        }
+        journalEntries.set(0);
+        Logger.debug("[ClaimJournal] Compacted %d worlds", compacted);
+    }
+
+    /**
+     * Compacts, closes the journal files, and stops the I/O thread.
+     */
+    public void shutdown() {
+        try {
+            compact().get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            Logger.severe("[ClaimJournal] Compaction on shutdown failed (journal kept for replay)", e);
+        }
+        shutdown = true;
+        io.execute(() -> {
+            for (WorldJournal wj : worlds.values()) {
+                if (wj.writer != null) {
+                    try {
+                        wj.writer.close();
+                    } catch (IOException ignored) {
+                    }
+                    wj.writer = null;
+                }
+            }
+        });
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(5, TimeUnit.SECONDS)) {
+                io.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            io.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        Logger.info("[ClaimJournal] Shut down");
+    }
+}
@@ -43,6 +43,19 @@ public interface FactionStorage {
      */
     CompletableFuture<Void> saveFaction(@NotNull Faction faction);
 
+    /**
+     * Saves several factions. Backends that can write them together
+     * (e.g. as one batched transaction) override this.
+     *
+     * @param factions the factions to save
+     * @return a future that completes when all are saved
+     */
+    default CompletableFuture<Void> saveFactions(@NotNull Collection<Faction> factions) {
+        return CompletableFuture.allOf(factions.stream()
+            .map(this::saveFaction)
+            .toArray(CompletableFuture[]::new));
+    }
+
     /**
      * Deletes a faction from storage.
      *
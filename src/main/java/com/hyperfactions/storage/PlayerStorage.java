@@ -5,6 +5,7 @@ import com.hyperfactions.data.PlayerPower;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -44,6 +45,19 @@ public interface PlayerStorage {
      */
     CompletableFuture<Void> savePlayerPower(@NotNull PlayerPower power);
 
+    /**
+     * Saves power data for several players. Backends that can write them together
+     * (e.g. as one batched transaction) override this.
+     *
+     * @param powers the player power records to save
+     * @return a future that completes when all are saved
+     */
+    default CompletableFuture<Void> savePlayerPowers(@NotNull Collection<PlayerPower> powers) {
+        return CompletableFuture.allOf(powers.stream()
+            .map(this::savePlayerPower)
+            .toArray(CompletableFuture[]::new));
+    }
+
     /**
      * Deletes player power data.
      *
@@ -59,6 +73,25 @@ public interface PlayerStorage {
      */
     CompletableFuture<Collection<PlayerPower>> loadAllPlayerPower();
 
+    /**
+     * Loads power data for the given players. Players without stored data are
+     * left out of the result. Backends that can read several records at once
+     * override this.
+     *
+     * @param uuids the players to load
+     * @return a future containing the power records that were found
+     */
+    default CompletableFuture<Collection<PlayerPower>> loadPlayerPowers(@NotNull Collection<UUID> uuids) {
+        List<CompletableFuture<Optional<PlayerPower>>> futures = uuids.stream()
+            .map(this::loadPlayerPower)
+            .toList();
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+            .thenApply(v -> futures.stream()
+                .map(CompletableFuture::join)
+                .flatMap(Optional::stream)
+                .toList());
+    }
+
     /**
      * Loads full player data (power + history + stats).
      *
@@ -74,4 +107,17 @@ public interface PlayerStorage {
      * @return a future that completes when saving is done
      */
     CompletableFuture<Void> savePlayerData(@NotNull PlayerData data);
+
+    /**
+     * Saves full player data for several players. Backends that can write them
+     * together (e.g. as one batched transaction) override this.
+     *
+     * @param players the player data to save
+     * @return a future that completes when all are saved
+     */
+    default CompletableFuture<Void> saveAllPlayerData(@NotNull Collection<PlayerData> players) {
+        return CompletableFuture.allOf(players.stream()
+            .map(this::savePlayerData)
+            .toArray(CompletableFuture[]::new));
+    }
 }
@@ -0,0 +1,458 @@
+package com.hyperfactions.storage;
+
+import com.hyperfactions.data.ChatMessage;
+import com.hyperfactions.data.FactionChatHistory;
+import com.hyperfactions.storage.json.JsonChatHistoryStorage;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only chat history storage with one segment file per faction.
+ *
+ * Layout under {@code data/chat/}:
+ * <pre>
+ * {uuid}.seg   header: magic, format version
+ *              records: length (int), payload, CRC32 of payload (int)
+ *              payload: senderId, senderName, senderFactionTag, channel, message, timestamp
+ * </pre>
+ * Records are stored oldest first. A debounced save appends only the messages
+ * sent since the previous save. Once a segment holds {@value #COMPACT_FACTOR}
+ * times the retained message count it is compacted: the newest messages are
+ * rewritten with {@link StorageUtils#writeAtomic}. A segment that fails to decode
+ * (a torn record from a crash mid-append, a bad checksum, an unknown header) is
+ * renamed to {@code {uuid}.seg.corrupt} the first time it is read, and its
+ * readable records are written to a fresh segment. An append that fails midway
+ * (e.g. disk full) is truncated off again and fails its future, so the caller
+ * can retry the messages.
+ *
+ * Legacy {@code {uuid}.json} histories written by {@link JsonChatHistoryStorage}
+ * are converted to segments the first time they are loaded or appended to.
+ *
+ * All file I/O runs on a single dedicated thread, so appends and compactions
+ * of the same segment never interleave.
+ */
+public final class SegmentChatHistoryStorage implements ChatHistoryStorage {
+
+    private static final int MAGIC = 0x48464348; // "HFCH"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    private static final String SEGMENT_EXT = ".seg";
+    private static final String LEGACY_EXT = ".json";
+    private static final String CORRUPT_EXT = ".corrupt";
+
+    /** A segment is compacted once it holds this many times the retained messages. */
+    private static final int COMPACT_FACTOR = 2;
+
+    private final Path chatDir;
+    private final JsonChatHistoryStorage legacy;
+    private final ExecutorService io;
+
+    // Records per segment as last read or written; absent until the segment is read this session (I/O thread only)
+    private final Map<UUID, Integer> recordCounts = new HashMap<>();
+
+    // Damaged segments that could not be moved aside, left untouched this session (I/O thread only)
+    private final Set<UUID> damaged = new HashSet<>();
+
+    public SegmentChatHistoryStorage(@NotNull Path dataDir) {
+        this.chatDir = dataDir.resolve("chat");
+        this.legacy = new JsonChatHistoryStorage(dataDir);
+        this.io = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "HyperFactions-ChatHistory");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> init() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.createDirectories(chatDir);
+                StorageUtils.cleanupOrphanedFiles(chatDir);
+                Logger.info("Chat history storage initialized at %s", chatDir);
+            } catch (IOException e) {
+                Logger.severe("Failed to create chat history directory", e);
+            }
+        }, io);
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdown() {
+        return CompletableFuture.runAsync(() -> {
+            io.shutdown();
+            try {
+                if (!io.awaitTermination(5, TimeUnit.SECONDS)) {
+                    io.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                io.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<FactionChatHistory> loadHistory(@NotNull UUID factionId) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<ChatMessage> oldestFirst = readOrMigrate(factionId);
+            List<ChatMessage> newestFirst = new ArrayList<>(oldestFirst);
+            Collections.reverse(newestFirst);
+            return new FactionChatHistory(factionId, newestFirst);
+        }, io);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveHistory(@NotNull FactionChatHistory history) {
+        return CompletableFuture.runAsync(() -> {
+            List<ChatMessage> oldestFirst = new ArrayList<>(history.messages());
+            Collections.reverse(oldestFirst);
+            writeSegment(history.factionId(), oldestFirst);
+        }, io);
+    }
+
+    @Override
+    public CompletableFuture<Void> appendMessages(@NotNull UUID factionId,
+                                                  @NotNull List<ChatMessage> oldestFirst,
+                                                  int maxMessages) {
+        if (oldestFirst.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<ChatMessage> copy = List.copyOf(oldestFirst);
+        return CompletableFuture.runAsync(() -> {
+            if (!recordCounts.containsKey(factionId)) {
+                // First touch this session: validates (and repairs) the segment before appending to it
+                readOrMigrate(factionId);
+            }
+            if (damaged.contains(factionId)) {
+                return;
+            }
+
+            Path file = segmentFile(factionId);
+            String filePath = file.toString();
+            long sizeBefore = -1;
+            try {
+                sizeBefore = Files.exists(file) ? Files.size(file) : 0;
+                try (OutputStream os = Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                     DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+                    if (sizeBefore == 0) {
+                        writeHeader(out);
+                    }
+                    for (ChatMessage msg : copy) {
+                        writeRecord(out, msg);
+                    }
+                    out.flush();
+                }
+                StorageHealth.get().recordSuccess(filePath);
+            } catch (IOException e) {
+                StorageHealth.get().recordFailure(filePath, e.getMessage());
+                Logger.severe("Failed to append chat history for %s", e, factionId);
+                if (sizeBefore >= 0) {
+                    truncate(factionId, file, sizeBefore);
+                }
+                throw new UncheckedIOException(e);
+            }
+
+            int records = recordCounts.merge(factionId, copy.size(), Integer::sum);
+            if (records > Math.max(1, maxMessages) * COMPACT_FACTOR) {
+                compact(factionId, maxMessages);
+            }
+        }, io);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteHistory(@NotNull UUID factionId) {
+        return CompletableFuture.runAsync(() -> {
+            StorageUtils.deleteWithBackup(segmentFile(factionId));
+            StorageUtils.deleteWithBackup(legacyFile(factionId));
+            recordCounts.remove(factionId);
+            damaged.remove(factionId);
+            Logger.debug("Deleted chat history for %s", factionId);
+        }, io);
+    }
+
+    @Override
+    public CompletableFuture<List<UUID>> listAllFactionIds() {
+        return CompletableFuture.supplyAsync(() -> {
+            Set<UUID> ids = new LinkedHashSet<>();
+            if (!Files.exists(chatDir)) {
+                return new ArrayList<>(ids);
+            }
+
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(chatDir, "*.{seg,json}")) {
+                for (Path file : stream) {
+                    String fileName = file.getFileName().toString();
+                    String uuidStr = fileName.substring(0, fileName.lastIndexOf('.'));
+                    try {
+                        ids.add(UUID.fromString(uuidStr));
+                    } catch (IllegalArgumentException e) {
+                        Logger.warn("Skipping non-UUID chat history file: %s", fileName);
+                    }
+                }
+            } catch (IOException e) {
+                Logger.severe("Failed to list chat history files", e);
+            }
+
+            return new ArrayList<>(ids);
+        }, io);
+    }
+
+    // === Segment files ===
+
+    /**
+     * Cuts a partial append off the end of a segment. If that fails too, the
+     * segment is read again (and repaired) before the next append.
+     */
+    private void truncate(@NotNull UUID factionId, @NotNull Path file, long size) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size);
+        } catch (IOException e) {
+            recordCounts.remove(factionId);
+            Logger.warn("Failed to roll back a partial chat history append for %s: %s", factionId, e.getMessage());
+        }
+    }
+
+    @NotNull
+    private Path segmentFile(@NotNull UUID factionId) {
+        return chatDir.resolve(factionId + SEGMENT_EXT);
+    }
+
+    @NotNull
+    private Path legacyFile(@NotNull UUID factionId) {
+        return chatDir.resolve(factionId + LEGACY_EXT);
+    }
+
+    /**
+     * Reads a faction's segment, converting a legacy JSON history if there is no segment yet.
+     */
+    @NotNull
+    private List<ChatMessage> readOrMigrate(@NotNull UUID factionId) {
+        Path file = segmentFile(factionId);
+        if (!Files.exists(file) && StorageUtils.hasBackup(file)) {
+            Logger.warn("Chat history segment %s missing but backup exists, attempting recovery", factionId);
+            StorageUtils.recoverFromBackup(file);
+        }
+
+        if (!Files.exists(file)) {
+            if (Files.exists(legacyFile(factionId)) || StorageUtils.hasBackup(legacyFile(factionId))) {
+                List<ChatMessage> oldestFirst = new ArrayList<>(legacy.loadHistory(factionId).join().messages());
+                Collections.reverse(oldestFirst);
+                if (writeSegment(factionId, oldestFirst)) {
+                    StorageUtils.deleteWithBackup(legacyFile(factionId));
+                    Logger.info("Converted chat history for %s to segment format (%d messages)",
+                            factionId, oldestFirst.size());
+                }
+                return oldestFirst;
+            }
+            recordCounts.put(factionId, 0);
+            return new ArrayList<>();
+        }
+
+        List<ChatMessage> messages = new ArrayList<>();
+        boolean intact;
+        try {
+            intact = readSegment(Files.readAllBytes(file), messages);
+        } catch (IOException e) {
+            Logger.severe("Failed to read chat history for %s", e, factionId);
+            return messages;
+        }
+
+        if (!intact) {
+            // Set the damaged file aside (it may be from a newer format), then keep the
+            // readable prefix so later appends stay readable
+            Path corrupt = quarantine(file);
+            if (corrupt == null) {
+                damaged.add(factionId);
+                Logger.severe("Chat history segment for %s is damaged and could not be moved aside; not writing to it this session",
+                        factionId);
+                return messages;
+            }
+            Logger.warn("Chat history segment for %s is damaged, keeping %d readable messages (original moved to %s)",
+                    factionId, messages.size(), corrupt.getFileName());
+            writeSegment(factionId, messages);
+        } else {
+            recordCounts.put(factionId, messages.size());
+        }
+        return messages;
+    }
+
+    /**
+     * Decodes a segment.
+     *
+     * @param data the file contents
+     * @param out  receives the messages, oldest first
+     * @return true if every byte was a valid record, false if it ended in a torn or corrupt record
+     */
+    static boolean readSegment(byte @NotNull [] data, @NotNull List<ChatMessage> out) {
+        if (data.length < HEADER_BYTES) {
+            return data.length == 0;
+        }
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                return false;
+            }
+            int offset = HEADER_BYTES;
+            CRC32 crc = new CRC32();
+            while (offset < data.length) {
+                if (data.length - offset < 8) {
+                    return false;
+                }
+                int length = in.readInt();
+                if (length <= 0 || length > data.length - offset - 8) {
+                    return false;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                int expected = in.readInt();
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != expected) {
+                    return false;
+                }
+                out.add(decodeMessage(payload));
+                offset += length + 8;
+            }
+            return true;
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Encodes messages as a complete segment file.
+     *
+     * @param oldestFirst the messages, oldest first
+     * @return the segment bytes
+     */
+    static byte @NotNull [] encodeSegment(@NotNull List<ChatMessage> oldestFirst) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_BYTES + oldestFirst.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeHeader(out);
+        for (ChatMessage msg : oldestFirst) {
+            writeRecord(out, msg);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Renames a damaged segment to {@code {uuid}.seg.corrupt}, adding a timestamp if
+     * that name is taken.
+     *
+     * @return the new path, or null if the file could not be moved
+     */
+    private static Path quarantine(@NotNull Path file) {
+        Path target = file.resolveSibling(file.getFileName() + CORRUPT_EXT);
+        if (Files.exists(target)) {
+            target = file.resolveSibling(file.getFileName() + CORRUPT_EXT + "-" + System.currentTimeMillis());
+        }
+        try {
+            Files.move(file, target);
+            return target;
+        } catch (IOException e) {
+            Logger.severe("Failed to move damaged chat history %s aside", e, file.getFileName());
+            return null;
+        }
+    }
+
+    private boolean writeSegment(@NotNull UUID factionId, @NotNull List<ChatMessage> oldestFirst) {
+        if (damaged.contains(factionId)) {
+            return false;
+        }
+        Path file = segmentFile(factionId);
+        String filePath = file.toString();
+        try {
+            StorageUtils.WriteResult result = StorageUtils.writeAtomic(file, encodeSegment(oldestFirst));
+            if (result instanceof StorageUtils.WriteResult.Failure failure) {
+                StorageHealth.get().recordFailure(filePath, failure.error());
+                Logger.severe("Failed to save chat history for %s: %s", factionId, failure.error());
+                recordCounts.remove(factionId);
+                return false;
+            }
+            StorageHealth.get().recordSuccess(filePath);
+            recordCounts.put(factionId, oldestFirst.size());
+            Logger.debug("Saved chat history for %s (%d messages)", factionId, oldestFirst.size());
+            return true;
+        } catch (IOException e) {
+            StorageHealth.get().recordFailure(filePath, e.getMessage());
+            Logger.severe("Failed to save chat history for %s", e, factionId);
+            recordCounts.remove(factionId);
+            return false;
+        }
+    }
+
+    private void compact(@NotNull UUID factionId, int maxMessages) {
+        List<ChatMessage> messages = new ArrayList<>();
+        try {
+            readSegment(Files.readAllBytes(segmentFile(factionId)), messages);
+        } catch (IOException e) {
+            Logger.severe("Failed to read chat history for compaction: %s", e, factionId);
+            return;
+        }
+        int keep = Math.min(messages.size(), Math.max(1, maxMessages));
+        writeSegment(factionId, new ArrayList<>(messages.subList(messages.size() - keep, messages.size())));
+        Logger.debug("Compacted chat history for %s (%d -> %d messages)", factionId, messages.size(), keep);
+    }
+
+    // === Records ===
+
+    private static void writeHeader(@NotNull DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+    }
+
+    private static void writeRecord(@NotNull DataOutputStream out, @NotNull ChatMessage msg) throws IOException {
+        byte[] payload = encodeMessage(msg);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static byte[] encodeMessage(@NotNull ChatMessage msg) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(96 + msg.message().length());
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(msg.senderId().getMostSignificantBits());
+        out.writeLong(msg.senderId().getLeastSignificantBits());
+        out.writeUTF(msg.senderName());
+        out.writeUTF(msg.senderFactionTag());
+        out.writeUTF(msg.channel().name());
+        out.writeUTF(msg.message());
+        out.writeLong(msg.timestamp());
+        return bytes.toByteArray();
+    }
+
+    @NotNull
+    private static ChatMessage decodeMessage(byte @NotNull [] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        return new ChatMessage(
+            new UUID(in.readLong(), in.readLong()),
+            in.readUTF(),
+            in.readUTF(),
+            ChatMessage.Channel.valueOf(in.readUTF()),
+            in.readUTF(),
+            in.readLong()
+        );
+    }
+}
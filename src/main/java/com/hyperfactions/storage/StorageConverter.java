@@ -0,0 +1,68 @@
+package com.hyperfactions.storage;
+
+import com.hyperfactions.data.Faction;
+import com.hyperfactions.data.PlayerData;
+import com.hyperfactions.data.PlayerPower;
+import com.hyperfactions.data.Zone;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Copies all faction, player, and zone data from one storage backend to another.
+ * Works on the storage interfaces, so it converts in any direction
+ * (e.g. JSON to binary snapshot or SQL and back). Writes go through the bulk
+ * save methods so backends that batch can write everything in one go.
+ */
+public final class StorageConverter {
+
+    private StorageConverter() {}
+
+    /**
+     * Result of a conversion.
+     */
+    public record Result(int factions, int players, int zones) {}
+
+    /**
+     * Copies everything from the source backend into the target backend and waits
+     * until the target has written it. Both sides must already be initialized.
+     *
+     * @param fromFactions source faction storage
+     * @param fromPlayers  source player storage
+     * @param fromZones    source zone storage
+     * @param toFactions   target faction storage
+     * @param toPlayers    target player storage
+     * @param toZones      target zone storage
+     * @return the number of records copied
+     */
+    @NotNull
+    public static Result convert(@NotNull FactionStorage fromFactions, @NotNull PlayerStorage fromPlayers,
+                                 @NotNull ZoneStorage fromZones, @NotNull FactionStorage toFactions,
+                                 @NotNull PlayerStorage toPlayers, @NotNull ZoneStorage toZones) {
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+
+        Collection<Faction> factions = fromFactions.loadAllFactions().join();
+        writes.add(toFactions.saveFactions(factions));
+
+        // loadAllPlayerPower only carries power; copy the full record for each player
+        List<PlayerData> players = new ArrayList<>();
+        for (PlayerPower power : fromPlayers.loadAllPlayerPower().join()) {
+            Optional<PlayerData> data = fromPlayers.loadPlayerData(power.uuid()).join();
+            data.ifPresent(players::add);
+        }
+        writes.add(toPlayers.saveAllPlayerData(players));
+
+        Collection<Zone> zones = fromZones.loadAllZones().join();
+        writes.add(toZones.saveAllZones(zones));
+
+        CompletableFuture.allOf(writes.toArray(new CompletableFuture[0])).join();
+        Logger.info("Storage conversion complete: %d factions, %d players, %d zones",
+            factions.size(), players.size(), zones.size());
+        return new Result(factions.size(), players.size(), zones.size());
+    }
+}
@@ -5,6 +5,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
@@ -69,6 +70,19 @@ public final class StorageUtils {
      */
     @NotNull
     public static WriteResult writeAtomic(@NotNull Path targetFile, @NotNull String content) {
+        return writeAtomic(targetFile, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Atomically writes binary content to a file with the same verification,
+     * backup, and rename steps as {@link #writeAtomic(Path, String)}.
+     *
+     * @param targetFile the final destination file
+     * @param content    the bytes to write
+     * @return WriteResult indicating success or failure
+     */
+    @NotNull
+    public static WriteResult writeAtomic(@NotNull Path targetFile, @NotNull byte[] content) {
         // Use unique temp file name to prevent race conditions when multiple writes happen concurrently
         long uniqueId = TEMP_COUNTER.incrementAndGet();
         Path tempFile = targetFile.resolveSibling(targetFile.getFileName() + "." + uniqueId + TMP_SUFFIX);
@@ -82,13 +96,13 @@ public final class StorageUtils {
             }
 
             // Step 2: Write to temp file
-            Files.writeString(tempFile, content);
+            Files.write(tempFile, content);
 
             // Step 3: Calculate checksum of original content
             String expectedChecksum = computeChecksum(content);
 
             // Step 4: Verify by reading back the temp file
-            String writtenContent = Files.readString(tempFile);
+            byte[] writtenContent = Files.readAllBytes(tempFile);
             String actualChecksum = computeChecksum(writtenContent);
 
             if (!expectedChecksum.equals(actualChecksum)) {
@@ -145,9 +159,20 @@ public final class StorageUtils {
      */
     @NotNull
     public static String computeChecksum(@NotNull String content) {
+        return computeChecksum(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Computes the SHA-256 checksum of the given bytes.
+     *
+     * @param content the bytes to checksum
+     * @return the hex-encoded SHA-256 checksum
+     */
+    @NotNull
+    public static String computeChecksum(@NotNull byte[] content) {
         try {
             MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(content.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            byte[] hash = digest.digest(content);
             return bytesToHex(hash);
         } catch (NoSuchAlgorithmException e) {
             // SHA-256 is guaranteed to be available
@@ -171,16 +196,16 @@ public final class StorageUtils {
         }
 
         try {
-            // Verify backup is readable and valid
-            String backupContent = Files.readString(backupFile);
-            if (backupContent.isEmpty()) {
+            // Verify backup is readable and non-empty (content is validated by the caller's parser)
+            long backupSize = Files.size(backupFile);
+            if (backupSize == 0) {
                 Logger.warn("[StorageUtils] Backup file is empty for %s", targetFile);
                 return false;
             }
 
             // Copy backup to main file
             Files.copy(backupFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
-            Logger.info("[StorageUtils] Recovered %s from backup (size: %d bytes)", targetFile.getFileName(), backupContent.length());
+            Logger.info("[StorageUtils] Recovered %s from backup (size: %d bytes)", targetFile.getFileName(), backupSize);
             return true;
 
         } catch (IOException e) {
@@ -0,0 +1,233 @@
+package com.hyperfactions.storage;
+
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Write-behind queue that coalesces repeated writes of the same key.
+ *
+ * The first {@link #submit} for a key schedules a write after the coalescing
+ * window; further submits within the window only replace the pending value, so
+ * a burst of saves becomes a single write of the latest state. Every caller's
+ * future completes when that write finishes.
+ *
+ * Writes run on a fixed set of I/O threads (not the common ForkJoinPool). Keys
+ * are striped onto single-threaded executors, so writes and deletes of the
+ * same key always run in submission order and never overlap.
+ *
+ * @param <K> the key type (e.g. faction ID)
+ * @param <V> the value type (e.g. faction snapshot)
+ */
+public final class WriteBehindQueue<K, V> {
+
+    private final String name;
+    private final long windowMillis;
+    private final BiConsumer<K, V> writer;
+    private final ScheduledExecutorService[] stripes;
+    private final Map<K, Pending<V>> pending = new ConcurrentHashMap<>();
+
+    // Stats
+    private final AtomicLong submitted = new AtomicLong(0);
+    private final AtomicLong written = new AtomicLong(0);
+
+    private volatile boolean shutdown = false;
+
+    /**
+     * A value waiting to be written, shared by every submit coalesced into it.
+     */
+    private static final class Pending<V> {
+        volatile V value;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        Pending(V value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Creates a write-behind queue.
+     *
+     * @param name         name used for thread names and logs
+     * @param windowMillis coalescing window in milliseconds (0 = write as soon as a thread is free)
+     * @param threads      number of I/O threads
+     * @param writer       performs the actual write; must handle its own errors
+     */
+    public WriteBehindQueue(@NotNull String name, long windowMillis, int threads, @NotNull BiConsumer<K, V> writer) {
+        this.name = name;
+        this.windowMillis = Math.max(0, windowMillis);
+        this.writer = writer;
+        this.stripes = new ScheduledExecutorService[Math.max(1, threads)];
+        for (int i = 0; i < stripes.length; i++) {
+            String threadName = name + "-IO-" + i;
+            stripes[i] = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, threadName);
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    @NotNull
+    private ScheduledExecutorService stripeFor(@NotNull K key) {
+        int h = key.hashCode();
+        return stripes[((h ^ (h >>> 16)) & 0x7FFFFFFF) % stripes.length];
+    }
+
+    /**
+     * Queues a value for writing, coalescing with any pending write of the same key.
+     *
+     * @param key   the key
+     * @param value the latest value
+     * @return a future that completes when a write including this value finishes
+     */
+    @NotNull
+    public CompletableFuture<Void> submit(@NotNull K key, @NotNull V value) {
+        submitted.incrementAndGet();
+        if (shutdown) {
+            // Late save during shutdown: write synchronously rather than drop it
+            writer.accept(key, value);
+            written.incrementAndGet();
+            return CompletableFuture.completedFuture(null);
+        }
+
+        boolean[] created = new boolean[1];
+        Pending<V> entry = pending.compute(key, (k, existing) -> {
+            if (existing != null) {
+                existing.value = value;
+                return existing;
+            }
+            created[0] = true;
+            return new Pending<>(value);
+        });
+
+        if (created[0]) {
+            try {
+                stripeFor(key).schedule(() -> flush(key), windowMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flush(key);
+            }
+        }
+        return entry.future;
+    }
+
+    /**
+     * Writes the pending value for a key, if any. Runs on the key's stripe.
+     */
+    private void flush(@NotNull K key) {
+        Pending<V> entry = pending.remove(key);
+        if (entry == null) {
+            return; // Already flushed or cancelled
+        }
+        try {
+            writer.accept(key, entry.value);
+            written.incrementAndGet();
+            entry.future.complete(null);
+        } catch (Exception e) {
+            Logger.severe("[%s] Write-behind failed for %s", e, name, key);
+            entry.future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Drops any pending write for a key and runs an action on the key's I/O thread,
+     * after any write already in flight. Used for deletes so a delayed save
+     * cannot recreate a deleted file.
+     *
+     * @param key    the key
+     * @param action the action to run (e.g. delete the file)
+     * @return a future that completes when the action has run
+     */
+    @NotNull
+    public CompletableFuture<Void> cancelAndRun(@NotNull K key, @NotNull Runnable action) {
+        Pending<V> entry = pending.remove(key);
+        if (entry != null) {
+            entry.future.complete(null);
+        }
+        if (shutdown) {
+            action.run();
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return CompletableFuture.runAsync(action, stripeFor(key));
+        } catch (RejectedExecutionException e) {
+            action.run();
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Writes every pending value now, without waiting for its window.
+     *
+     * @return a future that completes when all pending writes have finished
+     */
+    @NotNull
+    public CompletableFuture<Void> flushAll() {
+        if (pending.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (K key : pending.keySet()) {
+            try {
+                futures.add(CompletableFuture.runAsync(() -> flush(key), stripeFor(key)));
+            } catch (RejectedExecutionException e) {
+                flush(key);
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Flushes all pending writes and stops the I/O threads.
+     * Saves submitted after this point are written synchronously.
+     */
+    public void shutdown() {
+        try {
+            flushAll().get(30, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            Logger.severe("[%s] Timed out flushing pending writes on shutdown", e, name);
+        }
+        shutdown = true;
+
+        for (ScheduledExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+        try {
+            for (ScheduledExecutorService stripe : stripes) {
+                if (!stripe.awaitTermination(5, TimeUnit.SECONDS)) {
+                    stripe.shutdownNow();
+                }
+            }
+        } catch (InterruptedException e) {
+            for (ScheduledExecutorService stripe : stripes) {
+                stripe.shutdownNow();
+            }
+            Thread.currentThread().interrupt();
+        }
+
+        // Anything that slipped in between the flush and the shutdown flag
+        for (K key : pending.keySet()) {
+            flush(key);
+        }
+
+        Logger.info("[%s] Write-behind queue shut down (%d saves coalesced into %d writes)",
+            name, submitted.get(), written.get());
+    }
+
+    // === Stats ===
+
+    public long getSubmittedCount() { return submitted.get(); }
+    public long getWrittenCount() { return written.get(); }
+    public int getPendingCount() { return pending.size(); }
+}
@@ -0,0 +1,331 @@
+package com.hyperfactions.storage.binary;
+
+import com.hyperfactions.data.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+
+/**
+ * Binary encoding of the persisted data models.
+ *
+ * Each record is a plain {@link DataOutputStream} field sequence. Enums are
+ * stored by name (not ordinal) so reordering enum constants never corrupts a
+ * snapshot. Field layout changes must bump {@link BinarySnapshot#FORMAT_VERSION}.
+ */
+final class BinaryCodec {
+
+    /** Same cap the JSON backend applies to faction logs. */
+    private static final int MAX_LOGS = 50;
+
+    private BinaryCodec() {}
+
+    // === Faction ===
+
+    @NotNull
+    static byte[] encodeFaction(@NotNull Faction faction) {
+        return encode(out -> {
+            writeUuid(out, faction.id());
+            out.writeUTF(faction.name());
+            writeNullableString(out, faction.description());
+            writeNullableString(out, faction.tag());
+            out.writeUTF(faction.color());
+            out.writeLong(faction.createdAt());
+            out.writeBoolean(faction.open());
+
+            Faction.FactionHome home = faction.home();
+            out.writeBoolean(home != null);
+            if (home != null) {
+                out.writeUTF(home.world());
+                out.writeDouble(home.x());
+                out.writeDouble(home.y());
+                out.writeDouble(home.z());
+                out.writeFloat(home.yaw());
+                out.writeFloat(home.pitch());
+                out.writeLong(home.setAt());
+                writeUuid(out, home.setBy());
+            }
+
+            out.writeInt(faction.members().size());
+            for (FactionMember member : faction.members().values()) {
+                writeUuid(out, member.uuid());
+                out.writeUTF(member.username());
+                out.writeUTF(member.role().name());
+                out.writeLong(member.joinedAt());
+                out.writeLong(member.lastOnline());
+            }
+
+            out.writeInt(faction.claims().size());
+            for (FactionClaim claim : faction.claims()) {
+                out.writeUTF(claim.world());
+                out.writeInt(claim.chunkX());
+                out.writeInt(claim.chunkZ());
+                out.writeLong(claim.claimedAt());
+                writeUuid(out, claim.claimedBy());
+            }
+
+            out.writeInt(faction.relations().size());
+            for (FactionRelation rel : faction.relations().values()) {
+                writeUuid(out, rel.targetFactionId());
+                out.writeUTF(rel.type().name());
+                out.writeLong(rel.since());
+            }
+
+            int logCount = Math.min(faction.logs().size(), MAX_LOGS);
+            out.writeInt(logCount);
+            for (int i = 0; i < logCount; i++) {
+                FactionLog log = faction.logs().get(i);
+                out.writeUTF(log.type().name());
+                out.writeUTF(log.message());
+                out.writeLong(log.timestamp());
+                writeNullableUuid(out, log.actorUuid());
+            }
+
+            FactionPermissions permissions = faction.permissions();
+            out.writeBoolean(permissions != null);
+            if (permissions != null) {
+                writeFlags(out, permissions.toMap());
+            }
+        });
+    }
+
+    @NotNull
+    static Faction decodeFaction(@NotNull byte[] data) {
+        return decode(data, in -> {
+            UUID id = readUuid(in);
+            String name = in.readUTF();
+            String description = readNullableString(in);
+            String tag = readNullableString(in);
+            String color = in.readUTF();
+            long createdAt = in.readLong();
+            boolean open = in.readBoolean();
+
+            Faction.FactionHome home = null;
+            if (in.readBoolean()) {
+                home = new Faction.FactionHome(in.readUTF(), in.readDouble(), in.readDouble(), in.readDouble(),
+                    in.readFloat(), in.readFloat(), in.readLong(), readUuid(in));
+            }
+
+            int memberCount = in.readInt();
+            Map<UUID, FactionMember> members = new HashMap<>(memberCount * 2);
+            for (int i = 0; i < memberCount; i++) {
+                FactionMember member = new FactionMember(readUuid(in), in.readUTF(),
+                    FactionRole.valueOf(in.readUTF()), in.readLong(), in.readLong());
+                members.put(member.uuid(), member);
+            }
+
+            int claimCount = in.readInt();
+            Set<FactionClaim> claims = new HashSet<>(claimCount * 2);
+            for (int i = 0; i < claimCount; i++) {
+                claims.add(new FactionClaim(in.readUTF(), in.readInt(), in.readInt(), in.readLong(), readUuid(in)));
+            }
+
+            int relationCount = in.readInt();
+            Map<UUID, FactionRelation> relations = new HashMap<>(relationCount * 2);
+            for (int i = 0; i < relationCount; i++) {
+                FactionRelation rel = new FactionRelation(readUuid(in), RelationType.valueOf(in.readUTF()), in.readLong());
+                relations.put(rel.targetFactionId(), rel);
+            }
+
+            int logCount = in.readInt();
+            List<FactionLog> logs = new ArrayList<>(logCount);
+            for (int i = 0; i < logCount; i++) {
+                logs.add(new FactionLog(FactionLog.LogType.valueOf(in.readUTF()), in.readUTF(),
+                    in.readLong(), readNullableUuid(in)));
+            }
+
+            FactionPermissions permissions = in.readBoolean() ? new FactionPermissions(readFlags(in)) : null;
+
+            return new Faction(id, name, description, tag, color, createdAt, home, members, claims, relations, logs, open, permissions);
+        });
+    }
+
+    // === Player ===
+
+    @NotNull
+    static byte[] encodePlayer(@NotNull PlayerData data) {
+        return encode(out -> {
+            writeUuid(out, data.getUuid());
+            writeNullableString(out, data.getUsername());
+            out.writeDouble(data.getPower());
+            out.writeDouble(data.getMaxPower());
+            out.writeLong(data.getLastDeath());
+            out.writeLong(data.getLastRegen());
+            out.writeInt(data.getKills());
+            out.writeInt(data.getDeaths());
+            out.writeLong(data.getFirstJoined());
+            out.writeLong(data.getLastOnline());
+
+            List<MembershipRecord> history = data.getMembershipHistory();
+            out.writeInt(history.size());
+            for (MembershipRecord rec : history) {
+                writeUuid(out, rec.factionId());
+                out.writeUTF(rec.factionName());
+                writeNullableString(out, rec.factionTag());
+                out.writeUTF(rec.highestRole().name());
+                out.writeLong(rec.joinedAt());
+                out.writeLong(rec.leftAt());
+                out.writeUTF(rec.reason().name());
+            }
+        });
+    }
+
+    @NotNull
+    static PlayerData decodePlayer(@NotNull byte[] bytes) {
+        return decode(bytes, in -> {
+            PlayerData data = new PlayerData(readUuid(in));
+            data.setUsername(readNullableString(in));
+            data.setPower(in.readDouble());
+            data.setMaxPower(in.readDouble());
+            data.setLastDeath(in.readLong());
+            data.setLastRegen(in.readLong());
+            data.setKills(in.readInt());
+            data.setDeaths(in.readInt());
+            data.setFirstJoined(in.readLong());
+            data.setLastOnline(in.readLong());
+
+            int historyCount = in.readInt();
+            List<MembershipRecord> history = new ArrayList<>(historyCount);
+            for (int i = 0; i < historyCount; i++) {
+                history.add(new MembershipRecord(readUuid(in), in.readUTF(), readNullableString(in),
+                    FactionRole.valueOf(in.readUTF()), in.readLong(), in.readLong(),
+                    MembershipRecord.LeaveReason.valueOf(in.readUTF())));
+            }
+            data.setMembershipHistory(history);
+            return data;
+        });
+    }
+
+    // === Zone ===
+
+    @NotNull
+    static byte[] encodeZone(@NotNull Zone zone) {
+        return encode(out -> {
+            writeUuid(out, zone.id());
+            out.writeUTF(zone.name());
+            out.writeUTF(zone.type().name());
+            out.writeUTF(zone.world());
+            out.writeInt(zone.chunks().size());
+            for (ChunkKey chunk : zone.chunks()) {
+                out.writeInt(chunk.chunkX());
+                out.writeInt(chunk.chunkZ());
+            }
+            out.writeLong(zone.createdAt());
+            writeUuid(out, zone.createdBy());
+            Map<String, Boolean> flags = zone.flags();
+            out.writeBoolean(flags != null && !flags.isEmpty());
+            if (flags != null && !flags.isEmpty()) {
+                writeFlags(out, flags);
+            }
+        });
+    }
+
+    @NotNull
+    static Zone decodeZone(@NotNull byte[] bytes) {
+        return decode(bytes, in -> {
+            UUID id = readUuid(in);
+            String name = in.readUTF();
+            ZoneType type = ZoneType.valueOf(in.readUTF());
+            String world = in.readUTF();
+            int chunkCount = in.readInt();
+            Set<ChunkKey> chunks = new HashSet<>(chunkCount * 2);
+            for (int i = 0; i < chunkCount; i++) {
+                chunks.add(new ChunkKey(world, in.readInt(), in.readInt()));
+            }
+            long createdAt = in.readLong();
+            UUID createdBy = readUuid(in);
+            Map<String, Boolean> flags = in.readBoolean() ? readFlags(in) : null;
+            return new Zone(id, name, type, world, chunks, createdAt, createdBy, flags);
+        });
+    }
+
+    // === Primitives ===
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Reader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    @NotNull
+    private static byte[] encode(@NotNull Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    @NotNull
+    private static <T> T decode(@NotNull byte[] data, @NotNull Reader<T> reader) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            return reader.read(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Truncated record", e);
+        }
+    }
+
+    private static void writeUuid(@NotNull DataOutputStream out, @NotNull UUID uuid) throws IOException {
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    @NotNull
+    private static UUID readUuid(@NotNull DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    private static void writeNullableUuid(@NotNull DataOutputStream out, @Nullable UUID uuid) throws IOException {
+        out.writeBoolean(uuid != null);
+        if (uuid != null) {
+            writeUuid(out, uuid);
+        }
+    }
+
+    @Nullable
+    private static UUID readNullableUuid(@NotNull DataInputStream in) throws IOException {
+        return in.readBoolean() ? readUuid(in) : null;
+    }
+
+    private static void writeNullableString(@NotNull DataOutputStream out, @Nullable String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    @Nullable
+    private static String readNullableString(@NotNull DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeFlags(@NotNull DataOutputStream out, @NotNull Map<String, Boolean> flags) throws IOException {
+        out.writeInt(flags.size());
+        for (Map.Entry<String, Boolean> entry : flags.entrySet()) {
+            out.writeUTF(entry.getKey());
+            out.writeBoolean(Boolean.TRUE.equals(entry.getValue()));
+        }
+    }
+
+    @NotNull
+    private static Map<String, Boolean> readFlags(@NotNull DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Map<String, Boolean> flags = new HashMap<>(count * 2);
+        for (int i = 0; i < count; i++) {
+            flags.put(in.readUTF(), in.readBoolean());
+        }
+        return flags;
+    }
+}
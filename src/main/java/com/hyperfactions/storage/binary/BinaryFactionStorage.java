@@ -0,0 +1,102 @@
+package com.hyperfactions.storage.binary;
+
+import com.hyperfactions.data.Faction;
+import com.hyperfactions.storage.FactionStorage;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Binary snapshot implementation of FactionStorage.
+ * Stores all factions in one file: data/binary/factions.bin
+ *
+ * @see BinarySnapshot
+ */
+public class BinaryFactionStorage implements FactionStorage {
+
+    private final Path binaryDir;
+    private final BinarySnapshot snapshot;
+
+    /**
+     * Creates binary faction storage.
+     *
+     * @param dataDir      the plugin data directory
+     * @param saveWindowMs how long saves are coalesced before the snapshot is rewritten
+     */
+    public BinaryFactionStorage(@NotNull Path dataDir, long saveWindowMs) {
+        this.binaryDir = dataDir.resolve(BinaryStorage.DIRECTORY);
+        this.snapshot = new BinarySnapshot(binaryDir.resolve(BinaryStorage.FACTIONS_FILE), 'F',
+            "FactionSnapshot", saveWindowMs);
+    }
+
+    @Override
+    public CompletableFuture<Void> init() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.createDirectories(binaryDir);
+            } catch (IOException e) {
+                Logger.severe("Failed to create binary storage directory", e);
+            }
+            int count = snapshot.load();
+            Logger.info("Binary faction storage initialized at %s (%d factions)", snapshot.getFile(), count);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdown() {
+        snapshot.shutdown();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Faction>> loadFaction(@NotNull UUID factionId) {
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] data = snapshot.get(factionId);
+            if (data == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(BinaryCodec.decodeFaction(data));
+            } catch (Exception e) {
+                Logger.severe("Failed to decode faction %s", e, factionId);
+                return Optional.empty();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveFaction(@NotNull Faction faction) {
+        return snapshot.put(faction.id(), BinaryCodec.encodeFaction(faction));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteFaction(@NotNull UUID factionId) {
+        return snapshot.remove(factionId);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Faction>> loadAllFactions() {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Faction> factions = new ArrayList<>(snapshot.size());
+            int failed = 0;
+            for (byte[] data : snapshot.values()) {
+                try {
+                    factions.add(BinaryCodec.decodeFaction(data));
+                } catch (Exception e) {
+                    failed++;
+                    Logger.severe("Failed to decode faction record: %s", e.getMessage());
+                }
+            }
+            if (failed > 0) {
+                Logger.severe("WARNING: %d faction records failed to load!", failed);
+            }
+            Logger.info("Loaded %d/%d factions successfully", factions.size(), factions.size() + failed);
+            return factions;
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.hyperfactions.storage.binary;
+
+import com.hyperfactions.data.PlayerData;
+import com.hyperfactions.data.PlayerPower;
+import com.hyperfactions.storage.PlayerStorage;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Binary snapshot implementation of PlayerStorage.
+ * Stores all player data (power, history, stats) in one file: data/binary/players.bin
+ *
+ * @see BinarySnapshot
+ */
+public class BinaryPlayerStorage implements PlayerStorage {
+
+    private final Path binaryDir;
+    private final BinarySnapshot snapshot;
+
+    /**
+     * Creates binary player storage.
+     *
+     * @param dataDir      the plugin data directory
+     * @param saveWindowMs how long saves are coalesced before the snapshot is rewritten
+     */
+    public BinaryPlayerStorage(@NotNull Path dataDir, long saveWindowMs) {
+        this.binaryDir = dataDir.resolve(BinaryStorage.DIRECTORY);
+        this.snapshot = new BinarySnapshot(binaryDir.resolve(BinaryStorage.PLAYERS_FILE), 'P',
+            "PlayerSnapshot", saveWindowMs);
+    }
+
+    @Override
+    public CompletableFuture<Void> init() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.createDirectories(binaryDir);
+            } catch (IOException e) {
+                Logger.severe("Failed to create binary storage directory", e);
+            }
+            int count = snapshot.load();
+            Logger.info("Binary player storage initialized at %s (%d players)", snapshot.getFile(), count);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdown() {
+        snapshot.shutdown();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Optional<PlayerPower>> loadPlayerPower(@NotNull UUID uuid) {
+        return loadPlayerData(uuid).thenApply(opt -> opt.map(PlayerData::toPower));
+    }
+
+    @Override
+    public CompletableFuture<Void> savePlayerPower(@NotNull PlayerPower power) {
+        // Read-modify-write in one step to preserve history and other fields
+        return snapshot.update(power.uuid(), current -> {
+            PlayerData data = current != null ? BinaryCodec.decodePlayer(current) : new PlayerData(power.uuid());
+            data.updatePower(power);
+            return BinaryCodec.encodePlayer(data);
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePlayerPower(@NotNull UUID uuid) {
+        return snapshot.remove(uuid);
+    }
+
+    @Override
+    public CompletableFuture<Collection<PlayerPower>> loadAllPlayerPower() {
+        return CompletableFuture.supplyAsync(() -> {
+            List<PlayerPower> powers = new ArrayList<>(snapshot.size());
+            int failed = 0;
+            for (byte[] data : snapshot.values()) {
+                try {
+                    powers.add(BinaryCodec.decodePlayer(data).toPower());
+                } catch (Exception e) {
+                    failed++;
+                    Logger.severe("Failed to decode player record: %s", e.getMessage());
+                }
+            }
+            if (failed > 0) {
+                Logger.severe("WARNING: %d player records failed to load!", failed);
+            }
+            Logger.info("Loaded %d/%d player power records successfully", powers.size(), powers.size() + failed);
+            return powers;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<PlayerData>> loadPlayerData(@NotNull UUID uuid) {
+        return CompletableFuture.supplyAsync(() -> {
+            byte[] data = snapshot.get(uuid);
+            if (data == null) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(BinaryCodec.decodePlayer(data));
+            } catch (Exception e) {
+                Logger.severe("Failed to decode player data %s", e, uuid);
+                return Optional.empty();
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> savePlayerData(@NotNull PlayerData data) {
+        return snapshot.put(data.getUuid(), BinaryCodec.encodePlayer(data));
+    }
+}
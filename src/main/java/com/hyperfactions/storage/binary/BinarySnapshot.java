@@ -0,0 +1,315 @@
+package com.hyperfactions.storage.binary;
+
+import com.hyperfactions.storage.StorageHealth;
+import com.hyperfactions.storage.StorageUtils;
+import com.hyperfactions.storage.WriteBehindQueue;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+/**
+ * A versioned binary snapshot file holding encoded records keyed by UUID.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * int    magic ("HFBS")
+ * short  format version
+ * byte   kind (F = factions, P = players, Z = zones)
+ * int    record count
+ * record count x { long uuidMsb, long uuidLsb, int length, byte[length] }
+ * long   CRC32 of everything above
+ * </pre>
+ *
+ * The file is memory-mapped once at {@link #load()} (read into the heap on
+ * Windows) and its records are kept in memory as encoded bytes. Every change schedules a rewrite of the whole
+ * snapshot through a {@link WriteBehindQueue}, so bursts of saves coalesce into
+ * one write. Rewrites go through {@link StorageUtils#writeAtomic(Path, byte[])}
+ * (temp file, checksum verify, .bak, atomic rename), and a file that fails the
+ * CRC check is recovered from its .bak.
+ */
+final class BinarySnapshot {
+
+    static final int MAGIC = 0x48464253; // "HFBS"
+    static final short FORMAT_VERSION = 1;
+
+    private static final String SNAPSHOT_KEY = "snapshot";
+
+    // A mapping keeps the file locked on Windows until GC, which would make the
+    // atomic rename of the next rewrite fail; read into the heap there instead.
+    private static final boolean MAP_FILES = !System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path file;
+    private final byte kind;
+    private final String name;
+    private final Map<UUID, byte[]> records = new ConcurrentHashMap<>();
+    private final WriteBehindQueue<String, Boolean> writeQueue;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param file         the snapshot file
+     * @param kind         record kind tag stored in the header
+     * @param name         name used for thread names and logs
+     * @param saveWindowMs how long changes are coalesced before a rewrite
+     */
+    BinarySnapshot(@NotNull Path file, char kind, @NotNull String name, long saveWindowMs) {
+        this.file = file;
+        this.kind = (byte) kind;
+        this.name = name;
+        this.writeQueue = new WriteBehindQueue<>(name, saveWindowMs, 1, (key, ignored) -> writeNow());
+    }
+
+    @NotNull
+    Path getFile() {
+        return file;
+    }
+
+    // === Loading ===
+
+    /**
+     * Reads the snapshot into memory, recovering from the backup if the file is
+     * missing or fails validation.
+     *
+     * @return the number of records loaded
+     */
+    int load() {
+        records.clear();
+        if (!Files.exists(file) && StorageUtils.hasBackup(file)) {
+            Logger.warn("[%s] Snapshot missing but backup exists, attempting recovery", name);
+            StorageUtils.recoverFromBackup(file);
+        }
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        Map<UUID, byte[]> loaded = read(file, kind);
+        if (loaded == null) {
+            Logger.severe("[%s] Snapshot %s is corrupt, attempting backup recovery", name, file.getFileName());
+            if (StorageUtils.recoverFromBackup(file)) {
+                loaded = read(file, kind);
+            }
+            if (loaded == null) {
+                throw new IllegalStateException("Failed to load snapshot " + file + " and its backup");
+            }
+            Logger.info("[%s] Loaded snapshot from recovered backup", name);
+        }
+        records.putAll(loaded);
+        return records.size();
+    }
+
+    /**
+     * Memory-maps and validates a snapshot file.
+     *
+     * @return the records, or null if the file is invalid
+     */
+    @Nullable
+    static Map<UUID, byte[]> read(@NotNull Path file, byte expectedKind) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 19 || size > Integer.MAX_VALUE) {
+                Logger.warn("[BinarySnapshot] %s has invalid size %d", file.getFileName(), size);
+                return null;
+            }
+            ByteBuffer buf;
+            if (MAP_FILES) {
+                buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                buf = ByteBuffer.allocate((int) size);
+                while (buf.hasRemaining() && channel.read(buf) >= 0) {
+                    // read fully
+                }
+                buf.flip();
+            }
+
+            // Verify checksum over everything but the trailing CRC
+            int bodyLength = (int) size - Long.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buf.duplicate().limit(bodyLength));
+            if (crc.getValue() != buf.getLong(bodyLength)) {
+                Logger.warn("[BinarySnapshot] %s failed CRC check", file.getFileName());
+                return null;
+            }
+
+            if (buf.getInt() != MAGIC) {
+                Logger.warn("[BinarySnapshot] %s is not a snapshot file", file.getFileName());
+                return null;
+            }
+            short version = buf.getShort();
+            if (version != FORMAT_VERSION) {
+                Logger.warn("[BinarySnapshot] %s has unsupported format version %d", file.getFileName(), version);
+                return null;
+            }
+            if (buf.get() != expectedKind) {
+                Logger.warn("[BinarySnapshot] %s holds a different record kind", file.getFileName());
+                return null;
+            }
+
+            int count = buf.getInt();
+            Map<UUID, byte[]> result = new HashMap<>(Math.max(16, count * 2));
+            for (int i = 0; i < count; i++) {
+                UUID id = new UUID(buf.getLong(), buf.getLong());
+                byte[] data = new byte[buf.getInt()];
+                buf.get(data);
+                result.put(id, data);
+            }
+            return result;
+        } catch (IOException | RuntimeException e) {
+            Logger.warn("[BinarySnapshot] Failed to read %s: %s", file.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    // === Records ===
+
+    @Nullable
+    byte[] get(@NotNull UUID id) {
+        return records.get(id);
+    }
+
+    @NotNull
+    Collection<byte[]> values() {
+        return records.values();
+    }
+
+    int size() {
+        return records.size();
+    }
+
+    /**
+     * Stores a record and schedules a rewrite.
+     *
+     * @return a future that completes when a rewrite including this record finishes
+     */
+    @NotNull
+    CompletableFuture<Void> put(@NotNull UUID id, @NotNull byte[] data) {
+        records.put(id, data);
+        return scheduleWrite();
+    }
+
+    /**
+     * Atomically updates a record and schedules a rewrite.
+     *
+     * @param id      the record key
+     * @param updater receives the current bytes (or null) and returns the new bytes
+     * @return a future that completes when a rewrite including this record finishes
+     */
+    @NotNull
+    CompletableFuture<Void> update(@NotNull UUID id, @NotNull UnaryOperator<byte[]> updater) {
+        records.compute(id, (k, current) -> updater.apply(current));
+        return scheduleWrite();
+    }
+
+    /**
+     * Removes a record and schedules a rewrite.
+     */
+    @NotNull
+    CompletableFuture<Void> remove(@NotNull UUID id) {
+        if (records.remove(id) == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return scheduleWrite();
+    }
+
+    /**
+     * Replaces every record and schedules a rewrite.
+     */
+    @NotNull
+    CompletableFuture<Void> replaceAll(@NotNull Map<UUID, byte[]> newRecords) {
+        records.keySet().retainAll(newRecords.keySet());
+        records.putAll(newRecords);
+        return scheduleWrite();
+    }
+
+    @NotNull
+    private CompletableFuture<Void> scheduleWrite() {
+        return writeQueue.submit(SNAPSHOT_KEY, Boolean.TRUE);
+    }
+
+    // === Writing ===
+
+    /**
+     * Encodes the current records into snapshot bytes.
+     */
+    @NotNull
+    static byte[] encode(byte kind, @NotNull Map<UUID, byte[]> records) {
+        List<Map.Entry<UUID, byte[]>> entries = List.copyOf(records.entrySet());
+        int size = 4 + 2 + 1 + 4 + Long.BYTES;
+        for (Map.Entry<UUID, byte[]> entry : entries) {
+            size += 16 + 4 + entry.getValue().length;
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeByte(kind);
+            out.writeInt(entries.size());
+            for (Map.Entry<UUID, byte[]> entry : entries) {
+                out.writeLong(entry.getKey().getMostSignificantBits());
+                out.writeLong(entry.getKey().getLeastSignificantBits());
+                out.writeInt(entry.getValue().length);
+                out.write(entry.getValue());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory write failed", e);
+        }
+
+        byte[] body = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return ByteBuffer.allocate(body.length + Long.BYTES).put(body).putLong(crc.getValue()).array();
+    }
+
+    /**
+     * Rewrites the snapshot file. Runs on the write-behind I/O thread.
+     */
+    private void writeNow() {
+        String filePath = file.toString();
+        try {
+            StorageUtils.WriteResult result = StorageUtils.writeAtomic(file, encode(kind, records));
+            if (result instanceof StorageUtils.WriteResult.Success success) {
+                StorageHealth.get().recordSuccess(filePath);
+                Logger.debug("[%s] Saved %d records (checksum: %s)", name, records.size(), success.checksum().substring(0, 8));
+            } else if (result instanceof StorageUtils.WriteResult.Failure failure) {
+                StorageHealth.get().recordFailure(filePath, failure.error());
+                Logger.severe("[%s] Failed to save snapshot: %s", name, failure.error());
+            }
+        } catch (Exception e) {
+            StorageHealth.get().recordFailure(filePath, e.getMessage());
+            Logger.severe("[%s] Failed to save snapshot", e, name);
+        }
+    }
+
+    /**
+     * Flushes any pending rewrite now.
+     */
+    @NotNull
+    CompletableFuture<Void> flush() {
+        return writeQueue.flushAll();
+    }
+
+    /**
+     * Flushes pending changes and stops the I/O thread.
+     */
+    void shutdown() {
+        writeQueue.shutdown();
+    }
+}
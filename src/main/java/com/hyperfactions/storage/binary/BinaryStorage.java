@@ -0,0 +1,77 @@
+package com.hyperfactions.storage.binary;
+
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * File layout of the binary snapshot backend and helpers for switching backends.
+ *
+ * <pre>
+ * data/binary/factions.bin
+ * data/binary/players.bin
+ * data/binary/zones.bin
+ * </pre>
+ */
+public final class BinaryStorage {
+
+    /** Backend name in config ({@code storage.backend}). */
+    public static final String BACKEND = "binary";
+
+    static final String DIRECTORY = "binary";
+    static final String FACTIONS_FILE = "factions.bin";
+    static final String PLAYERS_FILE = "players.bin";
+    static final String ZONES_FILE = "zones.bin";
+
+    /** Where snapshots are moved after converting back to JSON. */
+    private static final String RETIRED_DIRECTORY = "binary.old";
+
+    private BinaryStorage() {}
+
+    /**
+     * Checks whether binary snapshots exist in a data directory.
+     *
+     * @param dataDir the plugin data directory
+     * @return true if any snapshot (or its backup) exists
+     */
+    public static boolean exists(@NotNull Path dataDir) {
+        Path dir = dataDir.resolve(DIRECTORY);
+        for (String file : new String[]{FACTIONS_FILE, PLAYERS_FILE, ZONES_FILE}) {
+            if (Files.exists(dir.resolve(file)) || Files.exists(dir.resolve(file + ".bak"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Moves the snapshot directory aside after its data was converted back to JSON,
+     * so it is not converted again and a later switch to binary starts from JSON.
+     * Replaces any previously retired directory.
+     *
+     * @param dataDir the plugin data directory
+     */
+    public static void retire(@NotNull Path dataDir) {
+        Path dir = dataDir.resolve(DIRECTORY);
+        Path retired = dataDir.resolve(RETIRED_DIRECTORY);
+        try {
+            if (Files.exists(retired)) {
+                try (Stream<Path> walk = Files.walk(retired)) {
+                    for (Path p : walk.sorted(Comparator.reverseOrder()).toList()) {
+                        Files.delete(p);
+                    }
+                }
+            }
+            Files.move(dir, retired, StandardCopyOption.ATOMIC_MOVE);
+            Logger.info("Moved binary snapshots to %s", retired);
+        } catch (IOException e) {
+            Logger.severe("Failed to move binary snapshots aside", e);
+        }
+    }
+}
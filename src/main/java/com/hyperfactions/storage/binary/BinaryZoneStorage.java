@@ -0,0 +1,79 @@
+package com.hyperfactions.storage.binary;
+
+import com.hyperfactions.data.Zone;
+import com.hyperfactions.storage.ZoneStorage;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Binary snapshot implementation of ZoneStorage.
+ * Stores all zones in one file: data/binary/zones.bin
+ *
+ * @see BinarySnapshot
+ */
+public class BinaryZoneStorage implements ZoneStorage {
+
+    private final Path binaryDir;
+    private final BinarySnapshot snapshot;
+
+    /**
+     * Creates binary zone storage.
+     *
+     * @param dataDir the plugin data directory
+     */
+    public BinaryZoneStorage(@NotNull Path dataDir) {
+        this.binaryDir = dataDir.resolve(BinaryStorage.DIRECTORY);
+        // Zones are saved as a whole set, so there is nothing to coalesce
+        this.snapshot = new BinarySnapshot(binaryDir.resolve(BinaryStorage.ZONES_FILE), 'Z', "ZoneSnapshot", 0);
+    }
+
+    @Override
+    public CompletableFuture<Void> init() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                Files.createDirectories(binaryDir);
+            } catch (IOException e) {
+                Logger.severe("Failed to create binary storage directory", e);
+            }
+            snapshot.load();
+            Logger.info("Zone storage initialized");
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdown() {
+        snapshot.shutdown();
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Collection<Zone>> loadAllZones() {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Zone> zones = new ArrayList<>(snapshot.size());
+            for (byte[] data : snapshot.values()) {
+                try {
+                    zones.add(BinaryCodec.decodeZone(data));
+                } catch (Exception e) {
+                    Logger.severe("Failed to decode zone record: %s", e.getMessage());
+                }
+            }
+            Logger.info("Loaded %d zones", zones.size());
+            return zones;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAllZones(@NotNull Collection<Zone> zones) {
+        Map<UUID, byte[]> records = new HashMap<>(zones.size() * 2);
+        for (Zone zone : zones) {
+            records.put(zone.id(), BinaryCodec.encodeZone(zone));
+        }
+        return snapshot.replaceAll(records);
+    }
+}
@@ -0,0 +1,194 @@
+package com.hyperfactions.storage.json;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Loads every JSON file in a directory in parallel, for startup.
+ *
+ * Files are listed once, then read and decoded on a bounded pool of daemon
+ * threads. Each file is parsed straight from its {@link FileChannel} through a
+ * streaming {@link JsonReader}, without first reading it into a String.
+ * Per-phase timing is logged when the load finishes:
+ * <ul>
+ *   <li>{@code listing} - wall time to list the directory</li>
+ *   <li>{@code read} - time spent reading files into JSON trees, summed over threads</li>
+ *   <li>{@code parse} - time spent decoding JSON trees into models, summed over threads</li>
+ * </ul>
+ */
+final class JsonBulkLoader {
+
+    /** Upper bound for the automatic thread count; beyond this the disk is the limit. */
+    private static final int MAX_AUTO_THREADS = 8;
+
+    private JsonBulkLoader() {}
+
+    /**
+     * Result of a bulk load. {@code loaded} is in directory listing order.
+     */
+    record Result<T>(@NotNull List<T> loaded, @NotNull List<String> failedFiles, int totalFiles) {}
+
+    /**
+     * Loads and decodes every {@code *.json} file in a directory.
+     * A file that fails to read or decode is logged and listed in
+     * {@link Result#failedFiles()}; the rest still load.
+     *
+     * @param dir     the directory to load
+     * @param what    what the files hold, for log messages (e.g. "faction")
+     * @param threads worker threads; 0 picks one per core, up to {@value #MAX_AUTO_THREADS}
+     * @param decoder turns a file's JSON object into a model
+     * @param <T>     model type
+     * @return the decoded models and failures
+     * @throws IOException if the directory cannot be listed
+     */
+    @NotNull
+    static <T> Result<T> loadAll(@NotNull Path dir, @NotNull String what, int threads,
+                                 @NotNull Function<JsonObject, T> decoder) throws IOException {
+        long start = System.nanoTime();
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        long listingNanos = System.nanoTime() - start;
+        return load(files, what, threads, decoder, start, listingNanos);
+    }
+
+    /**
+     * Loads and decodes the given JSON files. Files that do not exist are
+     * skipped without being counted.
+     *
+     * @param files   the files to load
+     * @param what    what the files hold, for log messages (e.g. "player")
+     * @param threads worker threads; 0 picks one per core, up to {@value #MAX_AUTO_THREADS}
+     * @param decoder turns a file's JSON object into a model
+     * @param <T>     model type
+     * @return the decoded models (in the given order) and failures
+     * @throws IOException if interrupted while waiting for the loads
+     */
+    @NotNull
+    static <T> Result<T> loadFiles(@NotNull Collection<Path> files, @NotNull String what, int threads,
+                                   @NotNull Function<JsonObject, T> decoder) throws IOException {
+        long start = System.nanoTime();
+        List<Path> existing = new ArrayList<>(files.size());
+        for (Path file : files) {
+            if (Files.exists(file)) {
+                existing.add(file);
+            }
+        }
+        return load(existing, what, threads, decoder, start, System.nanoTime() - start);
+    }
+
+    @NotNull
+    private static <T> Result<T> load(@NotNull List<Path> files, @NotNull String what, int threads,
+                                      @NotNull Function<JsonObject, T> decoder,
+                                      long start, long listingNanos) throws IOException {
+        int poolSize = Math.max(1, Math.min(resolveThreads(threads), files.size()));
+        AtomicLong readNanos = new AtomicLong();
+        AtomicLong parseNanos = new AtomicLong();
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread t = new Thread(r, "HyperFactions-Loader-" + threadIndex.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        List<T> loaded = new ArrayList<>(files.size());
+        List<String> failedFiles = new ArrayList<>();
+        try {
+            List<Future<T>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(pool.submit(() -> {
+                    long readStart = System.nanoTime();
+                    JsonObject obj = readObject(file);
+                    long parseStart = System.nanoTime();
+                    readNanos.addAndGet(parseStart - readStart);
+                    T value = decoder.apply(obj);
+                    parseNanos.addAndGet(System.nanoTime() - parseStart);
+                    return value;
+                }));
+            }
+
+            for (int i = 0; i < files.size(); i++) {
+                Path file = files.get(i);
+                try {
+                    loaded.add(futures.get(i).get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    failedFiles.add(file.getFileName().toString());
+                    Logger.severe("Failed to load %s file %s: %s", what, file.getFileName(), cause.getMessage());
+                    // Log full stack trace for debugging
+                    Logger.debug("Stack trace for %s: %s", file.getFileName(), cause.toString());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Interrupted while loading " + what + " files", e);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Logger.info("%s load timing: %d files in %dms on %d threads (listing %dms, read %dms, parse %dms)",
+            capitalize(what), files.size(), millis(System.nanoTime() - start), poolSize,
+            millis(listingNanos), millis(readNanos.get()), millis(parseNanos.get()));
+        return new Result<>(loaded, failedFiles, files.size());
+    }
+
+    /**
+     * Parses a JSON object from a file through a streaming reader over its channel.
+     *
+     * @param file the file
+     * @return the root object
+     * @throws IOException if the file cannot be read
+     */
+    @NotNull
+    static JsonObject readObject(@NotNull Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8);
+             JsonReader json = new JsonReader(reader)) {
+            return JsonParser.parseReader(json).getAsJsonObject();
+        }
+    }
+
+    private static int resolveThreads(int threads) {
+        if (threads > 0) {
+            return threads;
+        }
+        return Math.min(Runtime.getRuntime().availableProcessors(), MAX_AUTO_THREADS);
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    @NotNull
+    private static String capitalize(@NotNull String s) {
+        return s.isEmpty() ? s : Character.toUpperCase(s.charAt(0)) + s.substring(1);
+    }
+}
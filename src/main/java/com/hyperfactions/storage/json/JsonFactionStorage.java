@@ -5,16 +5,15 @@ import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.hyperfactions.data.*;
 import com.hyperfactions.storage.FactionStorage;
 import com.hyperfactions.storage.StorageHealth;
 import com.hyperfactions.storage.StorageUtils;
+import com.hyperfactions.storage.WriteBehindQueue;
 import com.hyperfactions.util.Logger;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
@@ -23,20 +22,44 @@ import java.util.concurrent.CompletableFuture;
 /**
  * JSON file-based implementation of FactionStorage.
  * Stores each faction in its own file: data/factions/{uuid}.json
+ *
+ * Saves go through a {@link WriteBehindQueue}: repeated saves of the same faction
+ * within the coalescing window become one write of the latest state, performed on
+ * dedicated I/O threads. Pending writes are flushed on {@link #shutdown()}.
  */
 public class JsonFactionStorage implements FactionStorage {
 
+    public static final long DEFAULT_SAVE_WINDOW_MS = 500;
+    public static final int DEFAULT_IO_THREADS = 2;
+
     private final Path dataDir;
     private final Path factionsDir;
     private final Gson gson;
+    private final WriteBehindQueue<UUID, Faction> writeQueue;
+    private final int loadThreads;
 
     public JsonFactionStorage(@NotNull Path dataDir) {
+        this(dataDir, DEFAULT_SAVE_WINDOW_MS, DEFAULT_IO_THREADS, 0);
+    }
+
+    /**
+     * Creates faction storage with explicit write-behind and load settings.
+     *
+     * @param dataDir      the plugin data directory
+     * @param saveWindowMs how long repeated saves of one faction are coalesced
+     * @param ioThreads    number of dedicated I/O threads
+     * @param loadThreads  threads for {@link #loadAllFactions()} (0 = one per core, up to 8)
+     */
+    public JsonFactionStorage(@NotNull Path dataDir, long saveWindowMs, int ioThreads, int loadThreads) {
         this.dataDir = dataDir;
+        this.loadThreads = loadThreads;
         this.factionsDir = dataDir.resolve("factions");
         this.gson = new GsonBuilder()
             .setPrettyPrinting()
             .disableHtmlEscaping()
             .create();
+        this.writeQueue = new WriteBehindQueue<>("FactionStorage", saveWindowMs, ioThreads,
+            (id, faction) -> writeFaction(faction));
     }
 
     @Override
@@ -55,12 +78,24 @@ public class JsonFactionStorage implements FactionStorage {
 
     @Override
     public CompletableFuture<Void> shutdown() {
+        writeQueue.shutdown();
         return CompletableFuture.completedFuture(null);
     }
 
+    /**
+     * Gets the write-behind queue (for stats display).
+     *
+     * @return the write queue
+     */
+    @NotNull
+    public WriteBehindQueue<UUID, Faction> getWriteQueue() {
+        return writeQueue;
+    }
+
     @Override
     public CompletableFuture<Optional<Faction>> loadFaction(@NotNull UUID factionId) {
-        return CompletableFuture.supplyAsync(() -> {
+        // Pending saves are newer than the file on disk
+        return writeQueue.flushAll().thenApplyAsync(v -> {
             Path file = factionsDir.resolve(factionId + ".json");
             if (!Files.exists(file)) {
                 // Check if there's a backup we can recover from
@@ -77,16 +112,14 @@ public class JsonFactionStorage implements FactionStorage {
             }
 
             try {
-                String json = Files.readString(file);
-                JsonObject obj = JsonParser.parseString(json).getAsJsonObject();
+                JsonObject obj = JsonBulkLoader.readObject(file);
                 return Optional.of(deserializeFaction(obj));
             } catch (Exception e) {
                 Logger.severe("Failed to load faction %s, attempting backup recovery", e, factionId);
                 // Attempt backup recovery on parse failure
                 if (StorageUtils.recoverFromBackup(file)) {
                     try {
-                        String json = Files.readString(file);
-                        JsonObject obj = JsonParser.parseString(json).getAsJsonObject();
+                        JsonObject obj = JsonBulkLoader.readObject(file);
                         Logger.info("Successfully loaded faction %s from recovered backup", factionId);
                         return Optional.of(deserializeFaction(obj));
                     } catch (Exception e2) {
@@ -100,34 +133,40 @@ public class JsonFactionStorage implements FactionStorage {
 
     @Override
     public CompletableFuture<Void> saveFaction(@NotNull Faction faction) {
-        return CompletableFuture.runAsync(() -> {
-            Path file = factionsDir.resolve(faction.id() + ".json");
-            String filePath = file.toString();
+        return writeQueue.submit(faction.id(), faction);
+    }
 
-            try {
-                JsonObject obj = serializeFaction(faction);
-                String content = gson.toJson(obj);
-
-                // Use atomic write for bulletproof data protection
-                StorageUtils.WriteResult result = StorageUtils.writeAtomic(file, content);
-
-                if (result instanceof StorageUtils.WriteResult.Success success) {
-                    StorageHealth.get().recordSuccess(filePath);
-                    Logger.debug("Saved faction %s (checksum: %s)", faction.name(), success.checksum().substring(0, 8));
-                } else if (result instanceof StorageUtils.WriteResult.Failure failure) {
-                    StorageHealth.get().recordFailure(filePath, failure.error());
-                    Logger.severe("Failed to save faction %s: %s", faction.name(), failure.error());
-                }
-            } catch (Exception e) {
-                StorageHealth.get().recordFailure(filePath, e.getMessage());
-                Logger.severe("Failed to save faction %s", e, faction.name());
+    /**
+     * Serializes and atomically writes a faction. Runs on a write-behind I/O thread.
+     */
+    private void writeFaction(@NotNull Faction faction) {
+        Path file = factionsDir.resolve(faction.id() + ".json");
+        String filePath = file.toString();
+
+        try {
+            JsonObject obj = serializeFaction(faction);
+            String content = gson.toJson(obj);
+
+            // Use atomic write for bulletproof data protection
+            StorageUtils.WriteResult result = StorageUtils.writeAtomic(file, content);
+
+            if (result instanceof StorageUtils.WriteResult.Success success) {
+                StorageHealth.get().recordSuccess(filePath);
+                Logger.debug("Saved faction %s (checksum: %s)", faction.name(), success.checksum().substring(0, 8));
+            } else if (result instanceof StorageUtils.WriteResult.Failure failure) {
+                StorageHealth.get().recordFailure(filePath, failure.error());
+                Logger.severe("Failed to save faction %s: %s", faction.name(), failure.error());
             }
-        });
+        } catch (Exception e) {
+            StorageHealth.get().recordFailure(filePath, e.getMessage());
+            Logger.severe("Failed to save faction %s", e, faction.name());
+        }
     }
 
     @Override
     public CompletableFuture<Void> deleteFaction(@NotNull UUID factionId) {
-        return CompletableFuture.runAsync(() -> {
+        // Drop any pending save first so a delayed write can't recreate the file
+        return writeQueue.cancelAndRun(factionId, () -> {
             Path file = factionsDir.resolve(factionId + ".json");
             // Delete both the main file and its backup
             StorageUtils.deleteWithBackup(file);
@@ -136,34 +175,23 @@ public class JsonFactionStorage implements FactionStorage {
 
     @Override
     public CompletableFuture<Collection<Faction>> loadAllFactions() {
-        return CompletableFuture.supplyAsync(() -> {
-            List<Faction> factions = new ArrayList<>();
-            List<String> failedFiles = new ArrayList<>();
-            int totalFiles = 0;
-
+        // Pending saves are newer than the files on disk
+        return writeQueue.flushAll().thenApplyAsync(v -> {
             if (!Files.exists(factionsDir)) {
                 Logger.info("Factions directory does not exist yet, no factions to load");
-                return factions;
+                return new ArrayList<>();
             }
 
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(factionsDir, "*.json")) {
-                for (Path file : stream) {
-                    totalFiles++;
-                    try {
-                        String json = Files.readString(file);
-                        JsonObject obj = JsonParser.parseString(json).getAsJsonObject();
-                        factions.add(deserializeFaction(obj));
-                    } catch (Exception e) {
-                        failedFiles.add(file.getFileName().toString());
-                        Logger.severe("Failed to load faction file %s: %s", file.getFileName(), e.getMessage());
-                        // Log full stack trace for debugging
-                        Logger.debug("Stack trace for %s: %s", file.getFileName(), e.toString());
-                    }
-                }
+            JsonBulkLoader.Result<Faction> result;
+            try {
+                result = JsonBulkLoader.loadAll(factionsDir, "faction", loadThreads, this::deserializeFaction);
             } catch (IOException e) {
                 Logger.severe("CRITICAL: Failed to read factions directory - data may be lost!", e);
                 throw new RuntimeException("Failed to read factions directory", e);
             }
+            List<Faction> factions = result.loaded();
+            List<String> failedFiles = result.failedFiles();
+            int totalFiles = result.totalFiles();
 
             // Report loading results
             if (!failedFiles.isEmpty()) {
@@ -4,7 +4,6 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 import com.hyperfactions.data.FactionRole;
 import com.hyperfactions.data.MembershipRecord;
 import com.hyperfactions.data.PlayerData;
@@ -16,7 +15,6 @@ import com.hyperfactions.util.Logger;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
@@ -34,9 +32,21 @@ public class JsonPlayerStorage implements PlayerStorage {
     private final Path dataDir;
     private final Path playersDir;
     private final Gson gson;
+    private final int loadThreads;
 
     public JsonPlayerStorage(@NotNull Path dataDir) {
+        this(dataDir, 0);
+    }
+
+    /**
+     * Creates player storage with an explicit load thread count.
+     *
+     * @param dataDir     the plugin data directory
+     * @param loadThreads threads for {@link #loadAllPlayerPower()} (0 = one per core, up to 8)
+     */
+    public JsonPlayerStorage(@NotNull Path dataDir, int loadThreads) {
         this.dataDir = dataDir;
+        this.loadThreads = loadThreads;
         this.playersDir = dataDir.resolve("players");
         this.gson = new GsonBuilder()
             .setPrettyPrinting()
@@ -111,31 +121,23 @@ public class JsonPlayerStorage implements PlayerStorage {
     @Override
     public CompletableFuture<Collection<PlayerPower>> loadAllPlayerPower() {
         return CompletableFuture.supplyAsync(() -> {
-            List<PlayerPower> powers = new ArrayList<>();
-            List<String> failedFiles = new ArrayList<>();
-            int totalFiles = 0;
-
             if (!Files.exists(playersDir)) {
                 Logger.info("Players directory does not exist yet, no player power to load");
-                return powers;
+                return new ArrayList<>();
             }
 
-            try (DirectoryStream<Path> stream = Files.newDirectoryStream(playersDir, "*.json")) {
-                for (Path file : stream) {
-                    totalFiles++;
-                    try {
-                        String json = Files.readString(file);
-                        JsonObject obj = JsonParser.parseString(json).getAsJsonObject();
-                        powers.add(deserializePlayerData(obj).toPower());
-                    } catch (Exception e) {
-                        failedFiles.add(file.getFileName().toString());
-                        Logger.severe("Failed to load player file %s: %s", file.getFileName(), e.getMessage());
-                    }
-                }
+            // Only power is kept, so decode straight to PlayerPower
+            JsonBulkLoader.Result<PlayerPower> result;
+            try {
+                result = JsonBulkLoader.loadAll(playersDir, "player", loadThreads,
+                    obj -> deserializePlayerData(obj).toPower());
             } catch (IOException e) {
                 Logger.severe("CRITICAL: Failed to read players directory - data may be lost!", e);
                 throw new RuntimeException("Failed to read players directory", e);
             }
+            List<PlayerPower> powers = result.loaded();
+            List<String> failedFiles = result.failedFiles();
+            int totalFiles = result.totalFiles();
 
             // Report loading results
             if (!failedFiles.isEmpty()) {
@@ -148,6 +150,27 @@ public class JsonPlayerStorage implements PlayerStorage {
         });
     }
 
+    @Override
+    public CompletableFuture<Collection<PlayerPower>> loadPlayerPowers(@NotNull Collection<UUID> uuids) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Path> files = new ArrayList<>(uuids.size());
+            for (UUID uuid : uuids) {
+                files.add(playersDir.resolve(uuid + ".json"));
+            }
+            try {
+                JsonBulkLoader.Result<PlayerPower> result = JsonBulkLoader.loadFiles(files, "player", loadThreads,
+                    obj -> deserializePlayerData(obj).toPower());
+                if (!result.failedFiles().isEmpty()) {
+                    Logger.severe("WARNING: %d of %d player files failed to load: %s",
+                        result.failedFiles().size(), result.totalFiles(), String.join(", ", result.failedFiles()));
+                }
+                return result.loaded();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load player files", e);
+            }
+        });
+    }
+
     @Override
     public CompletableFuture<Optional<PlayerData>> loadPlayerData(@NotNull UUID uuid) {
         return CompletableFuture.supplyAsync(() -> Optional.ofNullable(loadPlayerDataSync(uuid)));
@@ -196,15 +219,13 @@ public class JsonPlayerStorage implements PlayerStorage {
         }
 
         try {
-            String json = Files.readString(file);
-            JsonObject obj = JsonParser.parseString(json).getAsJsonObject();
+            JsonObject obj = JsonBulkLoader.readObject(file);
             return deserializePlayerData(obj);
         } catch (Exception e) {
             Logger.severe("Failed to load player data %s, attempting backup recovery", e, uuid);
             if (StorageUtils.recoverFromBackup(file)) {
                 try {
-                    String json = Files.readString(file);
-                    JsonObject obj = JsonParser.parseString(json).getAsJsonObject();
+                    JsonObject obj = JsonBulkLoader.readObject(file);
                     Logger.info("Successfully loaded player data %s from recovered backup", uuid);
                     return deserializePlayerData(obj);
                 } catch (Exception e2) {
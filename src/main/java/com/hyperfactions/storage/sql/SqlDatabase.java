@@ -0,0 +1,429 @@
+package com.hyperfactions.storage.sql;
+
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Embedded H2 database shared by the SQL storage backend.
+ *
+ * <pre>
+ * data/hyperfactions.mv.db
+ * </pre>
+ *
+ * The database runs in-process from a local file; no server is involved. All
+ * statements run on a single "HyperFactions-SQL" thread over one connection,
+ * so callers never contend for the connection and writes are applied in the
+ * order they were submitted. Writes run in a transaction each.
+ *
+ * <p>Schema (version {@value #SCHEMA_VERSION}):
+ * <ul>
+ *   <li>{@code factions} with one row per faction (home columns inline)</li>
+ *   <li>{@code faction_members}, {@code faction_claims}, {@code faction_relations},
+ *       {@code faction_logs}, {@code faction_permissions} keyed by faction</li>
+ *   <li>{@code players} (power and stats) and {@code player_history}</li>
+ *   <li>{@code zones}, {@code zone_chunks}, {@code zone_flags}</li>
+ * </ul>
+ */
+public final class SqlDatabase {
+
+    /** Backend name in config ({@code storage.backend}). */
+    public static final String BACKEND = "sql";
+
+    /** Current schema version, stored in {@code schema_version}. */
+    public static final int SCHEMA_VERSION = 1;
+
+    /** Database name; H2 appends {@code .mv.db}. */
+    private static final String DATABASE_NAME = "hyperfactions";
+    private static final String DATABASE_FILE = DATABASE_NAME + ".mv.db";
+
+    /** Where the database is moved after converting back to another backend. */
+    private static final String RETIRED_FILE = DATABASE_FILE + ".old";
+
+    private static final String[] SCHEMA = {
+        "CREATE TABLE IF NOT EXISTS schema_version (version INT NOT NULL)",
+        """
+        CREATE TABLE IF NOT EXISTS factions (
+            id UUID PRIMARY KEY,
+            name VARCHAR NOT NULL,
+            description VARCHAR,
+            tag VARCHAR,
+            color VARCHAR NOT NULL,
+            created_at BIGINT NOT NULL,
+            open BOOLEAN NOT NULL,
+            home_world VARCHAR,
+            home_x DOUBLE PRECISION,
+            home_y DOUBLE PRECISION,
+            home_z DOUBLE PRECISION,
+            home_yaw REAL,
+            home_pitch REAL,
+            home_set_at BIGINT,
+            home_set_by UUID,
+            has_permissions BOOLEAN NOT NULL
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS faction_members (
+            faction_id UUID NOT NULL REFERENCES factions(id) ON DELETE CASCADE,
+            player_uuid UUID NOT NULL,
+            username VARCHAR NOT NULL,
+            role VARCHAR NOT NULL,
+            joined_at BIGINT NOT NULL,
+            last_online BIGINT NOT NULL,
+            PRIMARY KEY (faction_id, player_uuid)
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS faction_claims (
+            faction_id UUID NOT NULL REFERENCES factions(id) ON DELETE CASCADE,
+            world VARCHAR NOT NULL,
+            chunk_x INT NOT NULL,
+            chunk_z INT NOT NULL,
+            claimed_at BIGINT NOT NULL,
+            claimed_by UUID NOT NULL,
+            PRIMARY KEY (faction_id, world, chunk_x, chunk_z)
+        )""",
+        "CREATE INDEX IF NOT EXISTS idx_claims_chunk ON faction_claims (world, chunk_x, chunk_z)",
+        """
+        CREATE TABLE IF NOT EXISTS faction_relations (
+            faction_id UUID NOT NULL REFERENCES factions(id) ON DELETE CASCADE,
+            target_id UUID NOT NULL,
+            type VARCHAR NOT NULL,
+            since BIGINT NOT NULL,
+            PRIMARY KEY (faction_id, target_id)
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS faction_logs (
+            faction_id UUID NOT NULL REFERENCES factions(id) ON DELETE CASCADE,
+            seq INT NOT NULL,
+            type VARCHAR NOT NULL,
+            message VARCHAR NOT NULL,
+            logged_at BIGINT NOT NULL,
+            actor_uuid UUID,
+            PRIMARY KEY (faction_id, seq)
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS faction_permissions (
+            faction_id UUID NOT NULL REFERENCES factions(id) ON DELETE CASCADE,
+            flag VARCHAR NOT NULL,
+            enabled BOOLEAN NOT NULL,
+            PRIMARY KEY (faction_id, flag)
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS players (
+            uuid UUID PRIMARY KEY,
+            username VARCHAR,
+            power DOUBLE PRECISION NOT NULL,
+            max_power DOUBLE PRECISION NOT NULL,
+            last_death BIGINT NOT NULL,
+            last_regen BIGINT NOT NULL,
+            kills INT NOT NULL,
+            deaths INT NOT NULL,
+            first_joined BIGINT NOT NULL,
+            last_online BIGINT NOT NULL
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS player_history (
+            player_uuid UUID NOT NULL REFERENCES players(uuid) ON DELETE CASCADE,
+            seq INT NOT NULL,
+            faction_id UUID NOT NULL,
+            faction_name VARCHAR NOT NULL,
+            faction_tag VARCHAR,
+            highest_role VARCHAR NOT NULL,
+            joined_at BIGINT NOT NULL,
+            left_at BIGINT NOT NULL,
+            reason VARCHAR NOT NULL,
+            PRIMARY KEY (player_uuid, seq)
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS zones (
+            id UUID PRIMARY KEY,
+            name VARCHAR NOT NULL,
+            type VARCHAR NOT NULL,
+            world VARCHAR NOT NULL,
+            created_at BIGINT NOT NULL,
+            created_by UUID NOT NULL
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS zone_chunks (
+            zone_id UUID NOT NULL REFERENCES zones(id) ON DELETE CASCADE,
+            chunk_x INT NOT NULL,
+            chunk_z INT NOT NULL,
+            PRIMARY KEY (zone_id, chunk_x, chunk_z)
+        )""",
+        """
+        CREATE TABLE IF NOT EXISTS zone_flags (
+            zone_id UUID NOT NULL REFERENCES zones(id) ON DELETE CASCADE,
+            flag VARCHAR NOT NULL,
+            enabled BOOLEAN NOT NULL,
+            PRIMARY KEY (zone_id, flag)
+        )"""
+    };
+
+    /**
+     * Work run against the open connection.
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Connection connection) throws SQLException;
+    }
+
+    private final Path dataDir;
+    private final ExecutorService executor;
+    private Connection connection;
+    private int openCount;
+
+    /**
+     * Creates a database handle. Nothing is opened until {@link #open()}.
+     *
+     * @param dataDir the plugin data directory
+     */
+    public SqlDatabase(@NotNull Path dataDir) {
+        this.dataDir = dataDir;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "HyperFactions-SQL");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Opens the database and creates or checks the schema.
+     * The faction, player, and zone storages share one handle; each calls this
+     * from its init and {@link #close()} from its shutdown, and the connection
+     * stays open until the last one closes.
+     *
+     * @return a future that completes when the database is ready
+     */
+    public CompletableFuture<Void> open() {
+        return CompletableFuture.runAsync(() -> {
+            if (openCount++ > 0) {
+                return;
+            }
+            try {
+                Files.createDirectories(dataDir);
+                Properties props = new Properties();
+                props.setProperty("user", "sa");
+                props.setProperty("password", "");
+                // Connect through the driver directly: DriverManager does not see
+                // drivers loaded by the plugin class loader
+                connection = new org.h2.Driver().connect(
+                    "jdbc:h2:file:" + dataDir.resolve(DATABASE_NAME).toAbsolutePath() + ";DB_CLOSE_ON_EXIT=FALSE", props);
+                connection.setAutoCommit(false);
+                createSchema();
+                Logger.info("SQL database opened at %s", dataDir.resolve(DATABASE_FILE));
+            } catch (IOException | SQLException e) {
+                openCount = 0;
+                throw new CompletionException("Failed to open SQL database", e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Releases one {@link #open()}. The last release waits for queued work,
+     * closes the connection, and stops the database thread.
+     *
+     * @return a future that completes when the handle is released
+     */
+    public CompletableFuture<Void> close() {
+        if (executor.isShutdown()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Boolean> released = CompletableFuture.supplyAsync(() -> {
+            if (openCount == 0 || --openCount > 0) {
+                return false;
+            }
+            try {
+                connection.close();
+                Logger.info("SQL database closed");
+            } catch (SQLException e) {
+                Logger.severe("Failed to close SQL database", e);
+            }
+            connection = null;
+            return true;
+        }, executor);
+        // Stop the thread from outside it, after the close task has finished
+        return released.thenAcceptAsync(last -> {
+            if (!last) {
+                return;
+            }
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Runs read-only work on the database thread.
+     *
+     * @param work the work
+     * @param <T>  result type
+     * @return a future with the result, failing with the {@link SQLException} if one is thrown
+     */
+    public <T> CompletableFuture<T> query(@NotNull SqlWork<T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                T result = work.run(requireConnection());
+                connection.commit();
+                return result;
+            } catch (SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Runs work on the database thread in one transaction, rolling back on failure.
+     *
+     * @param work the work
+     * @return a future that completes when the transaction is committed
+     */
+    public CompletableFuture<Void> transaction(@NotNull SqlWork<?> work) {
+        return transaction(work, () -> {});
+    }
+
+    /**
+     * Runs work on the database thread in one transaction, rolling back on failure.
+     * {@code onRollback} runs on the database thread before any later work, so
+     * callers can drop state they updated inside {@code work}.
+     *
+     * @param work       the work
+     * @param onRollback called after a rollback
+     * @return a future that completes when the transaction is committed
+     */
+    public CompletableFuture<Void> transaction(@NotNull SqlWork<?> work, @NotNull Runnable onRollback) {
+        return CompletableFuture.runAsync(() -> {
+            Connection conn = requireConnection();
+            try {
+                work.run(conn);
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                onRollback.run();
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Copies the database file to a stream, e.g. into a backup archive.
+     * Runs on the database thread after a checkpoint, so no write lands mid-copy.
+     *
+     * @param out the stream to copy into (left open)
+     * @return a future that completes when the file is copied
+     */
+    public CompletableFuture<Void> copyTo(@NotNull OutputStream out) {
+        return CompletableFuture.runAsync(() -> {
+            try (Statement stmt = requireConnection().createStatement()) {
+                stmt.execute("CHECKPOINT SYNC");
+                Files.copy(dataDir.resolve(DATABASE_FILE), out);
+            } catch (IOException | SQLException e) {
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /**
+     * Gets the database file name inside the data directory.
+     *
+     * @return the file name
+     */
+    @NotNull
+    public static String fileName() {
+        return DATABASE_FILE;
+    }
+
+    @NotNull
+    private Connection requireConnection() {
+        if (connection == null) {
+            throw new IllegalStateException("SQL database is not open");
+        }
+        return connection;
+    }
+
+    private void createSchema() throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            for (String ddl : SCHEMA) {
+                stmt.execute(ddl);
+            }
+            int version = 0;
+            try (ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+                if (rs.next()) {
+                    version = rs.getInt(1);
+                }
+            }
+            if (version > SCHEMA_VERSION) {
+                throw new SQLException("Database schema v" + version + " is newer than supported v" + SCHEMA_VERSION);
+            }
+            if (version < SCHEMA_VERSION) {
+                stmt.executeUpdate("DELETE FROM schema_version");
+                stmt.executeUpdate("INSERT INTO schema_version (version) VALUES (" + SCHEMA_VERSION + ")");
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * Checks whether the database file exists in a data directory.
+     *
+     * @param dataDir the plugin data directory
+     * @return true if the database exists
+     */
+    public static boolean exists(@NotNull Path dataDir) {
+        return Files.exists(dataDir.resolve(DATABASE_FILE));
+    }
+
+    /**
+     * Moves the database file aside after its data was converted to another backend,
+     * so it is not converted again and a later switch to SQL starts fresh.
+     * Replaces any previously retired file.
+     *
+     * @param dataDir the plugin data directory
+     */
+    public static void retire(@NotNull Path dataDir) {
+        try {
+            Files.move(dataDir.resolve(DATABASE_FILE), dataDir.resolve(RETIRED_FILE),
+                StandardCopyOption.REPLACE_EXISTING);
+            Logger.info("Moved SQL database to %s", dataDir.resolve(RETIRED_FILE));
+        } catch (IOException e) {
+            Logger.severe("Failed to move SQL database aside", e);
+        }
+    }
+
+    /**
+     * Deletes the database file, e.g. after a failed migration left it half-written.
+     *
+     * @param dataDir the plugin data directory
+     */
+    public static void delete(@NotNull Path dataDir) {
+        try {
+            Files.deleteIfExists(dataDir.resolve(DATABASE_FILE));
+            Files.deleteIfExists(dataDir.resolve(DATABASE_NAME + ".trace.db"));
+        } catch (IOException e) {
+            Logger.severe("Failed to delete SQL database", e);
+        }
+    }
+}
@@ -0,0 +1,456 @@
+package com.hyperfactions.storage.sql;
+
+import com.hyperfactions.data.*;
+import com.hyperfactions.storage.FactionStorage;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL implementation of FactionStorage.
+ * Stores factions across normalized tables in the embedded database.
+ *
+ * Saves are row-level: the last version written for each faction is kept, and
+ * a save only touches the member, claim, and relation rows that changed since.
+ * Logs and permissions are small and rewritten as a block when they differ.
+ *
+ * @see SqlDatabase
+ */
+public class SqlFactionStorage implements FactionStorage {
+
+    /** Same cap the JSON backend applies to faction logs. */
+    private static final int MAX_LOGS = 50;
+
+    private final SqlDatabase database;
+
+    /** Last version committed per faction; only touched on the database thread. */
+    private final Map<UUID, Faction> persisted = new ConcurrentHashMap<>();
+
+    /**
+     * Creates SQL faction storage.
+     *
+     * @param database the shared database handle
+     */
+    public SqlFactionStorage(@NotNull SqlDatabase database) {
+        this.database = database;
+    }
+
+    /**
+     * Gets the database handle shared with the player and zone storages.
+     *
+     * @return the database
+     */
+    @NotNull
+    public SqlDatabase getDatabase() {
+        return database;
+    }
+
+    @Override
+    public CompletableFuture<Void> init() {
+        return database.open().thenRun(() -> Logger.info("SQL faction storage initialized"));
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdown() {
+        return database.close();
+    }
+
+    @Override
+    public CompletableFuture<Optional<Faction>> loadFaction(@NotNull UUID factionId) {
+        return database.query(conn -> {
+            Collection<Faction> found = readFactions(conn, factionId);
+            found.forEach(f -> persisted.put(f.id(), f));
+            return found.stream().findFirst();
+        }).exceptionally(e -> {
+            Logger.severe("Failed to load faction %s", e, factionId);
+            return Optional.empty();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveFaction(@NotNull Faction faction) {
+        return saveFactions(List.of(faction));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveFactions(@NotNull Collection<Faction> factions) {
+        if (factions.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<Faction> batch = List.copyOf(factions);
+        return database.transaction(conn -> {
+            try (FactionBatch writer = new FactionBatch(conn)) {
+                for (Faction faction : batch) {
+                    writer.add(persisted.get(faction.id()), faction);
+                }
+                writer.execute();
+            }
+            batch.forEach(f -> persisted.put(f.id(), f));
+            return null;
+        }, () -> batch.forEach(f -> persisted.remove(f.id())))
+            .whenComplete((v, e) -> {
+                if (e != null) {
+                    Logger.severe("Failed to save %d faction(s)", e, batch.size());
+                }
+            });
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteFaction(@NotNull UUID factionId) {
+        return database.transaction(conn -> {
+            // Child rows go with it (ON DELETE CASCADE)
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM factions WHERE id = ?")) {
+                stmt.setObject(1, factionId);
+                stmt.executeUpdate();
+            }
+            persisted.remove(factionId);
+            return null;
+        }).whenComplete((v, e) -> {
+            if (e != null) {
+                Logger.severe("Failed to delete faction %s", e, factionId);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Collection<Faction>> loadAllFactions() {
+        return database.query(conn -> {
+            Collection<Faction> factions = readFactions(conn, null);
+            persisted.clear();
+            factions.forEach(f -> persisted.put(f.id(), f));
+            Logger.info("Loaded %d factions", factions.size());
+            return factions;
+        }).exceptionally(e -> {
+            Logger.severe("Failed to load factions", e);
+            return List.of();
+        });
+    }
+
+    // === Reading ===
+
+    /**
+     * Reads factions with one query per table, either all or a single one.
+     */
+    @NotNull
+    private static Collection<Faction> readFactions(@NotNull Connection conn, @Nullable UUID only) throws SQLException {
+        String where = only != null ? " WHERE faction_id = ?" : "";
+
+        Map<UUID, Map<UUID, FactionMember>> members = new HashMap<>();
+        try (PreparedStatement stmt = prepare(conn,
+                "SELECT faction_id, player_uuid, username, role, joined_at, last_online FROM faction_members" + where, only);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                FactionMember member = new FactionMember(uuid(rs, 2), rs.getString(3),
+                    FactionRole.valueOf(rs.getString(4)), rs.getLong(5), rs.getLong(6));
+                members.computeIfAbsent(uuid(rs, 1), k -> new HashMap<>()).put(member.uuid(), member);
+            }
+        }
+
+        Map<UUID, Set<FactionClaim>> claims = new HashMap<>();
+        try (PreparedStatement stmt = prepare(conn,
+                "SELECT faction_id, world, chunk_x, chunk_z, claimed_at, claimed_by FROM faction_claims" + where, only);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                claims.computeIfAbsent(uuid(rs, 1), k -> new HashSet<>()).add(new FactionClaim(
+                    rs.getString(2), rs.getInt(3), rs.getInt(4), rs.getLong(5), uuid(rs, 6)));
+            }
+        }
+
+        Map<UUID, Map<UUID, FactionRelation>> relations = new HashMap<>();
+        try (PreparedStatement stmt = prepare(conn,
+                "SELECT faction_id, target_id, type, since FROM faction_relations" + where, only);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                FactionRelation rel = new FactionRelation(uuid(rs, 2), RelationType.valueOf(rs.getString(3)), rs.getLong(4));
+                relations.computeIfAbsent(uuid(rs, 1), k -> new HashMap<>()).put(rel.targetFactionId(), rel);
+            }
+        }
+
+        Map<UUID, List<FactionLog>> logs = new HashMap<>();
+        try (PreparedStatement stmt = prepare(conn,
+                "SELECT faction_id, type, message, logged_at, actor_uuid FROM faction_logs" + where
+                    + " ORDER BY faction_id, seq", only);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                logs.computeIfAbsent(uuid(rs, 1), k -> new ArrayList<>()).add(new FactionLog(
+                    FactionLog.LogType.valueOf(rs.getString(2)), rs.getString(3), rs.getLong(4), uuid(rs, 5)));
+            }
+        }
+
+        Map<UUID, Map<String, Boolean>> permissions = new HashMap<>();
+        try (PreparedStatement stmt = prepare(conn,
+                "SELECT faction_id, flag, enabled FROM faction_permissions" + where, only);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                permissions.computeIfAbsent(uuid(rs, 1), k -> new HashMap<>()).put(rs.getString(2), rs.getBoolean(3));
+            }
+        }
+
+        List<Faction> factions = new ArrayList<>();
+        try (PreparedStatement stmt = prepare(conn,
+                "SELECT id, name, description, tag, color, created_at, open, home_world, home_x, home_y, home_z,"
+                    + " home_yaw, home_pitch, home_set_at, home_set_by, has_permissions FROM factions"
+                    + (only != null ? " WHERE id = ?" : ""), only);
+             ResultSet rs = stmt.executeQuery()) {
+            while (rs.next()) {
+                UUID id = uuid(rs, 1);
+                Faction.FactionHome home = null;
+                String homeWorld = rs.getString(8);
+                if (homeWorld != null) {
+                    home = new Faction.FactionHome(homeWorld, rs.getDouble(9), rs.getDouble(10), rs.getDouble(11),
+                        rs.getFloat(12), rs.getFloat(13), rs.getLong(14), uuid(rs, 15));
+                }
+                FactionPermissions perms = rs.getBoolean(16)
+                    ? new FactionPermissions(permissions.getOrDefault(id, Map.of()))
+                    : null;
+                factions.add(new Faction(id, rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5),
+                    rs.getLong(6), home,
+                    members.getOrDefault(id, new HashMap<>()),
+                    claims.getOrDefault(id, new HashSet<>()),
+                    relations.getOrDefault(id, new HashMap<>()),
+                    logs.getOrDefault(id, new ArrayList<>()),
+                    rs.getBoolean(7), perms));
+            }
+        }
+        return factions;
+    }
+
+    @NotNull
+    private static PreparedStatement prepare(@NotNull Connection conn, @NotNull String sql, @Nullable UUID param)
+            throws SQLException {
+        PreparedStatement stmt = conn.prepareStatement(sql);
+        if (param != null) {
+            stmt.setObject(1, param);
+        }
+        return stmt;
+    }
+
+    @Nullable
+    private static UUID uuid(@NotNull ResultSet rs, int column) throws SQLException {
+        return rs.getObject(column, UUID.class);
+    }
+
+    // === Writing ===
+
+    /**
+     * Prepared statements for one save transaction. Rows for every faction in the
+     * save are added as batches and sent together by {@link #execute()}.
+     */
+    private static final class FactionBatch implements AutoCloseable {
+
+        private final PreparedStatement upsertFaction;
+        private final PreparedStatement clearMembers;
+        private final PreparedStatement deleteMember;
+        private final PreparedStatement upsertMember;
+        private final PreparedStatement clearClaims;
+        private final PreparedStatement deleteClaim;
+        private final PreparedStatement upsertClaim;
+        private final PreparedStatement clearRelations;
+        private final PreparedStatement deleteRelation;
+        private final PreparedStatement upsertRelation;
+        private final PreparedStatement clearLogs;
+        private final PreparedStatement insertLog;
+        private final PreparedStatement clearPermissions;
+        private final PreparedStatement insertPermission;
+
+        FactionBatch(@NotNull Connection conn) throws SQLException {
+            upsertFaction = conn.prepareStatement("MERGE INTO factions (id, name, description, tag, color, created_at,"
+                + " open, home_world, home_x, home_y, home_z, home_yaw, home_pitch, home_set_at, home_set_by,"
+                + " has_permissions) KEY (id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            clearMembers = conn.prepareStatement("DELETE FROM faction_members WHERE faction_id = ?");
+            deleteMember = conn.prepareStatement("DELETE FROM faction_members WHERE faction_id = ? AND player_uuid = ?");
+            upsertMember = conn.prepareStatement("MERGE INTO faction_members (faction_id, player_uuid, username, role,"
+                + " joined_at, last_online) KEY (faction_id, player_uuid) VALUES (?, ?, ?, ?, ?, ?)");
+            clearClaims = conn.prepareStatement("DELETE FROM faction_claims WHERE faction_id = ?");
+            deleteClaim = conn.prepareStatement("DELETE FROM faction_claims"
+                + " WHERE faction_id = ? AND world = ? AND chunk_x = ? AND chunk_z = ?");
+            upsertClaim = conn.prepareStatement("MERGE INTO faction_claims (faction_id, world, chunk_x, chunk_z,"
+                + " claimed_at, claimed_by) KEY (faction_id, world, chunk_x, chunk_z) VALUES (?, ?, ?, ?, ?, ?)");
+            clearRelations = conn.prepareStatement("DELETE FROM faction_relations WHERE faction_id = ?");
+            deleteRelation = conn.prepareStatement("DELETE FROM faction_relations WHERE faction_id = ? AND target_id = ?");
+            upsertRelation = conn.prepareStatement("MERGE INTO faction_relations (faction_id, target_id, type, since)"
+                + " KEY (faction_id, target_id) VALUES (?, ?, ?, ?)");
+            clearLogs = conn.prepareStatement("DELETE FROM faction_logs WHERE faction_id = ?");
+            insertLog = conn.prepareStatement("INSERT INTO faction_logs (faction_id, seq, type, message, logged_at,"
+                + " actor_uuid) VALUES (?, ?, ?, ?, ?, ?)");
+            clearPermissions = conn.prepareStatement("DELETE FROM faction_permissions WHERE faction_id = ?");
+            insertPermission = conn.prepareStatement("INSERT INTO faction_permissions (faction_id, flag, enabled)"
+                + " VALUES (?, ?, ?)");
+        }
+
+        /**
+         * Adds the rows needed to bring a faction from {@code previous} (the last
+         * committed version, or null if unknown) to {@code faction}.
+         */
+        void add(@Nullable Faction previous, @NotNull Faction faction) throws SQLException {
+            UUID id = faction.id();
+            addFactionRow(faction);
+
+            if (previous == null) {
+                // Unknown baseline: replace every child row
+                for (PreparedStatement clear : new PreparedStatement[]{clearMembers, clearClaims, clearRelations}) {
+                    clear.setObject(1, id);
+                    clear.addBatch();
+                }
+            }
+
+            Map<UUID, FactionMember> oldMembers = previous != null ? previous.members() : Map.of();
+            for (UUID uuid : oldMembers.keySet()) {
+                if (!faction.members().containsKey(uuid)) {
+                    deleteMember.setObject(1, id);
+                    deleteMember.setObject(2, uuid);
+                    deleteMember.addBatch();
+                }
+            }
+            for (FactionMember member : faction.members().values()) {
+                if (!member.equals(oldMembers.get(member.uuid()))) {
+                    upsertMember.setObject(1, id);
+                    upsertMember.setObject(2, member.uuid());
+                    upsertMember.setString(3, member.username());
+                    upsertMember.setString(4, member.role().name());
+                    upsertMember.setLong(5, member.joinedAt());
+                    upsertMember.setLong(6, member.lastOnline());
+                    upsertMember.addBatch();
+                }
+            }
+
+            Set<FactionClaim> oldClaims = previous != null ? previous.claims() : Set.of();
+            for (FactionClaim claim : oldClaims) {
+                if (!faction.claims().contains(claim)) {
+                    deleteClaim.setObject(1, id);
+                    deleteClaim.setString(2, claim.world());
+                    deleteClaim.setInt(3, claim.chunkX());
+                    deleteClaim.setInt(4, claim.chunkZ());
+                    deleteClaim.addBatch();
+                }
+            }
+            for (FactionClaim claim : faction.claims()) {
+                if (!oldClaims.contains(claim)) {
+                    upsertClaim.setObject(1, id);
+                    upsertClaim.setString(2, claim.world());
+                    upsertClaim.setInt(3, claim.chunkX());
+                    upsertClaim.setInt(4, claim.chunkZ());
+                    upsertClaim.setLong(5, claim.claimedAt());
+                    upsertClaim.setObject(6, claim.claimedBy());
+                    upsertClaim.addBatch();
+                }
+            }
+
+            Map<UUID, FactionRelation> oldRelations = previous != null ? previous.relations() : Map.of();
+            for (UUID target : oldRelations.keySet()) {
+                if (!faction.relations().containsKey(target)) {
+                    deleteRelation.setObject(1, id);
+                    deleteRelation.setObject(2, target);
+                    deleteRelation.addBatch();
+                }
+            }
+            for (FactionRelation rel : faction.relations().values()) {
+                if (!rel.equals(oldRelations.get(rel.targetFactionId()))) {
+                    upsertRelation.setObject(1, id);
+                    upsertRelation.setObject(2, rel.targetFactionId());
+                    upsertRelation.setString(3, rel.type().name());
+                    upsertRelation.setLong(4, rel.since());
+                    upsertRelation.addBatch();
+                }
+            }
+
+            if (previous == null || !previous.logs().equals(faction.logs())) {
+                clearLogs.setObject(1, id);
+                clearLogs.addBatch();
+                int logCount = Math.min(faction.logs().size(), MAX_LOGS);
+                for (int i = 0; i < logCount; i++) {
+                    FactionLog log = faction.logs().get(i);
+                    insertLog.setObject(1, id);
+                    insertLog.setInt(2, i);
+                    insertLog.setString(3, log.type().name());
+                    insertLog.setString(4, log.message());
+                    insertLog.setLong(5, log.timestamp());
+                    insertLog.setObject(6, log.actorUuid(), Types.OTHER);
+                    insertLog.addBatch();
+                }
+            }
+
+            if (previous == null || !Objects.equals(previous.permissions(), faction.permissions())) {
+                clearPermissions.setObject(1, id);
+                clearPermissions.addBatch();
+                if (faction.permissions() != null) {
+                    for (Map.Entry<String, Boolean> flag : faction.permissions().toMap().entrySet()) {
+                        insertPermission.setObject(1, id);
+                        insertPermission.setString(2, flag.getKey());
+                        insertPermission.setBoolean(3, Boolean.TRUE.equals(flag.getValue()));
+                        insertPermission.addBatch();
+                    }
+                }
+            }
+        }
+
+        private void addFactionRow(@NotNull Faction faction) throws SQLException {
+            PreparedStatement stmt = upsertFaction;
+            stmt.setObject(1, faction.id());
+            stmt.setString(2, faction.name());
+            stmt.setString(3, faction.description());
+            stmt.setString(4, faction.tag());
+            stmt.setString(5, faction.color());
+            stmt.setLong(6, faction.createdAt());
+            stmt.setBoolean(7, faction.open());
+            Faction.FactionHome home = faction.home();
+            if (home != null) {
+                stmt.setString(8, home.world());
+                stmt.setDouble(9, home.x());
+                stmt.setDouble(10, home.y());
+                stmt.setDouble(11, home.z());
+                stmt.setFloat(12, home.yaw());
+                stmt.setFloat(13, home.pitch());
+                stmt.setLong(14, home.setAt());
+                stmt.setObject(15, home.setBy());
+            } else {
+                stmt.setNull(8, Types.VARCHAR);
+                stmt.setNull(9, Types.DOUBLE);
+                stmt.setNull(10, Types.DOUBLE);
+                stmt.setNull(11, Types.DOUBLE);
+                stmt.setNull(12, Types.REAL);
+                stmt.setNull(13, Types.REAL);
+                stmt.setNull(14, Types.BIGINT);
+                stmt.setNull(15, Types.OTHER);
+            }
+            stmt.setBoolean(16, faction.permissions() != null);
+            stmt.addBatch();
+        }
+
+        /**
+         * Sends the batches: faction rows first (children reference them), then
+         * deletes before upserts so a row removed and re-added ends up present.
+         */
+        void execute() throws SQLException {
+            for (PreparedStatement stmt : statements()) {
+                stmt.executeBatch();
+            }
+        }
+
+        @NotNull
+        private PreparedStatement[] statements() {
+            return new PreparedStatement[]{
+                upsertFaction,
+                clearMembers, clearClaims, clearRelations, clearLogs, clearPermissions,
+                deleteMember, deleteClaim, deleteRelation,
+                upsertMember, upsertClaim, upsertRelation, insertLog, insertPermission
+            };
+        }
+
+        @Override
+        public void close() throws SQLException {
+            for (PreparedStatement stmt : statements()) {
+                stmt.close();
+            }
+        }
+    }
+}
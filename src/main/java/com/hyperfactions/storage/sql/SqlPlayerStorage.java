@@ -0,0 +1,285 @@
+package com.hyperfactions.storage.sql;
+
+import com.hyperfactions.data.FactionRole;
+import com.hyperfactions.data.MembershipRecord;
+import com.hyperfactions.data.PlayerData;
+import com.hyperfactions.data.PlayerPower;
+import com.hyperfactions.storage.PlayerStorage;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SQL implementation of PlayerStorage.
+ * Stores player power and stats in {@code players} and membership history in
+ * {@code player_history}.
+ *
+ * Power saves only update the four power columns, so the periodic power flush
+ * never rewrites stats or history.
+ *
+ * @see SqlDatabase
+ */
+public class SqlPlayerStorage implements PlayerStorage {
+
+    private static final String UPDATE_POWER =
+        "UPDATE players SET power = ?, max_power = ?, last_death = ?, last_regen = ? WHERE uuid = ?";
+
+    private static final String UPSERT_PLAYER =
+        "MERGE INTO players (uuid, username, power, max_power, last_death, last_regen, kills, deaths,"
+            + " first_joined, last_online) KEY (uuid) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CLEAR_HISTORY = "DELETE FROM player_history WHERE player_uuid = ?";
+
+    private static final String INSERT_HISTORY =
+        "INSERT INTO player_history (player_uuid, seq, faction_id, faction_name, faction_tag, highest_role,"
+            + " joined_at, left_at, reason) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final SqlDatabase database;
+
+    /**
+     * Creates SQL player storage.
+     *
+     * @param database the shared database handle
+     */
+    public SqlPlayerStorage(@NotNull SqlDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public CompletableFuture<Void> init() {
+        return database.open().thenRun(() -> Logger.info("SQL player storage initialized"));
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdown() {
+        return database.close();
+    }
+
+    @Override
+    public CompletableFuture<Optional<PlayerPower>> loadPlayerPower(@NotNull UUID uuid) {
+        return database.query(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT uuid, power, max_power, last_death, last_regen FROM players WHERE uuid = ?")) {
+                stmt.setObject(1, uuid);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    return rs.next() ? Optional.of(readPower(rs)) : Optional.<PlayerPower>empty();
+                }
+            }
+        }).exceptionally(e -> {
+            Logger.severe("Failed to load player power %s", e, uuid);
+            return Optional.empty();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> savePlayerPower(@NotNull PlayerPower power) {
+        return savePlayerPowers(List.of(power));
+    }
+
+    @Override
+    public CompletableFuture<Void> savePlayerPowers(@NotNull Collection<PlayerPower> powers) {
+        if (powers.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        List<PlayerPower> batch = List.copyOf(powers);
+        return database.transaction(conn -> {
+            int[] updated;
+            try (PreparedStatement stmt = conn.prepareStatement(UPDATE_POWER)) {
+                for (PlayerPower power : batch) {
+                    stmt.setDouble(1, power.power());
+                    stmt.setDouble(2, power.maxPower());
+                    stmt.setLong(3, power.lastDeath());
+                    stmt.setLong(4, power.lastRegen());
+                    stmt.setObject(5, power.uuid());
+                    stmt.addBatch();
+                }
+                updated = stmt.executeBatch();
+            }
+            // Players without a row yet get one with default stats
+            try (PreparedStatement stmt = conn.prepareStatement(UPSERT_PLAYER)) {
+                for (int i = 0; i < batch.size(); i++) {
+                    if (updated[i] == 0) {
+                        addPlayerRow(stmt, PlayerData.fromPower(batch.get(i)));
+                    }
+                }
+                stmt.executeBatch();
+            }
+            return null;
+        }).whenComplete((v, e) -> {
+            if (e != null) {
+                Logger.severe("Failed to save power for %d player(s)", e, batch.size());
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> deletePlayerPower(@NotNull UUID uuid) {
+        return database.transaction(conn -> {
+            try (PreparedStatement stmt = conn.prepareStatement("DELETE FROM players WHERE uuid = ?")) {
+                stmt.setObject(1, uuid);
+                stmt.executeUpdate();
+            }
+            return null;
+        }).whenComplete((v, e) -> {
+            if (e != null) {
+                Logger.severe("Failed to delete player %s", e, uuid);
+            }
+        });
+    }
+
+    @Override
+    public CompletableFuture<Collection<PlayerPower>> loadAllPlayerPower() {
+        return database.query(conn -> {
+            List<PlayerPower> powers = new ArrayList<>();
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    "SELECT uuid, power, max_power, last_death, last_regen FROM players");
+                 ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    powers.add(readPower(rs));
+                }
+            }
+            Logger.info("Loaded %d player power records", powers.size());
+            return (Collection<PlayerPower>) powers;
+        }).exceptionally(e -> {
+            Logger.severe("Failed to load player power", e);
+            return List.of();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<PlayerData>> loadPlayerData(@NotNull UUID uuid) {
+        return database.query(conn -> {
+            PlayerData data;
+            try (PreparedStatement stmt = conn.prepareStatement("SELECT username, power, max_power, last_death,"
+                    + " last_regen, kills, deaths, first_joined, last_online FROM players WHERE uuid = ?")) {
+                stmt.setObject(1, uuid);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return Optional.<PlayerData>empty();
+                    }
+                    data = new PlayerData(uuid);
+                    data.setUsername(rs.getString(1));
+                    data.setPower(rs.getDouble(2));
+                    data.setMaxPower(rs.getDouble(3));
+                    data.setLastDeath(rs.getLong(4));
+                    data.setLastRegen(rs.getLong(5));
+                    data.setKills(rs.getInt(6));
+                    data.setDeaths(rs.getInt(7));
+                    data.setFirstJoined(rs.getLong(8));
+                    data.setLastOnline(rs.getLong(9));
+                }
+            }
+            data.setMembershipHistory(readHistory(conn, uuid));
+            return Optional.of(data);
+        }).exceptionally(e -> {
+            Logger.severe("Failed to load player data %s", e, uuid);
+            return Optional.empty();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> savePlayerData(@NotNull PlayerData data) {
+        return saveAllPlayerData(List.of(data));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAllPlayerData(@NotNull Collection<PlayerData> players) {
+        if (players.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        // Snapshot now; PlayerData is mutable and the write runs later
+        List<PlayerData> batch = new ArrayList<>(players.size());
+        for (PlayerData data : players) {
+            batch.add(copy(data));
+        }
+        return database.transaction(conn -> {
+            try (PreparedStatement upsert = conn.prepareStatement(UPSERT_PLAYER);
+                 PreparedStatement clear = conn.prepareStatement(CLEAR_HISTORY);
+                 PreparedStatement insert = conn.prepareStatement(INSERT_HISTORY)) {
+                for (PlayerData data : batch) {
+                    addPlayerRow(upsert, data);
+                    clear.setObject(1, data.getUuid());
+                    clear.addBatch();
+                    List<MembershipRecord> history = data.getMembershipHistory();
+                    for (int i = 0; i < history.size(); i++) {
+                        MembershipRecord rec = history.get(i);
+                        insert.setObject(1, data.getUuid());
+                        insert.setInt(2, i);
+                        insert.setObject(3, rec.factionId());
+                        insert.setString(4, rec.factionName());
+                        insert.setString(5, rec.factionTag());
+                        insert.setString(6, rec.highestRole().name());
+                        insert.setLong(7, rec.joinedAt());
+                        insert.setLong(8, rec.leftAt());
+                        insert.setString(9, rec.reason().name());
+                        insert.addBatch();
+                    }
+                }
+                upsert.executeBatch();
+                clear.executeBatch();
+                insert.executeBatch();
+            }
+            return null;
+        }).whenComplete((v, e) -> {
+            if (e != null) {
+                Logger.severe("Failed to save data for %d player(s)", e, batch.size());
+            }
+        });
+    }
+
+    @NotNull
+    private static PlayerPower readPower(@NotNull ResultSet rs) throws SQLException {
+        return new PlayerPower(rs.getObject(1, UUID.class), rs.getDouble(2), rs.getDouble(3),
+            rs.getLong(4), rs.getLong(5));
+    }
+
+    @NotNull
+    private static List<MembershipRecord> readHistory(@NotNull Connection conn, @NotNull UUID uuid) throws SQLException {
+        List<MembershipRecord> history = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement("SELECT faction_id, faction_name, faction_tag,"
+                + " highest_role, joined_at, left_at, reason FROM player_history WHERE player_uuid = ? ORDER BY seq")) {
+            stmt.setObject(1, uuid);
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    history.add(new MembershipRecord(rs.getObject(1, UUID.class), rs.getString(2), rs.getString(3),
+                        FactionRole.valueOf(rs.getString(4)), rs.getLong(5), rs.getLong(6),
+                        MembershipRecord.LeaveReason.valueOf(rs.getString(7))));
+                }
+            }
+        }
+        return history;
+    }
+
+    private static void addPlayerRow(@NotNull PreparedStatement stmt, @NotNull PlayerData data) throws SQLException {
+        stmt.setObject(1, data.getUuid());
+        stmt.setString(2, data.getUsername());
+        stmt.setDouble(3, data.getPower());
+        stmt.setDouble(4, data.getMaxPower());
+        stmt.setLong(5, data.getLastDeath());
+        stmt.setLong(6, data.getLastRegen());
+        stmt.setInt(7, data.getKills());
+        stmt.setInt(8, data.getDeaths());
+        stmt.setLong(9, data.getFirstJoined());
+        stmt.setLong(10, data.getLastOnline());
+        stmt.addBatch();
+    }
+
+    @NotNull
+    private static PlayerData copy(@NotNull PlayerData data) {
+        PlayerData copy = new PlayerData(data.getUuid());
+        copy.setUsername(data.getUsername());
+        copy.updatePower(data.toPower());
+        copy.setKills(data.getKills());
+        copy.setDeaths(data.getDeaths());
+        copy.setFirstJoined(data.getFirstJoined());
+        copy.setLastOnline(data.getLastOnline());
+        copy.setMembershipHistory(new ArrayList<>(data.getMembershipHistory()));
+        return copy;
+    }
+}
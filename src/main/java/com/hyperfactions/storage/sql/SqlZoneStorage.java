@@ -0,0 +1,141 @@
+package com.hyperfactions.storage.sql;
+
+import com.hyperfactions.data.ChunkKey;
+import com.hyperfactions.data.Zone;
+import com.hyperfactions.data.ZoneType;
+import com.hyperfactions.storage.ZoneStorage;
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * SQL implementation of ZoneStorage.
+ * Stores zones in {@code zones} with their chunks and flags in child tables.
+ * Zones are saved as a whole set, so each save replaces all rows in one transaction.
+ *
+ * @see SqlDatabase
+ */
+public class SqlZoneStorage implements ZoneStorage {
+
+    private final SqlDatabase database;
+
+    /**
+     * Creates SQL zone storage.
+     *
+     * @param database the shared database handle
+     */
+    public SqlZoneStorage(@NotNull SqlDatabase database) {
+        this.database = database;
+    }
+
+    @Override
+    public CompletableFuture<Void> init() {
+        return database.open().thenRun(() -> Logger.info("Zone storage initialized"));
+    }
+
+    @Override
+    public CompletableFuture<Void> shutdown() {
+        return database.close();
+    }
+
+    @Override
+    public CompletableFuture<Collection<Zone>> loadAllZones() {
+        return database.query(conn -> {
+            Map<UUID, Set<ChunkKey>> chunks = new HashMap<>();
+            Map<UUID, String> worlds = new HashMap<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT id, world FROM zones")) {
+                while (rs.next()) {
+                    worlds.put(rs.getObject(1, UUID.class), rs.getString(2));
+                }
+            }
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT zone_id, chunk_x, chunk_z FROM zone_chunks")) {
+                while (rs.next()) {
+                    UUID zoneId = rs.getObject(1, UUID.class);
+                    chunks.computeIfAbsent(zoneId, k -> new HashSet<>())
+                        .add(new ChunkKey(worlds.get(zoneId), rs.getInt(2), rs.getInt(3)));
+                }
+            }
+
+            Map<UUID, Map<String, Boolean>> flags = new HashMap<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT zone_id, flag, enabled FROM zone_flags")) {
+                while (rs.next()) {
+                    flags.computeIfAbsent(rs.getObject(1, UUID.class), k -> new HashMap<>())
+                        .put(rs.getString(2), rs.getBoolean(3));
+                }
+            }
+
+            List<Zone> zones = new ArrayList<>();
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT id, name, type, world, created_at, created_by FROM zones")) {
+                while (rs.next()) {
+                    UUID id = rs.getObject(1, UUID.class);
+                    zones.add(new Zone(id, rs.getString(2), ZoneType.valueOf(rs.getString(3)), rs.getString(4),
+                        chunks.getOrDefault(id, Set.of()), rs.getLong(5), rs.getObject(6, UUID.class),
+                        flags.get(id)));
+                }
+            }
+            Logger.info("Loaded %d zones", zones.size());
+            return (Collection<Zone>) zones;
+        }).exceptionally(e -> {
+            Logger.severe("Failed to load zones", e);
+            return List.of();
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAllZones(@NotNull Collection<Zone> zones) {
+        List<Zone> batch = List.copyOf(zones);
+        return database.transaction(conn -> {
+            try (Statement clear = conn.createStatement()) {
+                // Chunks and flags go with it (ON DELETE CASCADE)
+                clear.executeUpdate("DELETE FROM zones");
+            }
+            try (PreparedStatement insertZone = conn.prepareStatement(
+                    "INSERT INTO zones (id, name, type, world, created_at, created_by) VALUES (?, ?, ?, ?, ?, ?)");
+                 PreparedStatement insertChunk = conn.prepareStatement(
+                    "INSERT INTO zone_chunks (zone_id, chunk_x, chunk_z) VALUES (?, ?, ?)");
+                 PreparedStatement insertFlag = conn.prepareStatement(
+                    "INSERT INTO zone_flags (zone_id, flag, enabled) VALUES (?, ?, ?)")) {
+                for (Zone zone : batch) {
+                    insertZone.setObject(1, zone.id());
+                    insertZone.setString(2, zone.name());
+                    insertZone.setString(3, zone.type().name());
+                    insertZone.setString(4, zone.world());
+                    insertZone.setLong(5, zone.createdAt());
+                    insertZone.setObject(6, zone.createdBy());
+                    insertZone.addBatch();
+                    for (ChunkKey chunk : zone.chunks()) {
+                        insertChunk.setObject(1, zone.id());
+                        insertChunk.setInt(2, chunk.chunkX());
+                        insertChunk.setInt(3, chunk.chunkZ());
+                        insertChunk.addBatch();
+                    }
+                    if (zone.flags() != null) {
+                        for (Map.Entry<String, Boolean> flag : zone.flags().entrySet()) {
+                            insertFlag.setObject(1, zone.id());
+                            insertFlag.setString(2, flag.getKey());
+                            insertFlag.setBoolean(3, Boolean.TRUE.equals(flag.getValue()));
+                            insertFlag.addBatch();
+                        }
+                    }
+                }
+                insertZone.executeBatch();
+                insertChunk.executeBatch();
+                insertFlag.executeBatch();
+            }
+            return null;
+        }).whenComplete((v, e) -> {
+            if (e != null) {
+                Logger.severe("Failed to save %d zone(s)", e, batch.size());
+            }
+        });
+    }
+}
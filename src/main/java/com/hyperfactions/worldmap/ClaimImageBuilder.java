@@ -34,6 +34,10 @@ import java.util.concurrent.Executor;
  * This approach is more reliable than the overlay post-process method
  * because it doesn't depend on pixel format assumptions or timing of
  * when image data is populated.
+ *
+ * Rendering is split into a terrain layer ({@link TerrainTile}), cached in a
+ * {@link TerrainTileCache}, and the claim overlay composited onto it, so claim
+ * changes re-render a tile without sampling the chunk again.
  */
 public class ClaimImageBuilder {
 
@@ -103,26 +107,31 @@ public class ClaimImageBuilder {
     private final int sampleHeight;
     private final int blockStepX;
     private final int blockStepZ;
-    @NotNull
-    private final short[] heightSamples;
-    @NotNull
-    private final int[] tintSamples;
-    @NotNull
-    private final int[] blockSamples;
-    @NotNull
-    private final short[] neighborHeightSamples;
-    @NotNull
-    private final short[] fluidDepthSamples;
-    @NotNull
-    private final int[] environmentSamples;
-    @NotNull
-    private final int[] fluidSamples;
+
+    // Terrain sample buffers, only allocated when the chunk has to be sampled
+    private short[] heightSamples;
+    private int[] tintSamples;
+    private int[] blockSamples;
+    private short[] neighborHeightSamples;
+    private short[] fluidDepthSamples;
+    private int[] environmentSamples;
+    private int[] fluidSamples;
     private final Color outColor = new Color();
 
     @Nullable
     private WorldChunk worldChunk;
     private FluidSection[] fluidSections;
 
+    // Terrain layer the claim overlay is composited onto (cached or freshly sampled)
+    @Nullable
+    private TerrainTile terrain;
+
+    // Terrain cache version of the chunk, taken before looking for or sampling its terrain
+    private long terrainVersion;
+
+    // CPU time spent sampling and compositing, excluding waits for chunk loads
+    private long renderNanos;
+
     // Manager references for claim lookups
     private final FactionManager factionManager;
     private final ClaimManager claimManager;
@@ -142,6 +151,9 @@ public class ClaimImageBuilder {
         this.sampleHeight = Math.min(32, this.image.height);
         this.blockStepX = Math.max(1, 32 / this.image.width);
         this.blockStepZ = Math.max(1, 32 / this.image.height);
+    }
+
+    private void allocateSampleBuffers() {
         this.heightSamples = new short[this.sampleWidth * this.sampleHeight];
         this.tintSamples = new int[this.sampleWidth * this.sampleHeight];
         this.blockSamples = new int[this.sampleWidth * this.sampleHeight];
@@ -160,6 +172,16 @@ public class ClaimImageBuilder {
         return this.image;
     }
 
+    /**
+     * Gets the time spent sampling terrain and compositing this tile,
+     * not counting time waiting for chunks to load.
+     *
+     * @return render time in nanoseconds
+     */
+    public long getRenderNanos() {
+        return this.renderNanos;
+    }
+
     @NotNull
     private CompletableFuture<ClaimImageBuilder> fetchChunk() {
         int chunkX = ChunkUtil.xOfChunkIndex(this.index);
@@ -171,6 +193,7 @@ public class ClaimImageBuilder {
                     this.index, chunkX, chunkZ, valid);
 
             if (valid) {
+                allocateSampleBuffers();
                 this.worldChunk = ref.getStore().getComponent(ref, WorldChunk.getComponentType());
                 ChunkColumn chunkColumn = ref.getStore().getComponent(ref, ChunkColumn.getComponentType());
                 this.fluidSections = new FluidSection[10];
@@ -287,7 +310,11 @@ public class ClaimImageBuilder {
                 .thenApply(v -> this);
     }
 
-    private ClaimImageBuilder generateImageAsync() {
+    /**
+     * Samples the chunk's terrain into a {@link TerrainTile} and caches it.
+     */
+    private ClaimImageBuilder sampleTerrain(@NotNull TerrainTileCache terrainCache) {
+        long startNanos = System.nanoTime();
         // First pass: sample terrain data from the chunk
         for (int ix = 0; ix < this.sampleWidth; ++ix) {
             for (int iz = 0; iz < this.sampleHeight; ++iz) {
@@ -369,10 +396,71 @@ public class ClaimImageBuilder {
                     this.neighborHeightSamples, (iz + 1) * (this.sampleWidth + 2) + 1, this.sampleWidth);
         }
 
+        // Second pass: per-pixel block color and terrain shading
+        int[] baseColors = new int[this.image.width * this.image.height];
+        float[] shades = new float[baseColors.length];
+        for (int ix = 0; ix < this.image.width; ++ix) {
+            for (int iz = 0; iz < this.image.height; ++iz) {
+                int sampleX = Math.min((int) ((float) ix * imageToSampleRatioWidth), this.sampleWidth - 1);
+                int sampleZ = Math.min((int) ((float) iz * imageToSampleRatioHeight), this.sampleHeight - 1);
+                int sampleIndex = sampleZ * this.sampleWidth + sampleX;
+                int pixelIndex = iz * this.image.width + ix;
+                int blockPixelX = ix % blockPixelWidth;
+                int blockPixelZ = iz % blockPixelHeight;
+                short height = this.heightSamples[sampleIndex];
+
+                getBlockColor(this.blockSamples[sampleIndex], this.tintSamples[sampleIndex], this.outColor);
+                baseColors[pixelIndex] = (this.outColor.r << 16) | (this.outColor.g << 8) | this.outColor.b;
+
+                short north = this.neighborHeightSamples[sampleZ * (this.sampleWidth + 2) + sampleX + 1];
+                short south = this.neighborHeightSamples[(sampleZ + 2) * (this.sampleWidth + 2) + sampleX + 1];
+                short west = this.neighborHeightSamples[(sampleZ + 1) * (this.sampleWidth + 2) + sampleX];
+                short east = this.neighborHeightSamples[(sampleZ + 1) * (this.sampleWidth + 2) + sampleX + 2];
+                short northWest = this.neighborHeightSamples[sampleZ * (this.sampleWidth + 2) + sampleX];
+                short northEast = this.neighborHeightSamples[sampleZ * (this.sampleWidth + 2) + sampleX + 2];
+                short southWest = this.neighborHeightSamples[(sampleZ + 2) * (this.sampleWidth + 2) + sampleX];
+                short southEast = this.neighborHeightSamples[(sampleZ + 2) * (this.sampleWidth + 2) + sampleX + 2];
+
+                shades[pixelIndex] = shadeFromHeights(blockPixelX, blockPixelZ, blockPixelWidth, blockPixelHeight,
+                        height, north, south, west, east, northWest, northEast, southWest, southEast);
+            }
+        }
+
+        // Fluid tint per sample
+        int[] fluidTints = new int[this.sampleWidth * this.sampleHeight];
+        float[] fluidDepthMultipliers = new float[fluidTints.length];
+        for (int sampleIndex = 0; sampleIndex < fluidTints.length; ++sampleIndex) {
+            int fluidId = this.fluidSamples[sampleIndex];
+            if (this.heightSamples[sampleIndex] < 320 && fluidId != 0) {
+                fluidTints[sampleIndex] = getFluidTint(fluidId, this.environmentSamples[sampleIndex]);
+                fluidDepthMultipliers[sampleIndex] = Math.min(1.0f, 1.0f / (float) this.fluidDepthSamples[sampleIndex]);
+            } else {
+                fluidTints[sampleIndex] = TerrainTile.NO_FLUID;
+            }
+        }
+
+        this.terrain = new TerrainTile(this.image.width, this.image.height, this.sampleWidth, this.sampleHeight,
+                baseColors, shades, fluidTints, fluidDepthMultipliers, System.currentTimeMillis());
+        terrainCache.put(this.world.getName(),
+                ChunkUtil.xOfChunkIndex(this.index), ChunkUtil.zOfChunkIndex(this.index), this.terrain, this.terrainVersion);
+        this.renderNanos += System.nanoTime() - startNanos;
+        return this;
+    }
+
+    /**
+     * Composites the claim/zone overlay onto the terrain layer into the final image.
+     * Reads only claim data, so it never touches world storage.
+     */
+    private ClaimImageBuilder composite() {
+        long startNanos = System.nanoTime();
+        TerrainTile terrain = this.terrain;
+        float imageToSampleRatioWidth = (float) this.sampleWidth / (float) this.image.width;
+        float imageToSampleRatioHeight = (float) this.sampleHeight / (float) this.image.height;
+
         // Get chunk coordinates for claim lookups
         int chunkX = ChunkUtil.xOfChunkIndex(this.index);
         int chunkZ = ChunkUtil.zOfChunkIndex(this.index);
-        String worldName = this.worldChunk.getWorld().getName();
+        String worldName = this.world.getName();
 
         // Check claim status for this chunk
         boolean showClaimsOnMap = ConfigManager.get().isWorldMapMarkersEnabled();
@@ -425,60 +513,58 @@ public class ClaimImageBuilder {
                 claimManager.getClaimOwner(worldName, chunkX - 1, chunkZ)
         };
 
-        // Second pass: generate pixels with claim overlays
+        // Resolve the overlay once per tile: its color and which chunk edges continue into the same claim
+        boolean hasOverlay = false;
+        int overlayColor = 0;
+        boolean[] sameNeighbors = null;
+        if (showClaimsOnMap) {
+            if (isSafeZone) {
+                hasOverlay = true;
+                overlayColor = COLOR_SAFEZONE;
+                sameNeighbors = nearbySafeZones;
+            } else if (isWarZone) {
+                hasOverlay = true;
+                overlayColor = COLOR_WARZONE;
+                sameNeighbors = nearbyWarZones;
+            } else if (factionInfo != null) {
+                hasOverlay = true;
+                overlayColor = colorCodeToHex(factionInfo.color());
+                sameNeighbors = new boolean[nearbyChunkOwners.length];
+                for (int i = 0; i < nearbyChunkOwners.length; i++) {
+                    sameNeighbors[i] = factionInfo.id().equals(nearbyChunkOwners[i]);
+                }
+            }
+        }
+
+        // Composite pixels: overlay blended over block color, then shading and fluid
         for (int ix = 0; ix < this.image.width; ++ix) {
             for (int iz = 0; iz < this.image.height; ++iz) {
                 int sampleX = Math.min((int) ((float) ix * imageToSampleRatioWidth), this.sampleWidth - 1);
                 int sampleZ = Math.min((int) ((float) iz * imageToSampleRatioHeight), this.sampleHeight - 1);
                 int sampleIndex = sampleZ * this.sampleWidth + sampleX;
-                int blockPixelX = ix % blockPixelWidth;
-                int blockPixelZ = iz % blockPixelHeight;
-                short height = this.heightSamples[sampleIndex];
-                int tint = this.tintSamples[sampleIndex];
-                int blockId = this.blockSamples[sampleIndex];
+                int pixelIndex = iz * this.image.width + ix;
 
-                // Get base block color
-                getBlockColor(blockId, tint, this.outColor);
+                int baseColor = terrain.baseColor(pixelIndex);
+                this.outColor.r = (baseColor >> 16) & 0xFF;
+                this.outColor.g = (baseColor >> 8) & 0xFF;
+                this.outColor.b = baseColor & 0xFF;
+                this.outColor.a = 255;
 
                 // Apply claim overlay if enabled
-                if (showClaimsOnMap) {
-                    if (isSafeZone) {
-                        boolean isBorder = isBorderPixel(ix, iz, nearbySafeZones);
-                        getForceBlockColor(blockId, COLOR_SAFEZONE, this.outColor, isBorder);
-                    } else if (isWarZone) {
-                        boolean isBorder = isBorderPixel(ix, iz, nearbyWarZones);
-                        getForceBlockColor(blockId, COLOR_WARZONE, this.outColor, isBorder);
-                    } else if (factionInfo != null) {
-                        boolean isBorder = isFactionBorderPixel(ix, iz, factionInfo.id(), nearbyChunkOwners);
-                        int factionColor = colorCodeToHex(factionInfo.color());
-                        getForceBlockColor(blockId, factionColor, this.outColor, isBorder);
-                    }
+                if (hasOverlay) {
+                    getForceBlockColor(overlayColor, this.outColor, isBorderPixel(ix, iz, sameNeighbors));
                 }
 
-                // Calculate terrain shading
-                short north = this.neighborHeightSamples[sampleZ * (this.sampleWidth + 2) + sampleX + 1];
-                short south = this.neighborHeightSamples[(sampleZ + 2) * (this.sampleWidth + 2) + sampleX + 1];
-                short west = this.neighborHeightSamples[(sampleZ + 1) * (this.sampleWidth + 2) + sampleX];
-                short east = this.neighborHeightSamples[(sampleZ + 1) * (this.sampleWidth + 2) + sampleX + 2];
-                short northWest = this.neighborHeightSamples[sampleZ * (this.sampleWidth + 2) + sampleX];
-                short northEast = this.neighborHeightSamples[sampleZ * (this.sampleWidth + 2) + sampleX + 2];
-                short southWest = this.neighborHeightSamples[(sampleZ + 2) * (this.sampleWidth + 2) + sampleX];
-                short southEast = this.neighborHeightSamples[(sampleZ + 2) * (this.sampleWidth + 2) + sampleX + 2];
-
-                float shade = shadeFromHeights(blockPixelX, blockPixelZ, blockPixelWidth, blockPixelHeight,
-                        height, north, south, west, east, northWest, northEast, southWest, southEast);
-                this.outColor.multiply(shade);
+                this.outColor.multiply(terrain.shade(pixelIndex));
 
                 // Apply fluid color if present
-                int fluidId = this.fluidSamples[sampleIndex];
-                if (height < 320 && fluidId != 0) {
-                    short fluidDepth = this.fluidDepthSamples[sampleIndex];
-                    int environmentId = this.environmentSamples[sampleIndex];
-                    getFluidColor(fluidId, environmentId, fluidDepth, this.outColor);
+                int fluidTint = terrain.fluidTint(sampleIndex);
+                if (fluidTint != TerrainTile.NO_FLUID) {
+                    applyFluidColor(fluidTint, terrain.fluidDepthMultiplier(sampleIndex), this.outColor);
                 }
 
                 // Pack pixel
-                this.image.data[iz * this.image.width + ix] = this.outColor.pack();
+                this.image.data[pixelIndex] = this.outColor.pack();
             }
         }
 
@@ -491,11 +577,12 @@ public class ClaimImageBuilder {
             }
         }
 
+        this.renderNanos += System.nanoTime() - startNanos;
         return this;
     }
 
     /**
-     * Checks if a pixel is on the border of a zone claim.
+     * Checks if a pixel is on the border of a zone or faction claim.
      */
     private boolean isBorderPixel(int ix, int iz, boolean[] neighborsSameZone) {
         // South, North, East, West
@@ -506,18 +593,6 @@ public class ClaimImageBuilder {
         return false;
     }
 
-    /**
-     * Checks if a pixel is on the border of a faction claim.
-     */
-    private boolean isFactionBorderPixel(int ix, int iz, UUID factionId, UUID[] nearbyOwners) {
-        // Check if at chunk edge and neighbor is different faction
-        if (iz >= this.image.height - BORDER_SIZE - 1 && !factionId.equals(nearbyOwners[0])) return true;
-        if (iz <= BORDER_SIZE && !factionId.equals(nearbyOwners[1])) return true;
-        if (ix >= this.image.width - BORDER_SIZE - 1 && !factionId.equals(nearbyOwners[2])) return true;
-        if (ix <= BORDER_SIZE && !factionId.equals(nearbyOwners[3])) return true;
-        return false;
-    }
-
     /**
      * Converts a hex color string (#RRGGBB) to RGB int.
      * Falls back to legacy single-char codes for backwards compatibility.
@@ -595,7 +670,7 @@ public class ClaimImageBuilder {
      * Blends the overlay color with the existing terrain color using alpha blending.
      * This creates a semi-transparent overlay effect that preserves terrain detail.
      */
-    private static void getForceBlockColor(int blockId, int forceColor, @NotNull Color outColor, boolean isBorder) {
+    private static void getForceBlockColor(int forceColor, @NotNull Color outColor, boolean isBorder) {
         // Extract overlay RGB
         int overlayR = (forceColor >> 16) & 0xFF;
         int overlayG = (forceColor >> 8) & 0xFF;
@@ -616,7 +691,10 @@ public class ClaimImageBuilder {
         }
     }
 
-    private static void getFluidColor(int fluidId, int environmentId, int fluidDepth, @NotNull Color outColor) {
+    /**
+     * Gets the color a fluid tints the terrain beneath it, as 0xRRGGBB.
+     */
+    private static int getFluidTint(int fluidId, int environmentId) {
         int tintColorR = 255;
         int tintColorG = 255;
         int tintColorB = 255;
@@ -634,7 +712,13 @@ public class ClaimImageBuilder {
             tintColorG = tintColorG * (particleColor.green & 0xFF) / 255;
             tintColorB = tintColorB * (particleColor.blue & 0xFF) / 255;
         }
-        float depthMultiplier = Math.min(1.0f, 1.0f / (float) fluidDepth);
+        return (tintColorR << 16) | (tintColorG << 8) | tintColorB;
+    }
+
+    private static void applyFluidColor(int fluidTint, float depthMultiplier, @NotNull Color outColor) {
+        int tintColorR = (fluidTint >> 16) & 0xFF;
+        int tintColorG = (fluidTint >> 8) & 0xFF;
+        int tintColorB = fluidTint & 0xFF;
         outColor.r = (int) ((float) tintColorR + (float) ((outColor.r & 0xFF) - tintColorR) * depthMultiplier) & 0xFF;
         outColor.g = (int) ((float) tintColorG + (float) ((outColor.g & 0xFF) - tintColorG) * depthMultiplier) & 0xFF;
         outColor.b = (int) ((float) tintColorB + (float) ((outColor.b & 0xFF) - tintColorB) * depthMultiplier) & 0xFF;
@@ -642,17 +726,35 @@ public class ClaimImageBuilder {
 
     /**
      * Builds a map image asynchronously.
+     *
+     * If the chunk's terrain is cached in memory or on disk, only the overlay is
+     * composited and the world is not touched; otherwise the chunk is sampled and
+     * its terrain cached, unless the chunk was invalidated while the render ran.
      */
     @NotNull
     public static CompletableFuture<ClaimImageBuilder> build(long index, int imageWidth, int imageHeight, World world,
                                                               FactionManager factionManager, ClaimManager claimManager,
-                                                              ZoneManager zoneManager) {
+                                                              ZoneManager zoneManager, TerrainTileCache terrainCache) {
         ClaimImageBuilder builder = new ClaimImageBuilder(index, imageWidth, imageHeight, world,
                 factionManager, claimManager, zoneManager);
-        return CompletableFuture.completedFuture(builder)
-                .thenCompose(ClaimImageBuilder::fetchChunk)
-                .thenCompose(b -> b != null ? b.sampleNeighborsSync() : CompletableFuture.completedFuture(null))
-                .thenApplyAsync(b -> b != null ? b.generateImageAsync() : null);
+        int chunkX = ChunkUtil.xOfChunkIndex(index);
+        int chunkZ = ChunkUtil.zOfChunkIndex(index);
+        builder.terrainVersion = terrainCache.version(world.getName(), chunkX, chunkZ);
+        TerrainTile cached = terrainCache.get(world.getName(), chunkX, chunkZ, imageWidth, imageHeight);
+        if (cached != null) {
+            builder.terrain = cached;
+            return CompletableFuture.completedFuture(builder).thenApply(ClaimImageBuilder::composite);
+        }
+        return terrainCache.load(world.getName(), chunkX, chunkZ, imageWidth, imageHeight).thenCompose(stored -> {
+            if (stored != null) {
+                builder.terrain = stored;
+                return CompletableFuture.completedFuture(builder.composite());
+            }
+            return CompletableFuture.completedFuture(builder)
+                    .thenCompose(ClaimImageBuilder::fetchChunk)
+                    .thenCompose(b -> b != null ? b.sampleNeighborsSync() : CompletableFuture.completedFuture(null))
+                    .thenApplyAsync(b -> b != null ? b.sampleTerrain(terrainCache).composite() : null);
+        });
     }
 
     /**
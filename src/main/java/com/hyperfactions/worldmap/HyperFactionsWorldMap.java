@@ -17,6 +17,7 @@ import it.unimi.dsi.fastutil.longs.LongSet;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Custom world map generator that renders terrain with faction claim overlays.
@@ -32,10 +33,50 @@ public class HyperFactionsWorldMap implements IWorldMap {
     /** Singleton instance returned by the provider */
     public static final HyperFactionsWorldMap INSTANCE = new HyperFactionsWorldMap();
 
+    /** Sampled terrain layers shared by all worlds, so overlay changes skip chunk sampling */
+    private final TerrainTileCache terrainCache = new TerrainTileCache();
+
+    /** Moving average of per-tile render time (EWMA, nanoseconds), read by the refresh scheduler */
+    private final AtomicLong averageRenderNanos = new AtomicLong();
+    private final AtomicLong tilesRendered = new AtomicLong();
+
     private HyperFactionsWorldMap() {
         // Singleton - use INSTANCE
     }
 
+    /**
+     * Gets the terrain layer cache.
+     *
+     * @return the terrain tile cache
+     */
+    public TerrainTileCache getTerrainCache() {
+        return terrainCache;
+    }
+
+    /**
+     * Gets the moving average time to render one tile, not counting chunk load waits.
+     *
+     * @return average render time in nanoseconds, 0 before the first tile
+     */
+    public long getAverageRenderNanos() {
+        return averageRenderNanos.get();
+    }
+
+    /**
+     * Gets the number of tiles rendered since startup.
+     *
+     * @return tiles rendered
+     */
+    public long getTilesRendered() {
+        return tilesRendered.get();
+    }
+
+    private void recordRender(long nanos) {
+        tilesRendered.incrementAndGet();
+        // EWMA with alpha 1/8: recent tiles dominate, single outliers do not
+        averageRenderNanos.accumulateAndGet(nanos, (avg, sample) -> avg == 0 ? sample : avg + (sample - avg) / 8);
+    }
+
     /**
      * Gets the managers from HyperFactionsAPI.
      * These are accessed at generation time rather than construction time
@@ -83,7 +124,7 @@ public class HyperFactionsWorldMap implements IWorldMap {
             long chunkIndex = iterator.nextLong();
             futures[futureIndex++] = ClaimImageBuilder.build(
                     chunkIndex, imageWidth, imageHeight, world,
-                    factionManager, claimManager, zoneManager
+                    factionManager, claimManager, zoneManager, terrainCache
             );
         }
 
@@ -92,6 +133,7 @@ public class HyperFactionsWorldMap implements IWorldMap {
             for (CompletableFuture<ClaimImageBuilder> future : futures) {
                 ClaimImageBuilder builder = future.getNow(null);
                 if (builder != null) {
+                    recordRender(builder.getRenderNanos());
                     worldMap.getChunks().put(builder.getIndex(), builder.getImage());
                 }
             }
@@ -107,6 +149,6 @@ public class HyperFactionsWorldMap implements IWorldMap {
 
     @Override
     public void shutdown() {
-        // No resources to clean up
+        // Terrain cache is shared across worlds and cleared by WorldMapService
     }
 }
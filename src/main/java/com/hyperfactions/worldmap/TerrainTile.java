@@ -0,0 +1,112 @@
+package com.hyperfactions.worldmap;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The terrain layer of one world map chunk image, without any claim overlay.
+ *
+ * Holds everything {@link ClaimImageBuilder} needs to composite a finished tile
+ * without going back to world storage: the tinted block color and height shade
+ * of every pixel, and the fluid tint of every terrain sample. The claim overlay
+ * is blended onto the block color before shading and fluid are applied, exactly
+ * as the single-pass renderer did, so cached and fresh tiles are pixel-identical.
+ */
+final class TerrainTile {
+
+    /** Marker in {@link #fluidTints} for samples without visible fluid. */
+    static final int NO_FLUID = -1;
+
+    private final int width;
+    private final int height;
+    private final int sampleWidth;
+    private final int sampleHeight;
+    private final int[] baseColors;
+    private final float[] shades;
+    private final int[] fluidTints;
+    private final float[] fluidDepthMultipliers;
+    private final long createdAt;
+
+    /**
+     * @param width                 image width in pixels
+     * @param height                image height in pixels
+     * @param sampleWidth           terrain samples across
+     * @param sampleHeight          terrain samples down
+     * @param baseColors            per-pixel block color (0xRRGGBB), before shading
+     * @param shades                per-pixel height shade multiplier
+     * @param fluidTints            per-sample fluid tint (0xRRGGBB) or {@link #NO_FLUID}
+     * @param fluidDepthMultipliers per-sample weight of the terrain color under the fluid
+     * @param createdAt             sample time in epoch millis
+     */
+    TerrainTile(int width, int height, int sampleWidth, int sampleHeight,
+                int @NotNull [] baseColors, float @NotNull [] shades,
+                int @NotNull [] fluidTints, float @NotNull [] fluidDepthMultipliers, long createdAt) {
+        this.width = width;
+        this.height = height;
+        this.sampleWidth = sampleWidth;
+        this.sampleHeight = sampleHeight;
+        this.baseColors = baseColors;
+        this.shades = shades;
+        this.fluidTints = fluidTints;
+        this.fluidDepthMultipliers = fluidDepthMultipliers;
+        this.createdAt = createdAt;
+    }
+
+    int width() {
+        return width;
+    }
+
+    int height() {
+        return height;
+    }
+
+    int sampleWidth() {
+        return sampleWidth;
+    }
+
+    int sampleHeight() {
+        return sampleHeight;
+    }
+
+    int baseColor(int pixelIndex) {
+        return baseColors[pixelIndex];
+    }
+
+    float shade(int pixelIndex) {
+        return shades[pixelIndex];
+    }
+
+    int fluidTint(int sampleIndex) {
+        return fluidTints[sampleIndex];
+    }
+
+    float fluidDepthMultiplier(int sampleIndex) {
+        return fluidDepthMultipliers[sampleIndex];
+    }
+
+    long createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Gets a copy with another creation time, sharing the sample arrays.
+     *
+     * @param createdAt the new creation time in epoch millis
+     * @return the copy
+     */
+    @NotNull
+    TerrainTile withCreatedAt(long createdAt) {
+        return new TerrainTile(width, height, sampleWidth, sampleHeight,
+                baseColors, shades, fluidTints, fluidDepthMultipliers, createdAt);
+    }
+
+    /**
+     * Checks if this tile was sampled for the given image size.
+     *
+     * @param imageWidth  the requested width
+     * @param imageHeight the requested height
+     * @return true if the tile can be composited at that size
+     */
+    boolean matches(int imageWidth, int imageHeight) {
+        return width == imageWidth && height == imageHeight;
+    }
+}
@@ -0,0 +1,320 @@
+package com.hyperfactions.worldmap;
+
+import com.hyperfactions.util.ChunkUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded LRU cache of sampled terrain layers for world map tiles.
+ *
+ * Claim, zone and faction changes only touch the overlay, so regenerating a
+ * tile for them composites the cached terrain instead of fetching the chunk and
+ * its eight neighbours again. Entries are dropped when the terrain may have
+ * changed: a player broke or placed a block in the chunk, an admin forced a full
+ * map refresh, or the entry outlived the configured maximum age (which covers
+ * terrain changes the plugin never hears about, such as explosions).
+ *
+ * With a {@link TerrainTileStore} attached, tiles are also written to disk and
+ * memory misses are looked up there before the chunk is sampled, so terrain
+ * survives restarts. Invalidation applies to both layers.
+ *
+ * A render samples the world well before it stores the result, so a block change
+ * can invalidate the chunk in between. Each chunk has a {@link #version}, bumped by
+ * every invalidation covering it; renders capture it before sampling or reading
+ * from disk, and a tile whose version moved on is neither cached nor returned.
+ */
+public final class TerrainTileCache {
+
+    private record TileKey(String world, long chunk) {}
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final LinkedHashMap<TileKey, TerrainTile> tiles = new LinkedHashMap<>(256, 0.75f, true);
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+    private final AtomicLong globalVersion = new AtomicLong();
+
+    private volatile int maxTiles = 2048;
+    private volatile long maxAgeMillis = 10 * 60 * 1000L;
+
+    @Nullable
+    private volatile TerrainTileStore store;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+
+    /**
+     * Sets the cache bounds, evicting immediately if the new size is smaller.
+     *
+     * @param maxTiles     maximum cached tiles, 0 disables the cache
+     * @param maxAgeMillis maximum tile age in millis, 0 for no age limit
+     */
+    public void setLimits(int maxTiles, long maxAgeMillis) {
+        this.maxTiles = Math.max(0, maxTiles);
+        this.maxAgeMillis = Math.max(0, maxAgeMillis);
+        synchronized (tiles) {
+            trim();
+        }
+    }
+
+    /**
+     * Attaches or detaches the on-disk store. The previous store is not shut down.
+     *
+     * @param store the store, or null to keep terrain in memory only
+     */
+    void setStore(@Nullable TerrainTileStore store) {
+        this.store = store;
+    }
+
+    @Nullable
+    TerrainTileStore getStore() {
+        return store;
+    }
+
+    /**
+     * Checks if terrain is being cached, i.e. overlay-only changes are cheap to render.
+     *
+     * @return true if the cache holds tiles
+     */
+    public boolean isEnabled() {
+        return maxTiles > 0;
+    }
+
+    /**
+     * Gets the maximum number of tiles kept in memory.
+     *
+     * @return the tile bound, 0 if the cache is disabled
+     */
+    public int getMaxTiles() {
+        return maxTiles;
+    }
+
+    /**
+     * Gets a chunk's version, to capture before sampling its terrain.
+     * Chunks share version stripes, so an unrelated invalidation may occasionally
+     * discard a tile; that only costs a resample.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return a value that changes whenever the chunk's terrain is invalidated
+     */
+    long version(@NotNull String world, int chunkX, int chunkZ) {
+        return versions.get(stripe(world, chunkX, chunkZ)) + globalVersion.get();
+    }
+
+    /**
+     * Gets the cached terrain of a chunk.
+     *
+     * @param world       the world name
+     * @param chunkX      the chunk X
+     * @param chunkZ      the chunk Z
+     * @param imageWidth  the requested image width
+     * @param imageHeight the requested image height
+     * @return the terrain layer, or null if absent, expired or sampled at another size
+     */
+    @Nullable
+    TerrainTile get(@NotNull String world, int chunkX, int chunkZ, int imageWidth, int imageHeight) {
+        TileKey key = new TileKey(world, ChunkUtil.packChunkKey(chunkX, chunkZ));
+        TerrainTile tile;
+        synchronized (tiles) {
+            tile = tiles.get(key);
+            if (tile != null && (!tile.matches(imageWidth, imageHeight) || isExpired(tile, System.currentTimeMillis()))) {
+                tiles.remove(key);
+                tile = null;
+            }
+        }
+        (tile != null ? hits : misses).incrementAndGet();
+        return tile;
+    }
+
+    /**
+     * Looks up a chunk's terrain in the on-disk store, after a memory miss.
+     * A stored tile is promoted into memory, unless the chunk was invalidated
+     * while it was being read. The store has its own, longer max age, so the
+     * memory max age of a promoted tile counts from the promotion.
+     *
+     * @param world       the world name
+     * @param chunkX      the chunk X
+     * @param chunkZ      the chunk Z
+     * @param imageWidth  the requested image width
+     * @param imageHeight the requested image height
+     * @return future completing with the terrain layer, or null if not stored or invalidated
+     */
+    @NotNull
+    CompletableFuture<TerrainTile> load(@NotNull String world, int chunkX, int chunkZ, int imageWidth, int imageHeight) {
+        TerrainTileStore store = this.store;
+        if (store == null || maxTiles == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        long version = version(world, chunkX, chunkZ);
+        return store.load(world, chunkX, chunkZ).handle((tile, error) -> {
+            if (tile == null || !tile.matches(imageWidth, imageHeight)) {
+                return null;
+            }
+            synchronized (tiles) {
+                if (version(world, chunkX, chunkZ) != version) {
+                    return null; // Read before an invalidation was applied on disk
+                }
+                tiles.put(new TileKey(world, ChunkUtil.packChunkKey(chunkX, chunkZ)),
+                        tile.withCreatedAt(System.currentTimeMillis()));
+                trim();
+            }
+            diskHits.incrementAndGet();
+            return tile;
+        });
+    }
+
+    /**
+     * Caches terrain sampled now, with no invalidation to race against.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @param tile   the sampled terrain
+     */
+    void put(@NotNull String world, int chunkX, int chunkZ, @NotNull TerrainTile tile) {
+        put(world, chunkX, chunkZ, tile, version(world, chunkX, chunkZ));
+    }
+
+    /**
+     * Caches the terrain of a chunk, evicting the least recently used tiles past the bound.
+     * The tile is dropped if the chunk was invalidated after {@code version} was taken.
+     *
+     * @param world   the world name
+     * @param chunkX  the chunk X
+     * @param chunkZ  the chunk Z
+     * @param tile    the sampled terrain
+     * @param version the chunk's {@link #version} from before sampling
+     */
+    void put(@NotNull String world, int chunkX, int chunkZ, @NotNull TerrainTile tile, long version) {
+        if (maxTiles == 0) {
+            return;
+        }
+        // Checked and saved under the lock: invalidation bumps the version and queues
+        // its delete under the same lock, so a stale save can't land after the delete
+        synchronized (tiles) {
+            if (version(world, chunkX, chunkZ) != version) {
+                return;
+            }
+            tiles.put(new TileKey(world, ChunkUtil.packChunkKey(chunkX, chunkZ)), tile);
+            trim();
+            TerrainTileStore store = this.store;
+            if (store != null) {
+                store.save(world, chunkX, chunkZ, tile);
+            }
+        }
+    }
+
+    /**
+     * Drops a chunk's terrain so the next render samples the world again.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     */
+    public void invalidate(@NotNull String world, int chunkX, int chunkZ) {
+        synchronized (tiles) {
+            versions.incrementAndGet(stripe(world, chunkX, chunkZ));
+            tiles.remove(new TileKey(world, ChunkUtil.packChunkKey(chunkX, chunkZ)));
+            TerrainTileStore store = this.store;
+            if (store != null) {
+                store.delete(world, chunkX, chunkZ);
+            }
+        }
+    }
+
+    /**
+     * Drops the cached terrain of every chunk in a world.
+     *
+     * @param world the world name
+     */
+    public void invalidateWorld(@NotNull String world) {
+        synchronized (tiles) {
+            globalVersion.incrementAndGet();
+            tiles.keySet().removeIf(key -> key.world().equals(world));
+            TerrainTileStore store = this.store;
+            if (store != null) {
+                store.deleteWorld(world);
+            }
+        }
+    }
+
+    /**
+     * Drops all cached terrain, in memory and on disk.
+     */
+    public void clear() {
+        synchronized (tiles) {
+            globalVersion.incrementAndGet();
+            tiles.clear();
+            TerrainTileStore store = this.store;
+            if (store != null) {
+                store.clear();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of cached tiles.
+     *
+     * @return the tile count
+     */
+    public int size() {
+        synchronized (tiles) {
+            return tiles.size();
+        }
+    }
+
+    /**
+     * Gets the number of renders served from the cache.
+     *
+     * @return cache hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of renders that had to sample the world.
+     *
+     * @return cache misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the number of memory misses served from the on-disk store.
+     *
+     * @return disk hits
+     */
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    private boolean isExpired(@NotNull TerrainTile tile, long now) {
+        long maxAge = maxAgeMillis;
+        return maxAge > 0 && now - tile.createdAt() > maxAge;
+    }
+
+    private static int stripe(@NotNull String world, int chunkX, int chunkZ) {
+        int h = world.hashCode() * 31 + Long.hashCode(ChunkUtil.packChunkKey(chunkX, chunkZ));
+        return (h ^ (h >>> 16)) & (VERSION_STRIPES - 1);
+    }
+
+    // Caller holds the tiles lock
+    private void trim() {
+        Iterator<Map.Entry<TileKey, TerrainTile>> it = tiles.entrySet().iterator();
+        while (tiles.size() > maxTiles && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
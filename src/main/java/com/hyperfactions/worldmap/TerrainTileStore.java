@@ -0,0 +1,396 @@
+package com.hyperfactions.worldmap;
+
+import com.hyperfactions.util.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * On-disk copy of the {@link TerrainTileCache}, so terrain sampled before a
+ * restart is composited straight away instead of fetching every chunk again.
+ *
+ * Layout under {@code data/worldmap-cache/}:
+ * <pre>
+ * {world}/{chunkX}_{chunkZ}.tile   deflated TerrainTile, see {@link #encode}
+ * </pre>
+ * World names are URL-encoded in directory names. Only terrain is stored: the
+ * claim overlay is always composited from live claim data, so a stored tile
+ * never shows stale ownership.
+ *
+ * All file I/O runs on a single dedicated thread. The directory is kept under
+ * its size cap by {@link #evict()}, which runs at startup and whenever writes
+ * push the tracked size over the cap; it also removes tiles past the max age.
+ */
+final class TerrainTileStore {
+
+    private static final int MAGIC = 0x48465454; // "HFTT"
+    static final int FORMAT_VERSION = 1;
+    private static final String EXT = ".tile";
+
+    /** Eviction trims down to this fraction of the cap so it does not run on every write. */
+    private static final double EVICT_TARGET = 0.9;
+
+    private final Path dir;
+    private final ExecutorService io;
+
+    private volatile long maxBytes;
+    private volatile long maxAgeMillis;
+
+    // Approximate bytes on disk; recounted by every eviction pass
+    private final AtomicLong bytesOnDisk = new AtomicLong();
+
+    /**
+     * Creates a store and schedules an initial eviction pass.
+     *
+     * @param dir          the cache directory
+     * @param maxBytes     size cap in bytes
+     * @param maxAgeMillis max tile age in millis, 0 for no age limit
+     */
+    TerrainTileStore(@NotNull Path dir, long maxBytes, long maxAgeMillis) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+        this.io = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "HyperFactions-TileStore");
+            t.setDaemon(true);
+            return t;
+        });
+        run(this::evict);
+    }
+
+    /**
+     * Updates the size cap and age limit.
+     *
+     * @param maxBytes     size cap in bytes
+     * @param maxAgeMillis max tile age in millis, 0 for no age limit
+     */
+    void setLimits(long maxBytes, long maxAgeMillis) {
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+        run(this::evict);
+    }
+
+    /**
+     * Reads a stored tile.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return future completing with the tile, or null if absent, unreadable or expired
+     */
+    @NotNull
+    CompletableFuture<TerrainTile> load(@NotNull String world, int chunkX, int chunkZ) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readTile(world, chunkX, chunkZ), io);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    @Nullable
+    private TerrainTile readTile(@NotNull String world, int chunkX, int chunkZ) {
+        Path file = tileFile(world, chunkX, chunkZ);
+        try {
+            TerrainTile tile = decode(Files.readAllBytes(file));
+            if (tile == null || isExpired(tile)) {
+                deleteFile(file);
+                return null;
+            }
+            return tile;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            Logger.debugWorldMap("Discarding unreadable map tile %s: %s", file, e.getMessage());
+            deleteFile(file);
+            return null;
+        }
+    }
+
+    /**
+     * Writes a tile in the background.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @param tile   the terrain to store
+     */
+    void save(@NotNull String world, int chunkX, int chunkZ, @NotNull TerrainTile tile) {
+        run(() -> {
+            Path file = tileFile(world, chunkX, chunkZ);
+            try {
+                byte[] data = encode(tile);
+                Files.createDirectories(file.getParent());
+                Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+                Files.write(temp, data);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                if (bytesOnDisk.addAndGet(data.length) > maxBytes) {
+                    evict();
+                }
+            } catch (IOException e) {
+                Logger.debugWorldMap("Failed to store map tile %s: %s", file, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Deletes a stored tile in the background.
+     *
+     * @param world  the world name
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     */
+    void delete(@NotNull String world, int chunkX, int chunkZ) {
+        run(() -> deleteFile(tileFile(world, chunkX, chunkZ)));
+    }
+
+    /**
+     * Deletes every stored tile of a world in the background.
+     *
+     * @param world the world name
+     */
+    void deleteWorld(@NotNull String world) {
+        run(() -> deleteTree(worldDir(world)));
+    }
+
+    /**
+     * Deletes every stored tile in the background.
+     */
+    void clear() {
+        run(() -> {
+            deleteTree(dir);
+            bytesOnDisk.set(0);
+        });
+    }
+
+    /**
+     * Queues work on the I/O thread, dropping it once the store is shut down.
+     */
+    private void run(@NotNull Runnable task) {
+        try {
+            io.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Shut down; the cache is best effort
+        }
+    }
+
+    /**
+     * Finishes pending writes and stops the I/O thread.
+     */
+    void shutdown() {
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(5, TimeUnit.SECONDS)) {
+                io.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            io.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Removes expired tiles, then the least recently written tiles until the
+     * directory is back under the size cap. Runs on the I/O thread.
+     */
+    private void evict() {
+        if (!Files.isDirectory(dir)) {
+            bytesOnDisk.set(0);
+            return;
+        }
+        record StoredTile(Path file, long size, long modified) {}
+        List<StoredTile> tiles = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        long maxAge = maxAgeMillis;
+        long total = 0;
+        int expired = 0;
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.toString().endsWith(EXT))::iterator) {
+                long size = Files.size(file);
+                long modified = Files.getLastModifiedTime(file).toMillis();
+                if (maxAge > 0 && now - modified > maxAge) {
+                    deleteFile(file);
+                    expired++;
+                    continue;
+                }
+                tiles.add(new StoredTile(file, size, modified));
+                total += size;
+            }
+        } catch (IOException e) {
+            Logger.debugWorldMap("Map tile store eviction failed: %s", e.getMessage());
+            return;
+        }
+
+        int removed = 0;
+        if (total > maxBytes) {
+            long target = (long) (maxBytes * EVICT_TARGET);
+            tiles.sort(Comparator.comparingLong(StoredTile::modified));
+            for (StoredTile tile : tiles) {
+                if (total <= target) {
+                    break;
+                }
+                deleteFile(tile.file());
+                total -= tile.size();
+                removed++;
+            }
+        }
+        bytesOnDisk.set(total);
+        if (expired > 0 || removed > 0) {
+            Logger.debugWorldMap("Map tile store: removed %d expired and %d over-cap tiles, %d KB remaining",
+                    expired, removed, total / 1024);
+        }
+    }
+
+    private boolean isExpired(@NotNull TerrainTile tile) {
+        long maxAge = maxAgeMillis;
+        return maxAge > 0 && System.currentTimeMillis() - tile.createdAt() > maxAge;
+    }
+
+    @NotNull
+    private Path worldDir(@NotNull String world) {
+        return dir.resolve(URLEncoder.encode(world, StandardCharsets.UTF_8));
+    }
+
+    @NotNull
+    private Path tileFile(@NotNull String world, int chunkX, int chunkZ) {
+        return worldDir(world).resolve(chunkX + "_" + chunkZ + EXT);
+    }
+
+    private void deleteFile(@NotNull Path file) {
+        try {
+            long size = Files.size(file);
+            if (Files.deleteIfExists(file)) {
+                bytesOnDisk.addAndGet(-size);
+            }
+        } catch (IOException ignored) {
+            // Already gone
+        }
+    }
+
+    private static void deleteTree(@NotNull Path root) {
+        if (!Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException ignored) {
+                    // Best effort
+                }
+            });
+        } catch (IOException e) {
+            Logger.debugWorldMap("Failed to delete map tile directory %s: %s", root, e.getMessage());
+        }
+    }
+
+    /**
+     * Serializes a tile: magic, format version, dimensions, sample time, then the
+     * four layer arrays, all deflated.
+     *
+     * @param tile the tile
+     * @return the encoded bytes
+     */
+    static byte[] encode(@NotNull TerrainTile tile) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new DeflaterOutputStream(bytes, deflater)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(tile.width());
+            out.writeInt(tile.height());
+            out.writeInt(tile.sampleWidth());
+            out.writeInt(tile.sampleHeight());
+            out.writeLong(tile.createdAt());
+            int pixels = tile.width() * tile.height();
+            for (int i = 0; i < pixels; i++) {
+                out.writeInt(tile.baseColor(i));
+            }
+            for (int i = 0; i < pixels; i++) {
+                out.writeFloat(tile.shade(i));
+            }
+            int samples = tile.sampleWidth() * tile.sampleHeight();
+            for (int i = 0; i < samples; i++) {
+                out.writeInt(tile.fluidTint(i));
+            }
+            for (int i = 0; i < samples; i++) {
+                out.writeFloat(tile.fluidDepthMultiplier(i));
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserializes a tile written by {@link #encode}.
+     *
+     * @param data the encoded bytes
+     * @return the tile, or null if written by another format version
+     */
+    @Nullable
+    static TerrainTile decode(byte @NotNull [] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(data))))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("not a map tile");
+            }
+            if (in.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            int width = in.readInt();
+            int height = in.readInt();
+            int sampleWidth = in.readInt();
+            int sampleHeight = in.readInt();
+            if (width <= 0 || height <= 0 || width > 1024 || height > 1024
+                    || sampleWidth <= 0 || sampleHeight <= 0 || sampleWidth > width || sampleHeight > height) {
+                throw new IOException("bad tile dimensions");
+            }
+            long createdAt = in.readLong();
+            int pixels = width * height;
+            int samples = sampleWidth * sampleHeight;
+            int[] baseColors = new int[pixels];
+            float[] shades = new float[pixels];
+            int[] fluidTints = new int[samples];
+            float[] fluidDepthMultipliers = new float[samples];
+            for (int i = 0; i < pixels; i++) {
+                baseColors[i] = in.readInt();
+            }
+            for (int i = 0; i < pixels; i++) {
+                shades[i] = in.readFloat();
+            }
+            for (int i = 0; i < samples; i++) {
+                fluidTints[i] = in.readInt();
+            }
+            for (int i = 0; i < samples; i++) {
+                fluidDepthMultipliers[i] = in.readFloat();
+            }
+            return new TerrainTile(width, height, sampleWidth, sampleHeight,
+                    baseColors, shades, fluidTints, fluidDepthMultipliers, createdAt);
+        }
+    }
+}
@@ -46,14 +46,37 @@ import java.util.concurrent.atomic.AtomicInteger;
  *
  * Server-side cache uses WorldMapManager.clearImagesInChunks() for selective invalidation
  * (PROXIMITY/INCREMENTAL) or WorldMapManager.clearImages() for full clear (DEBOUNCED/IMMEDIATE).
+ *
+ * PROXIMITY/INCREMENTAL batches are adaptive: pending chunks are taken nearest to an
+ * online player first, then most recently changed; the batch size follows the measured
+ * per-tile render time so a batch costs about the configured render budget; and each
+ * player receives at most one update per notify interval, with held chunks merged into
+ * their next update.
  */
 public class WorldMapRefreshScheduler {
 
     private final WorldMapConfig config;
     private final WorldMapService worldMapService;
 
-    // Pending chunk updates per world: world name -> set of chunk keys (packed long)
-    private final Map<String, Set<Long>> pendingChunks = new ConcurrentHashMap<>();
+    /** Smallest adaptive batch, so slow renders still make progress */
+    private static final int MIN_BATCH_SIZE = 4;
+
+    // Pending chunk updates per world: world name -> chunk key (packed long) -> last change time
+    private final Map<String, Map<Long, Long>> pendingChunks = new ConcurrentHashMap<>();
+
+    // Chunks held back from players by the notify rate limit, and when each player was last updated
+    private final Map<UUID, HeldUpdate> heldUpdates = new ConcurrentHashMap<>();
+    private final Map<UUID, Long> lastNotified = new ConcurrentHashMap<>();
+
+    /**
+     * Chunks waiting to be sent to one player.
+     */
+    private record HeldUpdate(String world, LongOpenHashSet chunks) {}
+
+    /**
+     * A pending chunk with its batch priority.
+     */
+    private record Candidate(long chunkKey, int distance, long changedAt) {}
 
     // Debounce state
     private volatile long lastChangeTime = 0;
@@ -73,6 +96,10 @@ public class WorldMapRefreshScheduler {
     private final AtomicInteger totalRefreshes = new AtomicInteger(0);
     private final AtomicInteger chunksProcessed = new AtomicInteger(0);
     private final AtomicInteger playersNotified = new AtomicInteger(0);
+    private final AtomicInteger notificationsDeferred = new AtomicInteger(0);
+    private final AtomicInteger batchesWithBacklog = new AtomicInteger(0);
+    private volatile int lastBatchSize = 0;
+    private volatile long lastBatchNanos = 0;
     private volatile Instant lastRefreshTime = null;
 
     /**
@@ -126,9 +153,22 @@ public class WorldMapRefreshScheduler {
         }
         scheduler.shutdown();
         pendingChunks.clear();
+        heldUpdates.clear();
+        lastNotified.clear();
         Logger.debugWorldMap("Refresh scheduler shut down");
     }
 
+    /**
+     * Called when a player disconnects.
+     * Drops their held chunks and notify time.
+     *
+     * @param playerUuid the player's UUID
+     */
+    public void onPlayerDisconnect(@NotNull UUID playerUuid) {
+        heldUpdates.remove(playerUuid);
+        lastNotified.remove(playerUuid);
+    }
+
     /**
      * Queues a chunk for refresh. Called when a claim changes.
      *
@@ -147,7 +187,8 @@ public class WorldMapRefreshScheduler {
             case PROXIMITY, INCREMENTAL -> {
                 // Queue for batch processing
                 long chunkKey = ChunkUtil.packChunkKey(chunkX, chunkZ);
-                pendingChunks.computeIfAbsent(worldName, k -> ConcurrentHashMap.newKeySet()).add(chunkKey);
+                pendingChunks.computeIfAbsent(worldName, k -> new ConcurrentHashMap<>())
+                        .put(chunkKey, System.currentTimeMillis());
                 Logger.debugWorldMap("Queued chunk refresh: world=%s, chunk=(%d,%d), queue size=%d",
                         worldName, chunkX, chunkZ, getPendingChunkCount());
             }
@@ -178,6 +219,13 @@ public class WorldMapRefreshScheduler {
      *
      * If chunks is null or exceeds threshold, falls back to full refresh.
      * Otherwise, queues each chunk individually for optimized refresh.
+     * <p>
+     * These changes only affect the claim overlay, so when the terrain cache can
+     * hold all of the faction's chunks the regenerated tiles are composited onto
+     * cached terrain and the threshold is ignored: the chunks are queued and go out
+     * in batches, nearest to viewers first, instead of clearing every map. More
+     * chunks than the cache holds would evict each other and be sampled again, so
+     * the threshold applies as usual.
      *
      * @param chunks the chunks to refresh, or null for full refresh
      */
@@ -189,10 +237,15 @@ public class WorldMapRefreshScheduler {
         RefreshMode mode = getEffectiveMode();
         int threshold = config.getFactionWideRefreshThreshold();
 
+        // Overlay-only refreshes are cheap while the terrain of every chunk fits in the cache
+        TerrainTileCache terrainCache = HyperFactionsWorldMap.INSTANCE.getTerrainCache();
+        boolean overlayFastPath = terrainCache.isEnabled()
+                && chunks != null && chunks.size() <= terrainCache.getMaxTiles();
+
         // Check if we should use full refresh (null chunks, exceeds threshold, or IMMEDIATE mode)
         boolean useFullRefresh = chunks == null
                 || chunks.isEmpty()
-                || chunks.size() > threshold
+                || (chunks.size() > threshold && !overlayFastPath)
                 || mode == RefreshMode.IMMEDIATE;
 
         if (useFullRefresh) {
@@ -216,10 +269,12 @@ public class WorldMapRefreshScheduler {
             // Queue each chunk individually for optimized refresh
             switch (mode) {
                 case PROXIMITY, INCREMENTAL -> {
-                    Logger.debugWorldMap("Faction-wide change: queuing %d chunks (threshold=%d, mode=%s)",
-                            chunks.size(), threshold, mode.getConfigName());
+                    Logger.debugWorldMap("Faction-wide change: queuing %d chunks (threshold=%d, mode=%s, overlayOnly=%s)",
+                            chunks.size(), threshold, mode.getConfigName(), overlayFastPath);
+                    long now = System.currentTimeMillis();
                     for (ChunkKey chunk : chunks) {
-                        queueChunkRefresh(chunk.world(), chunk.chunkX(), chunk.chunkZ());
+                        pendingChunks.computeIfAbsent(chunk.world(), k -> new ConcurrentHashMap<>())
+                                .put(ChunkUtil.packChunkKey(chunk.chunkX(), chunk.chunkZ()), now);
                     }
                 }
                 case DEBOUNCED -> {
@@ -255,22 +310,26 @@ public class WorldMapRefreshScheduler {
      * Processes pending chunks in a batch.
      */
     private void processBatch() {
-        if (pendingChunks.isEmpty()) {
+        pruneLastNotified();
+        if (pendingChunks.isEmpty() && heldUpdates.isEmpty()) {
             return;
         }
 
+        long startNanos = System.nanoTime();
+        long budgetNanos = config.getBatchRenderBudgetMillis() * 1_000_000L;
         RefreshMode mode = getEffectiveMode();
         int maxChunks = mode == RefreshMode.PROXIMITY
                 ? config.getProximityMaxChunksPerBatch()
                 : config.getIncrementalMaxChunksPerBatch();
+        int batchSize = computeBatchSize(maxChunks, budgetNanos);
 
         int processedCount = 0;
-        int notifiedCount = 0;
+        int notifiedCount = flushHeldUpdates();
 
         // Process each world's pending chunks
-        for (Map.Entry<String, Set<Long>> entry : pendingChunks.entrySet()) {
+        for (Map.Entry<String, Map<Long, Long>> entry : pendingChunks.entrySet()) {
             String worldName = entry.getKey();
-            Set<Long> chunks = entry.getValue();
+            Map<Long, Long> chunks = entry.getValue();
 
             if (chunks.isEmpty()) {
                 continue;
@@ -282,14 +341,14 @@ public class WorldMapRefreshScheduler {
                 continue;
             }
 
-            // Take up to maxChunks from the set
-            List<Long> toProcess = new ArrayList<>();
-            Iterator<Long> iter = chunks.iterator();
-            while (iter.hasNext() && toProcess.size() < maxChunks) {
-                toProcess.add(iter.next());
-                iter.remove();
+            // Out of chunks or time for this batch; the rest waits for the next one
+            if (processedCount >= batchSize || System.nanoTime() - startNanos > budgetNanos) {
+                break;
             }
 
+            // Take the highest-priority chunks: nearest to viewers, then most recent
+            List<Long> toProcess = takeByPriority(world, chunks, batchSize - processedCount);
+
             if (toProcess.isEmpty()) {
                 continue;
             }
@@ -306,16 +365,100 @@ public class WorldMapRefreshScheduler {
             }
 
             processedCount += toProcess.size();
-            Logger.debugWorldMap("Processed batch: world=%s, chunks=%d, cleared=%d, notified=%d",
-                    worldName, toProcess.size(), cleared, notifiedCount);
+            Logger.debugWorldMap("Processed batch: world=%s, chunks=%d, cleared=%d, notified=%d, batchSize=%d",
+                    worldName, toProcess.size(), cleared, notifiedCount, batchSize);
         }
 
+        lastBatchSize = batchSize;
+        lastBatchNanos = System.nanoTime() - startNanos;
+        if (processedCount > 0 && getPendingChunkCount() > 0) {
+            batchesWithBacklog.incrementAndGet();
+        }
         if (processedCount > 0) {
             chunksProcessed.addAndGet(processedCount);
-            playersNotified.addAndGet(notifiedCount);
             totalRefreshes.incrementAndGet();
             lastRefreshTime = Instant.now();
         }
+        playersNotified.addAndGet(notifiedCount);
+    }
+
+    /**
+     * Sizes a batch so its tiles take about the render budget to regenerate,
+     * using the measured average tile render time.
+     *
+     * @param maxChunks configured upper bound
+     * @param budgetNanos render budget per batch
+     * @return chunks to take this batch
+     */
+    private int computeBatchSize(int maxChunks, long budgetNanos) {
+        long averageNanos = HyperFactionsWorldMap.INSTANCE.getAverageRenderNanos();
+        if (averageNanos <= 0) {
+            return maxChunks;
+        }
+        long fit = budgetNanos / averageNanos;
+        return (int) Math.max(Math.min(MIN_BATCH_SIZE, maxChunks), Math.min(maxChunks, fit));
+    }
+
+    /**
+     * Removes up to {@code limit} chunks from a pending map, closest to an online
+     * viewer first and most recently changed among equals, so large refreshes reach
+     * the players looking at them before the rest of the territory.
+     *
+     * @param world the world
+     * @param chunks the pending chunk keys and change times (modified)
+     * @param limit max chunks to take
+     * @return the chunks to process this batch
+     */
+    @NotNull
+    private List<Long> takeByPriority(@NotNull World world, @NotNull Map<Long, Long> chunks, int limit) {
+        List<Long> viewers = getViewerChunks(world);
+        List<Candidate> candidates = new ArrayList<>(chunks.size());
+        for (Map.Entry<Long, Long> entry : chunks.entrySet()) {
+            long chunkKey = entry.getKey();
+            int chunkX = ChunkUtil.unpackChunkX(chunkKey);
+            int chunkZ = ChunkUtil.unpackChunkZ(chunkKey);
+            int nearest = Integer.MAX_VALUE;
+            for (long viewer : viewers) {
+                int distance = Math.max(Math.abs(chunkX - ChunkUtil.unpackChunkX(viewer)),
+                        Math.abs(chunkZ - ChunkUtil.unpackChunkZ(viewer)));
+                nearest = Math.min(nearest, distance);
+            }
+            candidates.add(new Candidate(chunkKey, nearest, entry.getValue()));
+        }
+        if (candidates.size() > limit) {
+            candidates.sort(Comparator.comparingInt(Candidate::distance)
+                    .thenComparing(Comparator.comparingLong(Candidate::changedAt).reversed()));
+        }
+
+        List<Long> taken = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (int i = 0; i < candidates.size() && taken.size() < limit; i++) {
+            Candidate candidate = candidates.get(i);
+            // Only take it if it was not re-queued meanwhile; a newer change stays for the next batch
+            if (chunks.remove(candidate.chunkKey(), candidate.changedAt())) {
+                taken.add(candidate.chunkKey());
+            }
+        }
+        return taken;
+    }
+
+    /**
+     * Gets the chunk positions of the players in a world.
+     *
+     * @param world the world
+     * @return packed chunk keys of player positions
+     */
+    @NotNull
+    private List<Long> getViewerChunks(@NotNull World world) {
+        List<Long> viewers = new ArrayList<>();
+        for (Player player : world.getPlayers()) {
+            var playerRef = player.getPlayerRef();
+            if (playerRef == null || playerRef.getTransform() == null) {
+                continue;
+            }
+            Vector3d pos = playerRef.getTransform().getPosition();
+            viewers.add(ChunkUtil.packChunkKey(ChunkUtil.toChunkCoord(pos.getX()), ChunkUtil.toChunkCoord(pos.getZ())));
+        }
+        return viewers;
     }
 
     /**
@@ -370,8 +513,7 @@ public class WorldMapRefreshScheduler {
                 }
             }
 
-            if (inRange) {
-                markChunksPendingReload(player, chunkKeys);
+            if (inRange && notifyPlayer(world, player, chunkKeys)) {
                 notified++;
             }
         }
@@ -390,13 +532,117 @@ public class WorldMapRefreshScheduler {
         int notified = 0;
 
         for (Player player : world.getPlayers()) {
-            markChunksPendingReload(player, chunkKeys);
-            notified++;
+            if (notifyPlayer(world, player, chunkKeys)) {
+                notified++;
+            }
         }
 
         return notified;
     }
 
+    /**
+     * Sends changed chunks to a player, or holds them if the player was notified
+     * less than the notify interval ago. Held chunks are merged into the next update.
+     *
+     * @param world the player's world
+     * @param player the player
+     * @param chunkKeys the changed chunk keys
+     * @return true if an update was sent now
+     */
+    private boolean notifyPlayer(@NotNull World world, @NotNull Player player, @NotNull List<Long> chunkKeys) {
+        var playerRef = player.getPlayerRef();
+        if (playerRef == null) {
+            markChunksPendingReload(player, new LongOpenHashSet(chunkKeys));
+            return true;
+        }
+
+        UUID playerId = playerRef.getUuid();
+        HeldUpdate held = heldUpdates.get(playerId);
+        if (held != null && !held.world().equals(world.getName())) {
+            // Player changed worlds; their tracker was reset anyway
+            heldUpdates.remove(playerId);
+            held = null;
+        }
+        LongOpenHashSet toSend = held != null ? held.chunks() : new LongOpenHashSet(chunkKeys.size());
+        toSend.addAll(chunkKeys);
+
+        long now = System.currentTimeMillis();
+        Long last = lastNotified.get(playerId);
+        if (last != null && now - last < config.getPlayerNotifyIntervalMillis()) {
+            if (held == null) {
+                heldUpdates.put(playerId, new HeldUpdate(world.getName(), toSend));
+            }
+            notificationsDeferred.incrementAndGet();
+            return false;
+        }
+
+        heldUpdates.remove(playerId);
+        lastNotified.put(playerId, now);
+        markChunksPendingReload(player, toSend);
+        return true;
+    }
+
+    /**
+     * Sends held chunks to players whose notify interval has passed.
+     * Held updates for players who left the world are dropped.
+     *
+     * @return number of players notified
+     */
+    private int flushHeldUpdates() {
+        if (heldUpdates.isEmpty()) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        long interval = config.getPlayerNotifyIntervalMillis();
+        int notified = 0;
+
+        Set<String> worlds = new HashSet<>();
+        for (HeldUpdate held : heldUpdates.values()) {
+            worlds.add(held.world());
+        }
+        Set<UUID> present = new HashSet<>();
+        for (String worldName : worlds) {
+            World world = Universe.get().getWorld(worldName);
+            if (world == null) {
+                continue;
+            }
+            for (Player player : world.getPlayers()) {
+                var playerRef = player.getPlayerRef();
+                if (playerRef == null) {
+                    continue;
+                }
+                UUID playerId = playerRef.getUuid();
+                HeldUpdate held = heldUpdates.get(playerId);
+                if (held == null || !held.world().equals(worldName)) {
+                    continue;
+                }
+                present.add(playerId);
+                Long last = lastNotified.get(playerId);
+                if (last == null || now - last >= interval) {
+                    heldUpdates.remove(playerId);
+                    lastNotified.put(playerId, now);
+                    markChunksPendingReload(player, held.chunks());
+                    notified++;
+                }
+            }
+        }
+        heldUpdates.keySet().retainAll(present);
+        return notified;
+    }
+
+    /**
+     * Forgets notify times that no longer throttle anyone: past the notify interval
+     * and with nothing held. Runs every batch, including batches with nothing to send.
+     */
+    private void pruneLastNotified() {
+        if (lastNotified.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long interval = config.getPlayerNotifyIntervalMillis();
+        lastNotified.entrySet().removeIf(e -> now - e.getValue() >= interval && !heldUpdates.containsKey(e.getKey()));
+    }
+
     /**
      * Notifies a player that specific chunks need to be reloaded on their world map.
      * Uses clearChunks() for surgical invalidation — only the changed chunks are
@@ -405,11 +651,10 @@ public class WorldMapRefreshScheduler {
      * a full spiral reload from scratch (causing empty map after teleport).
      *
      * @param player the player
-     * @param chunkKeys the chunk keys that changed
+     * @param indices the chunk keys that changed
      */
-    private void markChunksPendingReload(@NotNull Player player, @NotNull List<Long> chunkKeys) {
+    private void markChunksPendingReload(@NotNull Player player, @NotNull LongOpenHashSet indices) {
         try {
-            LongOpenHashSet indices = new LongOpenHashSet(chunkKeys);
             player.getWorldMapTracker().clearChunks(indices);
         } catch (Exception e) {
             Logger.debugWorldMap("Failed to clear world map chunks for player: %s", e.getMessage());
@@ -466,7 +711,7 @@ public class WorldMapRefreshScheduler {
      * @return pending chunk count
      */
     public int getPendingChunkCount() {
-        return pendingChunks.values().stream().mapToInt(Set::size).sum();
+        return pendingChunks.values().stream().mapToInt(Map::size).sum();
     }
 
     /**
@@ -496,6 +741,47 @@ public class WorldMapRefreshScheduler {
         return playersNotified.get();
     }
 
+    /**
+     * Gets the number of player updates held back by the notify rate limit.
+     *
+     * @return deferred notifications
+     */
+    public int getNotificationsDeferred() {
+        return notificationsDeferred.get();
+    }
+
+    /**
+     * Gets the number of batches that processed chunks but left others pending for
+     * a later batch, whether they stopped on the adaptive batch size or the time
+     * budget. The time budget covers cache clears and notifications; tiles are
+     * rendered afterwards, when players fetch them, and are sized in through the
+     * batch size instead. A steadily rising count means changes arrive faster than
+     * batches drain them.
+     *
+     * @return batches that left a backlog
+     */
+    public int getBatchesWithBacklog() {
+        return batchesWithBacklog.get();
+    }
+
+    /**
+     * Gets the adaptive batch size used by the most recent batch.
+     *
+     * @return last batch size
+     */
+    public int getLastBatchSize() {
+        return lastBatchSize;
+    }
+
+    /**
+     * Gets how long the most recent batch took to process (cache clears and notifications).
+     *
+     * @return last batch duration in nanoseconds
+     */
+    public long getLastBatchNanos() {
+        return lastBatchNanos;
+    }
+
     /**
      * Gets the time of the last refresh.
      *
@@ -513,5 +799,7 @@ public class WorldMapRefreshScheduler {
         totalRefreshes.set(0);
         chunksProcessed.set(0);
         playersNotified.set(0);
+        notificationsDeferred.set(0);
+        batchesWithBacklog.set(0);
     }
 }
@@ -3,10 +3,12 @@ package com.hyperfactions.worldmap;
 import com.hyperfactions.config.ConfigManager;
 import com.hyperfactions.config.modules.WorldMapConfig;
 import com.hyperfactions.data.ChunkKey;
+import com.hyperfactions.gui.faction.ChunkMapTileCache;
 import com.hyperfactions.manager.ClaimManager;
 import com.hyperfactions.manager.FactionManager;
 import com.hyperfactions.manager.RelationManager;
 import com.hyperfactions.manager.ZoneManager;
+import com.hyperfactions.util.ChunkUtil;
 import com.hyperfactions.util.Logger;
 
 import java.util.UUID;
@@ -17,6 +19,7 @@ import com.hypixel.hytale.server.core.universe.world.worldmap.provider.IWorldMap
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.nio.file.Path;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -40,6 +43,10 @@ public class WorldMapService {
     /** Refresh scheduler for optimized map updates */
     private WorldMapRefreshScheduler refreshScheduler;
 
+    /** Directory for the on-disk terrain tile cache, null until set */
+    @Nullable
+    private Path tileCacheDir;
+
     public WorldMapService(
             @NotNull FactionManager factionManager,
             @NotNull ClaimManager claimManager,
@@ -51,6 +58,17 @@ public class WorldMapService {
         // relationManager parameter kept for API compatibility but not used
     }
 
+    /**
+     * Sets the plugin data directory, enabling the on-disk terrain cache
+     * ({@code data/worldmap-cache/}) when {@code terrainCache.persist} is on.
+     * Call before {@link #initializeScheduler}.
+     *
+     * @param dataDir the plugin data directory
+     */
+    public void setDataDir(@NotNull Path dataDir) {
+        this.tileCacheDir = dataDir.resolve("worldmap-cache");
+    }
+
     /**
      * Initializes the refresh scheduler. Must be called after ConfigManager is loaded.
      *
@@ -60,12 +78,39 @@ public class WorldMapService {
         if (refreshScheduler != null) {
             refreshScheduler.shutdown();
         }
+        configureTerrainCache(worldMapConfig);
         refreshScheduler = new WorldMapRefreshScheduler(worldMapConfig, this);
         refreshScheduler.start();
         Logger.info("[WorldMap] Refresh scheduler initialized with mode: %s",
                 worldMapConfig.getRefreshMode().getConfigName());
     }
 
+    /**
+     * Applies the terrain cache bounds and attaches, updates, or detaches the on-disk store.
+     *
+     * @param worldMapConfig the world map configuration
+     */
+    private void configureTerrainCache(@NotNull WorldMapConfig worldMapConfig) {
+        TerrainTileCache terrainCache = HyperFactionsWorldMap.INSTANCE.getTerrainCache();
+        long maxAgeMillis = worldMapConfig.getTerrainCacheMaxAgeSeconds() * 1000L;
+        terrainCache.setLimits(worldMapConfig.getTerrainCacheMaxTiles(), maxAgeMillis);
+
+        long diskMaxBytes = worldMapConfig.getTerrainCacheDiskMaxMegabytes() * 1024L * 1024L;
+        long diskMaxAgeMillis = worldMapConfig.getTerrainCacheDiskMaxAgeDays() * 24L * 60 * 60 * 1000;
+        boolean persist = worldMapConfig.isTerrainCachePersist() && worldMapConfig.getTerrainCacheMaxTiles() > 0
+                && tileCacheDir != null;
+        TerrainTileStore store = terrainCache.getStore();
+        if (persist && store == null) {
+            terrainCache.setStore(new TerrainTileStore(tileCacheDir, diskMaxBytes, diskMaxAgeMillis));
+            Logger.info("[WorldMap] On-disk terrain cache enabled (%d MB cap)", worldMapConfig.getTerrainCacheDiskMaxMegabytes());
+        } else if (persist) {
+            store.setLimits(diskMaxBytes, diskMaxAgeMillis);
+        } else if (store != null) {
+            terrainCache.setStore(null);
+            store.shutdown();
+        }
+    }
+
     /**
      * Gets the refresh scheduler for status/statistics.
      *
@@ -219,8 +264,12 @@ public class WorldMapService {
     /**
      * Forces an immediate full refresh, bypassing the scheduler.
      * Use for admin commands or critical updates.
+     * Also drops the cached terrain (world map tiles and chunk map GUI) so every
+     * tile is sampled from the world again.
      */
     public void forceFullRefresh() {
+        HyperFactionsWorldMap.INSTANCE.getTerrainCache().clear();
+        ChunkMapTileCache.INSTANCE.clear();
         if (refreshScheduler != null) {
             refreshScheduler.forceFullRefresh();
         } else {
@@ -228,6 +277,21 @@ public class WorldMapService {
         }
     }
 
+    /**
+     * Marks a chunk's cached map terrain as stale after a block change.
+     * The chunk is sampled again the next time its tile is generated.
+     *
+     * @param worldName the world name
+     * @param blockX block X coordinate
+     * @param blockZ block Z coordinate
+     */
+    public void markTerrainChanged(@NotNull String worldName, int blockX, int blockZ) {
+        int chunkX = ChunkUtil.blockToChunk(blockX);
+        int chunkZ = ChunkUtil.blockToChunk(blockZ);
+        HyperFactionsWorldMap.INSTANCE.getTerrainCache().invalidate(worldName, chunkX, chunkZ);
+        ChunkMapTileCache.INSTANCE.invalidate(worldName, chunkX, chunkZ);
+    }
+
     /**
      * Triggers a refresh for a faction's claimed chunks, respecting the configured refresh mode.
      * Use for faction-wide changes (rename, tag, color) that affect all claimed chunks.
@@ -315,6 +379,14 @@ public class WorldMapService {
             refreshScheduler.shutdown();
             refreshScheduler = null;
         }
+        TerrainTileCache terrainCache = HyperFactionsWorldMap.INSTANCE.getTerrainCache();
+        TerrainTileStore store = terrainCache.getStore();
+        terrainCache.setStore(null);
+        terrainCache.clear();
+        if (store != null) {
+            // Pending tile writes are flushed; stored tiles are kept for the next start
+            store.shutdown();
+        }
         registeredWorlds.clear();
     }
 }
@@ -147,6 +147,67 @@ class PlayerPowerTest {
         }
     }
 
+    @Nested
+    @DisplayName("withAccruedRegen()")
+    class WithAccruedRegenTests {
+
+        @Test
+        @DisplayName("adds regen for each whole interval and keeps the remainder")
+        void withAccruedRegen_wholeIntervals() {
+            PlayerPower power = new PlayerPower(TEST_UUID, 10.0, 20.0, 0, 1_000);
+            PlayerPower updated = power.withAccruedRegen(0, 1_000 + 3 * 60_000 + 500, 0.5, 60_000);
+
+            assertEquals(11.5, updated.power());
+            assertEquals(1_000 + 3 * 60_000, updated.lastRegen());
+        }
+
+        @Test
+        @DisplayName("returns the same instance before a full interval")
+        void withAccruedRegen_noFullInterval() {
+            PlayerPower power = new PlayerPower(TEST_UUID, 10.0, 20.0, 0, 1_000);
+
+            assertSame(power, power.withAccruedRegen(0, 60_999, 0.5, 60_000));
+        }
+
+        @Test
+        @DisplayName("clamps at max and resets lastRegen to now")
+        void withAccruedRegen_clampsAtMax() {
+            PlayerPower power = new PlayerPower(TEST_UUID, 19.0, 20.0, 0, 0);
+            PlayerPower updated = power.withAccruedRegen(0, 10 * 60_000 + 500, 1.0, 60_000);
+
+            assertEquals(20.0, updated.power());
+            assertEquals(10 * 60_000 + 500, updated.lastRegen());
+        }
+
+        @Test
+        @DisplayName("returns the same instance when already at max")
+        void withAccruedRegen_atMax() {
+            PlayerPower power = new PlayerPower(TEST_UUID, 20.0, 20.0, 0, 0);
+
+            assertSame(power, power.withAccruedRegen(0, 10 * 60_000, 1.0, 60_000));
+        }
+
+        @Test
+        @DisplayName("accrues nothing before notBefore")
+        void withAccruedRegen_notBefore() {
+            PlayerPower power = new PlayerPower(TEST_UUID, 10.0, 20.0, 0, 0);
+            PlayerPower updated = power.withAccruedRegen(5 * 60_000, 7 * 60_000, 0.5, 60_000);
+
+            assertEquals(11.0, updated.power());
+            assertEquals(7 * 60_000, updated.lastRegen());
+        }
+
+        @Test
+        @DisplayName("restarts the regen clock when dropping below max")
+        void deathPenalty_fromMaxResetsLastRegen() {
+            PlayerPower power = new PlayerPower(TEST_UUID, 20.0, 20.0, 0, 0);
+            long before = System.currentTimeMillis();
+
+            assertTrue(power.withDeathPenalty(4.0).lastRegen() >= before);
+            assertEquals(0, new PlayerPower(TEST_UUID, 15.0, 20.0, 0, 0).withDeathPenalty(4.0).lastRegen());
+        }
+    }
+
     @Nested
     @DisplayName("withMaxPower()")
     class WithMaxPowerTests {
@@ -0,0 +1,49 @@
+package com.hyperfactions.gui.faction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the shared chunk map tile cache.
+ */
+@DisplayName("ChunkMapTileCache")
+class ChunkMapTileCacheTest {
+
+    private final ChunkMapTileCache cache = ChunkMapTileCache.INSTANCE;
+
+    @BeforeEach
+    void setUp() {
+        cache.clear();
+    }
+
+    @Test
+    @DisplayName("caches images rendered against the current version")
+    void putAndGet() {
+        int[] pixels = new int[32 * 32];
+        cache.put("world", 3, -2, pixels, cache.version("world", 3, -2));
+
+        assertSame(pixels, cache.get("world", 3, -2));
+        assertNull(cache.get("world", -2, 3));
+    }
+
+    @Test
+    @DisplayName("refuses images rendered before an invalidation of their chunk")
+    void staleAfterInvalidation() {
+        long version = cache.version("world", 0, 0);
+        long other = cache.version("world", 1, 0);
+        cache.invalidate("world", 0, 0);
+
+        cache.put("world", 0, 0, new int[32 * 32], version);
+        assertNull(cache.get("world", 0, 0));
+
+        cache.clear();
+        cache.put("world", 1, 0, new int[32 * 32], other);
+        assertNull(cache.get("world", 1, 0));
+
+        cache.put("world", 0, 0, new int[32 * 32], cache.version("world", 0, 0));
+        assertNotNull(cache.get("world", 0, 0));
+    }
+}
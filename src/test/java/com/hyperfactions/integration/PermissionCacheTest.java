@@ -0,0 +1,147 @@
+package com.hyperfactions.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PermissionCache.
+ */
+@DisplayName("PermissionCache")
+class PermissionCacheTest {
+
+    private AtomicLong now;
+    private PermissionCache cache;
+    private UUID player;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong(1_000L);
+        cache = new PermissionCache(30_000L, 2, 2, now::get);
+        player = UUID.randomUUID();
+    }
+
+    @Nested
+    @DisplayName("get/put")
+    class LookupTests {
+
+        @Test
+        @DisplayName("stored decisions are returned and counted as hits")
+        void put_thenGet_hits() {
+            assertNull(cache.get(player, "hyperfactions.home"));
+            cache.put(player, "hyperfactions.home", true);
+            cache.put(player, "hyperfactions.admin", false);
+
+            assertEquals(Boolean.TRUE, cache.get(player, "hyperfactions.home"));
+            assertEquals(Boolean.FALSE, cache.get(player, "hyperfactions.admin"));
+            assertEquals(2, cache.getHits());
+            assertEquals(1, cache.getMisses());
+        }
+
+        @Test
+        @DisplayName("entries expire after the TTL")
+        void get_afterTtl_misses() {
+            cache.put(player, "hyperfactions.home", true);
+            now.addAndGet(30_000L);
+
+            assertNull(cache.get(player, "hyperfactions.home"));
+            assertEquals(0, cache.getCachedPlayers());
+        }
+
+        @Test
+        @DisplayName("zero TTL disables caching")
+        void put_zeroTtl_notCached() {
+            cache.configure(0, 2, 2);
+            cache.put(player, "hyperfactions.home", true);
+
+            assertFalse(cache.isEnabled());
+            assertNull(cache.get(player, "hyperfactions.home"));
+        }
+    }
+
+    @Nested
+    @DisplayName("bounds")
+    class BoundsTests {
+
+        @Test
+        @DisplayName("nodes beyond the per-player limit are not cached")
+        void put_overNodeLimit_skipped() {
+            cache.put(player, "a", true);
+            cache.put(player, "b", true);
+            cache.put(player, "c", true);
+
+            assertNull(cache.get(player, "c"));
+        }
+
+        @Test
+        @DisplayName("new players are not cached when full of live entries")
+        void put_overPlayerLimit_skipped() {
+            UUID second = UUID.randomUUID();
+            UUID third = UUID.randomUUID();
+            cache.put(player, "a", true);
+            cache.put(second, "a", true);
+            cache.put(third, "a", true);
+
+            assertEquals(2, cache.getCachedPlayers());
+            assertNull(cache.get(third, "a"));
+        }
+
+        @Test
+        @DisplayName("expired players are evicted to make room")
+        void put_overPlayerLimit_evictsExpired() {
+            UUID second = UUID.randomUUID();
+            UUID third = UUID.randomUUID();
+            cache.put(player, "a", true);
+            cache.put(second, "a", true);
+            now.addAndGet(30_000L);
+            cache.put(third, "a", true);
+
+            assertEquals(1, cache.getCachedPlayers());
+            assertEquals(Boolean.TRUE, cache.get(third, "a"));
+        }
+    }
+
+    @Nested
+    @DisplayName("invalidation")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("invalidate drops one player, invalidateAll drops everyone")
+        void invalidate_dropsEntries() {
+            UUID other = UUID.randomUUID();
+            cache.put(player, "a", true);
+            cache.put(other, "a", true);
+
+            cache.invalidate(player);
+            assertNull(cache.get(player, "a"));
+            assertEquals(Boolean.TRUE, cache.get(other, "a"));
+
+            cache.invalidateAll();
+            assertNull(cache.get(other, "a"));
+            assertEquals(0, cache.getCachedPlayers());
+        }
+
+        @Test
+        @DisplayName("a decision resolved across an invalidation is not cached")
+        void put_afterInvalidation_dropped() {
+            long generation = cache.generation(player);
+            cache.invalidate(player);
+            cache.put(player, "a", true, generation);
+            assertNull(cache.get(player, "a"));
+
+            generation = cache.generation(player);
+            cache.invalidateAll();
+            cache.put(player, "a", true, generation);
+            assertNull(cache.get(player, "a"));
+
+            cache.put(player, "a", true, cache.generation(player));
+            assertEquals(Boolean.TRUE, cache.get(player, "a"));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.hyperfactions.manager;
+
+import com.hyperfactions.data.ChatMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the merged ally chat view.
+ */
+@DisplayName("AlliedChatView")
+class AlliedChatViewTest {
+
+    private static final UUID FACTION = UUID.randomUUID();
+    private static final UUID ALLY = UUID.randomUUID();
+    private static final UUID SENDER = UUID.randomUUID();
+
+    private ChatRingBuffer own;
+    private ChatRingBuffer ally;
+
+    @BeforeEach
+    void setUp() {
+        own = new ChatRingBuffer(FACTION, 10);
+        ally = new ChatRingBuffer(ALLY, 10);
+        own.addOlder(List.of());
+        ally.addOlder(List.of());
+    }
+
+    private static ChatMessage msg(ChatMessage.Channel channel, String text, long timestamp) {
+        return new ChatMessage(SENDER, "Steve", "TAG", channel, text, timestamp);
+    }
+
+    private static List<String> texts(List<ChatMessage> messages) {
+        return messages.stream().map(ChatMessage::message).toList();
+    }
+
+    private AlliedChatView view(int limit) {
+        return new AlliedChatView(List.of(FACTION, ALLY), List.of(own, ally), limit);
+    }
+
+    @Test
+    @DisplayName("merges ally messages from all buffers newest first, up to the limit")
+    void mergesInTimeOrder() {
+        own.add(msg(ChatMessage.Channel.ALLY, "a1", 1));
+        ally.add(msg(ChatMessage.Channel.ALLY, "b2", 2));
+        own.add(msg(ChatMessage.Channel.FACTION, "private", 3));
+        own.add(msg(ChatMessage.Channel.ALLY, "a4", 4));
+        ally.add(msg(ChatMessage.Channel.ALLY, "b5", 5));
+
+        assertEquals(List.of("b5", "a4", "b2"), texts(view(3).messages()));
+    }
+
+    @Test
+    @DisplayName("picks up new messages and serves them since a cursor")
+    void messagesSinceCursor() {
+        own.add(msg(ChatMessage.Channel.ALLY, "a1", 1));
+        AlliedChatView view = view(10);
+        long cursor = view.cursor();
+
+        ally.add(msg(ChatMessage.Channel.ALLY, "b2", 2));
+        own.add(msg(ChatMessage.Channel.FACTION, "private", 3));
+        own.add(msg(ChatMessage.Channel.ALLY, "a4", 4));
+
+        assertEquals(List.of("a4", "b2"), texts(view.since(cursor)));
+        assertEquals(List.of("a4", "b2", "a1"), texts(view.messages()));
+
+        long latest = view.cursor();
+        assertEquals(List.of(), view.since(latest));
+        ChatHistoryManager.AlliedChatUpdate update = view.update(latest);
+        assertFalse(update.full());
+        assertEquals(latest, update.cursor());
+    }
+
+    @Test
+    @DisplayName("cursors from another view or trimmed past fall back to the full history")
+    void staleCursors() {
+        AlliedChatView old = view(2);
+        long oldCursor = old.cursor();
+        AlliedChatView view = view(2);
+        long cursor = view.cursor();
+
+        assertNull(view.since(oldCursor));
+        assertTrue(view.update(-1).full());
+
+        for (int i = 1; i <= 3; i++) {
+            own.add(msg(ChatMessage.Channel.ALLY, "a" + i, i));
+            view.messages();
+        }
+
+        assertNull(view.since(cursor));
+        assertEquals(List.of("a3", "a2"), texts(view.update(cursor).messages()));
+    }
+}
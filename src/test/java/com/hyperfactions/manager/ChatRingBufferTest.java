@@ -0,0 +1,114 @@
+package com.hyperfactions.manager;
+
+import com.hyperfactions.data.ChatMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the per-faction chat ring buffer.
+ */
+@DisplayName("ChatRingBuffer")
+class ChatRingBufferTest {
+
+    private static final UUID FACTION = UUID.randomUUID();
+    private static final UUID SENDER = UUID.randomUUID();
+
+    private ChatRingBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        buffer = new ChatRingBuffer(FACTION, 3);
+    }
+
+    private static ChatMessage msg(String text, long timestamp) {
+        return new ChatMessage(SENDER, "Steve", "TAG", ChatMessage.Channel.FACTION, text, timestamp);
+    }
+
+    private static List<String> texts(List<ChatMessage> messages) {
+        return messages.stream().map(ChatMessage::message).toList();
+    }
+
+    @Test
+    @DisplayName("keeps the newest messages up to capacity, newest first")
+    void overwritesOldest() {
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(msg("m" + i, i));
+        }
+
+        assertEquals(List.of("m5", "m4", "m3"), texts(buffer.snapshot().messages()));
+        assertEquals(3, buffer.size());
+    }
+
+    @Test
+    @DisplayName("stored history is merged below messages recorded during the load")
+    void addOlderBelowRecorded() {
+        buffer.add(msg("new", 10));
+        buffer.addOlder(List.of(msg("old2", 2), msg("old1", 1), msg("old0", 0)));
+
+        assertTrue(buffer.loaded().isDone());
+        assertEquals(List.of("new", "old2", "old1"), texts(buffer.snapshot().messages()));
+    }
+
+    @Test
+    @DisplayName("hands out only messages recorded since the last save")
+    void takeUnpersisted() {
+        buffer.addOlder(List.of(msg("stored", 0)));
+        buffer.add(msg("a", 1));
+        buffer.add(msg("b", 2));
+
+        assertEquals(List.of("a", "b"), texts(buffer.takeUnpersisted()));
+        assertFalse(buffer.hasUnpersisted());
+
+        buffer.add(msg("c", 3));
+        assertEquals(List.of("c"), texts(buffer.takeUnpersisted()));
+    }
+
+    @Test
+    @DisplayName("messages from a failed save are handed out again")
+    void requeueUnpersisted() {
+        buffer.add(msg("a", 1));
+        long cursor = buffer.persistedSequence();
+        assertEquals(List.of("a"), texts(buffer.takeUnpersisted()));
+        buffer.add(msg("b", 2));
+
+        buffer.requeueUnpersisted(cursor);
+
+        assertTrue(buffer.hasUnpersisted());
+        assertEquals(List.of("a", "b"), texts(buffer.takeUnpersisted()));
+    }
+
+    @Test
+    @DisplayName("a full rewrite snapshot marks exactly its messages persisted")
+    void snapshotAndMarkPersisted() {
+        buffer.add(msg("a", 1));
+        buffer.add(msg("b", 2));
+
+        assertEquals(List.of("b", "a"), texts(buffer.snapshotAndMarkPersisted().messages()));
+        assertFalse(buffer.hasUnpersisted());
+
+        buffer.add(msg("c", 3));
+        assertEquals(List.of("c"), texts(buffer.takeUnpersisted()));
+    }
+
+    @Test
+    @DisplayName("prunes expired messages and resizes keeping the newest")
+    void pruneAndResize() {
+        buffer.add(msg("a", 1));
+        buffer.add(msg("b", 2));
+        buffer.add(msg("c", 3));
+
+        assertEquals(1, buffer.pruneOlderThan(2));
+        assertEquals(List.of("c", "b"), texts(buffer.snapshot().messages()));
+
+        buffer.resize(1);
+        assertEquals(List.of("c"), texts(buffer.snapshot().messages()));
+        buffer.add(msg("d", 4));
+        assertEquals(List.of("d"), texts(buffer.snapshot().messages()));
+    }
+}
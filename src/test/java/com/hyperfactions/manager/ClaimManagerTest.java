@@ -167,6 +167,66 @@ class ClaimManagerTest {
         }
     }
 
+    @Nested
+    @DisplayName("Spatial queries")
+    class SpatialQueryTests {
+
+        @Test
+        @DisplayName("getOwnersInRect reads claims across region tiles")
+        void getOwnersInRect_acrossTiles() {
+            UUID leader = UUID.randomUUID();
+            Faction faction = TestFactionFactory.builder()
+                    .addLeader(leader, "Leader")
+                    .addClaim("world", -1, -1, leader)
+                    .addClaim("world", 15, 0, leader)
+                    .addClaim("world", 16, 0, leader)
+                    .build();
+            setupFactionWithPower(faction, leader, 20.0);
+
+            OwnerGrid grid = claimManager.getOwnersInRect("world", -2, -2, 17, 1);
+
+            assertEquals(20, grid.width());
+            assertEquals(4, grid.height());
+            assertEquals(faction.id(), grid.get(-1, -1));
+            assertEquals(faction.id(), grid.get(15, 0));
+            assertEquals(faction.id(), grid.get(16, 0));
+            assertFalse(grid.isClaimed(0, 0));
+            assertFalse(grid.isClaimed(100, 100));
+            assertEquals(java.util.List.of(faction.id()), grid.owners());
+        }
+
+        @Test
+        @DisplayName("findNearestUnclaimed skips claimed rings")
+        void findNearestUnclaimed_skipsClaimed() {
+            UUID leader = UUID.randomUUID();
+            TestFactionFactory.FactionBuilder builder = TestFactionFactory.builder().addLeader(leader, "Leader");
+            for (int x = -1; x <= 1; x++) {
+                for (int z = -1; z <= 1; z++) {
+                    builder.addClaim("world", x, z, leader);
+                }
+            }
+            Faction faction = builder.build();
+            setupFactionWithPower(faction, leader, 20.0);
+
+            assertEquals(new ChunkKey("world", -2, -2), claimManager.findNearestUnclaimed("world", 0, 0, 5));
+            assertNull(claimManager.findNearestUnclaimed("world", 0, 0, 1));
+        }
+
+        @Test
+        @DisplayName("findNearestChunk applies the owner test")
+        void findNearestChunk_appliesTest() {
+            UUID leader = UUID.randomUUID();
+            Faction faction = TestFactionFactory.builder()
+                    .addLeader(leader, "Leader")
+                    .addClaim("world", 3, 0, leader)
+                    .build();
+            setupFactionWithPower(faction, leader, 20.0);
+
+            assertEquals(new ChunkKey("world", 3, 0),
+                    claimManager.findNearestChunk("world", 0, 0, 5, faction.id()::equals));
+        }
+    }
+
     @Nested
     @DisplayName("claim()")
     class ClaimTests {
@@ -0,0 +1,101 @@
+package com.hyperfactions.manager;
+
+import com.hyperfactions.data.Faction;
+import com.hyperfactions.data.FactionClaim;
+import com.hyperfactions.data.FactionMember;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ranked faction index.
+ */
+@DisplayName("FactionLeaderboard")
+class FactionLeaderboardTest {
+
+    private FactionLeaderboard leaderboard;
+
+    private Faction alpha;
+    private Faction bravo;
+    private Faction charlie;
+
+    @BeforeEach
+    void setUp() {
+        leaderboard = new FactionLeaderboard();
+        alpha = Faction.create("Alpha", UUID.randomUUID(), "LeaderA").withTag("ZZZ");
+        bravo = Faction.create("Bravo", UUID.randomUUID(), "LeaderB")
+            .withMember(FactionMember.create(UUID.randomUUID(), "Extra"))
+            .withClaim(new FactionClaim("world", 0, 0, 1L, UUID.randomUUID()));
+        charlie = Faction.create("charlie", UUID.randomUUID(), "LeaderC").withTag("AL");
+        leaderboard.reload(List.of(alpha, bravo, charlie));
+        leaderboard.reloadPowers(
+            id -> Map.of(alpha.id(), 10.0, bravo.id(), 5.0, charlie.id(), 10.0).get(id), id -> 20.0);
+    }
+
+    private List<String> names(FactionLeaderboard.SortOrder order) {
+        return leaderboard.page(order, 0, 10).stream().map(FactionLeaderboard.Entry::name).toList();
+    }
+
+    @Nested
+    @DisplayName("Ranking")
+    class Ranking {
+
+        @Test
+        @DisplayName("each order ranks factions, ties broken by name")
+        void orders() {
+            assertEquals(List.of("Alpha", "charlie", "Bravo"), names(FactionLeaderboard.SortOrder.POWER));
+            assertEquals(List.of("Bravo", "Alpha", "charlie"), names(FactionLeaderboard.SortOrder.MEMBERS));
+            assertEquals(List.of("Bravo", "Alpha", "charlie"), names(FactionLeaderboard.SortOrder.CLAIMS));
+            assertEquals(List.of("Alpha", "Bravo", "charlie"), names(FactionLeaderboard.SortOrder.NAME));
+        }
+
+        @Test
+        @DisplayName("power and faction changes re-rank, removal drops the faction")
+        void updates() {
+            leaderboard.updatePower(bravo.id(), 50, 60);
+            assertEquals(List.of("Bravo", "Alpha", "charlie"), names(FactionLeaderboard.SortOrder.POWER));
+
+            leaderboard.update(alpha.withName("Zulu"));
+            assertEquals(List.of("Bravo", "charlie", "Zulu"), names(FactionLeaderboard.SortOrder.NAME));
+            assertEquals(10.0, leaderboard.get(alpha.id()).power());
+
+            leaderboard.remove(bravo.id());
+            assertEquals(2, leaderboard.size());
+            assertEquals(List.of("charlie", "Zulu"), names(FactionLeaderboard.SortOrder.POWER));
+        }
+
+        @Test
+        @DisplayName("pages report the total and clamp past the end")
+        void paging() {
+            FactionLeaderboard.Slice slice = leaderboard.query(null, FactionLeaderboard.SortOrder.NAME, 2, 2);
+            assertEquals(3, slice.total());
+            assertEquals(List.of(charlie.id()), slice.entries().stream().map(FactionLeaderboard.Entry::factionId).toList());
+            assertTrue(leaderboard.page(FactionLeaderboard.SortOrder.NAME, 5, 2).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Search")
+    class Search {
+
+        @Test
+        @DisplayName("matches name or tag prefix case-insensitively, in the requested order")
+        void prefix() {
+            FactionLeaderboard.Slice slice = leaderboard.query("al", FactionLeaderboard.SortOrder.NAME, 0, 10);
+            assertEquals(2, slice.total());
+            assertEquals(List.of("Alpha", "charlie"),
+                slice.entries().stream().map(FactionLeaderboard.Entry::name).toList());
+
+            assertEquals(List.of("Bravo"), leaderboard.query("BR", FactionLeaderboard.SortOrder.POWER, 0, 10)
+                .entries().stream().map(FactionLeaderboard.Entry::name).toList());
+            assertEquals(0, leaderboard.query("x", FactionLeaderboard.SortOrder.POWER, 0, 10).total());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.hyperfactions.manager;
 
 import com.hyperfactions.data.Faction;
+import com.hyperfactions.data.FactionMember;
 import com.hyperfactions.data.PlayerPower;
 import com.hyperfactions.testutil.MockStorage;
 import com.hyperfactions.testutil.TestFactionFactory;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -346,4 +348,308 @@ class PowerManagerTest {
             assertEquals(15.0, stored.power());
         }
     }
+
+    @Nested
+    @DisplayName("saveDirty()")
+    class SaveDirtyTests {
+
+        @Test
+        @DisplayName("writes only players changed by regen")
+        void saveDirty_writesOnlyRegenerated() {
+            UUID regenerated = UUID.randomUUID();
+            UUID untouched = UUID.randomUUID();
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(regenerated, 10.0, 20.0));
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(untouched, 10.0, 20.0));
+            powerManager.loadAll().join();
+
+            powerManager.regeneratePower(regenerated, 2.0);
+            assertEquals(1, powerManager.getDirtyCount());
+
+            int written = powerManager.saveDirty().join();
+
+            assertEquals(1, written);
+            assertEquals(0, powerManager.getDirtyCount());
+            assertEquals(12.0, playerStorage.get(regenerated).power());
+        }
+
+        @Test
+        @DisplayName("a failed write marks the batch dirty again for the next flush")
+        void saveDirty_failedWriteRetried() {
+            UUID uuid = UUID.randomUUID();
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(uuid, 10.0, 20.0));
+            powerManager.loadAll().join();
+            powerManager.regeneratePower(uuid, 2.0);
+
+            playerStorage.setFailSaves(true);
+            assertThrows(CompletionException.class, () -> powerManager.saveDirty().join());
+            assertEquals(1, powerManager.getDirtyCount());
+
+            playerStorage.setFailSaves(false);
+            assertEquals(1, powerManager.saveDirty().join());
+            assertEquals(12.0, playerStorage.get(uuid).power());
+        }
+
+        @Test
+        @DisplayName("writes nothing when nothing changed")
+        void saveDirty_nothingDirty() {
+            assertEquals(0, powerManager.saveDirty().join());
+        }
+
+        @Test
+        @DisplayName("playerOffline clears the dirty mark")
+        void playerOffline_clearsDirty() {
+            UUID uuid = UUID.randomUUID();
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(uuid, 10.0, 20.0));
+            powerManager.loadPlayer(uuid).join();
+            powerManager.regeneratePower(uuid, 1.0);
+
+            powerManager.playerOffline(uuid);
+
+            assertEquals(0, powerManager.getDirtyCount());
+        }
+    }
+
+    @Nested
+    @DisplayName("Lazy loading")
+    class LazyLoadingTests {
+
+        @BeforeEach
+        void enableLazy() {
+            powerManager.configureLazyLoading(true, 2);
+        }
+
+        @Test
+        @DisplayName("loadAll keeps only faction members resident")
+        void loadAll_onlyMembers() {
+            UUID leader = UUID.randomUUID();
+            UUID loner = UUID.randomUUID();
+            factionStorage.addFaction(TestFactionFactory.createSimple("Test", leader, "Leader"));
+            factionManager.loadAll().join();
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(leader, 12.0, 20.0));
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(loner, 3.0, 20.0));
+
+            powerManager.loadAll().join();
+
+            assertEquals(1, powerManager.getResidentCount());
+            assertEquals(12.0, powerManager.getFactionPower(factionManager.getPlayerFactionId(leader)));
+            // Not resident, but read from storage instead of defaulting
+            assertEquals(3.0, powerManager.getPlayerPower(loner).power());
+            assertEquals(0, powerManager.getDirtyCount());
+        }
+
+        @Test
+        @DisplayName("evicts the least recently used offline players over the bound")
+        void loadPlayer_evictsLeastRecentlyUsed() {
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            UUID third = UUID.randomUUID();
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(first, 1.0, 20.0));
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(second, 2.0, 20.0));
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(third, 3.0, 20.0));
+
+            powerManager.loadPlayer(first).join();
+            powerManager.loadPlayer(second).join();
+            powerManager.getPlayerPower(first);
+            powerManager.loadPlayer(third).join();
+
+            assertEquals(2, powerManager.getResidentCount());
+            // second was least recently used; reloading it brings back the stored value
+            assertEquals(2.0, powerManager.getPlayerPower(second).power());
+        }
+
+        @Test
+        @DisplayName("online players are not evicted")
+        void playerOnline_pinned() {
+            UUID online = UUID.randomUUID();
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(online, 5.0, 20.0));
+            powerManager.configureLazyLoading(true, 0);
+
+            powerManager.playerOnline(online);
+
+            assertEquals(1, powerManager.getResidentCount());
+
+            powerManager.playerOffline(online);
+
+            assertEquals(0, powerManager.getResidentCount());
+        }
+
+        @Test
+        @DisplayName("unsaved players are not evicted before they are flushed")
+        void dirtyPlayer_keptUntilSaved() {
+            UUID changed = UUID.randomUUID();
+            UUID other = UUID.randomUUID();
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(changed, 10.0, 20.0));
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(other, 5.0, 20.0));
+            powerManager.configureLazyLoading(true, 1);
+
+            powerManager.loadPlayer(changed).join();
+            powerManager.regeneratePower(changed, 2.0);
+            powerManager.loadPlayer(other).join();
+
+            assertEquals(1, powerManager.getResidentCount());
+            assertEquals(12.0, powerManager.getPlayerPower(changed).power());
+
+            powerManager.saveDirty().join();
+
+            assertEquals(12.0, playerStorage.get(changed).power());
+        }
+
+        @Test
+        @DisplayName("a penalty for a player still loading applies to the stored record, not the defaults")
+        void penaltyWhileLoading_appliesToStoredRecord() {
+            UUID uuid = UUID.randomUUID();
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(uuid, 18.0, 20.0));
+            CompletableFuture<Void> gate = playerStorage.holdLoads();
+
+            powerManager.playerOnline(uuid);
+            powerManager.applyKillReward(uuid, 1.0);
+
+            // Nothing derived from the defaults was stored
+            assertEquals(18.0, playerStorage.get(uuid).power());
+
+            gate.complete(null);
+
+            assertEquals(19.0, powerManager.getPlayerPower(uuid).power());
+            assertEquals(19.0, playerStorage.get(uuid).power());
+        }
+    }
+
+    @Nested
+    @DisplayName("Faction totals")
+    class FactionTotalsTests {
+
+        private UUID leader;
+        private UUID factionId;
+
+        @BeforeEach
+        void createFaction() {
+            leader = UUID.randomUUID();
+            Faction faction = TestFactionFactory.createSimple("Test", leader, "Leader");
+            factionId = faction.id();
+            factionStorage.addFaction(faction);
+            factionManager.loadAll().join();
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(leader, 10.0, 20.0));
+            powerManager.loadAll().join();
+        }
+
+        @Test
+        @DisplayName("follow power changes")
+        void totals_followPowerChanges() {
+            assertEquals(10.0, powerManager.getFactionPower(factionId));
+
+            powerManager.regeneratePower(leader, 2.5);
+            powerManager.applyKillReward(leader, 1.0);
+
+            assertEquals(13.5, powerManager.getFactionPower(factionId));
+            assertTrue(powerManager.verifyFactionTotals().isConsistent());
+        }
+
+        @Test
+        @DisplayName("follow members joining and leaving")
+        void totals_followMembership() {
+            UUID recruit = UUID.randomUUID();
+            playerStorage.addPlayerPower(TestPlayerFactory.createPower(recruit, 4.0, 20.0));
+            powerManager.loadPlayer(recruit).join();
+            assertEquals(10.0, powerManager.getFactionPower(factionId));
+
+            Faction joined = factionManager.getFaction(factionId)
+                .withMember(FactionMember.create(recruit, "Recruit"));
+            factionManager.updateFactionWithMemberChanges(joined);
+
+            assertEquals(14.0, powerManager.getFactionPower(factionId));
+            assertEquals(40.0, powerManager.getFactionMaxPower(factionId));
+
+            factionManager.adminRemoveMember(factionId, recruit);
+
+            assertEquals(10.0, powerManager.getFactionPower(factionId));
+            assertTrue(powerManager.verifyFactionTotals().isConsistent());
+        }
+
+        @Test
+        @DisplayName("self-check reports no drift on a consistent state")
+        void verify_consistent() {
+            PowerManager.TotalsCheck check = powerManager.verifyFactionTotals();
+
+            assertEquals(1, check.factionsChecked());
+            assertTrue(check.drifts().isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("Offline regen")
+    class OfflineRegenTests {
+
+        private static final long THREE_MINUTES_AGO = 3 * 60_000L + 1_000L;
+
+        @BeforeEach
+        void enableOfflineRegen() {
+            powerManager.configureRegen(0.5, true);
+            powerManager.setOfflineRegenStart(0);
+        }
+
+        @Test
+        @DisplayName("is settled from lastRegen when the player is read")
+        void loadPlayer_settlesAccruedRegen() {
+            UUID uuid = UUID.randomUUID();
+            playerStorage.addPlayerPower(new PlayerPower(uuid, 10.0, 20.0, 0,
+                System.currentTimeMillis() - THREE_MINUTES_AGO));
+
+            PlayerPower loaded = powerManager.loadPlayer(uuid).join();
+
+            assertEquals(11.5, loaded.power());
+            assertEquals(1, powerManager.getDirtyCount());
+            assertEquals(1, powerManager.getRegenStats().offlineSettled());
+        }
+
+        @Test
+        @DisplayName("is included in faction power for offline members")
+        void factionPower_includesOfflineRegen() {
+            UUID leader = UUID.randomUUID();
+            Faction faction = TestFactionFactory.createSimple("Test", leader, "Leader");
+            factionStorage.addFaction(faction);
+            factionManager.loadAll().join();
+            playerStorage.addPlayerPower(new PlayerPower(leader, 10.0, 20.0, 0,
+                System.currentTimeMillis() - THREE_MINUTES_AGO));
+            powerManager.loadAll().join();
+
+            assertEquals(11.5, powerManager.getFactionPower(faction.id()));
+            assertTrue(powerManager.verifyFactionTotals().isConsistent());
+        }
+
+        @Test
+        @DisplayName("does not accrue before offline regen started")
+        void beforeStart_noRegen() {
+            powerManager.setOfflineRegenStart(System.currentTimeMillis());
+            UUID uuid = UUID.randomUUID();
+            playerStorage.addPlayerPower(new PlayerPower(uuid, 10.0, 20.0, 0,
+                System.currentTimeMillis() - THREE_MINUTES_AGO));
+
+            assertEquals(10.0, powerManager.loadPlayer(uuid).join().power());
+            assertEquals(0, powerManager.getRegenStats().offlineSettled());
+        }
+
+        @Test
+        @DisplayName("leaves players at max untouched")
+        void atMax_notSettled() {
+            UUID uuid = UUID.randomUUID();
+            playerStorage.addPlayerPower(new PlayerPower(uuid, 20.0, 20.0, 0,
+                System.currentTimeMillis() - THREE_MINUTES_AGO));
+
+            powerManager.loadPlayer(uuid).join();
+
+            assertEquals(0, powerManager.getDirtyCount());
+            assertEquals(0, powerManager.getRegenStats().offlineSettled());
+        }
+
+        @Test
+        @DisplayName("is not applied when disabled")
+        void disabled_noRegen() {
+            powerManager.configureRegen(0.5, false);
+            UUID uuid = UUID.randomUUID();
+            playerStorage.addPlayerPower(new PlayerPower(uuid, 10.0, 20.0, 0,
+                System.currentTimeMillis() - THREE_MINUTES_AGO));
+
+            assertEquals(10.0, powerManager.loadPlayer(uuid).join().power());
+        }
+    }
 }
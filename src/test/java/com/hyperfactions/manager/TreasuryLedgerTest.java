@@ -0,0 +1,267 @@
+package com.hyperfactions.manager;
+
+import com.hyperfactions.api.EconomyAPI;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the faction treasury ledger.
+ */
+@DisplayName("TreasuryLedger")
+class TreasuryLedgerTest {
+
+    private static final UUID FACTION_A = UUID.randomUUID();
+    private static final UUID FACTION_B = UUID.randomUUID();
+
+    private TreasuryLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new TreasuryLedger(3);
+    }
+
+    private static LongFunction<EconomyAPI.Transaction> tx(UUID factionId, EconomyAPI.TransactionType type, String description) {
+        return balance -> new EconomyAPI.Transaction(factionId, null, type, 0, TreasuryLedger.toCurrency(balance),
+                System.currentTimeMillis(), description);
+    }
+
+    @Nested
+    @DisplayName("Balances and history")
+    class Balances {
+
+        @Test
+        @DisplayName("stores fixed-point balances without drift")
+        void fixedPoint() {
+            for (int i = 0; i < 10; i++) {
+                ledger.credit(FACTION_A, TreasuryLedger.toUnits(0.1), tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d"));
+            }
+
+            assertEquals(100, ledger.balance(FACTION_A));
+            assertEquals(1.0, TreasuryLedger.toCurrency(ledger.balance(FACTION_A)));
+        }
+
+        @Test
+        @DisplayName("declines debits beyond the balance or on unknown factions")
+        void declines() {
+            ledger.credit(FACTION_A, 500, tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d"));
+
+            assertEquals(TreasuryLedger.DECLINED, ledger.debit(FACTION_A, 501, tx(FACTION_A, EconomyAPI.TransactionType.WITHDRAW, "w")));
+            assertEquals(TreasuryLedger.DECLINED, ledger.debit(FACTION_B, 1, tx(FACTION_B, EconomyAPI.TransactionType.WITHDRAW, "w")));
+            assertEquals(0, ledger.debit(FACTION_A, 500, tx(FACTION_A, EconomyAPI.TransactionType.WITHDRAW, "w")));
+        }
+
+        @Test
+        @DisplayName("keeps the most recent transactions up to the history size")
+        void boundedHistory() {
+            for (int i = 1; i <= 5; i++) {
+                ledger.credit(FACTION_A, i, tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d" + i));
+            }
+
+            List<String> recent = ledger.recent(FACTION_A, 10).stream().map(EconomyAPI.Transaction::description).toList();
+            assertEquals(List.of("d5", "d4", "d3"), recent);
+            assertEquals(1, ledger.recent(FACTION_A, 1).size());
+        }
+
+        @Test
+        @DisplayName("transfers move funds only when the payer can cover them")
+        void transfer() {
+            ledger.credit(FACTION_A, 300, tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d"));
+
+            assertEquals(EconomyAPI.TransactionResult.SUCCESS, ledger.transfer(FACTION_A, FACTION_B, 200,
+                    tx(FACTION_A, EconomyAPI.TransactionType.TRANSFER_OUT, "out"),
+                    tx(FACTION_B, EconomyAPI.TransactionType.TRANSFER_IN, "in")));
+            assertEquals(EconomyAPI.TransactionResult.INSUFFICIENT_FUNDS, ledger.transfer(FACTION_A, FACTION_B, 200,
+                    tx(FACTION_A, EconomyAPI.TransactionType.TRANSFER_OUT, "out"),
+                    tx(FACTION_B, EconomyAPI.TransactionType.TRANSFER_IN, "in")));
+            assertEquals(EconomyAPI.TransactionResult.SUCCESS, ledger.transfer(FACTION_B, FACTION_B, 200,
+                    tx(FACTION_B, EconomyAPI.TransactionType.TRANSFER_OUT, "out"),
+                    tx(FACTION_B, EconomyAPI.TransactionType.TRANSFER_IN, "in")));
+
+            assertEquals(100, ledger.balance(FACTION_A));
+            assertEquals(200, ledger.balance(FACTION_B));
+        }
+
+        @Test
+        @DisplayName("rejects huge amounts and balances past the ceiling instead of overflowing")
+        void ceiling() {
+            assertFalse(TreasuryLedger.isValidAmount(TreasuryLedger.toUnits(1e300)));
+            assertFalse(TreasuryLedger.isValidAmount(TreasuryLedger.toUnits(Double.NaN)));
+            assertTrue(TreasuryLedger.isValidAmount(TreasuryLedger.MAX_UNITS));
+
+            ledger.credit(FACTION_A, TreasuryLedger.MAX_UNITS, tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d"));
+            ledger.credit(FACTION_B, 1, tx(FACTION_B, EconomyAPI.TransactionType.DEPOSIT, "d"));
+
+            assertEquals(TreasuryLedger.DECLINED, ledger.credit(FACTION_A, 1, tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d")));
+            assertEquals(EconomyAPI.TransactionResult.INVALID_AMOUNT, ledger.transfer(FACTION_B, FACTION_A, 1,
+                    tx(FACTION_B, EconomyAPI.TransactionType.TRANSFER_OUT, "out"),
+                    tx(FACTION_A, EconomyAPI.TransactionType.TRANSFER_IN, "in")));
+            assertEquals(TreasuryLedger.MAX_UNITS, ledger.balance(FACTION_A));
+            assertEquals(1, ledger.balance(FACTION_B));
+        }
+
+        @Test
+        @DisplayName("does not reopen a closed account on a late deposit or transfer")
+        void closedStaysClosed() {
+            ledger.credit(FACTION_A, 300, tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d"));
+            ledger.close(FACTION_B);
+
+            assertEquals(TreasuryLedger.CLOSED, ledger.credit(FACTION_B, 1, tx(FACTION_B, EconomyAPI.TransactionType.DEPOSIT, "d")));
+            assertEquals(EconomyAPI.TransactionResult.FACTION_NOT_FOUND, ledger.transfer(FACTION_A, FACTION_B, 100,
+                    tx(FACTION_A, EconomyAPI.TransactionType.TRANSFER_OUT, "out"),
+                    tx(FACTION_B, EconomyAPI.TransactionType.TRANSFER_IN, "in")));
+            assertFalse(ledger.contains(FACTION_B));
+            assertEquals(300, ledger.balance(FACTION_A));
+
+            ledger.open(FACTION_B);
+            assertEquals(1, ledger.credit(FACTION_B, 1, tx(FACTION_B, EconomyAPI.TransactionType.DEPOSIT, "d")));
+        }
+    }
+
+    @Nested
+    @DisplayName("Contention")
+    class Contention {
+
+        private static final int THREADS = 8;
+        private static final int OPS_PER_THREAD = 20_000;
+
+        private long runConcurrently(Runnable task) throws Exception {
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        task.run();
+                        return null;
+                    }));
+                }
+                long begin = System.nanoTime();
+                start.countDown();
+                for (Future<?> future : futures) {
+                    future.get(60, TimeUnit.SECONDS);
+                }
+                return System.nanoTime() - begin;
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("concurrent deposits on one faction lose no updates")
+        void depositsOnOneFaction() throws Exception {
+            runConcurrently(() -> {
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    ledger.credit(FACTION_A, 1, tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d"));
+                }
+            });
+
+            assertEquals((long) THREADS * OPS_PER_THREAD, ledger.balance(FACTION_A));
+            assertEquals(3, ledger.recent(FACTION_A, 10).size());
+        }
+
+        @Test
+        @DisplayName("concurrent withdrawals never overdraw")
+        void withdrawalsNeverOverdraw() throws Exception {
+            ledger.credit(FACTION_A, 1_000, tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d"));
+            AtomicInteger succeeded = new AtomicInteger();
+
+            runConcurrently(() -> {
+                for (int i = 0; i < 500; i++) {
+                    if (ledger.debit(FACTION_A, 1, tx(FACTION_A, EconomyAPI.TransactionType.WITHDRAW, "w")) != TreasuryLedger.DECLINED) {
+                        succeeded.incrementAndGet();
+                    }
+                }
+            });
+
+            assertEquals(1_000, succeeded.get());
+            assertEquals(0, ledger.balance(FACTION_A));
+        }
+
+        @Test
+        @DisplayName("opposite transfers between factions conserve the total without deadlock")
+        void oppositeTransfers() throws Exception {
+            ledger.credit(FACTION_A, 10_000, tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d"));
+            ledger.credit(FACTION_B, 10_000, tx(FACTION_B, EconomyAPI.TransactionType.DEPOSIT, "d"));
+            AtomicInteger thread = new AtomicInteger();
+
+            runConcurrently(() -> {
+                boolean forward = thread.getAndIncrement() % 2 == 0;
+                UUID from = forward ? FACTION_A : FACTION_B;
+                UUID to = forward ? FACTION_B : FACTION_A;
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    ledger.transfer(from, to, 3,
+                            tx(from, EconomyAPI.TransactionType.TRANSFER_OUT, "out"),
+                            tx(to, EconomyAPI.TransactionType.TRANSFER_IN, "in"));
+                }
+            });
+
+            assertEquals(20_000, ledger.balance(FACTION_A) + ledger.balance(FACTION_B));
+            assertTrue(ledger.balance(FACTION_A) >= 0 && ledger.balance(FACTION_B) >= 0);
+        }
+
+        /**
+         * Reports ledger throughput. Tagged so the regular test run skips it;
+         * run it with {@code ./gradlew benchmark}.
+         */
+        @Test
+        @Tag("benchmark")
+        @DisplayName("throughput: single-faction deposits and cross-faction transfers")
+        void throughput() throws Exception {
+            for (int round = 0; round < 3; round++) { // The last round is measured, after JIT warm-up
+                ledger = new TreasuryLedger(50);
+                long depositNanos = runConcurrently(() -> {
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        ledger.credit(FACTION_A, 1, tx(FACTION_A, EconomyAPI.TransactionType.DEPOSIT, "d"));
+                    }
+                });
+                assertEquals((long) THREADS * OPS_PER_THREAD, ledger.balance(FACTION_A));
+
+                UUID[] factions = new UUID[256];
+                for (int f = 0; f < factions.length; f++) {
+                    factions[f] = UUID.randomUUID();
+                    ledger.credit(factions[f], 1_000_000, tx(factions[f], EconomyAPI.TransactionType.DEPOSIT, "d"));
+                }
+                long transferNanos = runConcurrently(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPS_PER_THREAD; i++) {
+                        UUID from = factions[random.nextInt(factions.length)];
+                        UUID to = factions[random.nextInt(factions.length)];
+                        ledger.transfer(from, to, 1,
+                                tx(from, EconomyAPI.TransactionType.TRANSFER_OUT, "out"),
+                                tx(to, EconomyAPI.TransactionType.TRANSFER_IN, "in"));
+                    }
+                });
+                long total = 0;
+                for (UUID faction : factions) {
+                    total += ledger.balance(faction);
+                }
+                assertEquals(256L * 1_000_000, total);
+
+                if (round == 2) {
+                    long ops = (long) THREADS * OPS_PER_THREAD;
+                    System.out.printf("TreasuryLedger, %d threads: deposits on one faction %,.0f ops/s, "
+                                    + "transfers across %d factions %,.0f ops/s%n",
+                            THREADS, ops * 1e9 / depositNanos, factions.length, ops * 1e9 / transferNanos);
+                }
+            }
+        }
+    }
+}
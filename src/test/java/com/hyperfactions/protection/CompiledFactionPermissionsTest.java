@@ -0,0 +1,86 @@
+package com.hyperfactions.protection;
+
+import com.hyperfactions.data.FactionPermissions;
+import com.hyperfactions.protection.ProtectionChecker.InteractionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompiledFactionPermissions.
+ */
+@DisplayName("CompiledFactionPermissions")
+class CompiledFactionPermissionsTest {
+
+    @Nested
+    @DisplayName("compile()")
+    class CompileTests {
+
+        @Test
+        @DisplayName("defaults allow members to build and deny outsiders")
+        void compile_defaults() {
+            CompiledFactionPermissions compiled = CompiledFactionPermissions.compile(
+                    FactionPermissions.defaults(), null, 1L);
+
+            assertTrue(compiled.allows(CompiledFactionPermissions.LEVEL_MEMBER, InteractionType.BUILD));
+            assertTrue(compiled.allows(CompiledFactionPermissions.LEVEL_OFFICER, InteractionType.CONTAINER));
+            assertFalse(compiled.allows(CompiledFactionPermissions.LEVEL_OUTSIDER, InteractionType.BUILD));
+            assertTrue(compiled.allows(CompiledFactionPermissions.LEVEL_ALLY, InteractionType.DOOR));
+            assertFalse(compiled.allows(CompiledFactionPermissions.LEVEL_ALLY, InteractionType.CONTAINER));
+            assertTrue(compiled.pvpEnabled());
+            assertTrue(compiled.mobSpawning());
+        }
+
+        @Test
+        @DisplayName("build is allowed if either break or place is allowed")
+        void compile_buildIsBreakOrPlace() {
+            FactionPermissions perms = FactionPermissions.defaults()
+                    .set(FactionPermissions.OUTSIDER_PLACE, true);
+            CompiledFactionPermissions compiled = CompiledFactionPermissions.compile(perms, perms, 1L);
+
+            assertTrue(compiled.allows(CompiledFactionPermissions.LEVEL_OUTSIDER, InteractionType.BUILD));
+        }
+
+        @Test
+        @DisplayName("interact parent gates child flags")
+        void compile_parentGatesChildren() {
+            FactionPermissions perms = FactionPermissions.defaults()
+                    .set(FactionPermissions.ALLY_INTERACT, false);
+            CompiledFactionPermissions compiled = CompiledFactionPermissions.compile(perms, perms, 1L);
+
+            assertFalse(compiled.allows(CompiledFactionPermissions.LEVEL_ALLY, InteractionType.INTERACT));
+            assertFalse(compiled.allows(CompiledFactionPermissions.LEVEL_ALLY, InteractionType.DOOR));
+            assertFalse(compiled.allows(CompiledFactionPermissions.LEVEL_ALLY, InteractionType.SEAT));
+        }
+
+        @Test
+        @DisplayName("outsiders can never damage, other levels can")
+        void compile_damage() {
+            CompiledFactionPermissions compiled = CompiledFactionPermissions.compile(
+                    FactionPermissions.defaults(), null, 1L);
+
+            assertFalse(compiled.allows(CompiledFactionPermissions.LEVEL_OUTSIDER, InteractionType.DAMAGE));
+            assertTrue(compiled.allows(CompiledFactionPermissions.LEVEL_ALLY, InteractionType.DAMAGE));
+            assertTrue(compiled.allows(CompiledFactionPermissions.LEVEL_MEMBER, InteractionType.DAMAGE));
+        }
+    }
+
+    @Nested
+    @DisplayName("isCurrent()")
+    class IsCurrentTests {
+
+        @Test
+        @DisplayName("stale when permissions instance or config revision changes")
+        void isCurrent_detectsChanges() {
+            FactionPermissions perms = FactionPermissions.defaults();
+            CompiledFactionPermissions compiled = CompiledFactionPermissions.compile(perms, perms, 5L);
+
+            assertTrue(compiled.isCurrent(perms, 5L));
+            assertFalse(compiled.isCurrent(perms, 6L));
+            assertFalse(compiled.isCurrent(perms.toggle(FactionPermissions.PVP_ENABLED), 5L));
+            assertFalse(compiled.isCurrent(null, 5L));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.hyperfactions.storage;
+
+import com.hyperfactions.data.FactionClaim;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ClaimJournal.
+ */
+@DisplayName("ClaimJournal")
+class ClaimJournalTest {
+
+    @TempDir
+    Path dataDir;
+
+    private final UUID factionA = UUID.randomUUID();
+    private final UUID factionB = UUID.randomUUID();
+    private final UUID player = UUID.randomUUID();
+
+    private FactionClaim claim(int x, int z) {
+        return new FactionClaim("world", x, z, 1000L, player);
+    }
+
+    @Nested
+    @DisplayName("load")
+    class LoadTests {
+
+        @Test
+        @DisplayName("returns null when no journal files exist")
+        void load_empty_returnsNull() {
+            ClaimJournal journal = new ClaimJournal(dataDir);
+            assertNull(journal.load());
+            assertFalse(ClaimJournal.exists(dataDir));
+            journal.shutdown();
+        }
+
+        @Test
+        @DisplayName("replays journal lines on top of the snapshot and skips a torn last line")
+        void load_replaysJournal() throws Exception {
+            Path claims = Files.createDirectories(dataDir.resolve("claims"));
+            Files.writeString(claims.resolve("world.snapshot"),
+                factionA + "\t0\t0\t1000\t" + player + "\n"
+                    + factionA + "\t1\t0\t1000\t" + player + "\n", StandardCharsets.UTF_8);
+            Files.write(claims.resolve("world.journal"), List.of(
+                "-\t1\t0",
+                "+\t" + factionB + "\t2\t0\t1000\t" + player,
+                "+\t" + factionB + "\t0\t0\t1000\t" + player,
+                "+\t" + factionA + "\t9"), StandardCharsets.UTF_8);
+
+            ClaimJournal journal = new ClaimJournal(dataDir);
+            Map<UUID, Set<FactionClaim>> loaded = journal.load();
+
+            assertNotNull(loaded);
+            assertFalse(loaded.containsKey(factionA));
+            assertEquals(Set.of(claim(2, 0), claim(0, 0)), loaded.get(factionB));
+            assertEquals(3, journal.getJournalEntries());
+            journal.shutdown();
+        }
+    }
+
+    @Nested
+    @DisplayName("record and compact")
+    class RecordTests {
+
+        @Test
+        @DisplayName("recorded changes survive a restart")
+        void record_thenReload() {
+            ClaimJournal journal = new ClaimJournal(dataDir);
+            journal.load();
+            journal.recordClaim(factionA, claim(0, 0));
+            journal.recordClaim(factionA, claim(1, 0));
+            journal.recordClaim(factionB, claim(1, 0));
+            journal.recordUnclaim("world", 0, 0);
+            journal.shutdown();
+
+            ClaimJournal reopened = new ClaimJournal(dataDir);
+            Map<UUID, Set<FactionClaim>> loaded = reopened.load();
+
+            assertNotNull(loaded);
+            assertEquals(Map.of(factionB, Set.of(claim(1, 0))), loaded);
+            reopened.shutdown();
+        }
+
+        @Test
+        @DisplayName("compaction writes a snapshot and removes the journal")
+        void compact_foldsJournal() {
+            ClaimJournal journal = new ClaimJournal(dataDir);
+            journal.load();
+            journal.recordClaim(factionA, claim(0, 0));
+            journal.compact().join();
+
+            assertEquals(0, journal.getJournalEntries());
+            assertTrue(Files.exists(dataDir.resolve("claims/world.snapshot")));
+            assertFalse(Files.exists(dataDir.resolve("claims/world.journal")));
+            journal.shutdown();
+        }
+
+        @Test
+        @DisplayName("replaceAll discards previous state")
+        void replaceAll_replacesState() {
+            ClaimJournal journal = new ClaimJournal(dataDir);
+            journal.load();
+            journal.recordClaim(factionA, claim(0, 0));
+            journal.replaceAll(List.of(new ClaimJournal.Entry(factionB, claim(5, 5)))).join();
+            journal.shutdown();
+
+            ClaimJournal reopened = new ClaimJournal(dataDir);
+            assertEquals(Map.of(factionB, Set.of(claim(5, 5))), reopened.load());
+            reopened.shutdown();
+        }
+    }
+}
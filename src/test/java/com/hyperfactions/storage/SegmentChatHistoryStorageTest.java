@@ -0,0 +1,130 @@
+package com.hyperfactions.storage;
+
+import com.hyperfactions.data.ChatMessage;
+import com.hyperfactions.data.FactionChatHistory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the append-only chat history segment files.
+ */
+@DisplayName("SegmentChatHistoryStorage")
+class SegmentChatHistoryStorageTest {
+
+    private static final UUID FACTION = UUID.randomUUID();
+    private static final UUID SENDER = UUID.randomUUID();
+
+    @TempDir
+    Path dataDir;
+
+    private SegmentChatHistoryStorage storage;
+
+    @BeforeEach
+    void setUp() {
+        storage = new SegmentChatHistoryStorage(dataDir);
+        storage.init().join();
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.shutdown().join();
+    }
+
+    private static ChatMessage msg(String text, long timestamp) {
+        return new ChatMessage(SENDER, "Alex", "TAG", ChatMessage.Channel.ALLY, text, timestamp);
+    }
+
+    private static List<String> texts(FactionChatHistory history) {
+        return history.messages().stream().map(ChatMessage::message).toList();
+    }
+
+    @Test
+    @DisplayName("appends accumulate and load newest first")
+    void appendAndLoad() {
+        storage.appendMessages(FACTION, List.of(msg("a", 1), msg("b", 2)), 10).join();
+        storage.appendMessages(FACTION, List.of(msg("c", 3)), 10).join();
+
+        assertEquals(List.of("c", "b", "a"), texts(storage.loadHistory(FACTION).join()));
+    }
+
+    @Test
+    @DisplayName("compacts to the newest messages once the segment outgrows the limit")
+    void compaction() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            storage.appendMessages(FACTION, List.of(msg("m" + i, i)), 2).join();
+        }
+
+        assertEquals(List.of("m4", "m3"), texts(storage.loadHistory(FACTION).join()));
+        List<ChatMessage> onDisk = new ArrayList<>();
+        assertTrue(SegmentChatHistoryStorage.readSegment(
+                Files.readAllBytes(dataDir.resolve("chat").resolve(FACTION + ".seg")), onDisk));
+        assertEquals(2, onDisk.size());
+    }
+
+    @Test
+    @DisplayName("a torn final record is dropped and later appends stay readable")
+    void tornTail() throws Exception {
+        storage.appendMessages(FACTION, List.of(msg("a", 1), msg("b", 2)), 10).join();
+        storage.shutdown().join();
+
+        Path file = dataDir.resolve("chat").resolve(FACTION + ".seg");
+        byte[] data = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(data, data.length - 5));
+
+        storage = new SegmentChatHistoryStorage(dataDir);
+        storage.appendMessages(FACTION, List.of(msg("c", 3)), 10).join();
+
+        assertEquals(List.of("c", "a"), texts(storage.loadHistory(FACTION).join()));
+    }
+
+    @Test
+    @DisplayName("a failed append fails its future and the next append starts clean")
+    void failedAppend() throws Exception {
+        Path file = dataDir.resolve("chat").resolve(FACTION + ".seg");
+        Files.createDirectory(file); // Unwritable as a file
+
+        assertThrows(CompletionException.class,
+                () -> storage.appendMessages(FACTION, List.of(msg("a", 1)), 10).join());
+
+        Files.delete(file);
+        storage.appendMessages(FACTION, List.of(msg("a", 1), msg("b", 2)), 10).join();
+
+        assertEquals(List.of("b", "a"), texts(storage.loadHistory(FACTION).join()));
+    }
+
+    @Test
+    @DisplayName("a segment with an unknown header is moved aside, not overwritten")
+    void unknownHeaderQuarantined() throws Exception {
+        Path file = dataDir.resolve("chat").resolve(FACTION + ".seg");
+        byte[] foreign = {0, 0, 0, 1, 0, 0, 0, 2, 42};
+        Files.write(file, foreign);
+
+        assertEquals(List.of(), texts(storage.loadHistory(FACTION).join()));
+        storage.appendMessages(FACTION, List.of(msg("a", 1)), 10).join();
+
+        assertArrayEquals(foreign, Files.readAllBytes(dataDir.resolve("chat").resolve(FACTION + ".seg.corrupt")));
+        assertEquals(List.of("a"), texts(storage.loadHistory(FACTION).join()));
+    }
+
+    @Test
+    @DisplayName("segments round-trip every message field")
+    void roundTrip() throws Exception {
+        ChatMessage original = new ChatMessage(SENDER, "Zoë", "ÄB", ChatMessage.Channel.FACTION, "hi ✓", 123L);
+        List<ChatMessage> decoded = new ArrayList<>();
+
+        assertTrue(SegmentChatHistoryStorage.readSegment(SegmentChatHistoryStorage.encodeSegment(List.of(original)), decoded));
+        assertEquals(List.of(original), decoded);
+    }
+}
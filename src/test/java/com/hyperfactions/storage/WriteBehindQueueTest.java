@@ -0,0 +1,70 @@
+package com.hyperfactions.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for WriteBehindQueue.
+ */
+@DisplayName("WriteBehindQueue")
+class WriteBehindQueueTest {
+
+    private List<String> writes;
+    private WriteBehindQueue<String, Integer> queue;
+
+    @BeforeEach
+    void setUp() {
+        writes = Collections.synchronizedList(new ArrayList<>());
+        queue = new WriteBehindQueue<>("Test", 50, 2, (key, value) -> writes.add(key + "=" + value));
+    }
+
+    @AfterEach
+    void tearDown() {
+        queue.shutdown();
+    }
+
+    @Test
+    @DisplayName("coalesces repeated saves of one key into a single write of the latest value")
+    void submit_coalesces() {
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            futures.add(queue.submit("faction", i));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+        assertEquals(List.of("faction=20"), writes);
+        assertEquals(20, queue.getSubmittedCount());
+        assertEquals(1, queue.getWrittenCount());
+    }
+
+    @Test
+    @DisplayName("cancelAndRun drops the pending write before running the action")
+    void cancelAndRun_dropsPending() {
+        queue.submit("faction", 1);
+        queue.cancelAndRun("faction", () -> writes.add("deleted")).join();
+        queue.flushAll().join();
+
+        assertEquals(List.of("deleted"), writes);
+    }
+
+    @Test
+    @DisplayName("shutdown flushes pending writes")
+    void shutdown_flushes() {
+        queue.submit("a", 1);
+        queue.submit("b", 2);
+
+        queue.shutdown();
+
+        assertTrue(writes.containsAll(List.of("a=1", "b=2")));
+        assertEquals(0, queue.getPendingCount());
+    }
+}
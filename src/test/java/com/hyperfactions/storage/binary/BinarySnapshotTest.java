@@ -0,0 +1,119 @@
+package com.hyperfactions.storage.binary;
+
+import com.hyperfactions.data.*;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the binary snapshot backend (codec and snapshot file).
+ */
+@DisplayName("BinarySnapshot")
+class BinarySnapshotTest {
+
+    @TempDir
+    Path dataDir;
+
+    @Nested
+    @DisplayName("BinaryCodec")
+    class CodecTests {
+
+        @Test
+        @DisplayName("faction round-trips with claims, relations, logs, home, and permissions")
+        void faction_roundTrip() {
+            UUID leader = UUID.randomUUID();
+            Faction faction = Faction.create("Test", leader, "Leader")
+                .withDescription("desc")
+                .withClaim(new FactionClaim("world", 3, -4, 1000L, leader))
+                .withRelation(new FactionRelation(UUID.randomUUID(), RelationType.ALLY, 2000L))
+                .withLog(FactionLog.create(FactionLog.LogType.CLAIM, "Claimed", leader))
+                .withHome(new Faction.FactionHome("world", 1.5, 64, -2.5, 90f, 0f, 3000L, leader))
+                .withPermissions(FactionPermissions.defaults());
+
+            assertEquals(faction, BinaryCodec.decodeFaction(BinaryCodec.encodeFaction(faction)));
+        }
+
+        @Test
+        @DisplayName("player data round-trips with membership history")
+        void player_roundTrip() {
+            PlayerData data = new PlayerData(UUID.randomUUID());
+            data.setUsername("Steve");
+            data.setPower(7.5);
+            data.setMaxPower(10);
+            data.setKills(3);
+            data.setMembershipHistory(List.of(
+                MembershipRecord.createActive(UUID.randomUUID(), "Test", null, FactionRole.MEMBER)));
+
+            PlayerData decoded = BinaryCodec.decodePlayer(BinaryCodec.encodePlayer(data));
+
+            assertEquals(data.getUuid(), decoded.getUuid());
+            assertEquals("Steve", decoded.getUsername());
+            assertEquals(7.5, decoded.getPower());
+            assertEquals(3, decoded.getKills());
+            assertEquals(data.getMembershipHistory(), decoded.getMembershipHistory());
+        }
+
+        @Test
+        @DisplayName("zone round-trips with chunks and flags")
+        void zone_roundTrip() {
+            Zone zone = Zone.create("Spawn", ZoneType.SAFE, "world", 1, 2, UUID.randomUUID())
+                .withFlag(ZoneFlags.PVP_ENABLED, false);
+
+            assertEquals(zone, BinaryCodec.decodeZone(BinaryCodec.encodeZone(zone)));
+        }
+    }
+
+    @Nested
+    @DisplayName("snapshot file")
+    class FileTests {
+
+        @Test
+        @DisplayName("records survive a rewrite and reload")
+        void write_thenLoad() {
+            Path file = dataDir.resolve("test.bin");
+            UUID a = UUID.randomUUID();
+            UUID b = UUID.randomUUID();
+
+            BinarySnapshot snapshot = new BinarySnapshot(file, 'T', "TestSnapshot", 0);
+            snapshot.put(a, new byte[]{1, 2, 3});
+            snapshot.put(b, new byte[0]).join();
+            snapshot.remove(b).join();
+            snapshot.shutdown();
+
+            BinarySnapshot reopened = new BinarySnapshot(file, 'T', "TestSnapshot", 0);
+            assertEquals(1, reopened.load());
+            assertArrayEquals(new byte[]{1, 2, 3}, reopened.get(a));
+            reopened.shutdown();
+        }
+
+        @Test
+        @DisplayName("a corrupt file fails the CRC check")
+        void read_corrupt_returnsNull() throws Exception {
+            Path file = dataDir.resolve("test.bin");
+            byte[] bytes = BinarySnapshot.encode((byte) 'T', Map.of(UUID.randomUUID(), new byte[]{42}));
+            bytes[bytes.length - 12] ^= 0x7F;
+            Files.write(file, bytes);
+
+            assertNull(BinarySnapshot.read(file, (byte) 'T'));
+        }
+
+        @Test
+        @DisplayName("a snapshot of another kind is rejected")
+        void read_wrongKind_returnsNull() throws Exception {
+            Path file = dataDir.resolve("test.bin");
+            Files.write(file, BinarySnapshot.encode((byte) 'F', Map.of()));
+
+            assertNotNull(BinarySnapshot.read(file, (byte) 'F'));
+            assertNull(BinarySnapshot.read(file, (byte) 'P'));
+        }
+    }
+}
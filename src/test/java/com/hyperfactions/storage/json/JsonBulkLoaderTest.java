@@ -0,0 +1,65 @@
+package com.hyperfactions.storage.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the parallel startup loader.
+ */
+@DisplayName("JsonBulkLoader")
+class JsonBulkLoaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("loads every file across threads")
+    void loadAll_allFiles() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            Files.writeString(dir.resolve(i + ".json"), "{\"value\": " + i + "}");
+        }
+        Files.writeString(dir.resolve("notes.txt"), "ignored");
+
+        JsonBulkLoader.Result<Integer> result = JsonBulkLoader.loadAll(dir, "test", 4,
+            obj -> obj.get("value").getAsInt());
+
+        assertEquals(50, result.totalFiles());
+        assertTrue(result.failedFiles().isEmpty());
+        Set<Integer> values = new HashSet<>(result.loaded());
+        assertEquals(50, values.size());
+        assertTrue(values.contains(0) && values.contains(49));
+    }
+
+    @Test
+    @DisplayName("a broken file is reported and the rest still load")
+    void loadAll_brokenFile_reported() throws Exception {
+        Files.writeString(dir.resolve("good.json"), "{\"value\": 1}");
+        Files.writeString(dir.resolve("bad.json"), "{\"value\": ");
+        Files.writeString(dir.resolve("empty.json"), "");
+
+        JsonBulkLoader.Result<Integer> result = JsonBulkLoader.loadAll(dir, "test", 0,
+            obj -> obj.get("value").getAsInt());
+
+        assertEquals(3, result.totalFiles());
+        assertEquals(List.of(1), result.loaded());
+        assertEquals(Set.of("bad.json", "empty.json"), new HashSet<>(result.failedFiles()));
+    }
+
+    @Test
+    @DisplayName("an empty directory loads nothing")
+    void loadAll_emptyDirectory() throws Exception {
+        JsonBulkLoader.Result<Integer> result = JsonBulkLoader.loadAll(dir, "test", 0, obj -> 0);
+
+        assertEquals(0, result.totalFiles());
+        assertTrue(result.loaded().isEmpty());
+    }
+}
@@ -0,0 +1,170 @@
+package com.hyperfactions.storage.sql;
+
+import com.hyperfactions.data.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SQL storage backend against an embedded database file.
+ */
+@DisplayName("SQL storage")
+class SqlStorageTest {
+
+    @TempDir
+    Path dataDir;
+
+    private SqlDatabase database;
+    private SqlFactionStorage factions;
+    private SqlPlayerStorage players;
+    private SqlZoneStorage zones;
+
+    @BeforeEach
+    void setUp() {
+        open();
+    }
+
+    @AfterEach
+    void tearDown() {
+        close();
+    }
+
+    private void open() {
+        database = new SqlDatabase(dataDir);
+        factions = new SqlFactionStorage(database);
+        players = new SqlPlayerStorage(database);
+        zones = new SqlZoneStorage(database);
+        factions.init().join();
+        players.init().join();
+        zones.init().join();
+    }
+
+    private void close() {
+        factions.shutdown().join();
+        players.shutdown().join();
+        zones.shutdown().join();
+    }
+
+    private void reopen() {
+        close();
+        open();
+    }
+
+    @Nested
+    @DisplayName("factions")
+    class FactionTests {
+
+        @Test
+        @DisplayName("faction round-trips with claims, relations, logs, home, and permissions")
+        void save_thenLoad() {
+            UUID leader = UUID.randomUUID();
+            Faction faction = Faction.create("Test", leader, "Leader")
+                .withDescription("desc")
+                .withClaim(new FactionClaim("world", 3, -4, 1000L, leader))
+                .withRelation(new FactionRelation(UUID.randomUUID(), RelationType.ALLY, 2000L))
+                .withLog(FactionLog.create(FactionLog.LogType.CLAIM, "Claimed", leader))
+                .withHome(new Faction.FactionHome("world", 1.5, 64, -2.5, 90f, 0f, 3000L, leader))
+                .withPermissions(FactionPermissions.defaults());
+
+            factions.saveFaction(faction).join();
+            reopen();
+
+            assertEquals(Optional.of(faction), factions.loadFaction(faction.id()).join());
+        }
+
+        @Test
+        @DisplayName("later saves apply claim and member changes")
+        void save_changes_applied() {
+            UUID leader = UUID.randomUUID();
+            FactionClaim kept = new FactionClaim("world", 0, 0, 1L, leader);
+            FactionClaim dropped = new FactionClaim("world", 1, 0, 1L, leader);
+            Faction faction = Faction.create("Test", leader, "Leader").withClaim(kept).withClaim(dropped);
+            factions.saveFaction(faction).join();
+
+            FactionClaim added = new FactionClaim("world", 2, 0, 2L, leader);
+            Faction updated = faction.withoutClaimAt("world", 1, 0).withClaim(added)
+                .withMember(FactionMember.create(UUID.randomUUID(), "Alex"));
+            factions.saveFaction(updated).join();
+            reopen();
+
+            Collection<Faction> loaded = factions.loadAllFactions().join();
+            assertEquals(List.of(updated), List.copyOf(loaded));
+        }
+
+        @Test
+        @DisplayName("bulk save writes every faction and delete removes one")
+        void saveFactions_thenDelete() {
+            Faction a = Faction.create("A", UUID.randomUUID(), "LeaderA");
+            Faction b = Faction.create("B", UUID.randomUUID(), "LeaderB")
+                .withClaim(new FactionClaim("world", 5, 5, 1L, UUID.randomUUID()));
+            factions.saveFactions(List.of(a, b)).join();
+            factions.deleteFaction(a.id()).join();
+            reopen();
+
+            assertEquals(List.of(b), List.copyOf(factions.loadAllFactions().join()));
+        }
+    }
+
+    @Nested
+    @DisplayName("players")
+    class PlayerTests {
+
+        @Test
+        @DisplayName("power saves keep stats and history")
+        void savePower_keepsData() {
+            PlayerData data = new PlayerData(UUID.randomUUID());
+            data.setUsername("Steve");
+            data.setKills(3);
+            data.setMembershipHistory(List.of(
+                MembershipRecord.createActive(UUID.randomUUID(), "Test", null, FactionRole.MEMBER)));
+            players.savePlayerData(data).join();
+
+            players.savePlayerPower(new PlayerPower(data.getUuid(), 4.5, 10, 100L, 200L)).join();
+            reopen();
+
+            PlayerData loaded = players.loadPlayerData(data.getUuid()).join().orElseThrow();
+            assertEquals("Steve", loaded.getUsername());
+            assertEquals(3, loaded.getKills());
+            assertEquals(4.5, loaded.getPower());
+            assertEquals(data.getMembershipHistory(), loaded.getMembershipHistory());
+        }
+
+        @Test
+        @DisplayName("power for an unknown player creates its row")
+        void savePower_newPlayer_inserted() {
+            PlayerPower power = new PlayerPower(UUID.randomUUID(), 7, 10, 0L, 0L);
+            players.savePlayerPowers(List.of(power)).join();
+
+            assertEquals(List.of(power), List.copyOf(players.loadAllPlayerPower().join()));
+        }
+    }
+
+    @Nested
+    @DisplayName("zones")
+    class ZoneTests {
+
+        @Test
+        @DisplayName("saving the zone set replaces the previous one")
+        void saveAll_replaces() {
+            Zone spawn = Zone.create("Spawn", ZoneType.SAFE, "world", 1, 2, UUID.randomUUID())
+                .withFlag(ZoneFlags.PVP_ENABLED, false);
+            Zone war = Zone.create("War", ZoneType.WAR, "world", 9, 9, UUID.randomUUID());
+            zones.saveAllZones(List.of(spawn, war)).join();
+            zones.saveAllZones(List.of(spawn)).join();
+            reopen();
+
+            assertEquals(List.of(spawn), List.copyOf(zones.loadAllZones().join()));
+        }
+    }
+}
@@ -98,6 +98,8 @@ public final class MockStorage {
      */
     public static class MockPlayerStorage implements PlayerStorage {
         private final Map<UUID, PlayerPower> players = new ConcurrentHashMap<>();
+        private volatile CompletableFuture<Void> loadGate = CompletableFuture.completedFuture(null);
+        private volatile boolean failSaves = false;
 
         @Override
         public CompletableFuture<Void> init() {
@@ -112,11 +114,14 @@ public final class MockStorage {
 
         @Override
         public CompletableFuture<Optional<PlayerPower>> loadPlayerPower(@NotNull UUID uuid) {
-            return CompletableFuture.completedFuture(Optional.ofNullable(players.get(uuid)));
+            return loadGate.thenApply(v -> Optional.ofNullable(players.get(uuid)));
         }
 
         @Override
         public CompletableFuture<Void> savePlayerPower(@NotNull PlayerPower power) {
+            if (failSaves) {
+                return CompletableFuture.failedFuture(new java.io.IOException("Simulated write failure"));
+            }
             players.put(power.uuid(), power);
             return CompletableFuture.completedFuture(null);
         }
@@ -132,6 +137,26 @@ public final class MockStorage {
             return CompletableFuture.completedFuture(new ArrayList<>(players.values()));
         }
 
+        /**
+         * Makes saves fail (for write failure tests).
+         *
+         * @param failSaves true to fail every save
+         */
+        public void setFailSaves(boolean failSaves) {
+            this.failSaves = failSaves;
+        }
+
+        /**
+         * Holds single-player loads in flight until the returned gate is completed.
+         *
+         * @return the gate; complete it to let held and later loads finish
+         */
+        public CompletableFuture<Void> holdLoads() {
+            CompletableFuture<Void> gate = new CompletableFuture<>();
+            loadGate = gate;
+            return gate;
+        }
+
         /**
          * Adds player power directly to storage (for test setup).
          *
@@ -0,0 +1,70 @@
+package com.hyperfactions.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PNG encoder used by the chunk map GUI.
+ */
+@DisplayName("PngEncoder")
+class PngEncoderTest {
+
+    private static BufferedImage decode(byte[] png) throws Exception {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        assertNotNull(image, "ImageIO should decode the output");
+        return image;
+    }
+
+    @Test
+    @DisplayName("round-trips ARGB pixels, including transparency")
+    void roundTrip() throws Exception {
+        int width = 37;
+        int height = 11;
+        int[] pixels = new int[width * height];
+        Random random = new Random(42);
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = random.nextInt();
+        }
+        pixels[0] = 0;
+        pixels[1] = 0xFF000000;
+
+        BufferedImage image = decode(PngEncoder.encode(pixels, width, height));
+
+        assertEquals(width, image.getWidth());
+        assertEquals(height, image.getHeight());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                assertEquals(pixels[y * width + x], image.getRGB(x, y), "pixel " + x + "," + y);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("reused buffers do not leak between images of different sizes")
+    void reuse() throws Exception {
+        int[] large = new int[64 * 64];
+        java.util.Arrays.fill(large, 0xFF336699);
+        PngEncoder.encode(large, 64, 64);
+
+        int[] small = {0xFFFF0000, 0x8000FF00, 0x000000FF, 0xFFFFFFFF};
+        BufferedImage image = decode(PngEncoder.encode(small, 2, 2));
+
+        assertEquals(0xFFFF0000, image.getRGB(0, 0));
+        assertEquals(0x8000FF00, image.getRGB(1, 0));
+        assertEquals(0xFFFFFFFF, image.getRGB(1, 1));
+        assertEquals(0, image.getRGB(0, 1) >>> 24);
+    }
+
+    @Test
+    @DisplayName("rejects buffers smaller than the image")
+    void invalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> PngEncoder.encode(new int[3], 2, 2));
+    }
+}
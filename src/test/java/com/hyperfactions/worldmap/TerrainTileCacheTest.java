@@ -0,0 +1,214 @@
+package com.hyperfactions.worldmap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the world map terrain layer cache.
+ */
+@DisplayName("TerrainTileCache")
+class TerrainTileCacheTest {
+
+    private TerrainTileCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TerrainTileCache();
+        cache.setLimits(2, 60_000);
+    }
+
+    private static TerrainTile tile(int size, long createdAt) {
+        return new TerrainTile(size, size, size, size, new int[size * size], new float[size * size],
+                new int[size * size], new float[size * size], createdAt);
+    }
+
+    @Nested
+    @DisplayName("Lookup")
+    class Lookup {
+
+        @Test
+        @DisplayName("returns cached tiles per world and chunk, counting hits and misses")
+        void hitAndMiss() {
+            TerrainTile tile = tile(4, System.currentTimeMillis());
+            cache.put("world", 1, -2, tile);
+
+            assertSame(tile, cache.get("world", 1, -2, 4, 4));
+            assertNull(cache.get("nether", 1, -2, 4, 4));
+            assertNull(cache.get("world", -2, 1, 4, 4));
+            assertEquals(1, cache.getHits());
+            assertEquals(2, cache.getMisses());
+        }
+
+        @Test
+        @DisplayName("drops tiles sampled at another size or past the max age")
+        void staleTiles() {
+            cache.put("world", 0, 0, tile(4, System.currentTimeMillis()));
+            cache.put("world", 1, 0, tile(4, System.currentTimeMillis() - 120_000));
+
+            assertNull(cache.get("world", 0, 0, 8, 8));
+            assertNull(cache.get("world", 1, 0, 4, 4));
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bounds and invalidation")
+    class Bounds {
+
+        @Test
+        @DisplayName("evicts the least recently used tile past the bound")
+        void lruEviction() {
+            long now = System.currentTimeMillis();
+            cache.put("world", 0, 0, tile(4, now));
+            cache.put("world", 1, 0, tile(4, now));
+            assertNotNull(cache.get("world", 0, 0, 4, 4));
+
+            cache.put("world", 2, 0, tile(4, now));
+
+            assertEquals(2, cache.size());
+            assertNotNull(cache.get("world", 0, 0, 4, 4));
+            assertNull(cache.get("world", 1, 0, 4, 4));
+        }
+
+        @Test
+        @DisplayName("invalidates single chunks and whole worlds")
+        void invalidation() {
+            cache.setLimits(10, 0);
+            long now = System.currentTimeMillis();
+            cache.put("world", 0, 0, tile(4, now));
+            cache.put("world", 1, 0, tile(4, now));
+            cache.put("nether", 0, 0, tile(4, now));
+
+            cache.invalidate("world", 0, 0);
+            assertNull(cache.get("world", 0, 0, 4, 4));
+
+            cache.invalidateWorld("world");
+            assertEquals(1, cache.size());
+            assertNotNull(cache.get("nether", 0, 0, 4, 4));
+        }
+
+        @Test
+        @DisplayName("refuses tiles sampled before an invalidation of their chunk")
+        void staleAfterInvalidation() {
+            long now = System.currentTimeMillis();
+            long version = cache.version("world", 0, 0);
+            long other = cache.version("world", 1, 0);
+            cache.invalidate("world", 0, 0);
+
+            cache.put("world", 0, 0, tile(4, now), version);
+            assertNull(cache.get("world", 0, 0, 4, 4));
+
+            cache.clear();
+            cache.put("world", 1, 0, tile(4, now), other);
+            assertNull(cache.get("world", 1, 0, 4, 4));
+
+            cache.put("world", 0, 0, tile(4, now), cache.version("world", 0, 0));
+            assertNotNull(cache.get("world", 0, 0, 4, 4));
+        }
+
+        @Test
+        @DisplayName("a zero bound disables caching")
+        void disabled() {
+            cache.setLimits(0, 0);
+            cache.put("world", 0, 0, tile(4, System.currentTimeMillis()));
+            assertEquals(0, cache.size());
+        }
+    }
+
+    @Nested
+    @DisplayName("Disk store")
+    class DiskStore {
+
+        @TempDir
+        Path dir;
+
+        @Test
+        @DisplayName("encoded tiles round-trip")
+        void roundTrip() throws Exception {
+            TerrainTile tile = new TerrainTile(2, 2, 1, 1, new int[]{1, 2, 3, 0xABCDEF}, new float[]{0.4f, 0.5f, 0.6f, 1f},
+                    new int[]{TerrainTile.NO_FLUID}, new float[]{0.25f}, 1234L);
+
+            TerrainTile decoded = TerrainTileStore.decode(TerrainTileStore.encode(tile));
+
+            assertNotNull(decoded);
+            assertTrue(decoded.matches(2, 2));
+            assertEquals(0xABCDEF, decoded.baseColor(3));
+            assertEquals(0.6f, decoded.shade(2));
+            assertEquals(TerrainTile.NO_FLUID, decoded.fluidTint(0));
+            assertEquals(0.25f, decoded.fluidDepthMultiplier(0));
+            assertEquals(1234L, decoded.createdAt());
+        }
+
+        @Test
+        @DisplayName("tiles survive a restart and invalidation removes them from disk")
+        void survivesRestart() {
+            TerrainTileStore store = new TerrainTileStore(dir, 1024 * 1024, 0);
+            cache.setStore(store);
+            cache.put("world", 3, 4, tile(4, System.currentTimeMillis()));
+            cache.put("world", 5, 6, tile(4, System.currentTimeMillis()));
+            cache.invalidate("world", 5, 6);
+            store.shutdown();
+
+            TerrainTileCache restarted = new TerrainTileCache();
+            TerrainTileStore reopened = new TerrainTileStore(dir, 1024 * 1024, 0);
+            restarted.setStore(reopened);
+            try {
+                assertNull(restarted.get("world", 3, 4, 4, 4));
+                assertNotNull(restarted.load("world", 3, 4, 4, 4).join());
+                assertNotNull(restarted.get("world", 3, 4, 4, 4));
+                assertNull(restarted.load("world", 5, 6, 4, 4).join());
+                assertEquals(1, restarted.getDiskHits());
+            } finally {
+                reopened.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("stored tiles older than the memory max age are still served from disk")
+        void diskOutlivesMemoryAge() {
+            long hourAgo = System.currentTimeMillis() - 60 * 60 * 1000L;
+            TerrainTileStore store = new TerrainTileStore(dir, 1024 * 1024, 7 * 24 * 60 * 60 * 1000L);
+            store.save("world", 3, 4, tile(4, hourAgo));
+            store.shutdown();
+
+            TerrainTileStore reopened = new TerrainTileStore(dir, 1024 * 1024, 7 * 24 * 60 * 60 * 1000L);
+            cache.setStore(reopened);
+            try {
+                assertNotNull(cache.load("world", 3, 4, 4, 4).join());
+                // Promoted tiles age in memory from the promotion, not from sampling
+                assertNotNull(cache.get("world", 3, 4, 4, 4));
+            } finally {
+                reopened.shutdown();
+            }
+        }
+
+        @Test
+        @DisplayName("a disk read that races an invalidation is never promoted")
+        void loadRacingInvalidation() {
+            TerrainTileStore store = new TerrainTileStore(dir, 1024 * 1024, 0);
+            cache.setStore(store);
+            TerrainTileCache other = new TerrainTileCache();
+            other.setStore(store);
+            try {
+                other.put("world", 3, 4, tile(4, System.currentTimeMillis()));
+
+                CompletableFuture<TerrainTile> load = cache.load("world", 3, 4, 4, 4);
+                cache.invalidate("world", 3, 4);
+                load.join();
+
+                assertNull(cache.get("world", 3, 4, 4, 4));
+                assertNull(cache.load("world", 3, 4, 4, 4).join());
+            } finally {
+                store.shutdown();
+            }
+        }
+    }
+}